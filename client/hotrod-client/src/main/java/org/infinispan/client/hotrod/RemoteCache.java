@@ -508,6 +508,33 @@ default <T> T execute(String scriptName, Map<String, ?> params, Object key) {
     */
    <T, U> RemoteCache<T, U> withDataFormat(DataFormat dataFormat);
 
+   /**
+    * Return a new instance of {@link RemoteCache} which buffers the writes issued through {@link #putAsync} and
+    * sends them to each server in {@link #putAll} batches. Buffered writes are sent when {@code maxBufferedWrites}
+    * puts with the same owner and expiration are pending, when {@code flushInterval} has elapsed since the first of
+    * them was buffered, when {@link #flush()} is invoked or when the {@link RemoteCacheManager} is stopped.
+    * <p>
+    * Synchronous writes and all the other write operations are not buffered: they send any buffered put of the same
+    * key first. Writes to the same key are applied in invocation order. The futures returned for buffered puts
+    * complete with {@code null} instead of the previous value, and {@link Flag}s are not applied to buffered writes.
+    *
+    * @param maxBufferedWrites the number of puts to the same server which triggers a flush
+    * @param flushInterval the maximum time a write is kept in the buffer
+    * @param unit the unit of {@code flushInterval}
+    */
+   RemoteCache<K, V> withWriteBuffer(int maxBufferedWrites, long flushInterval, TimeUnit unit);
+
+   /**
+    * Sends the writes buffered by a cache returned from {@link #withWriteBuffer(int, long, TimeUnit)} and waits
+    * until all of them have completed. Does nothing if this cache does not buffer writes.
+    */
+   void flush();
+
+   /**
+    * Asynchronous version of {@link #flush()}.
+    */
+   CompletableFuture<Void> flushAsync();
+
    /**
     * Return the currently {@link DataFormat} being used.
     */
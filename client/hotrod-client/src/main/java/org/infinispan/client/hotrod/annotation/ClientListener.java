@@ -81,4 +81,32 @@
     */
    boolean includeCurrentState() default false;
 
+   /**
+    * Enables flow control for the events sent to this client listener. The
+    * server sends at most this number of events before the client grants it
+    * more credits, which the client does after it has invoked the listener
+    * callbacks for half of them. Events that the server can't send yet stay
+    * queued in the server, so a slow client listener slows down the writes
+    * instead of making the server buffer an unbounded number of events.
+    *
+    * By default, or if the value is 0, flow control is disabled and the server
+    * sends events as long as the connection can accept them. Flow control
+    * requires protocol version 3.0 or later.
+    */
+   int eventCredits() default 0;
+
+   /**
+    * When enabled, an event waiting to be sent to this client listener is
+    * replaced by a newer event for the same key. The client only receives the
+    * latest event for a key that is modified faster than it can consume the
+    * events, e.g. a modified event instead of a created event followed by
+    * modified events. Events from the initial state are never replaced.
+    *
+    * This is useful together with {@link #eventCredits()} for listeners
+    * that only need the latest state of each key, like near caches. By
+    * default, coalescing is disabled. Coalescing requires protocol version
+    * 3.0 or later.
+    */
+   boolean coalesceEvents() default false;
+
 }
@@ -151,6 +151,16 @@ public ConfigurationBuilder tcpKeepAlive(boolean tcpKeepAlive) {
       return builder.tcpKeepAlive(tcpKeepAlive);
    }
 
+   @Override
+   public ConfigurationBuilder readRouting(ReadRouting readRouting) {
+      return builder.readRouting(readRouting);
+   }
+
+   @Override
+   public ConfigurationBuilder clientZone(String zone) {
+      return builder.clientZone(zone);
+   }
+
    @Override
    public ConfigurationBuilder transportFactory(String transportFactory) {
       return builder.transportFactory(transportFactory);
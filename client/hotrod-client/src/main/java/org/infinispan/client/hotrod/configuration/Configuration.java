@@ -45,6 +45,8 @@ public class Configuration {
    private final SecurityConfiguration security;
    private final boolean tcpNoDelay;
    private final boolean tcpKeepAlive;
+   private final ReadRouting readRouting;
+   private final String clientZone;
    private final int valueSizeEstimate;
    private final int maxRetries;
    private final NearCacheConfiguration nearCache;
@@ -60,7 +62,7 @@ public class Configuration {
                  ClientIntelligence clientIntelligence, ConnectionPoolConfiguration connectionPool, int connectionTimeout, Class<? extends ConsistentHash>[] consistentHashImpl, boolean forceReturnValues, int keySizeEstimate,
                  Marshaller marshaller, Class<? extends Marshaller> marshallerClass,
                  ProtocolVersion protocolVersion, List<ServerConfiguration> servers, int socketTimeout, SecurityConfiguration security, boolean tcpNoDelay, boolean tcpKeepAlive,
-                 int valueSizeEstimate, int maxRetries, NearCacheConfiguration nearCache,
+                 ReadRouting readRouting, String clientZone, int valueSizeEstimate, int maxRetries, NearCacheConfiguration nearCache,
                  List<ClusterConfiguration> clusters, List<String> serialWhitelist, int batchSize,
                  TransactionConfiguration transaction, StatisticsConfiguration statistics, Features features) {
       this.asyncExecutorFactory = asyncExecutorFactory;
@@ -81,6 +83,8 @@ public class Configuration {
       this.security = security;
       this.tcpNoDelay = tcpNoDelay;
       this.tcpKeepAlive = tcpKeepAlive;
+      this.readRouting = readRouting;
+      this.clientZone = clientZone;
       this.valueSizeEstimate = valueSizeEstimate;
       this.nearCache = nearCache;
       this.clusters = clusters;
@@ -211,6 +215,14 @@ public boolean tcpKeepAlive() {
       return tcpKeepAlive;
    }
 
+   public ReadRouting readRouting() {
+      return readRouting;
+   }
+
+   public String clientZone() {
+      return clientZone;
+   }
+
    @Deprecated
    public Class<? extends TransportFactory> transportFactory() {
       return TransportFactory.class;
@@ -255,6 +267,7 @@ public String toString() {
             + connectionPool + ", connectionTimeout=" + connectionTimeout + ", consistentHashImpl=" + Arrays.toString(consistentHashImpl) + ", forceReturnValues="
             + forceReturnValues + ", keySizeEstimate=" + keySizeEstimate + ", marshallerClass=" + marshallerClass + ", marshaller=" + marshaller + ", protocolVersion="
             + protocolVersion + ", servers=" + servers + ", socketTimeout=" + socketTimeout + ", security=" + security + ", tcpNoDelay=" + tcpNoDelay + ", tcpKeepAlive=" + tcpKeepAlive
+            + ", readRouting=" + readRouting + ", clientZone=" + clientZone
             + ", valueSizeEstimate=" + valueSizeEstimate + ", maxRetries=" + maxRetries
             + ", serialWhiteList=" + serialWhitelist
             + ", batchSize=" + batchSize
@@ -292,6 +305,10 @@ public Properties properties() {
       properties.setProperty(ConfigurationProperties.SO_TIMEOUT, socketTimeout());
       properties.setProperty(ConfigurationProperties.TCP_NO_DELAY, tcpNoDelay());
       properties.setProperty(ConfigurationProperties.TCP_KEEP_ALIVE, tcpKeepAlive());
+      properties.setProperty(ConfigurationProperties.READ_ROUTING, readRouting().name());
+      if (clientZone() != null) {
+         properties.setProperty(ConfigurationProperties.CLIENT_ZONE, clientZone());
+      }
       properties.setProperty(ConfigurationProperties.VALUE_SIZE_ESTIMATE, valueSizeEstimate());
       properties.setProperty(ConfigurationProperties.MAX_RETRIES, maxRetries());
       properties.setProperty(ConfigurationProperties.STATISTICS, statistics().enabled());
@@ -307,6 +324,7 @@ public Properties properties() {
       properties.setProperty(ConfigurationProperties.CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, connectionPool().minEvictableIdleTime());
       properties.setProperty("minEvictableIdleTimeMillis", connectionPool().minEvictableIdleTime());
       properties.setProperty(ConfigurationProperties.CONNECTION_POOL_MAX_PENDING_REQUESTS, connectionPool().maxPendingRequests());
+      properties.setProperty(ConfigurationProperties.CONNECTION_POOL_MULTIPLEXED_CONNECTIONS, connectionPool().multiplexedConnections());
 
       // Deprecated properties
       properties.setProperty("maxIdle", connectionPool().maxIdle());
@@ -378,6 +396,8 @@ public Properties properties() {
 
       properties.setProperty(ConfigurationProperties.NEAR_CACHE_MODE, nearCache.mode().name());
       properties.setProperty(ConfigurationProperties.NEAR_CACHE_MAX_ENTRIES, Integer.toString(nearCache.maxEntries()));
+      properties.setProperty(ConfigurationProperties.NEAR_CACHE_MAX_BYTES, Long.toString(nearCache.maxBytes()));
+      properties.setProperty(ConfigurationProperties.NEAR_CACHE_BLOOM_FILTER, Boolean.toString(nearCache.bloomFilter()));
       if (nearCache.cacheNamePattern() != null)
          properties.setProperty(ConfigurationProperties.NEAR_CACHE_NAME_PATTERN, nearCache.cacheNamePattern().pattern());
 
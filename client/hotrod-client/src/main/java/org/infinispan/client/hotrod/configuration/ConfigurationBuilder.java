@@ -72,6 +72,8 @@ public class ConfigurationBuilder implements ConfigurationChildBuilder, Builder<
    private final SecurityConfigurationBuilder security;
    private boolean tcpNoDelay = true;
    private boolean tcpKeepAlive = false;
+   private ReadRouting readRouting = ReadRouting.getDefault();
+   private String clientZone;
    private int valueSizeEstimate = ConfigurationProperties.DEFAULT_VALUE_SIZE;
    private int maxRetries = ConfigurationProperties.DEFAULT_MAX_RETRIES;
    private final NearCacheConfigurationBuilder nearCache;
@@ -281,6 +283,18 @@ public ConfigurationBuilder tcpKeepAlive(boolean keepAlive) {
       return this;
    }
 
+   @Override
+   public ConfigurationBuilder readRouting(ReadRouting readRouting) {
+      this.readRouting = readRouting;
+      return this;
+   }
+
+   @Override
+   public ConfigurationBuilder clientZone(String zone) {
+      this.clientZone = zone;
+      return this;
+   }
+
    @Override
    public ConfigurationBuilder transportFactory(String transportFactory) {
       log.transportFactoryDeprecated();
@@ -372,6 +386,8 @@ public ConfigurationBuilder withProperties(Properties properties) {
       this.socketTimeout(typed.getIntProperty(ConfigurationProperties.SO_TIMEOUT, socketTimeout, true));
       this.tcpNoDelay(typed.getBooleanProperty(ConfigurationProperties.TCP_NO_DELAY, tcpNoDelay, true));
       this.tcpKeepAlive(typed.getBooleanProperty(ConfigurationProperties.TCP_KEEP_ALIVE, tcpKeepAlive, true));
+      this.readRouting(typed.getEnumProperty(ConfigurationProperties.READ_ROUTING, ReadRouting.class, readRouting, true));
+      this.clientZone(typed.getProperty(ConfigurationProperties.CLIENT_ZONE, clientZone, true));
       if (typed.containsKey(ConfigurationProperties.TRANSPORT_FACTORY)) {
          this.transportFactory(typed.getProperty(ConfigurationProperties.TRANSPORT_FACTORY, null, true));
       }
@@ -444,7 +460,7 @@ public Configuration create() {
 
       return new Configuration(asyncExecutorFactory.create(), balancingStrategyFactory, classLoader == null ? null : classLoader.get(), clientIntelligence, connectionPool.create(), connectionTimeout,
             consistentHashImpl, forceReturnValues, keySizeEstimate, marshaller, marshallerClass, protocolVersion, servers, socketTimeout, security.create(), tcpNoDelay, tcpKeepAlive,
-            valueSizeEstimate, maxRetries, nearCache.create(), serverClusterConfigs, whiteListRegExs, batchSize, transaction.create(), statistics.create(), features);
+            readRouting, clientZone, valueSizeEstimate, maxRetries, nearCache.create(), serverClusterConfigs, whiteListRegExs, batchSize, transaction.create(), statistics.create(), features);
    }
 
    // Method that handles default marshaller - needed as a placeholder
@@ -491,7 +507,7 @@ public ConfigurationBuilder read(Configuration template) {
       this.protocolVersion = template.version();
       this.servers.clear();
       for (ServerConfiguration server : template.servers()) {
-         this.addServer().host(server.host()).port(server.port());
+         this.addServer().host(server.host()).port(server.port()).zone(server.zone());
       }
       this.clusters.clear();
       template.clusters().forEach(cluster -> this.addCluster(cluster.getClusterName()).read(cluster));
@@ -499,6 +515,8 @@ public ConfigurationBuilder read(Configuration template) {
       this.security.read(template.security());
       this.tcpNoDelay = template.tcpNoDelay();
       this.tcpKeepAlive = template.tcpKeepAlive();
+      this.readRouting = template.readRouting();
+      this.clientZone = template.clientZone();
       this.valueSizeEstimate = template.valueSizeEstimate();
       this.maxRetries = template.maxRetries();
       this.nearCache.read(template.nearCache());
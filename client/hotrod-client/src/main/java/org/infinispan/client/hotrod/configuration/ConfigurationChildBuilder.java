@@ -168,6 +168,17 @@ public interface ConfigurationChildBuilder {
     */
    ConfigurationBuilder tcpKeepAlive(boolean keepAlive);
 
+   /**
+    * Specifies which owner of a key serves keyed reads. Defaults to {@link ReadRouting#PRIMARY_OWNER}
+    */
+   ConfigurationBuilder readRouting(ReadRouting readRouting);
+
+   /**
+    * Specifies the zone (e.g. rack or availability zone) the client runs in. With {@link ReadRouting#LATENCY_AWARE}
+    * reads prefer the owners configured with the same {@link ServerConfigurationBuilder#zone(String) zone}.
+    */
+   ConfigurationBuilder clientZone(String zone);
+
    /**
     * Controls which transport to use.
     *
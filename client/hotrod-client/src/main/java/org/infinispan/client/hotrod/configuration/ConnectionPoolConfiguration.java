@@ -21,9 +21,11 @@ public class ConnectionPoolConfiguration {
    private final boolean testOnReturn;
    private final boolean testWhileIdle;
    private final int maxPendingRequests;
+   private final int multiplexedConnections;
 
    ConnectionPoolConfiguration(ExhaustedAction exhaustedAction, boolean lifo, int maxActive, int maxTotal, long maxWait, int maxIdle, int minIdle, int numTestsPerEvictionRun,
-                               long timeBetweenEvictionRuns, long minEvictableIdleTime, boolean testOnBorrow, boolean testOnReturn, boolean testWhileIdle, int maxPendingRequests) {
+                               long timeBetweenEvictionRuns, long minEvictableIdleTime, boolean testOnBorrow, boolean testOnReturn, boolean testWhileIdle, int maxPendingRequests,
+                               int multiplexedConnections) {
       this.exhaustedAction = exhaustedAction;
       this.lifo = lifo;
       this.maxActive = maxActive;
@@ -38,6 +40,7 @@ public class ConnectionPoolConfiguration {
       this.testOnReturn = testOnReturn;
       this.testWhileIdle = testWhileIdle;
       this.maxPendingRequests = maxPendingRequests;
+      this.multiplexedConnections = multiplexedConnections;
    }
 
    public ExhaustedAction exhaustedAction() {
@@ -96,11 +99,15 @@ public int maxPendingRequests() {
       return maxPendingRequests;
    }
 
+   public int multiplexedConnections() {
+      return multiplexedConnections;
+   }
+
    @Override
    public String toString() {
       return "ConnectionPoolConfiguration [exhaustedAction=" + exhaustedAction + ", lifo=" + lifo + ", maxActive=" + maxActive + ", maxTotal=" + maxTotal + ", maxWait=" + maxWait
             + ", maxIdle=" + maxIdle + ", minIdle=" + minIdle + ", numTestsPerEvictionRun=" + numTestsPerEvictionRun + ", timeBetweenEvictionRuns=" + timeBetweenEvictionRuns
             + ", minEvictableIdleTime=" + minEvictableIdleTime + ", testOnBorrow=" + testOnBorrow + ", testOnReturn=" + testOnReturn + ", testWhileIdle=" + testWhileIdle
-            + ", maxPendingRequests=" + maxPendingRequests + "]";
+            + ", maxPendingRequests=" + maxPendingRequests + ", multiplexedConnections=" + multiplexedConnections + "]";
    }
 }
@@ -3,6 +3,8 @@
 import java.util.Properties;
 
 import org.infinispan.client.hotrod.impl.ConfigurationProperties;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.util.TypedProperties;
 
@@ -13,6 +15,7 @@
  * @since 5.3
  */
 public class ConnectionPoolConfigurationBuilder extends AbstractConfigurationChildBuilder implements Builder<ConnectionPoolConfiguration> {
+   private static final Log log = LogFactory.getLog(ConnectionPoolConfigurationBuilder.class);
    private ExhaustedAction exhaustedAction = ExhaustedAction.WAIT;
    private boolean lifo = true;
    private int maxActive = -1;
@@ -27,6 +30,7 @@ public class ConnectionPoolConfigurationBuilder extends AbstractConfigurationChi
    private boolean testOnReturn = false;
    private boolean testWhileIdle = true;
    private int maxPendingRequests = 5;
+   private int multiplexedConnections = 0;
 
    ConnectionPoolConfigurationBuilder(ConfigurationBuilder builder) {
       super(builder);
@@ -207,6 +211,20 @@ public ConnectionPoolConfigurationBuilder maxPendingRequests(int maxPendingReque
       return this;
    }
 
+   /**
+    * Enables the multiplexed connection mode, specifying the fixed number of connections per server shared by all
+    * threads. Requests are written into the least loaded of these connections without acquiring it exclusively,
+    * responses are correlated by message id and flushes are coalesced on each connection. This trades the
+    * per-operation acquire/release and the number of sockets for concurrent use of a few connections.
+    * Operations which need a connection on their own (e.g. streaming puts) still use the regular pool.
+    * The {@link #maxPendingRequests(int) max pending requests} limit does not apply to multiplexed connections.
+    * Default setting for this parameter is 0, which disables multiplexing.
+    */
+   public ConnectionPoolConfigurationBuilder multiplexedConnections(int multiplexedConnections) {
+      this.multiplexedConnections = multiplexedConnections;
+      return this;
+   }
+
    /**
     * Configures the connection pool parameter according to properties
     */
@@ -230,6 +248,8 @@ public ConnectionPoolConfigurationBuilder withPoolProperties(Properties properti
       maxPendingRequests(typed.getIntProperty(ConfigurationProperties.CONNECTION_POOL_MAX_PENDING_REQUESTS,
             typed.getIntProperty("maxPendingRequests", maxPendingRequests, true),
             true));
+      multiplexedConnections(typed.getIntProperty(ConfigurationProperties.CONNECTION_POOL_MULTIPLEXED_CONNECTIONS,
+            multiplexedConnections, true));
 
       lifo(typed.getBooleanProperty("lifo", lifo, true));
       maxTotal(typed.getIntProperty("maxTotal", maxTotal, true));
@@ -245,12 +265,15 @@ public ConnectionPoolConfigurationBuilder withPoolProperties(Properties properti
 
    @Override
    public void validate() {
+      if (multiplexedConnections < 0) {
+         throw log.invalidMultiplexedConnections(multiplexedConnections);
+      }
    }
 
    @Override
    public ConnectionPoolConfiguration create() {
       return new ConnectionPoolConfiguration(exhaustedAction, lifo, maxActive, maxTotal, maxWait, maxIdle, minIdle, numTestsPerEvictionRun, timeBetweenEvictionRuns,
-            minEvictableIdleTime, testOnBorrow, testOnReturn, testWhileIdle, maxPendingRequests);
+            minEvictableIdleTime, testOnBorrow, testOnReturn, testWhileIdle, maxPendingRequests, multiplexedConnections);
    }
 
    @Override
@@ -269,6 +292,7 @@ public ConnectionPoolConfigurationBuilder read(ConnectionPoolConfiguration templ
       testOnReturn = template.testOnReturn();
       testWhileIdle = template.testWhileIdle();
       maxPendingRequests = template.maxPendingRequests();
+      multiplexedConnections = template.multiplexedConnections();
       return this;
    }
 
@@ -7,11 +7,20 @@ public class NearCacheConfiguration {
    private final NearCacheMode mode;
    private final int maxEntries;
    private final Pattern cacheNamePattern;
+   private final long maxBytes;
+   private final boolean bloomFilter;
 
    public NearCacheConfiguration(NearCacheMode mode, int maxEntries, Pattern cacheNamePattern) {
+      this(mode, maxEntries, cacheNamePattern, -1, false);
+   }
+
+   public NearCacheConfiguration(NearCacheMode mode, int maxEntries, Pattern cacheNamePattern, long maxBytes,
+                                 boolean bloomFilter) {
       this.mode = mode;
       this.maxEntries = maxEntries;
       this.cacheNamePattern = cacheNamePattern;
+      this.maxBytes = maxBytes;
+      this.bloomFilter = bloomFilter;
    }
 
    public int maxEntries() {
@@ -26,12 +35,22 @@ public Pattern cacheNamePattern() {
       return cacheNamePattern;
    }
 
+   public long maxBytes() {
+      return maxBytes;
+   }
+
+   public boolean bloomFilter() {
+      return bloomFilter;
+   }
+
    @Override
    public String toString() {
       return "NearCacheConfiguration{" +
             "mode=" + mode +
             ", maxEntries=" + maxEntries +
             ", cacheNamePattern=" + cacheNamePattern +
+            ", maxBytes=" + maxBytes +
+            ", bloomFilter=" + bloomFilter +
             '}';
    }
 }
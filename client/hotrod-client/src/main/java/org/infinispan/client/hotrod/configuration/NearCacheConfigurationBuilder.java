@@ -16,6 +16,8 @@ public class NearCacheConfigurationBuilder extends AbstractConfigurationChildBui
    private NearCacheMode mode = NearCacheMode.DISABLED;
    private Integer maxEntries = null; // undefined
    private Pattern cacheNamePattern = null; // matches all
+   private long maxBytes = -1;
+   private boolean bloomFilter = false;
 
    protected NearCacheConfigurationBuilder(ConfigurationBuilder builder) {
       super(builder);
@@ -32,6 +34,34 @@ public NearCacheConfigurationBuilder maxEntries(int maxEntries) {
       return this;
    }
 
+   /**
+    * Specifies the maximum estimated size, in bytes, of the entries held in the near cache. The size of an entry is
+    * estimated from the length of its marshalled key and value. When set to a positive value the near cache is
+    * bounded by size instead of by number of entries, and {@link #maxEntries(int)} is only used to size the
+    * {@link #bloomFilter(boolean) bloom filter}.
+    *
+    * @param maxBytes maximum estimated size of the near cache, or -1 to bound it by number of entries.
+    * @return an instance of the builder
+    */
+   public NearCacheConfigurationBuilder maxBytes(long maxBytes) {
+      this.maxBytes = maxBytes;
+      return this;
+   }
+
+   /**
+    * Enables bloom filter based invalidation. Instead of receiving an invalidation event for every modified key,
+    * the client registers a bloom filter of the keys held in the near cache with the server, which only sends the
+    * events for keys that might be in the near cache. The filter is sized for {@link #maxEntries(int)} keys and is
+    * updated by the client as new keys enter the near cache.
+    *
+    * @param enable whether to enable bloom filter invalidation
+    * @return an instance of the builder
+    */
+   public NearCacheConfigurationBuilder bloomFilter(boolean enable) {
+      this.bloomFilter = enable;
+      return this;
+   }
+
    /**
     * Specifies the near caching mode. See {@link NearCacheMode} for details on the available modes.
     *
@@ -68,13 +98,17 @@ public NearCacheConfigurationBuilder cacheNamePattern(Pattern pattern) {
 
    @Override
    public void validate() {
-      if (mode.enabled() && maxEntries == null)
-         throw log.nearCacheMaxEntriesUndefined();
+      if (mode.enabled()) {
+         if (maxEntries == null && maxBytes <= 0)
+            throw log.nearCacheMaxEntriesUndefined();
+         if (bloomFilter && (maxEntries == null || maxEntries <= 0))
+            throw log.nearCacheBloomFilterRequiresMaxEntries();
+      }
    }
 
    @Override
    public NearCacheConfiguration create() {
-      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries, cacheNamePattern);
+      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries, cacheNamePattern, maxBytes, bloomFilter);
    }
 
    @Override
@@ -82,6 +116,8 @@ public Builder<?> read(NearCacheConfiguration template) {
       mode = template.mode();
       maxEntries = template.maxEntries();
       cacheNamePattern = template.cacheNamePattern();
+      maxBytes = template.maxBytes();
+      bloomFilter = template.bloomFilter();
       return this;
    }
 
@@ -97,6 +133,12 @@ public ConfigurationBuilder withProperties(Properties properties) {
       if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_NAME_PATTERN)) {
          this.cacheNamePattern(typed.getProperty(ConfigurationProperties.NEAR_CACHE_NAME_PATTERN));
       }
+      if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_MAX_BYTES)) {
+         this.maxBytes(typed.getLongProperty(ConfigurationProperties.NEAR_CACHE_MAX_BYTES, -1));
+      }
+      if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_BLOOM_FILTER)) {
+         this.bloomFilter(typed.getBooleanProperty(ConfigurationProperties.NEAR_CACHE_BLOOM_FILTER, false));
+      }
       return builder;
    }
 }
@@ -0,0 +1,26 @@
+package org.infinispan.client.hotrod.configuration;
+
+/**
+ * Decides which owner of a key serves the keyed read operations (get, getWithMetadata and containsKey) of a
+ * {@link ClientIntelligence#HASH_DISTRIBUTION_AWARE} client.
+ *
+ * @since 10.0
+ */
+public enum ReadRouting {
+
+   /**
+    * Reads are sent to the primary owner of the key, like writes. This is the default.
+    */
+   PRIMARY_OWNER,
+
+   /**
+    * Reads are sent to any owner of the key, so they may observe a backup that has not applied a concurrent write
+    * yet. Owners in the {@link ConfigurationBuilder#clientZone(String) zone of the client} are preferred, and among
+    * those the one with the lowest average response time weighted by the number of requests in flight is chosen.
+    */
+   LATENCY_AWARE;
+
+   public static ReadRouting getDefault() {
+      return PRIMARY_OWNER;
+   }
+}
@@ -9,10 +9,16 @@
 public class ServerConfiguration {
    private final String host;
    private final int port;
+   private final String zone;
 
    ServerConfiguration(String host, int port) {
+      this(host, port, null);
+   }
+
+   ServerConfiguration(String host, int port, String zone) {
       this.host = host;
       this.port = port;
+      this.zone = zone;
    }
 
    public String host() {
@@ -23,11 +29,16 @@ public int port() {
       return port;
    }
 
+   public String zone() {
+      return zone;
+   }
+
    @Override
    public String toString() {
       return "ServerConfiguration[" +
             "host='" + host + '\'' +
             ", port=" + port +
+            ", zone=" + zone +
             ']';
    }
 }
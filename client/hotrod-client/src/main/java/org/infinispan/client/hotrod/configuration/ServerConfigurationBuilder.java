@@ -16,6 +16,7 @@ public class ServerConfigurationBuilder extends AbstractConfigurationChildBuilde
 
    private String host;
    private int port = 11222;
+   private String zone;
 
    ServerConfigurationBuilder(ConfigurationBuilder builder) {
       super(builder);
@@ -31,6 +32,15 @@ public ServerConfigurationBuilder port(int port) {
       return this;
    }
 
+   /**
+    * Specifies the zone (e.g. rack or availability zone) of this server, see {@link ReadRouting#LATENCY_AWARE}.
+    * Servers discovered through the cluster topology have no zone.
+    */
+   public ServerConfigurationBuilder zone(String zone) {
+      this.zone = zone;
+      return this;
+   }
+
    @Override
    public void validate() {
       if (host == null || host.isEmpty()) {
@@ -40,13 +50,14 @@ public void validate() {
 
    @Override
    public ServerConfiguration create() {
-      return new ServerConfiguration(host, port);
+      return new ServerConfiguration(host, port, zone);
    }
 
    @Override
    public ServerConfigurationBuilder read(ServerConfiguration template) {
       this.host = template.host();
       this.port = template.port();
+      this.zone = template.zone();
 
       return this;
    }
@@ -40,6 +40,18 @@
  *          <td>Enables/disables the {@link org.infinispan.client.hotrod.configuration.ConfigurationBuilder#tcpKeepAlive(boolean) TCP_KEEPALIVE} flag</td>
  *       </tr>
  *       <tr>
+ *          <td><b>infinispan.client.hotrod.read_routing</b></td>
+ *          <td>String</td>
+ *          <td>{@link org.infinispan.client.hotrod.configuration.ReadRouting#PRIMARY_OWNER PRIMARY_OWNER}</td>
+ *          <td>The {@link org.infinispan.client.hotrod.configuration.ConfigurationBuilder#readRouting(ReadRouting) owner} serving keyed reads</td>
+ *       </tr>
+ *       <tr>
+ *          <td><b>infinispan.client.hotrod.client_zone</b></td>
+ *          <td>String</td>
+ *          <td>null</td>
+ *          <td>The {@link org.infinispan.client.hotrod.configuration.ConfigurationBuilder#clientZone(String) zone} of the client, preferred by latency-aware reads</td>
+ *       </tr>
+ *       <tr>
  *          <td><b>infinispan.client.hotrod.client_intelligence</b></td>
  *          <td>String</td>
  *          <td>{@link org.infinispan.client.hotrod.configuration.ClientIntelligence#HASH_DISTRIBUTION_AWARE HASH_DISTRIBUTION_AWARE}</td>
@@ -355,6 +367,18 @@
  *          <td>A {@link org.infinispan.client.hotrod.configuration.NearCacheConfigurationBuilder#cacheNamePattern(String) regex} which matches caches for which near-caching should be enabled.</td>
  *       </tr>
  *       <tr>
+ *          <td><b>infinispan.client.hotrod.near_cache.max_bytes</b></td>
+ *          <td>Long</td>
+ *          <td>-1 (bounded by number of entries)</td>
+ *          <td>The {@link org.infinispan.client.hotrod.configuration.NearCacheConfigurationBuilder#maxBytes(long) maximum} estimated size of the entries kept in the local cache.</td>
+ *       </tr>
+ *       <tr>
+ *          <td><b>infinispan.client.hotrod.near_cache.bloom_filter</b></td>
+ *          <td>Boolean</td>
+ *          <td>false</td>
+ *          <td>Whether to {@link org.infinispan.client.hotrod.configuration.NearCacheConfigurationBuilder#bloomFilter(boolean) invalidate} the local cache through a bloom filter registered with the server.</td>
+ *       </tr>
+ *       <tr>
  *          <th colspan="4">XSite properties</th>
  *       </tr>
  *       <tr>
@@ -9,6 +9,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.infinispan.client.hotrod.DataFormat;
 import org.infinispan.client.hotrod.annotation.ClientCacheEntryCreated;
@@ -31,6 +33,8 @@
 
 public class ClientEventDispatcher extends EventDispatcher<ClientEvent> {
    private static final Map<Class<? extends Annotation>, Class<?>[]> allowedListeners = new HashMap<>(4);
+   // The delay before sending again a grant of event credits that failed
+   private static final long CREDITS_RETRY_DELAY_MS = 500;
 
    static {
       allowedListeners.put(ClientCacheEntryCreated.class, new Class[]{ClientCacheEntryCreatedEvent.class, ClientCacheEntryCustomEvent.class});
@@ -42,16 +46,28 @@ public class ClientEventDispatcher extends EventDispatcher<ClientEvent> {
 
    final Map<Class<? extends Annotation>, List<ClientListenerInvocation>> invocables;
    final AddClientListenerOperation op;
-
-   ClientEventDispatcher(AddClientListenerOperation op, SocketAddress address, Map<Class<? extends Annotation>, List<ClientListenerInvocation>> invocables, String cacheName, Runnable cleanup) {
+   private final ClientListenerNotifier listenerNotifier;
+   // The number of events to consume before granting new credits to the server, or 0 without flow control
+   private final int creditBatch;
+   // Events are only received from the event loop of the listener channel
+   private long consumedEvents;
+   // The number of consumed events sent with the latest grant, only written from the event loop of the listener channel
+   private volatile long grantedEvents;
+
+   ClientEventDispatcher(AddClientListenerOperation op, SocketAddress address, Map<Class<? extends Annotation>, List<ClientListenerInvocation>> invocables, String cacheName,
+                         ClientListenerNotifier listenerNotifier, Runnable cleanup) {
       super(cacheName, op.listener, op.listenerId, address, cleanup);
       this.op = op;
       this.invocables = invocables;
+      this.listenerNotifier = listenerNotifier;
+      int eventCredits = op.eventCredits();
+      this.creditBatch = eventCredits > 0 ? Math.max(eventCredits / 2, 1) : 0;
    }
 
-   public static ClientEventDispatcher create(AddClientListenerOperation op, SocketAddress address, Runnable cleanup) {
+   public static ClientEventDispatcher create(AddClientListenerOperation op, SocketAddress address,
+                                              ClientListenerNotifier listenerNotifier, Runnable cleanup) {
       Map<Class<? extends Annotation>, List<ClientEventDispatcher.ClientListenerInvocation>> invocables = findMethods(op.listener);
-      return new ClientEventDispatcher(op, address, invocables, op.getCacheName(), cleanup);
+      return new ClientEventDispatcher(op, address, invocables, op.getCacheName(), listenerNotifier, cleanup);
    }
 
    public static Map<Class<? extends Annotation>, List<ClientEventDispatcher.ClientListenerInvocation>> findMethods(Object listener) {
@@ -94,22 +110,57 @@ public void invokeEvent(ClientEvent clientEvent) {
       if (trace)
          log.tracef("Event %s received for listener with id=%s", clientEvent, Util.printArray(listenerId));
 
-      switch (clientEvent.getType()) {
-         case CLIENT_CACHE_ENTRY_CREATED:
-            invokeCallbacks(clientEvent, ClientCacheEntryCreated.class);
-            break;
-         case CLIENT_CACHE_ENTRY_MODIFIED:
-            invokeCallbacks(clientEvent, ClientCacheEntryModified.class);
-            break;
-         case CLIENT_CACHE_ENTRY_REMOVED:
-            invokeCallbacks(clientEvent, ClientCacheEntryRemoved.class);
-            break;
-         case CLIENT_CACHE_ENTRY_EXPIRED:
-            invokeCallbacks(clientEvent, ClientCacheEntryExpired.class);
-            break;
+      try {
+         switch (clientEvent.getType()) {
+            case CLIENT_CACHE_ENTRY_CREATED:
+               invokeCallbacks(clientEvent, ClientCacheEntryCreated.class);
+               break;
+            case CLIENT_CACHE_ENTRY_MODIFIED:
+               invokeCallbacks(clientEvent, ClientCacheEntryModified.class);
+               break;
+            case CLIENT_CACHE_ENTRY_REMOVED:
+               invokeCallbacks(clientEvent, ClientCacheEntryRemoved.class);
+               break;
+            case CLIENT_CACHE_ENTRY_EXPIRED:
+               invokeCallbacks(clientEvent, ClientCacheEntryExpired.class);
+               break;
+         }
+      } finally {
+         // A failing callback must not stop the server from sending events
+         grantCreditsIfNeeded();
       }
    }
 
+   private void grantCreditsIfNeeded() {
+      if (creditBatch == 0 || ++consumedEvents - grantedEvents < creditBatch)
+         return;
+
+      grantedEvents = consumedEvents;
+      grantCredits(consumedEvents);
+   }
+
+   private void grantCredits(long consumed) {
+      if (trace)
+         log.tracef("Granting event credits for %d consumed events for listener with id=%s", consumed, Util.printArray(listenerId));
+      op.grantEventCredits(address, consumed).whenComplete((ignore, t) -> {
+         // The grant carries the total of consumed events, so it only needs to be sent again if it is still the latest.
+         // When the listener is failed over it is added again with new credits, and this dispatcher is stopped.
+         if (t != null && isRunning() && consumed == grantedEvents) {
+            log.debugf(t, "Unable to grant event credits for listener with id=%s, retrying", Util.printArray(listenerId));
+            try {
+               listenerNotifier.schedule(() -> {
+                  if (isRunning() && consumed == grantedEvents) {
+                     grantCredits(consumed);
+                  }
+               }, CREDITS_RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+               // The remote cache manager is stopping
+               log.debugf(e, "Unable to retry granting event credits for listener with id=%s", Util.printArray(listenerId));
+            }
+         }
+      });
+   }
+
    private void invokeCallbacks(ClientEvent event, Class<? extends Annotation> type) {
       List<ClientListenerInvocation> callbacks = invocables.get(type);
       if (callbacks != null) {
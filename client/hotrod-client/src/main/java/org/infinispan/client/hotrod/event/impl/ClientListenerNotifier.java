@@ -72,6 +72,13 @@ public Marshaller marshaller() {
       return marshaller;
    }
 
+   /**
+    * Runs a task after the given delay, on the thread that reconnects the listeners.
+    */
+   public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+      return reconnectExecutor.schedule(task, delay, unit);
+   }
+
    public void addDispatcher(EventDispatcher<?> dispatcher) {
       dispatchers.put(new WrappedByteArray(dispatcher.listenerId), dispatcher);
       if (trace)
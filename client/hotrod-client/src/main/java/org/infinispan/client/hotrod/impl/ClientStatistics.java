@@ -90,6 +90,13 @@ public long getNearCacheMisses() {
       return counters.get(StripeB.nearCacheMissesFieldUpdater);
    }
 
+   @Override
+   public double getNearCacheHitRatio() {
+      long hits = getNearCacheHits();
+      long total = hits + getNearCacheMisses();
+      return total == 0 ? 0 : (double) hits / total;
+   }
+
    @Override
    public long getNearCacheInvalidations() {
       return counters.get(StripeB.nearCacheInvalidationsFieldUpdater);
@@ -9,6 +9,7 @@
 import org.infinispan.client.hotrod.configuration.Configuration;
 import org.infinispan.client.hotrod.configuration.ExhaustedAction;
 import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.configuration.ReadRouting;
 import org.infinispan.client.hotrod.configuration.StatisticsConfiguration;
 import org.infinispan.client.hotrod.configuration.TransactionConfigurationBuilder;
 import org.infinispan.client.hotrod.configuration.TransactionMode;
@@ -37,6 +38,8 @@ public class ConfigurationProperties {
    public static final String DEFAULT_EXECUTOR_FACTORY_THREADNAME_SUFFIX = ICH + "default_executor_factory.threadname_suffix";
    public static final String TCP_NO_DELAY = ICH + "tcp_no_delay";
    public static final String TCP_KEEP_ALIVE = ICH + "tcp_keep_alive";
+   public static final String READ_ROUTING = ICH + "read_routing";
+   public static final String CLIENT_ZONE = ICH + "client_zone";
    @Deprecated
    public static final String PING_ON_STARTUP = ICH + "ping_on_startup";
    public static final String REQUEST_BALANCING_STRATEGY = ICH + "request_balancing_strategy";
@@ -92,6 +95,8 @@ public class ConfigurationProperties {
    public static final String NEAR_CACHE_MAX_ENTRIES = ICH + "near_cache.max_entries";
    public static final String NEAR_CACHE_MODE = ICH + "near_cache.mode";
    public static final String NEAR_CACHE_NAME_PATTERN = ICH + "near_cache.name_pattern";
+   public static final String NEAR_CACHE_MAX_BYTES = ICH + "near_cache.max_bytes";
+   public static final String NEAR_CACHE_BLOOM_FILTER = ICH + "near_cache.bloom_filter";
    // Pool properties
    public static final String CONNECTION_POOL_MAX_ACTIVE = ICH + "connection_pool.max_active";
    public static final String CONNECTION_POOL_MAX_WAIT = ICH + "connection_pool.max_wait";
@@ -99,6 +104,7 @@ public class ConfigurationProperties {
    public static final String CONNECTION_POOL_MAX_PENDING_REQUESTS = ICH + "connection_pool.max_pending_requests";
    public static final String CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME = ICH + "connection_pool.min_evictable_idle_time";
    public static final String CONNECTION_POOL_EXHAUSTED_ACTION = ICH + "connection_pool.exhausted_action";
+   public static final String CONNECTION_POOL_MULTIPLEXED_CONNECTIONS = ICH + "connection_pool.multiplexed_connections";
    // XSite properties
    public static final String CLUSTER_PROPERTIES_PREFIX = ICH + "cluster";
    public static final Pattern CLUSTER_PROPERTIES_PREFIX_REGEX =
@@ -189,6 +195,22 @@ public void setTcpKeepAlive(boolean tcpKeepAlive) {
       props.setProperty(TCP_KEEP_ALIVE, tcpKeepAlive);
    }
 
+   public String getReadRouting() {
+      return props.getProperty(READ_ROUTING, ReadRouting.getDefault().name());
+   }
+
+   public void setReadRouting(String readRouting) {
+      props.setProperty(READ_ROUTING, readRouting);
+   }
+
+   public String getClientZone() {
+      return props.getProperty(CLIENT_ZONE);
+   }
+
+   public void setClientZone(String clientZone) {
+      props.setProperty(CLIENT_ZONE, clientZone);
+   }
+
    public String getRequestBalancingStrategy() {
       return props.getProperty(REQUEST_BALANCING_STRATEGY, RoundRobinBalancingStrategy.class.getName());
    }
@@ -481,6 +503,22 @@ public void setNearCacheNamePattern(String nearCacheNamePattern) {
       props.setProperty(NEAR_CACHE_NAME_PATTERN, nearCacheNamePattern);
    }
 
+   public long getNearCacheMaxBytes() {
+      return props.getLongProperty(NEAR_CACHE_MAX_BYTES, -1);
+   }
+
+   public void setNearCacheMaxBytes(long nearCacheMaxBytes) {
+      props.setProperty(NEAR_CACHE_MAX_BYTES, nearCacheMaxBytes);
+   }
+
+   public boolean getNearCacheBloomFilter() {
+      return props.getBooleanProperty(NEAR_CACHE_BLOOM_FILTER, false);
+   }
+
+   public void setNearCacheBloomFilter(boolean nearCacheBloomFilter) {
+      props.setProperty(NEAR_CACHE_BLOOM_FILTER, nearCacheBloomFilter);
+   }
+
    public int getConnectionPoolMaxActive() {
       return props.getIntProperty(CONNECTION_POOL_MAX_ACTIVE, -1);
    }
@@ -513,6 +551,14 @@ public void setConnectionPoolMaxPendingRequests(int connectionPoolMaxPendingRequ
       props.setProperty(CONNECTION_POOL_MAX_PENDING_REQUESTS, connectionPoolMaxPendingRequests);
    }
 
+   public int getConnectionPoolMultiplexedConnections() {
+      return props.getIntProperty(CONNECTION_POOL_MULTIPLEXED_CONNECTIONS, 0);
+   }
+
+   public void setConnectionPoolMultiplexedConnections(int connectionPoolMultiplexedConnections) {
+      props.setProperty(CONNECTION_POOL_MULTIPLEXED_CONNECTIONS, connectionPoolMultiplexedConnections);
+   }
+
    public long setConnectionPoolMinEvictableIdleTime() {
       return props.getLongProperty(CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, 1800000);
    }
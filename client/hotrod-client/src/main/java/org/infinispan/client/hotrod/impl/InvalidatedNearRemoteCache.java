@@ -38,13 +38,10 @@ public CompletableFuture<MetadataValue<V>> getWithMetadataAsync(K key) {
       MetadataValue<V> nearValue = nearcache.get(key);
       if (nearValue == null) {
          clientStatistics.incrementNearCacheMisses();
-         CompletableFuture<MetadataValue<V>> remoteValue = super.getWithMetadataAsync(key);
+         CompletableFuture<MetadataValue<V>> remoteValue = nearcache.readFromServer(key, () -> super.getWithMetadataAsync(key));
          return remoteValue.thenApply(v -> {
-            if (v != null) {
-               nearcache.putIfAbsent(key, v);
-               if (v.getMaxIdle() > 0) {
-                  log.nearCacheMaxIdleUnsupported();
-               }
+            if (v != null && v.getMaxIdle() > 0) {
+               log.nearCacheMaxIdleUnsupported();
             }
             return v;
          });
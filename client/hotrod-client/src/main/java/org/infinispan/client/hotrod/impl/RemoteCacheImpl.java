@@ -6,16 +6,20 @@
 
 import java.util.AbstractCollection;
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.management.MBeanServer;
@@ -93,6 +97,9 @@
    private DataFormat dataFormat;
    protected ClientStatistics clientStatistics;
    private ObjectName mbeanObjectName;
+   private WriteBuffer writeBuffer;
+   // Write buffers of the instances derived from this one, flushed on stop
+   private Set<WriteBuffer> writeBuffers = Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<>()));
 
    public RemoteCacheImpl(RemoteCacheManager rcm, String name, TimeService timeService) {
       if (trace) {
@@ -186,9 +193,10 @@ public boolean removeWithVersion(K key, long version) {
    @Override
    public CompletableFuture<Boolean> removeWithVersionAsync(final K key, final long version) {
       assertRemoteCacheManagerIsStarted();
+      byte[] keyBytes = keyToBytes(key);
       RemoveIfUnmodifiedOperation<V> op = operationsFactory.newRemoveIfUnmodifiedOperation(
-            keyAsObjectIfNeeded(key), keyToBytes(key), version, dataFormat);
-      return op.execute().thenApply(response -> response.getCode().isUpdated());
+            keyAsObjectIfNeeded(key), keyBytes, version, dataFormat);
+      return write(keyBytes, op::execute).thenApply(response -> response.getCode().isUpdated());
    }
 
    @Override
@@ -208,9 +216,10 @@ public CompletableFuture<Boolean> replaceWithVersionAsync(K key, V newValue, lon
 
    public CompletableFuture<Boolean> replaceWithVersionAsync(K key, V newValue, long version, long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit) {
       assertRemoteCacheManagerIsStarted();
+      byte[] keyBytes = keyToBytes(key);
       ReplaceIfUnmodifiedOperation op = operationsFactory.newReplaceIfUnmodifiedOperation(
-            keyAsObjectIfNeeded(key), keyToBytes(key), valueToBytes(newValue), lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit, version, dataFormat);
-      return op.execute().thenApply(response -> response.getCode().isUpdated());
+            keyAsObjectIfNeeded(key), keyBytes, valueToBytes(newValue), lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit, version, dataFormat);
+      return write(keyBytes, op::execute).thenApply(response -> response.getCode().isUpdated());
    }
 
    @Override
@@ -297,6 +306,9 @@ public CompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> map, lo
          byteMap.put(keyToBytes(entry.getKey()), valueToBytes(entry.getValue()));
       }
       PutAllParallelOperation op = operationsFactory.newPutAllOperation(byteMap, lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit, dataFormat);
+      if (writeBuffer != null) {
+         return writeBuffer.writeAll(byteMap.keySet(), op::execute);
+      }
       return op.execute();
    }
 
@@ -331,6 +343,14 @@ public ServerStatistics serverStatistics() {
 
    @Override
    public V put(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
+      if (writeBuffer != null) {
+         // Synchronous puts are not buffered, the caller would wait for the flush interval
+         assertRemoteCacheManagerIsStarted();
+         byte[] keyBytes = keyToBytes(key);
+         PutOperation<V> op = operationsFactory.newPutKeyValueOperation(keyAsObjectIfNeeded(key),
+               keyBytes, valueToBytes(value), lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit, dataFormat);
+         return await(writeBuffer.write(keyBytes, op::execute));
+      }
       return await(putAsync(key, value, lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit));
    }
 
@@ -361,6 +381,11 @@ public CompletableFuture<V> putAsync(K key, V value, long lifespan, TimeUnit lif
       if (trace) {
          log.tracef("About to add (K,V): (%s, %s) lifespan:%d, maxIdle:%d", key, value, lifespan, maxIdleTime);
       }
+      if (writeBuffer != null) {
+         // Flags are not sent with buffered writes, but they must not leak to the next operation either
+         operationsFactory.flags();
+         return writeBuffer.put(keyToBytes(key), valueToBytes(value), lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
+      }
       PutOperation<V> op = operationsFactory.newPutKeyValueOperation(keyAsObjectIfNeeded(key),
             keyToBytes(key), valueToBytes(value), lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit, dataFormat);
       return op.execute();
@@ -370,32 +395,38 @@ public CompletableFuture<V> putAsync(K key, V value, long lifespan, TimeUnit lif
    public CompletableFuture<Void> clearAsync() {
       assertRemoteCacheManagerIsStarted();
       ClearOperation op = operationsFactory.newClearOperation();
+      if (writeBuffer != null) {
+         return writeBuffer.flush().handle((ignore, throwable) -> null).thenCompose(ignore -> op.execute());
+      }
       return op.execute();
    }
 
    @Override
    public CompletableFuture<V> putIfAbsentAsync(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
       assertRemoteCacheManagerIsStarted();
+      byte[] keyBytes = keyToBytes(key);
       PutIfAbsentOperation<V> op = operationsFactory.newPutIfAbsentOperation(keyAsObjectIfNeeded(key),
-            keyToBytes(key), valueToBytes(value), lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit, dataFormat);
-      return op.execute();
+            keyBytes, valueToBytes(value), lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit, dataFormat);
+      return write(keyBytes, op::execute);
    }
 
    @Override
    public CompletableFuture<V> removeAsync(Object key) {
       assertRemoteCacheManagerIsStarted();
-      RemoveOperation<V> removeOperation = operationsFactory.newRemoveOperation(keyAsObjectIfNeeded(key), keyToBytes(key), dataFormat);
+      byte[] keyBytes = keyToBytes(key);
+      RemoveOperation<V> removeOperation = operationsFactory.newRemoveOperation(keyAsObjectIfNeeded(key), keyBytes, dataFormat);
       // TODO: It sucks that you need the prev value to see if it works...
       // We need to find a better API for RemoteCache...
-      return removeOperation.execute();
+      return write(keyBytes, removeOperation::execute);
    }
 
    @Override
    public CompletableFuture<V> replaceAsync(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
       assertRemoteCacheManagerIsStarted();
+      byte[] keyBytes = keyToBytes(key);
       ReplaceOperation<V> op = operationsFactory.newReplaceOperation(keyAsObjectIfNeeded(key),
-            keyToBytes(key), valueToBytes(value), lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit, dataFormat);
-      return op.execute();
+            keyBytes, valueToBytes(value), lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit, dataFormat);
+      return write(keyBytes, op::execute);
    }
 
    @Override
@@ -455,9 +486,29 @@ public void start() {
 
    @Override
    public void stop() {
+      flushWriteBuffers();
       unregisterMBean();
    }
 
+   private void flushWriteBuffers() {
+      List<WriteBuffer> buffers;
+      synchronized (writeBuffers) {
+         buffers = new ArrayList<>(writeBuffers);
+      }
+      if (buffers.isEmpty()) {
+         return;
+      }
+      CompletableFuture<?>[] flushes = new CompletableFuture[buffers.size()];
+      for (int i = 0; i < flushes.length; i++) {
+         flushes[i] = buffers.get(i).flush();
+      }
+      try {
+         await(CompletableFuture.allOf(flushes));
+      } catch (RuntimeException e) {
+         log.writeBufferFlushFailed(name, e);
+      }
+   }
+
    @Override
    public String getName() {
       return name;
@@ -492,6 +543,27 @@ public void addClientListener(Object listener, Object[] filterFactoryParams, Obj
       await(op.execute());
    }
 
+   /**
+    * Asynchronous version of {@link #addClientListener(Object, Object[], Object[])}, which does not wait for the
+    * initial state to be transferred.
+    */
+   public CompletableFuture<Void> addClientListenerAsync(Object listener, Object[] filterFactoryParams, Object[] converterFactoryParams) {
+      assertRemoteCacheManagerIsStarted();
+      byte[][] marshalledFilterParams = marshallParams(filterFactoryParams);
+      byte[][] marshalledConverterParams = marshallParams(converterFactoryParams);
+      AddClientListenerOperation op = operationsFactory.newAddClientListenerOperation(
+            listener, marshalledFilterParams, marshalledConverterParams, dataFormat);
+      return op.execute().thenApply(ignore -> null);
+   }
+
+   /**
+    * Asynchronous version of {@link #removeClientListener(Object)}.
+    */
+   public CompletableFuture<Void> removeClientListenerAsync(Object listener) {
+      assertRemoteCacheManagerIsStarted();
+      return operationsFactory.newRemoveClientListenerOperation(listener).execute();
+   }
+
    private byte[][] marshallParams(Object[] params) {
       if (params == null)
          return org.infinispan.commons.util.Util.EMPTY_BYTE_ARRAY_ARRAY;
@@ -838,9 +910,36 @@ public <T, U> RemoteCache<T, U> withDataFormat(DataFormat newDataFormat) {
       return instance;
    }
 
+   @Override
+   public RemoteCache<K, V> withWriteBuffer(int maxBufferedWrites, long flushInterval, TimeUnit unit) {
+      if (maxBufferedWrites < 1)
+         throw new IllegalArgumentException("maxBufferedWrites must be greater than 0");
+      Objects.requireNonNull(unit, "unit must not be null");
+      RemoteCacheImpl<K, V> instance = newInstance();
+      instance.dataFormat = dataFormat;
+      instance.writeBuffer = new WriteBuffer(operationsFactory, dataFormat, maxBufferedWrites, flushInterval, unit);
+      writeBuffers.add(instance.writeBuffer);
+      return instance;
+   }
+
+   @Override
+   public void flush() {
+      await(flushAsync());
+   }
+
+   private <T> CompletableFuture<T> write(byte[] keyBytes, Supplier<CompletableFuture<T>> operation) {
+      return writeBuffer == null ? operation.get() : writeBuffer.write(keyBytes, operation);
+   }
+
+   @Override
+   public CompletableFuture<Void> flushAsync() {
+      return writeBuffer == null ? CompletableFuture.completedFuture(null) : writeBuffer.flush();
+   }
+
    private <T, U> RemoteCacheImpl<T, U> newInstance() {
       RemoteCacheImpl<T, U> copy = new RemoteCacheImpl<>(this.remoteCacheManager, name, clientStatistics);
       copy.init(this.defaultMarshaller, this.operationsFactory, this.estimateKeySize, this.estimateValueSize, this.batchSize);
+      copy.writeBuffers = writeBuffers;
       return copy;
    }
 
@@ -34,6 +34,7 @@ public final class TopologyInfo {
 
    private static final Log log = LogFactory.getLog(TopologyInfo.class, Log.class);
    private static final boolean trace = log.isTraceEnabled();
+   private static final SocketAddress[] NO_OWNERS = new SocketAddress[0];
 
    private Map<WrappedByteArray, Collection<SocketAddress>> servers = new ConcurrentHashMap<>();
    private Map<WrappedByteArray, ConsistentHash> consistentHashes = new ConcurrentHashMap<>();
@@ -105,6 +106,22 @@ public void updateTopology(SocketAddress[][] segmentOwners, int numSegments, sho
       topologyIds.put(wrappedName, topologyId);
    }
 
+   /**
+    * Returns all the owners of the key, the primary owner first, or an empty array if the consistent hash is unknown.
+    */
+   public SocketAddress[] getHashAwareOwners(Object key, byte[] cacheName) {
+      if (isTopologyValid(cacheName)) {
+         ConsistentHash consistentHash = consistentHashes.get(new WrappedByteArray(cacheName));
+         if (consistentHash instanceof SegmentConsistentHash) {
+            SegmentConsistentHash segmentConsistentHash = (SegmentConsistentHash) consistentHash;
+            return segmentConsistentHash.getSegmentOwners()[segmentConsistentHash.getSegment(key)];
+         } else if (consistentHash != null) {
+            return new SocketAddress[]{consistentHash.getServer(key)};
+         }
+      }
+      return NO_OWNERS;
+   }
+
    public Optional<SocketAddress> getHashAwareServer(Object key, byte[] cacheName) {
       Optional<SocketAddress> server = Optional.empty();
       if (isTopologyValid(cacheName)) {
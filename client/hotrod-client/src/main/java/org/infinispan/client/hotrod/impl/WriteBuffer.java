@@ -0,0 +1,269 @@
+package org.infinispan.client.hotrod.impl;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.infinispan.client.hotrod.DataFormat;
+import org.infinispan.client.hotrod.impl.operations.OperationsFactory;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+import org.infinispan.commons.marshall.WrappedByteArray;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Buffers the asynchronous writes of a {@link RemoteCacheImpl} and sends the puts in PUT_ALL batches.
+ * <p>
+ * Puts are grouped by the server owning the key, according to the client consistent hash, and by their expiration
+ * parameters. A group is sent when it holds {@code maxBufferedWrites} entries, when {@code flushInterval} has
+ * elapsed since its first write, or on {@link #flush()}.
+ * <p>
+ * Writes to the same key are applied in invocation order: a put replaces an earlier buffered put of the same key,
+ * and any write waits until the previous write to its key has completed before being sent. Only asynchronous puts
+ * are batched: every other write, and every synchronous write, goes through {@link #write(byte[], Supplier)} or
+ * {@link #writeAll(Collection, Supplier)}, which send any buffered put of the same keys first and are ordered with
+ * them.
+ *
+ * @since 10.0
+ */
+class WriteBuffer {
+   private static final Log log = LogFactory.getLog(WriteBuffer.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final OperationsFactory operationsFactory;
+   private final DataFormat dataFormat;
+   private final int maxBufferedWrites;
+   private final long flushInterval;
+   private final TimeUnit flushIntervalUnit;
+
+   @GuardedBy("this")
+   private final Map<BatchKey, Batch> batches = new HashMap<>();
+   @GuardedBy("this")
+   private final Map<WrappedByteArray, Batch> bufferedKeys = new HashMap<>();
+   // Last write sent or buffered for each key which has not completed yet
+   @GuardedBy("this")
+   private final Map<WrappedByteArray, CompletableFuture<?>> lastWrites = new HashMap<>();
+
+   WriteBuffer(OperationsFactory operationsFactory, DataFormat dataFormat, int maxBufferedWrites, long flushInterval,
+               TimeUnit flushIntervalUnit) {
+      this.operationsFactory = operationsFactory;
+      this.dataFormat = dataFormat;
+      this.maxBufferedWrites = maxBufferedWrites;
+      this.flushInterval = flushInterval;
+      this.flushIntervalUnit = flushIntervalUnit;
+   }
+
+   <V> CompletableFuture<V> put(byte[] key, byte[] value, long lifespan, TimeUnit lifespanUnit, long maxIdle,
+                                TimeUnit maxIdleUnit) {
+      WrappedByteArray wrappedKey = new WrappedByteArray(key);
+      SocketAddress server = operationsFactory.getChannelFactory().getSocketAddress(key, operationsFactory.getCacheNameBytes());
+      BatchKey batchKey = new BatchKey(server, lifespan, lifespanUnit, maxIdle, maxIdleUnit);
+      Batch full = null;
+      Batch previous = null;
+      Batch batch;
+      synchronized (this) {
+         batch = batches.get(batchKey);
+         if (batch == null) {
+            batch = new Batch(batchKey);
+            batches.put(batchKey, batch);
+            Batch newBatch = batch;
+            batch.timeout = operationsFactory.getChannelFactory().schedule(() -> send(detachBatch(newBatch)), flushInterval, flushIntervalUnit);
+         }
+         Batch buffered = bufferedKeys.get(wrappedKey);
+         if (buffered != batch) {
+            if (buffered != null) {
+               // Same key buffered with different expiration parameters: it must reach the server first
+               previous = detach(buffered);
+            }
+            CompletableFuture<?> lastWrite = lastWrites.get(wrappedKey);
+            if (lastWrite != null) {
+               batch.dependencies.add(lastWrite);
+            }
+            bufferedKeys.put(wrappedKey, batch);
+            lastWrites.put(wrappedKey, batch.future);
+         }
+         batch.entries.put(wrappedKey, value);
+         if (batch.entries.size() >= maxBufferedWrites) {
+            full = detach(batch);
+         }
+      }
+      send(previous);
+      send(full);
+      return batch.future.thenApply(ignore -> null);
+   }
+
+   /**
+    * Executes a write which is not buffered once the previous writes to {@code key} have completed. A put of the key
+    * which is still buffered is sent immediately.
+    */
+   <V> CompletableFuture<V> write(byte[] key, Supplier<CompletableFuture<V>> operation) {
+      return writeAll(Collections.singleton(key), operation);
+   }
+
+   /**
+    * Executes a write which is not buffered once the previous writes to all the {@code keys} have completed.
+    */
+   <V> CompletableFuture<V> writeAll(Collection<byte[]> keys, Supplier<CompletableFuture<V>> operation) {
+      Set<WrappedByteArray> wrappedKeys = new HashSet<>(keys.size());
+      keys.forEach(key -> wrappedKeys.add(new WrappedByteArray(key)));
+      List<Batch> toSend = new ArrayList<>();
+      List<CompletableFuture<?>> dependencies = new ArrayList<>();
+      CompletableFuture<V> result = new CompletableFuture<>();
+      synchronized (this) {
+         for (WrappedByteArray wrappedKey : wrappedKeys) {
+            Batch buffered = detach(bufferedKeys.get(wrappedKey));
+            if (buffered != null) {
+               toSend.add(buffered);
+            }
+            CompletableFuture<?> lastWrite = lastWrites.put(wrappedKey, result);
+            if (lastWrite != null) {
+               dependencies.add(lastWrite);
+            }
+         }
+      }
+      // The operation is executed outside the lock, it may block if the channel pool is exhausted
+      toSend.forEach(this::send);
+      CompletableFuture<V> operationFuture;
+      if (dependencies.isEmpty()) {
+         operationFuture = execute(operation);
+      } else {
+         operationFuture = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]))
+               .handle((ignore, throwable) -> null)
+               .thenCompose(ignore -> execute(operation));
+      }
+      operationFuture.whenComplete((v, throwable) -> {
+         writeCompleted(wrappedKeys, result);
+         if (throwable != null) {
+            result.completeExceptionally(throwable);
+         } else {
+            result.complete(v);
+         }
+      });
+      return result;
+   }
+
+   /**
+    * Sends all the buffered writes and returns a future completed once all the writes issued so far completed.
+    */
+   CompletableFuture<Void> flush() {
+      List<Batch> toSend;
+      CompletableFuture<?>[] pending;
+      synchronized (this) {
+         toSend = new ArrayList<>(batches.values());
+         toSend.forEach(this::detach);
+         pending = lastWrites.values().toArray(new CompletableFuture[0]);
+      }
+      toSend.forEach(this::send);
+      return CompletableFuture.allOf(pending);
+   }
+
+   private synchronized Batch detachBatch(Batch batch) {
+      return detach(batch);
+   }
+
+   @GuardedBy("this")
+   private Batch detach(Batch batch) {
+      if (batch == null || batches.remove(batch.batchKey) != batch) {
+         // Already sent
+         return null;
+      }
+      batch.timeout.cancel(false);
+      batch.entries.keySet().forEach(key -> bufferedKeys.remove(key, batch));
+      return batch;
+   }
+
+   private void send(Batch batch) {
+      if (batch == null) {
+         return;
+      }
+      if (trace) {
+         log.tracef("Sending %d buffered writes to %s", batch.entries.size(), batch.batchKey.server);
+      }
+      Map<byte[], byte[]> map = new HashMap<>(batch.entries.size());
+      batch.entries.forEach((key, value) -> map.put(key.getBytes(), value));
+      BatchKey batchKey = batch.batchKey;
+      CompletableFuture<Void> dependencies = CompletableFuture.allOf(batch.dependencies.toArray(new CompletableFuture[0]));
+      dependencies.handle((ignore, throwable) -> null)
+            .thenCompose(ignore -> operationsFactory.newPutAllOperation(map, batchKey.lifespan, batchKey.lifespanUnit,
+                  batchKey.maxIdle, batchKey.maxIdleUnit, dataFormat).execute())
+            .whenComplete((ignore, throwable) -> {
+               synchronized (this) {
+                  batch.entries.keySet().forEach(key -> lastWrites.remove(key, batch.future));
+               }
+               if (throwable != null) {
+                  batch.future.completeExceptionally(throwable);
+               } else {
+                  batch.future.complete(null);
+               }
+            });
+   }
+
+   private synchronized void writeCompleted(Set<WrappedByteArray> keys, CompletableFuture<?> write) {
+      keys.forEach(key -> lastWrites.remove(key, write));
+   }
+
+   private static <V> CompletableFuture<V> execute(Supplier<CompletableFuture<V>> operation) {
+      try {
+         return operation.get();
+      } catch (Throwable t) {
+         CompletableFuture<V> failed = new CompletableFuture<>();
+         failed.completeExceptionally(t);
+         return failed;
+      }
+   }
+
+   private static class Batch {
+      final BatchKey batchKey;
+      final Map<WrappedByteArray, byte[]> entries = new HashMap<>();
+      final List<CompletableFuture<?>> dependencies = new ArrayList<>();
+      final CompletableFuture<Void> future = new CompletableFuture<>();
+      ScheduledFuture<?> timeout;
+
+      Batch(BatchKey batchKey) {
+         this.batchKey = batchKey;
+      }
+   }
+
+   private static class BatchKey {
+      final SocketAddress server;
+      final long lifespan;
+      final TimeUnit lifespanUnit;
+      final long maxIdle;
+      final TimeUnit maxIdleUnit;
+
+      BatchKey(SocketAddress server, long lifespan, TimeUnit lifespanUnit, long maxIdle, TimeUnit maxIdleUnit) {
+         this.server = server;
+         this.lifespan = lifespan;
+         this.lifespanUnit = lifespanUnit;
+         this.maxIdle = maxIdle;
+         this.maxIdleUnit = maxIdleUnit;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) return true;
+         if (o == null || getClass() != o.getClass()) return false;
+         BatchKey batchKey = (BatchKey) o;
+         return lifespan == batchKey.lifespan && maxIdle == batchKey.maxIdle &&
+               lifespanUnit == batchKey.lifespanUnit && maxIdleUnit == batchKey.maxIdleUnit &&
+               Objects.equals(server, batchKey.server);
+      }
+
+      @Override
+      public int hashCode() {
+         return Objects.hash(server, lifespan, lifespanUnit, maxIdle, maxIdleUnit);
+      }
+   }
+}
@@ -1,6 +1,8 @@
 package org.infinispan.client.hotrod.impl.operations;
 
+import java.net.SocketAddress;
 import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -80,6 +82,13 @@ private ClientListener extractClientListener() {
       return l;
    }
 
+   /**
+    * @return the number of events the server can send before the client grants more credits, or 0 without flow control.
+    */
+   public int eventCredits() {
+      return codec.allowEventFlowControl() ? Math.max(extractClientListener().eventCredits(), 0) : 0;
+   }
+
    public String getCacheName() {
       return cacheNameString;
    }
@@ -98,7 +107,7 @@ protected void executeOperation(Channel channel) {
       channel.pipeline().get(HeaderDecoder.class).registerOperation(channel, this);
 
       listenerNotifier.addDispatcher(ClientEventDispatcher.create(this,
-            ChannelRecord.of(channel).getUnresolvedAddress(),
+            ChannelRecord.of(channel).getUnresolvedAddress(), listenerNotifier,
             () -> cleanup(channel)));
 
       ByteBuf buf = channel.alloc().buffer();
@@ -107,9 +116,19 @@ protected void executeOperation(Channel channel) {
       ByteBufUtil.writeArray(buf, listenerId);
       codec.writeClientListenerParams(buf, clientListener, filterFactoryParams, converterFactoryParams);
       codec.writeClientListenerInterests(buf, ClientEventDispatcher.findMethods(listener).keySet());
+      codec.writeClientListenerFlowControl(buf, clientListener);
       channel.writeAndFlush(buf);
    }
 
+   /**
+    * Allows the server where the listener is registered to send more events to it, now that the listener has consumed
+    * {@code consumedEvents} events since it was added.
+    */
+   public CompletableFuture<Void> grantEventCredits(SocketAddress address, long consumedEvents) {
+      return new AddEventCreditsOperation(codec, channelFactory, cacheName, header.topologyId(), flags, cfg,
+            listenerId, address, consumedEvents).execute();
+   }
+
    private void cleanup(Channel channel) {
       channel.eventLoop().execute(() -> {
          if (!codec.allowOperationsAndEvents()) {
@@ -131,6 +150,12 @@ public void releaseChannel(Channel channel) {
       }
    }
 
+   @Override
+   public boolean requiresExclusiveChannel() {
+      // Older protocols cannot interleave events with responses to other operations
+      return !codec.allowOperationsAndEvents();
+   }
+
    @Override
    public void acceptResponse(ByteBuf buf, short status, HeaderDecoder decoder) {
       if (HotRodConstants.isSuccess(status)) {
@@ -0,0 +1,78 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.net.SocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.transport.netty.ByteBufUtil;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelOperation;
+import org.infinispan.client.hotrod.impl.transport.netty.HeaderDecoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+/**
+ * Grants event credits to a client listener that uses flow control. Like removing a client listener, it must go to the
+ * node where the listener has been added, but not necessarily on the connection used for event consumption.
+ * <p>
+ * The operation sends the total number of events consumed since the listener was added, so a grant that fails is made
+ * up by any later grant.
+ *
+ * @since 10.0
+ */
+public class AddEventCreditsOperation extends HotRodOperation<Void> implements ChannelOperation {
+
+   private final byte[] listenerId;
+   private final SocketAddress address;
+   private final long consumedEvents;
+
+   protected AddEventCreditsOperation(Codec codec, ChannelFactory channelFactory,
+                                      byte[] cacheName, AtomicInteger topologyId, int flags,
+                                      Configuration cfg, byte[] listenerId, SocketAddress address, long consumedEvents) {
+      super(ADD_EVENT_CREDITS_REQUEST, ADD_EVENT_CREDITS_RESPONSE, codec, flags, cfg, cacheName, topologyId, channelFactory);
+      this.listenerId = listenerId;
+      this.address = address;
+      this.consumedEvents = consumedEvents;
+   }
+
+   @Override
+   public void invoke(Channel channel) {
+      scheduleRead(channel);
+      ByteBuf buf = channel.alloc().buffer(codec.estimateHeaderSize(header) + ByteBufUtil.estimateArraySize(listenerId)
+            + ByteBufUtil.estimateVLongSize(consumedEvents));
+      codec.writeHeader(buf, header);
+      ByteBufUtil.writeArray(buf, listenerId);
+      ByteBufUtil.writeVLong(buf, consumedEvents);
+      channel.writeAndFlush(buf);
+      releaseChannel(channel);
+   }
+
+   @Override
+   public void cancel(SocketAddress address, Throwable cause) {
+      completeExceptionally(cause);
+   }
+
+   @Override
+   public void acceptResponse(ByteBuf buf, short status, HeaderDecoder decoder) {
+      // If the listener is no longer registered there is nobody to grant the credits to
+      complete(null);
+   }
+
+   @Override
+   public CompletableFuture<Void> execute() {
+      try {
+         channelFactory.fetchChannelAndInvoke(address, this);
+      } catch (Exception e) {
+         completeExceptionally(e);
+      }
+      return this;
+   }
+
+   @Override
+   protected void addParams(StringBuilder sb) {
+      sb.append("consumedEvents=").append(consumedEvents);
+   }
+}
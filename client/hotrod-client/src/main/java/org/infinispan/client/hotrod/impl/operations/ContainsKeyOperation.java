@@ -36,6 +36,11 @@ protected void executeOperation(Channel channel) {
       sendArrayOperation(channel, keyBytes);
    }
 
+   @Override
+   public boolean readsFromAnyOwner() {
+      return true;
+   }
+
    @Override
    public void acceptResponse(ByteBuf buf, short status, HeaderDecoder decoder) {
       complete(!HotRodConstants.isNotExist(status) && HotRodConstants.isSuccess(status));
@@ -11,12 +11,14 @@
 import org.infinispan.client.hotrod.DataFormat;
 import org.infinispan.client.hotrod.configuration.Configuration;
 import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.exceptions.TransportException;
 import org.infinispan.client.hotrod.impl.MarshallerRegistry;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
 import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
 import org.infinispan.client.hotrod.impl.transport.netty.ByteBufUtil;
 import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelRecord;
 import org.infinispan.client.hotrod.impl.transport.netty.HeaderDecoder;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
@@ -53,6 +55,8 @@
    protected final HeaderParams header;
    private final MarshallerRegistry marshallerRegistry;
    protected volatile ScheduledFuture<?> timeoutFuture;
+   // Set by HeaderDecoder when the response time of the server is tracked
+   private long sentNanos;
 
    private static final byte NO_TX = 0;
    private static final byte XA_TX = 1;
@@ -86,6 +90,14 @@ public HeaderParams header() {
       return header;
    }
 
+   public long getSentNanos() {
+      return sentNanos;
+   }
+
+   public void setSentNanos(long sentNanos) {
+      this.sentNanos = sentNanos;
+   }
+
    protected void sendHeaderAndRead(Channel channel) {
       scheduleRead(channel);
       sendHeader(channel);
@@ -117,6 +129,8 @@ public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
       try {
          if (cause instanceof HotRodClientException && ((HotRodClientException) cause).isServerError()) {
             // don't close the channel, server just sent an error, there's nothing wrong with the channel
+         } else if (!closeOnError(ctx, cause)) {
+            // other operations are still using the channel, only this one fails
          } else {
             if (trace) {
                log.tracef(cause, "Requesting %s close due to exception", ctx.channel());
@@ -128,6 +142,20 @@ public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
       }
    }
 
+   /**
+    * Whether the channel must be closed after an error that is not a server error. A multiplexed channel is shared
+    * with other operations, so it is only closed on transport errors or when the decoder cannot find the start of
+    * the next response. Other client errors, e.g. failing to unmarshall a value, are thrown after the response was
+    * read and only fail the operation that owns it.
+    */
+   protected static boolean closeOnError(ChannelHandlerContext ctx, Throwable cause) {
+      ChannelRecord record = ctx == null ? null : ChannelRecord.of(ctx.channel());
+      if (record == null || !record.isMultiplexed()) {
+         return true;
+      }
+      return !(cause instanceof HotRodClientException) || cause instanceof TransportException;
+   }
+
    protected void sendArrayOperation(Channel channel, byte[] array) {
       // 1) write [header][array length][key]
       ByteBuf buf = channel.alloc().buffer(codec.estimateHeaderSize(header) + ByteBufUtil.estimateArraySize(array));
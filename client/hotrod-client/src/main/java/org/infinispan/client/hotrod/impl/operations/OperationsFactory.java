@@ -82,6 +82,14 @@ public String getCacheName() {
       return cacheName;
    }
 
+   public ChannelFactory getChannelFactory() {
+      return channelFactory;
+   }
+
+   public byte[] getCacheNameBytes() {
+      return cacheNameBytes;
+   }
+
    public Codec getCodec() {
       return codec;
    }
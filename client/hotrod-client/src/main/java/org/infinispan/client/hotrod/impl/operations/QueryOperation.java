@@ -61,8 +61,8 @@ protected void executeOperation(Channel channel) {
 
       codec.writeHeader(buf, header);
       ByteBufUtil.writeVInt(buf, requestBytes.length);
-      channel.write(buf);
-      channel.writeAndFlush(Unpooled.wrappedBuffer(requestBytes));
+      // Single write so that the frame cannot interleave with other requests on a multiplexed channel
+      channel.writeAndFlush(Unpooled.wrappedBuffer(buf, Unpooled.wrappedBuffer(requestBytes)));
    }
 
    private List<QueryRequest.NamedParameter> getNamedParameters() {
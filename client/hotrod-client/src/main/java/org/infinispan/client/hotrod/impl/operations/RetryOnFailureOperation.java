@@ -142,7 +142,7 @@ public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
          try {
             completeExceptionally(cause);
          } finally {
-            if (ctx != null) {
+            if (ctx != null && closeOnError(ctx, cause)) {
                if (trace) {
                   log.tracef(cause, "(1) %s Requesting %s close due to exception", this.toString(), ctx.channel());
                }
@@ -168,7 +168,9 @@ protected Throwable handleException(Throwable cause, ChannelHandlerContext ctx,
          if (ctx != null) {
             // We need to remove decoder even if we're about to close the channel
             // because otherwise we would be notified through channelInactive and we would retry (again).
-            if (ctx.pipeline().get(HeaderDecoder.NAME) != null) {
+            // A multiplexed channel keeps its decoder: it must fail the other operations in flight, and this one
+            // is no longer registered in it.
+            if (!ChannelRecord.of(ctx.channel()).isMultiplexed() && ctx.pipeline().get(HeaderDecoder.NAME) != null) {
                ctx.pipeline().remove(HeaderDecoder.NAME);
             }
             if (trace) {
@@ -74,6 +74,21 @@ void writeClientListenerParams(ByteBuf buf, ClientListener clientListener,
 
    void writeClientListenerInterests(ByteBuf buf, Set<Class<? extends Annotation>> classes);
 
+   /**
+    * Writes the event credits and coalescing parameters of a client listener.
+    */
+   default void writeClientListenerFlowControl(ByteBuf buf, ClientListener clientListener) {
+      // No-op
+   }
+
+   /**
+    * @return True if the client can limit the number of events the server sends with
+    * {@link ClientListener#eventCredits()}
+    */
+   default boolean allowEventFlowControl() {
+      return false;
+   }
+
    /**
     * Reads a {@link HotRodCounterEvent} with the {@code listener-id}.
     */
@@ -1,5 +1,8 @@
 package org.infinispan.client.hotrod.impl.protocol;
 
+import org.infinispan.client.hotrod.annotation.ClientListener;
+import org.infinispan.client.hotrod.impl.transport.netty.ByteBufUtil;
+
 import io.netty.buffer.ByteBuf;
 
 /**
@@ -10,4 +13,15 @@ public class Codec30 extends Codec29 {
    public HeaderParams writeHeader(ByteBuf buf, HeaderParams params) {
       return writeHeader(buf, params, HotRodConstants.VERSION_30);
    }
+
+   @Override
+   public void writeClientListenerFlowControl(ByteBuf buf, ClientListener clientListener) {
+      ByteBufUtil.writeVInt(buf, Math.max(clientListener.eventCredits(), 0));
+      buf.writeByte((short) (clientListener.coalesceEvents() ? 1 : 0));
+   }
+
+   @Override
+   public boolean allowEventFlowControl() {
+      return true;
+   }
 }
@@ -54,6 +54,7 @@ public interface HotRodConstants {
    byte AUTH_REQUEST = 0x23;
    byte ADD_CLIENT_LISTENER_REQUEST = 0x25;
    byte REMOVE_CLIENT_LISTENER_REQUEST = 0x27;
+   byte ADD_EVENT_CREDITS_REQUEST = 0x41;
    byte SIZE_REQUEST = 0x29;
    byte EXEC_REQUEST = 0x2B;
    byte PUT_ALL_REQUEST = 0x2D;
@@ -103,6 +104,7 @@ public interface HotRodConstants {
    byte AUTH_RESPONSE = 0x24;
    byte ADD_CLIENT_LISTENER_RESPONSE = 0x26;
    byte REMOVE_CLIENT_LISTENER_RESPONSE = 0x28;
+   byte ADD_EVENT_CREDITS_RESPONSE = 0x42;
    byte SIZE_RESPONSE = 0x2A;
    byte EXEC_RESPONSE = 0x2C;
    byte PUT_ALL_RESPONSE = 0x2E;
@@ -6,6 +6,7 @@
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -20,6 +21,7 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -33,6 +35,7 @@
 import org.infinispan.client.hotrod.FailoverRequestBalancingStrategy;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.configuration.ReadRouting;
 import org.infinispan.client.hotrod.configuration.ServerConfiguration;
 import org.infinispan.client.hotrod.event.impl.ClientListenerNotifier;
 import org.infinispan.client.hotrod.impl.ConfigurationProperties;
@@ -85,6 +88,9 @@ public class ChannelFactory {
    private int maxRetries;
    private Marshaller marshaller;
    private Collection<Consumer<Set<SocketAddress>>> failedServerNotifier;
+   private boolean latencyAwareReads;
+   private String clientZone;
+   private Map<SocketAddress, String> serverZones;
    @GuardedBy("lock")
    private volatile TopologyInfo topologyInfo;
 
@@ -117,8 +123,15 @@ public void start(Codec codec, Configuration configuration, AtomicInteger defaul
 
          Collection<SocketAddress> servers = new ArrayList<>();
          initialServers = new ArrayList<>();
+         latencyAwareReads = configuration.readRouting() == ReadRouting.LATENCY_AWARE;
+         clientZone = configuration.clientZone();
+         serverZones = new HashMap<>();
          for (ServerConfiguration server : configuration.servers()) {
-            servers.add(InetSocketAddress.createUnresolved(server.host(), server.port()));
+            SocketAddress address = InetSocketAddress.createUnresolved(server.host(), server.port());
+            servers.add(address);
+            if (server.zone() != null) {
+               serverZones.put(address, server.zone());
+            }
          }
          initialServers.addAll(servers);
          if (!configuration.clusters().isEmpty()) {
@@ -160,6 +173,13 @@ private int maxAsyncThreads(ExecutorService executorService, Configuration confi
       return new ConfigurationProperties(configuration.asyncExecutorFactory().properties()).getDefaultExecutorFactoryPoolSize();
    }
 
+   /**
+    * Schedules a task on the transport event loop
+    */
+   public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+      return eventLoopGroup.schedule(task, delay, unit);
+   }
+
    public MarshallerRegistry getMarshallerRegistry() {
       return marshallerRegistry;
    }
@@ -181,7 +201,8 @@ private ChannelPool newPool(SocketAddress address) {
       ChannelInitializer channelInitializer = new ChannelInitializer(bootstrap, address, operationsFactory, configuration, this);
       bootstrap.handler(channelInitializer);
       ChannelPool pool = new ChannelPool(bootstrap.config().group().next(), address, channelInitializer, configuration.connectionPool().exhaustedAction(),
-            configuration.connectionPool().maxWait(), maxConnections, configuration.connectionPool().maxPendingRequests());
+            configuration.connectionPool().maxWait(), maxConnections, configuration.connectionPool().maxPendingRequests(),
+            configuration.connectionPool().multiplexedConnections());
       channelInitializer.setChannelPool(pool);
       return pool;
    }
@@ -289,6 +310,10 @@ public SocketAddress getSocketAddress(Object key, byte[] cacheName) {
    }
 
    public <T extends ChannelOperation> T fetchChannelAndInvoke(Object key, Set<SocketAddress> failedServers, byte[] cacheName, T operation) {
+      if (latencyAwareReads && operation.readsFromAnyOwner()) {
+         SocketAddress owner = selectOwner(topologyInfo.getHashAwareOwners(key, cacheName), failedServers);
+         return fetchChannelAndInvoke(owner != null ? owner : getNextServer(failedServers, cacheName), operation);
+      }
       Optional<SocketAddress> hashAwareServer = topologyInfo.getHashAwareServer(key, cacheName);
       if (failedServers != null) {
          hashAwareServer = hashAwareServer.filter(server -> !failedServers.contains(server));
@@ -297,6 +322,33 @@ public <T extends ChannelOperation> T fetchChannelAndInvoke(Object key, Set<Sock
       return fetchChannelAndInvoke(server, operation);
    }
 
+   /**
+    * Chooses the owner expected to respond first, preferring the owners in the same zone as the client. The owners
+    * are ordered with the primary first, so the primary wins ties.
+    */
+   private SocketAddress selectOwner(SocketAddress[] owners, Set<SocketAddress> failedServers) {
+      SocketAddress selected = null;
+      boolean selectedInZone = false;
+      long selectedScore = Long.MAX_VALUE;
+      for (SocketAddress owner : owners) {
+         if (failedServers != null && failedServers.contains(owner))
+            continue;
+         boolean inZone = clientZone != null && clientZone.equals(serverZones.get(owner));
+         if (selectedInZone && !inZone)
+            continue;
+         ChannelPool pool = channelPoolMap.get(owner);
+         long score = pool == null ? 0 : pool.getLoad().score();
+         if (selected == null || (inZone && !selectedInZone) || score < selectedScore) {
+            selected = owner;
+            selectedInZone = inZone;
+            selectedScore = score;
+         }
+      }
+      if (trace)
+         log.tracef("Selected owner %s (in zone: %b, score: %d) among %s", selected, selectedInZone, selectedScore, Arrays.toString(owners));
+      return selected;
+   }
+
    public void releaseChannel(Channel channel) {
       if (trace) {
          log.tracef("Releasing channel %s", channel);
@@ -21,6 +21,7 @@
 
 import org.infinispan.client.hotrod.configuration.AuthenticationConfiguration;
 import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.configuration.ReadRouting;
 import org.infinispan.client.hotrod.configuration.SslConfiguration;
 import org.infinispan.client.hotrod.impl.operations.OperationsFactory;
 import org.infinispan.client.hotrod.logging.Log;
@@ -33,6 +34,7 @@
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.JdkSslContext;
 import io.netty.handler.ssl.SslContext;
@@ -62,7 +64,11 @@ class ChannelInitializer extends io.netty.channel.ChannelInitializer<Channel> {
    }
 
    CompletableFuture<Channel> createChannel() {
-      ChannelFuture connect = bootstrap.clone().connect();
+      return createChannel(false);
+   }
+
+   CompletableFuture<Channel> createChannel(boolean multiplexed) {
+      ChannelFuture connect = bootstrap.clone().attr(ChannelRecord.MULTIPLEXED, multiplexed).connect();
       ActivationFuture activationFuture = new ActivationFuture();
       connect.addListener(activationFuture);
       return activationFuture;
@@ -86,7 +92,8 @@ protected void initChannel(Channel channel) throws Exception {
          channel.pipeline().addLast("idle-state-handler",
                new IdleStateHandler(0, 0, configuration.connectionPool().minEvictableIdleTime(), TimeUnit.MILLISECONDS));
       }
-      ChannelRecord channelRecord = new ChannelRecord(unresolvedAddress, channelPool);
+      boolean multiplexed = channel.attr(ChannelRecord.MULTIPLEXED).get() == Boolean.TRUE;
+      ChannelRecord channelRecord = new ChannelRecord(unresolvedAddress, channelPool, multiplexed);
       channel.attr(ChannelRecord.KEY).set(channelRecord);
       if (isFirstPing) {
          isFirstPing = false;
@@ -94,7 +101,13 @@ protected void initChannel(Channel channel) throws Exception {
       } else {
          channel.pipeline().addLast(ActivationHandler.NAME, ActivationHandler.INSTANCE);
       }
-      channel.pipeline().addLast(HeaderDecoder.NAME, new HeaderDecoder(operationsFactory.getCodec(), channelFactory, configuration, operationsFactory.getListenerNotifier()));
+      channel.pipeline().addLast(HeaderDecoder.NAME, new HeaderDecoder(operationsFactory.getCodec(), channelFactory, configuration, operationsFactory.getListenerNotifier(),
+            configuration.readRouting() == ReadRouting.LATENCY_AWARE ? channelPool.getLoad() : null));
+      if (multiplexed) {
+         // Requests written concurrently into a multiplexed channel are flushed together from the event loop
+         channel.pipeline().addLast("flush-consolidation-handler",
+               new FlushConsolidationHandler(FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES, true));
+      }
       if (configuration.connectionPool().minEvictableIdleTime() > 0) {
          // This handler needs to be the last so that HeaderDecoder has the chance to cancel the idle event
          channel.pipeline().addLast(IdleStateHandlerProvider.NAME,
@@ -19,4 +19,20 @@ public interface ChannelOperation {
     * @param cause
     */
    void cancel(SocketAddress address, Throwable cause);
+
+   /**
+    * Whether the operation must be the only writer on the channel until it releases it, e.g. because it writes
+    * multiple frames. Such operations are never given a multiplexed channel.
+    */
+   default boolean requiresExclusiveChannel() {
+      return false;
+   }
+
+   /**
+    * Whether the operation only reads the key it targets, so that with
+    * {@link org.infinispan.client.hotrod.configuration.ReadRouting#LATENCY_AWARE} any owner of the key can serve it.
+    */
+   default boolean readsFromAnyOwner() {
+      return false;
+   }
 }
@@ -3,6 +3,8 @@
 import java.net.SocketAddress;
 import java.util.Deque;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -32,6 +34,11 @@
  * if the channel is available.
  *
  * The connections are handled LIFO, pending requests are handled FIFO.
+ *
+ * When multiplexing is enabled, a fixed number of connections is shared by all operations that do not require
+ * exclusive access: the operation is written into the least loaded connection without removing it from the pool,
+ * and responses are correlated by {@link HeaderDecoder} using the message id. Exclusive operations, and operations
+ * arriving while no multiplexed connection is available, use the regular pool.
  */
 class ChannelPool {
    private static final AtomicIntegerFieldUpdater<TimeoutCallback> invokedUpdater = AtomicIntegerFieldUpdater.newUpdater(TimeoutCallback.class, "invoked");
@@ -47,12 +54,21 @@ class ChannelPool {
    private final long maxWait;
    private final int maxConnections;
    private final int maxPendingRequests;
+   private final int maxMultiplexed;
+   private final CopyOnWriteArrayList<Channel> multiplexed = new CopyOnWriteArrayList<>();
+   private final AtomicInteger multiplexedCreated = new AtomicInteger();
+   private volatile CompletableFuture<Channel> multiplexedConnecting;
    private final AtomicInteger created  = new AtomicInteger();
    private final AtomicInteger active = new AtomicInteger();
+   private final ServerLoad load = new ServerLoad();
    private final ReadWriteLock lock = new ReentrantReadWriteLock();
    private volatile boolean terminated = false;
 
    ChannelPool(EventExecutor executor, SocketAddress address, ChannelInitializer newChannelInvoker, ExhaustedAction exhaustedAction, long maxWait, int maxConnections, int maxPendingRequests) {
+      this(executor, address, newChannelInvoker, exhaustedAction, maxWait, maxConnections, maxPendingRequests, 0);
+   }
+
+   ChannelPool(EventExecutor executor, SocketAddress address, ChannelInitializer newChannelInvoker, ExhaustedAction exhaustedAction, long maxWait, int maxConnections, int maxPendingRequests, int maxMultiplexed) {
       this.executor = executor;
       this.address = address;
       this.newChannelInvoker = newChannelInvoker;
@@ -60,6 +76,7 @@ class ChannelPool {
       this.maxWait = maxWait;
       this.maxConnections = maxConnections;
       this.maxPendingRequests = maxPendingRequests;
+      this.maxMultiplexed = maxMultiplexed;
    }
 
    public void acquire(ChannelOperation callback) {
@@ -67,6 +84,9 @@ public void acquire(ChannelOperation callback) {
          callback.cancel(address, new RejectedExecutionException("Pool was terminated"));
          return;
       }
+      if (maxMultiplexed > 0 && !callback.requiresExclusiveChannel() && acquireMultiplexed(callback)) {
+         return;
+      }
       Channel channel;
       int fullChannelsSeen = 0;
       while ((channel = channels.pollFirst()) != null) {
@@ -136,6 +156,90 @@ public void acquire(ChannelOperation callback) {
       activateChannel(channel, callback, false);
    }
 
+   private boolean acquireMultiplexed(ChannelOperation callback) {
+      Channel channel = null;
+      int minPending = Integer.MAX_VALUE;
+      for (Channel candidate : multiplexed) {
+         if (!candidate.isActive()) {
+            continue;
+         }
+         int pending = candidate.pipeline().get(HeaderDecoder.class).registeredOperations();
+         if (pending < minPending) {
+            channel = candidate;
+            minPending = pending;
+         }
+      }
+      // Open another connection only when all the current ones have requests in flight
+      if (minPending > 0) {
+         int current = multiplexedCreated.get();
+         while (current < maxMultiplexed) {
+            if (multiplexedCreated.compareAndSet(current, current + 1)) {
+               createMultiplexedAndInvoke(callback);
+               return true;
+            }
+            current = multiplexedCreated.get();
+         }
+      }
+      if (channel != null) {
+         invokeMultiplexed(channel, callback);
+         return true;
+      }
+      CompletableFuture<Channel> connecting = multiplexedConnecting;
+      if (connecting != null && !connecting.isDone()) {
+         connecting.whenComplete((ch, throwable) -> {
+            if (throwable != null) {
+               callback.cancel(address, throwable);
+            } else {
+               invokeMultiplexed(ch, callback);
+            }
+         });
+         return true;
+      }
+      // The multiplexed connections are being closed, fall back to the regular pool
+      return false;
+   }
+
+   private void createMultiplexedAndInvoke(ChannelOperation callback) {
+      try {
+         CompletableFuture<Channel> connecting = newChannelInvoker.createChannel(true);
+         multiplexedConnecting = connecting;
+         connecting.whenComplete((channel, throwable) -> {
+            if (throwable != null) {
+               int currentCreated = multiplexedCreated.decrementAndGet();
+               assert currentCreated >= 0;
+               callback.cancel(address, throwable);
+            } else {
+               multiplexed.add(channel);
+               if (!channel.isActive()) {
+                  // The channel was closed before we've registered it, the close listener did not remove it
+                  removeMultiplexed(channel);
+               }
+               invokeMultiplexed(channel, callback);
+            }
+         });
+      } catch (Throwable t) {
+         multiplexedCreated.decrementAndGet();
+         callback.cancel(address, t);
+      }
+   }
+
+   private void invokeMultiplexed(Channel channel, ChannelOperation callback) {
+      try {
+         callback.invoke(channel);
+      } catch (Throwable t) {
+         log.tracef(t, "Requesting %s close due to exception", channel);
+         channel.close();
+         throw t;
+      }
+   }
+
+   private void removeMultiplexed(Channel channel) {
+      if (multiplexed.remove(channel)) {
+         int currentCreated = multiplexedCreated.decrementAndGet();
+         assert currentCreated >= 0 : "Error releasing " + channel;
+      }
+   }
+
    private void createAndInvoke(ChannelOperation callback) {
       try {
          newChannelInvoker.createChannel().whenComplete((channel, throwable) -> {
@@ -157,6 +261,13 @@ private void createAndInvoke(ChannelOperation callback) {
    }
 
    public void release(Channel channel, ChannelRecord record) {
+      if (record.isMultiplexed()) {
+         // Multiplexed channels are never handed out exclusively, we only need to forget the closed ones
+         if (!channel.isActive()) {
+            removeMultiplexed(channel);
+         }
+         return;
+      }
       // The channel can be closed when it's idle (due to idle timeout or closed connection)
       boolean idle = record.isIdle();
       if (!idle) {
@@ -235,13 +346,17 @@ private void discardChannel(Channel channel, ChannelRecord record) {
    }
 
    public int getActive() {
-      return active.get();
+      return active.get() + multiplexed.size();
    }
 
    public int getIdle() {
       return Math.max(0, created.get() - active.get());
    }
 
+   ServerLoad getLoad() {
+      return load;
+   }
+
    public void close() {
       terminated = true;
       lock.writeLock().lock();
@@ -253,6 +368,7 @@ public void close() {
             // e.g. when moving from unresolved to resolved addresses
             channel.pipeline().fireUserEventTriggered(ChannelPoolCloseEvent.INSTANCE);
          });
+         multiplexed.forEach(channel -> channel.pipeline().fireUserEventTriggered(ChannelPoolCloseEvent.INSTANCE));
       } finally {
          lock.writeLock().unlock();
       }
@@ -265,6 +381,8 @@ public String toString() {
             ", maxWait=" + maxWait +
             ", maxConnections=" + maxConnections +
             ", maxPendingRequests=" + maxPendingRequests +
+            ", maxMultiplexed=" + maxMultiplexed +
+            ", multiplexed=" + multiplexed.size() +
             ", created=" + created +
             ", active=" + active +
             ", terminated=" + terminated +
@@ -23,14 +23,17 @@ public class ChannelRecord extends CompletableFuture<Channel> implements Generic
    private static final boolean trace = log.isTraceEnabled();
 
    static AttributeKey<ChannelRecord> KEY = AttributeKey.newInstance("activation");
+   static AttributeKey<Boolean> MULTIPLEXED = AttributeKey.newInstance("multiplexed");
 
    private final SocketAddress unresolvedAddress;
    private final ChannelPool channelPool;
+   private final boolean multiplexed;
    private boolean acquired = true;
 
-   ChannelRecord(SocketAddress unresolvedAddress, ChannelPool channelPool) {
+   ChannelRecord(SocketAddress unresolvedAddress, ChannelPool channelPool, boolean multiplexed) {
       this.unresolvedAddress = unresolvedAddress;
       this.channelPool = channelPool;
+      this.multiplexed = multiplexed;
    }
 
    public static ChannelRecord of(Channel channel) {
@@ -76,4 +79,11 @@ void setIdle() {
    public boolean isIdle() {
       return !acquired;
    }
+
+   /**
+    * Multiplexed channels are shared by concurrent operations and are never idle in the pool.
+    */
+   public boolean isMultiplexed() {
+      return multiplexed;
+   }
 }
@@ -42,6 +42,8 @@ public class HeaderDecoder extends HintedReplayingDecoder<HeaderDecoder.State> {
    private final ChannelFactory channelFactory;
    private final Configuration configuration;
    private final ClientListenerNotifier listenerNotifier;
+   // Only tracked when the reads are routed by latency
+   private final ServerLoad load;
    // operations may be registered in any thread, and are removed in event loop thread
    private final ConcurrentMap<Long, HotRodOperation<?>> incomplete = new ConcurrentHashMap<>();
    private final List<byte[]> listeners = new ArrayList<>();
@@ -52,11 +54,16 @@ public class HeaderDecoder extends HintedReplayingDecoder<HeaderDecoder.State> {
    private short receivedOpCode;
 
    public HeaderDecoder(Codec codec, ChannelFactory channelFactory, Configuration configuration, ClientListenerNotifier listenerNotifier) {
+      this(codec, channelFactory, configuration, listenerNotifier, null);
+   }
+
+   HeaderDecoder(Codec codec, ChannelFactory channelFactory, Configuration configuration, ClientListenerNotifier listenerNotifier, ServerLoad load) {
       super(State.READ_MESSAGE_ID);
       this.codec = codec;
       this.channelFactory = channelFactory;
       this.configuration = configuration;
       this.listenerNotifier = listenerNotifier;
+      this.load = load;
    }
 
    @Override
@@ -72,6 +79,10 @@ public void registerOperation(Channel channel, HotRodOperation<?> operation) {
       if (closing) {
          throw log.noMoreOperationsAllowed();
       }
+      if (load != null) {
+         operation.setSentNanos(System.nanoTime());
+         load.requestSent();
+      }
       HotRodOperation<?> prev = incomplete.put(operation.header().messageId(), operation);
       assert prev == null : "Already registered: " + prev + ", new: " + operation;
       operation.scheduleTimeout(channel.eventLoop());
@@ -127,6 +138,9 @@ protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) t
                if (operation == null) {
                   throw log.unknownMessageId(messageId);
                }
+               if (load != null) {
+                  load.responseReceived(operation.getSentNanos());
+               }
                if (trace) {
                   log.tracef("Response %d belongs to %s on %s", messageId, operation, ctx.channel());
                }
@@ -142,6 +156,8 @@ protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) t
                   log.tracef("Decoding payload for %s on %s", operation, ctx.channel());
                }
                operation.acceptResponse(in, status, this);
+               // Errors after this point don't belong to the operation, e.g. on a multiplexed channel
+               operation = null;
                checkpoint(State.READ_MESSAGE_ID);
                break;
             case READ_CACHE_EVENT:
@@ -201,7 +217,9 @@ private void invokeEvent(byte[] listenerId, Object cacheEvent) {
    @Override
    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
       if (operation != null) {
-         operation.exceptionCaught(ctx, cause);
+         HotRodOperation<?> failed = operation;
+         operation = null;
+         failed.exceptionCaught(ctx, cause);
       } else {
          TransportException transportException = log.errorFromUnknownOperation(ctx.channel(), cause, ctx.channel().remoteAddress());
          for (HotRodOperation<?> op : incomplete.values()) {
@@ -220,6 +238,9 @@ public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
 
    @Override
    public void channelInactive(ChannelHandlerContext ctx) {
+      if (load != null) {
+         load.requestsAborted(incomplete.size());
+      }
       for (HotRodOperation<?> op : incomplete.values()) {
          try {
             op.channelInactive(ctx.channel());
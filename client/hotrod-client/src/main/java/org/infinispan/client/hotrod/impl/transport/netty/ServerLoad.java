@@ -0,0 +1,54 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the average response time and the number of requests in flight of a server, used to choose the owner
+ * serving a read when {@link org.infinispan.client.hotrod.configuration.ReadRouting#LATENCY_AWARE} is enabled.
+ *
+ * @since 10.0
+ */
+final class ServerLoad {
+   // Each response moves the average by 1/8 of the difference, as TCP does for the smoothed round-trip time
+   private static final int SMOOTHING_SHIFT = 3;
+
+   private final AtomicInteger inFlight = new AtomicInteger();
+   private volatile long averageNanos;
+
+   void requestSent() {
+      inFlight.incrementAndGet();
+   }
+
+   void responseReceived(long sentNanos) {
+      inFlight.decrementAndGet();
+      long sample = System.nanoTime() - sentNanos;
+      long average = averageNanos;
+      // Concurrent updates may lose a sample, which only delays the convergence of the average
+      averageNanos = average == 0 ? sample : average + ((sample - average) >> SMOOTHING_SHIFT);
+   }
+
+   void requestsAborted(int count) {
+      inFlight.addAndGet(-count);
+   }
+
+   long averageNanos() {
+      return averageNanos;
+   }
+
+   int inFlight() {
+      return Math.max(0, inFlight.get());
+   }
+
+   /**
+    * Expected wait for a new request, lower is better. Servers that have not responded yet score lowest so that
+    * they are measured.
+    */
+   long score() {
+      return (averageNanos + 1) * (inFlight() + 1);
+   }
+
+   @Override
+   public String toString() {
+      return "ServerLoad{averageNanos=" + averageNanos + ", inFlight=" + inFlight + '}';
+   }
+}
@@ -51,6 +51,12 @@ public interface RemoteCacheClientStatisticsMXBean {
     */
    long getNearCacheMisses();
 
+   /**
+    * Returns the ratio of near-cache hits to near-cache reads, between 0 and 1. Returns a value of 0 if near-caching is
+    * disabled.
+    */
+   double getNearCacheHitRatio();
+
    /**
     * Returns the number of near-cache invalidations. Returns a value of 0 if near-caching is disabled.
     */
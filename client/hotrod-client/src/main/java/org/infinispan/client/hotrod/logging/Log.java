@@ -317,4 +317,18 @@ public interface Log extends BasicLogger {
 
    @Message(value = "TransactionTable is not started!", id = 4089)
    HotRodClientException transactionTableNotStarted();
+
+   @Message(value = "Invalid multiplexed_connections (value=%s). Value should be greater or equal than zero.", id = 4090)
+   CacheConfigurationException invalidMultiplexedConnections(int multiplexedConnections);
+
+   @Message(value = "Near cache bloom filter invalidation requires the number of max entries to be configured", id = 4091)
+   CacheConfigurationException nearCacheBloomFilterRequiresMaxEntries();
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to register the near cache bloom filter listener for cache '%s', falling back to per-key invalidation", id = 4092)
+   void nearCacheBloomFilterUnavailable(String cacheName, @Cause Throwable t);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to flush the buffered writes of cache '%s' on stop", id = 4093)
+   void writeBufferFlushFailed(String cacheName, @Cause Throwable t);
 }
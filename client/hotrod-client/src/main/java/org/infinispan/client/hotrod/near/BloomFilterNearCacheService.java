@@ -0,0 +1,235 @@
+package org.infinispan.client.hotrod.near;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.infinispan.client.hotrod.DataFormat;
+import org.infinispan.client.hotrod.MetadataValue;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.annotation.ClientListener;
+import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
+import org.infinispan.client.hotrod.event.impl.ClientListenerNotifier;
+import org.infinispan.client.hotrod.impl.RemoteCacheImpl;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+import org.infinispan.commons.util.BloomFilter;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Near cache service which registers a bloom filter of the keys held in the near cache with the server, so that the
+ * server only sends invalidation events for keys that might be in the near cache.
+ * <p>
+ * A value read from the server is only stored in the near cache if its key was covered by the filter registered
+ * before the read started, otherwise the key is added to the filter and the filter is registered again in the
+ * background. The next read of the key then fills the near cache. Registering a new filter adds a new listener before
+ * removing the old one, so no invalidation is lost in between.
+ * <p>
+ * Re-registrations are batched: the filter is registered again at most once every {@link #MIN_UPDATE_INTERVAL_MS}
+ * milliseconds, unless {@link #UPDATE_THRESHOLD_DIVISOR a fraction} of the filter capacity is waiting. There is no
+ * timer, a filter with pending keys is registered by the next read that misses the near cache after the interval.
+ * <p>
+ * The filter is sized for twice the maximum number of entries. Once that many keys have been added, the filter is
+ * reset and the near cache is cleared, so that the false positive rate stays bounded despite evictions.
+ *
+ * @since 10.0
+ */
+class BloomFilterNearCacheService<K, V> extends NearCacheService<K, V> {
+   private static final Log log = LogFactory.getLog(BloomFilterNearCacheService.class);
+   private static final boolean trace = log.isTraceEnabled();
+   static final String FILTER_FACTORY_NAME = "___near-cache-bloom-filter";
+   private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+   static final long MIN_UPDATE_INTERVAL_MS = 100;
+   static final int UPDATE_THRESHOLD_DIVISOR = 64;
+
+   private final int filterCapacity;
+   private final int updateThreshold;
+
+   // The filter active on the server, never modified
+   private volatile Registration registered;
+   private volatile boolean enabled;
+   private volatile boolean stopped;
+
+   @GuardedBy("this")
+   private BloomFilter pending;
+   @GuardedBy("this")
+   private int pendingKeys;
+   @GuardedBy("this")
+   private boolean updating;
+   @GuardedBy("this")
+   private boolean dirty;
+   // Keys added to pending since the last registration started
+   @GuardedBy("this")
+   private int unregisteredKeys;
+   @GuardedBy("this")
+   private long lastUpdateNanos;
+
+   BloomFilterNearCacheService(NearCacheConfiguration config, ClientListenerNotifier listenerNotifier) {
+      super(config, listenerNotifier);
+      this.filterCapacity = 2 * config.maxEntries();
+      this.updateThreshold = Math.max(1, filterCapacity / UPDATE_THRESHOLD_DIVISOR);
+   }
+
+   @Override
+   protected Object addListener(RemoteCache<K, V> remote) {
+      BloomFilter filter = BloomFilter.create(filterCapacity, FALSE_POSITIVE_PROBABILITY);
+      Object listener = new BloomFilterNearCacheListener<>(this);
+      try {
+         remote.addClientListener(listener, filterParams(filter), null);
+      } catch (RuntimeException e) {
+         log.nearCacheBloomFilterUnavailable(remote.getName(), e);
+         return super.addListener(remote);
+      }
+      synchronized (this) {
+         pending = filter.copy();
+         lastUpdateNanos = System.nanoTime();
+      }
+      registered = new Registration(filter, 0);
+      enabled = true;
+      return listener;
+   }
+
+   @Override
+   public void stop(RemoteCache<K, V> remote) {
+      synchronized (this) {
+         // An update completing after this point removes its own listener instead of replacing the current one
+         stopped = true;
+      }
+      super.stop(remote);
+   }
+
+   @Override
+   public CompletableFuture<MetadataValue<V>> readFromServer(K key, Supplier<CompletableFuture<MetadataValue<V>>> remoteRead) {
+      if (!enabled)
+         return super.readFromServer(key, remoteRead);
+
+      byte[] keyBytes = remote.getDataFormat().keyToBytes(key, 64, 512);
+      Registration atStart = registered;
+      boolean covered = atStart.filter.mightContain(keyBytes);
+      return remoteRead.get().thenApply(v -> {
+         if (v != null) {
+            if (!covered || !admit(key, v, atStart.generation)) {
+               addPendingKey(keyBytes);
+            }
+         }
+         return v;
+      });
+   }
+
+   private synchronized boolean admit(K key, MetadataValue<V> value, long generation) {
+      // The filter may have been reset while reading, in which case the key is no longer covered
+      if (registered.generation != generation)
+         return false;
+      putIfAbsent(key, value);
+      return true;
+   }
+
+   private void addPendingKey(byte[] keyBytes) {
+      synchronized (this) {
+         if (pending.add(keyBytes)) {
+            pendingKeys++;
+            unregisteredKeys++;
+            dirty = true;
+         }
+         // Even if the key was already pending, the registration may have been postponed
+         if (updating || !updateDue())
+            return;
+         updating = true;
+      }
+      updateFilter();
+   }
+
+   @GuardedBy("this")
+   private boolean updateDue() {
+      return dirty && (unregisteredKeys >= updateThreshold ||
+            System.nanoTime() - lastUpdateNanos >= TimeUnit.MILLISECONDS.toNanos(MIN_UPDATE_INTERVAL_MS));
+   }
+
+   private void updateFilter() {
+      BloomFilter filter;
+      long generation;
+      synchronized (this) {
+         generation = registered.generation;
+         if (pendingKeys >= filterCapacity) {
+            pending = BloomFilter.create(filterCapacity, FALSE_POSITIVE_PROBABILITY);
+            pendingKeys = 0;
+            generation++;
+         }
+         filter = pending.copy();
+         dirty = false;
+         unregisteredKeys = 0;
+         lastUpdateNanos = System.nanoTime();
+      }
+      if (stopped) {
+         synchronized (this) {
+            updating = false;
+         }
+         return;
+      }
+      if (trace)
+         log.tracef("Registering %s for near cache of %s", filter, remote.getName());
+
+      RemoteCacheImpl<K, V> remoteCache = (RemoteCacheImpl<K, V>) remote;
+      Object oldListener = getListener();
+      Object newListener = new BloomFilterNearCacheListener<>(this);
+      long newGeneration = generation;
+      remoteCache.addClientListenerAsync(newListener, filterParams(filter), null)
+            .thenCompose(ignore -> {
+               synchronized (this) {
+                  if (stopped) {
+                     // stop() already removed the current listener and won't see this one
+                     return remoteCache.removeClientListenerAsync(newListener);
+                  }
+                  boolean reset = newGeneration != registered.generation;
+                  registered = new Registration(filter, newGeneration);
+                  setListener(newListener);
+                  if (reset) {
+                     // The new filter doesn't cover the entries admitted with the previous one
+                     clear();
+                  }
+               }
+               return remoteCache.removeClientListenerAsync(oldListener);
+            })
+            .whenComplete((ignore, t) -> {
+               boolean again;
+               synchronized (this) {
+                  if (t != null) {
+                     log.debugf(t, "Unable to update the near cache bloom filter of %s", remote.getName());
+                     // Allow the keys missing from the registered filter to be added again
+                     pending = registered.filter.copy();
+                  }
+                  // Keys added meanwhile are registered now only if due, otherwise by a later read
+                  again = !stopped && updateDue();
+                  updating = again;
+               }
+               if (again) {
+                  updateFilter();
+               }
+            });
+   }
+
+   private Object[] filterParams(BloomFilter filter) {
+      DataFormat dataFormat = remote.getDataFormat();
+      if (dataFormat.getKeyType() == null)
+         return new Object[]{filter.toBytes()};
+      return new Object[]{filter.toBytes(), dataFormat.getKeyType().toString()};
+   }
+
+   private static class Registration {
+      final BloomFilter filter;
+      final long generation;
+
+      Registration(BloomFilter filter, long generation) {
+         this.filter = filter;
+         this.generation = generation;
+      }
+   }
+
+   @ClientListener(filterFactoryName = FILTER_FACTORY_NAME)
+   static class BloomFilterNearCacheListener<K, V> extends InvalidatedNearCacheListener<K, V> {
+      BloomFilterNearCacheListener(NearCache<K, V> cache) {
+         super(cache);
+      }
+   }
+}
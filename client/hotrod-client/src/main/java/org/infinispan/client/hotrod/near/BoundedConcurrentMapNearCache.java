@@ -7,6 +7,7 @@
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
 
 /**
  * Near cache based on {@link BoundedConcurrentMapNearCache}
@@ -26,6 +27,11 @@ public static <K, V> NearCache<K, V> create(final NearCacheConfiguration config)
       return new BoundedConcurrentMapNearCache<>(cache.asMap());
    }
 
+   public static <K, V> NearCache<K, V> create(final NearCacheConfiguration config, Weigher<K, MetadataValue<V>> weigher) {
+      Cache<K, MetadataValue<V>> cache = Caffeine.newBuilder().maximumWeight(config.maxBytes()).weigher(weigher).build();
+      return new BoundedConcurrentMapNearCache<>(cache.asMap());
+   }
+
    @Override
    public void put(K key, MetadataValue<V> value) {
       cache.put(key, value);
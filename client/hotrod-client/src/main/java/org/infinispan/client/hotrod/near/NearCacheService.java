@@ -1,5 +1,9 @@
 package org.infinispan.client.hotrod.near;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.infinispan.client.hotrod.DataFormat;
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.annotation.ClientCacheEntryExpired;
@@ -25,11 +29,14 @@
 public class NearCacheService<K, V> implements NearCache<K, V> {
    private static final Log log = LogFactory.getLog(NearCacheService.class);
    private static final boolean trace = log.isTraceEnabled();
+   // Rough per-entry overhead of the near cache, on top of the marshalled key and value
+   private static final int ENTRY_OVERHEAD = 64;
 
-   private final NearCacheConfiguration config;
+   protected final NearCacheConfiguration config;
    private final ClientListenerNotifier listenerNotifier;
-   private Object listener;
-   private byte[] listenerId;
+   private volatile Object listener;
+   private volatile byte[] listenerId;
+   protected RemoteCache<K, V> remote;
    private NearCache<K, V> cache;
    private Runnable invalidationCallback;
 
@@ -40,16 +47,33 @@ protected NearCacheService(NearCacheConfiguration config, ClientListenerNotifier
 
    public void start(RemoteCache<K, V> remote) {
       if (cache == null) {
+         this.remote = remote;
          // Create near cache
          cache = createNearCache(config);
          // Add a listener that updates the near cache
-         listener = new InvalidatedNearCacheListener<>(this);
-         remote.addClientListener(listener);
-         // Get the listener ID for faster listener connected lookups
-         listenerId = listenerNotifier.findListenerId(listener);
+         setListener(addListener(remote));
       }
    }
 
+   /**
+    * Registers the listener which invalidates the near cache.
+    */
+   protected Object addListener(RemoteCache<K, V> remote) {
+      Object listener = new InvalidatedNearCacheListener<>(this);
+      remote.addClientListener(listener);
+      return listener;
+   }
+
+   protected Object getListener() {
+      return listener;
+   }
+
+   protected void setListener(Object listener) {
+      this.listener = listener;
+      // Get the listener ID for faster listener connected lookups
+      this.listenerId = listenerNotifier.findListenerId(listener);
+   }
+
    public void stop(RemoteCache<K, V> remote) {
       if (trace)
          log.tracef("Stop near cache, remove underlying listener id %s", Util.printArray(listenerId));
@@ -61,16 +85,42 @@ public void stop(RemoteCache<K, V> remote) {
    }
 
    protected NearCache<K, V> createNearCache(NearCacheConfiguration config) {
+      if (config.maxBytes() > 0)
+         return BoundedConcurrentMapNearCache.create(config, this::estimateSize);
       return config.maxEntries() > 0
             ? BoundedConcurrentMapNearCache.create(config)
             : ConcurrentMapNearCache.create();
    }
 
+   private int estimateSize(K key, MetadataValue<V> value) {
+      DataFormat dataFormat = remote.getDataFormat();
+      long size = ENTRY_OVERHEAD + dataFormat.keyToBytes(key, 64, 512).length
+            + dataFormat.valueToBytes(value.getValue(), 64, 512).length;
+      return (int) Math.min(size, Integer.MAX_VALUE);
+   }
+
    public static <K, V> NearCacheService<K, V> create(
          NearCacheConfiguration config, ClientListenerNotifier listenerNotifier) {
+      if (config.bloomFilter())
+         return new BloomFilterNearCacheService<>(config, listenerNotifier);
       return new NearCacheService<>(config, listenerNotifier);
    }
 
+   /**
+    * Reads a key from the server after a near cache miss, and stores the value in the near cache.
+    *
+    * @param key the key missing from the near cache
+    * @param remoteRead reads the key from the server
+    */
+   public CompletableFuture<MetadataValue<V>> readFromServer(K key, Supplier<CompletableFuture<MetadataValue<V>>> remoteRead) {
+      return remoteRead.get().thenApply(v -> {
+         if (v != null) {
+            putIfAbsent(key, v);
+         }
+         return v;
+      });
+   }
+
    @Override
    public void put(K key, MetadataValue<V> value) {
        cache.put(key, value);
@@ -139,11 +189,11 @@ public void setInvalidationCallback(Runnable r) {
    }
 
    @ClientListener
-   private static class InvalidatedNearCacheListener<K, V> {
+   static class InvalidatedNearCacheListener<K, V> {
       private static final Log log = LogFactory.getLog(InvalidatedNearCacheListener.class);
       private final NearCache<K, V> cache;
 
-      private InvalidatedNearCacheListener(NearCache<K, V> cache) {
+      InvalidatedNearCacheListener(NearCache<K, V> cache) {
          this.cache = cache;
       }
 
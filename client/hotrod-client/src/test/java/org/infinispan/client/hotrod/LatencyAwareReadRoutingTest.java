@@ -0,0 +1,53 @@
+package org.infinispan.client.hotrod;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.infinispan.client.hotrod.configuration.ReadRouting;
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.client.hotrod.test.InternalRemoteCacheManager;
+import org.infinispan.client.hotrod.test.MultiHotRodServersTest;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that with {@link ReadRouting#LATENCY_AWARE} the reads are served by the owners in the zone of the client.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.LatencyAwareReadRoutingTest")
+public class LatencyAwareReadRoutingTest extends MultiHotRodServersTest {
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      builder.clustering().hash().numOwners(2);
+      builder.jmxStatistics().enable();
+      createHotRodServers(2, builder);
+   }
+
+   @Override
+   protected RemoteCacheManager createClient(int i) {
+      org.infinispan.client.hotrod.configuration.ConfigurationBuilder clientBuilder = HotRodClientTestingUtil.newRemoteConfigurationBuilder();
+      for (int j = 0; j < servers.size(); j++) {
+         clientBuilder.addServer().host(server(j).getHost()).port(server(j).getPort()).zone("zone-" + j);
+      }
+      clientBuilder.maxRetries(maxRetries()).readRouting(ReadRouting.LATENCY_AWARE).clientZone("zone-" + i);
+      return new InternalRemoteCacheManager(clientBuilder.build());
+   }
+
+   public void testReadsServedInClientZone() {
+      RemoteCache<String, String> remoteCache = client(0).getCache();
+      for (int i = 0; i < 100; i++) {
+         remoteCache.put("k" + i, "v" + i);
+      }
+      long zone0Hits = cache(0).getAdvancedCache().getStats().getHits();
+      long zone1Hits = cache(1).getAdvancedCache().getStats().getHits();
+
+      for (int i = 0; i < 100; i++) {
+         assertEquals("v" + i, remoteCache.get("k" + i));
+      }
+      assertEquals(zone0Hits + 100, cache(0).getAdvancedCache().getStats().getHits());
+      assertEquals(zone1Hits, cache(1).getAdvancedCache().getStats().getHits());
+   }
+}
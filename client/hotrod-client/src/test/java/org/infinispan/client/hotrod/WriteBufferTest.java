@@ -0,0 +1,127 @@
+package org.infinispan.client.hotrod;
+
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killRemoteCacheManager;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the write buffer returned by {@link RemoteCache#withWriteBuffer(int, long, TimeUnit)}.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.WriteBufferTest")
+public class WriteBufferTest extends SingleHotRodServerTest {
+
+   public void testWritesSentWhenBufferFull() throws Exception {
+      RemoteCache<String, String> buffered = remoteCacheManager.<String, String>getCache().withWriteBuffer(10, 1, TimeUnit.MINUTES);
+      List<CompletableFuture<String>> futures = new ArrayList<>();
+      for (int i = 0; i < 9; i++) {
+         futures.add(buffered.putAsync("full-" + i, "v" + i));
+      }
+      assertTrue(cache.isEmpty());
+      futures.forEach(f -> assertFalse(f.isDone()));
+
+      futures.add(buffered.putAsync("full-9", "v9"));
+      for (CompletableFuture<String> future : futures) {
+         assertNull(future.get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(10, cache.size());
+      assertEquals("v9", remoteCacheManager.getCache().get("full-9"));
+   }
+
+   public void testWritesSentAfterFlushInterval() throws Exception {
+      RemoteCache<String, String> buffered = remoteCacheManager.<String, String>getCache().withWriteBuffer(100, 10, TimeUnit.MILLISECONDS);
+      buffered.putAsync("interval", "v").get(10, TimeUnit.SECONDS);
+      assertEquals("v", remoteCacheManager.getCache().get("interval"));
+   }
+
+   public void testFlush() {
+      RemoteCache<String, String> buffered = remoteCacheManager.<String, String>getCache().withWriteBuffer(100, 1, TimeUnit.MINUTES);
+      for (int i = 0; i < 5; i++) {
+         buffered.putAsync("flush-" + i, "v" + i);
+      }
+      assertTrue(cache.isEmpty());
+      buffered.flush();
+      assertEquals(5, cache.size());
+   }
+
+   public void testWritesToSameKeyAreOrdered() throws Exception {
+      RemoteCache<String, String> buffered = remoteCacheManager.<String, String>getCache().withWriteBuffer(100, 1, TimeUnit.MINUTES);
+      buffered.putAsync("k1", "v1");
+      buffered.putAsync("k1", "v2");
+      buffered.putAsync("k2", "v1");
+      buffered.removeAsync("k2");
+      buffered.putAsync("k3", "v1");
+      buffered.removeAsync("k3");
+      buffered.putAsync("k3", "v2");
+      buffered.putAsync("k4", "v1", 10, TimeUnit.MINUTES);
+      buffered.putAsync("k4", "v2");
+      buffered.flushAsync().get(10, TimeUnit.SECONDS);
+
+      RemoteCache<String, String> remoteCache = remoteCacheManager.getCache();
+      assertEquals("v2", remoteCache.get("k1"));
+      assertFalse(remoteCache.containsKey("k2"));
+      assertEquals("v2", remoteCache.get("k3"));
+      assertEquals("v2", remoteCache.get("k4"));
+      assertEquals(-1, remoteCache.getWithMetadata("k4").getLifespan());
+   }
+
+   public void testSyncWritesNotBuffered() {
+      RemoteCache<String, String> buffered = remoteCacheManager.<String, String>getCache().withWriteBuffer(100, 1, TimeUnit.MINUTES);
+      buffered.putAsync("sync", "v1");
+      buffered.putAsync("other", "v1");
+      // The synchronous put sends the pending put of the same key first, but not the other buffered puts
+      buffered.put("sync", "v2");
+      assertEquals("v2", cache.get("sync"));
+      assertFalse(cache.containsKey("other"));
+
+      buffered.remove("sync");
+      assertFalse(cache.containsKey("sync"));
+      assertFalse(cache.containsKey("other"));
+   }
+
+   public void testConditionalWritesOrderedWithBufferedPuts() throws Exception {
+      RemoteCache<String, String> buffered = remoteCacheManager.<String, String>getCache().withWriteBuffer(100, 1, TimeUnit.MINUTES);
+      buffered.putAsync("c1", "v1");
+      buffered.replaceAsync("c1", "v2");
+      buffered.putAsync("c2", "v1");
+      buffered.putIfAbsentAsync("c2", "v2");
+      buffered.putAsync("c3", "v1");
+      buffered.putAllAsync(Collections.singletonMap("c3", "v2"));
+      buffered.putAsync("c3", "v3");
+      buffered.flushAsync().get(10, TimeUnit.SECONDS);
+
+      RemoteCache<String, String> remoteCache = remoteCacheManager.getCache();
+      assertEquals("v2", remoteCache.get("c1"));
+      assertEquals("v1", remoteCache.get("c2"));
+      assertEquals("v3", remoteCache.get("c3"));
+   }
+
+   public void testStopFlushesBufferedWrites() {
+      RemoteCacheManager otherRemoteCacheManager = getRemoteCacheManager();
+      try {
+         RemoteCache<String, String> buffered = otherRemoteCacheManager.<String, String>getCache().withWriteBuffer(100, 1, TimeUnit.MINUTES);
+         buffered.putAsync("stop", "v");
+         assertFalse(cache.containsKey("stop"));
+         otherRemoteCacheManager.stop();
+         assertEquals("v", cache.get("stop"));
+      } finally {
+         killRemoteCacheManager(otherRemoteCacheManager);
+      }
+   }
+
+   public void testFlushWithoutBuffer() {
+      remoteCacheManager.getCache().flush();
+   }
+}
@@ -11,6 +11,8 @@
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MAX_WAIT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MIN_IDLE;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MULTIPLEXED_CONNECTIONS;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CLIENT_ZONE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECT_TIMEOUT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.HASH_FUNCTION_PREFIX;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.JMX;
@@ -21,10 +23,13 @@
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.KEY_STORE_FILE_NAME;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.KEY_STORE_PASSWORD;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.MAX_RETRIES;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.NEAR_CACHE_BLOOM_FILTER;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.NEAR_CACHE_MAX_BYTES;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.NEAR_CACHE_MAX_ENTRIES;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.NEAR_CACHE_MODE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.NEAR_CACHE_NAME_PATTERN;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.PROTOCOL_VERSION;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.READ_ROUTING;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.REQUEST_BALANCING_STRATEGY;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.SASL_MECHANISM;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.SASL_PROPERTIES_PREFIX;
@@ -100,6 +105,7 @@ public class ConfigurationTest extends AbstractInfinispanTest {
       OPTIONS.put("minEvictableIdleTimeMillis", c -> c.connectionPool().minEvictableIdleTime());
       OPTIONS.put(CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, c -> c.connectionPool().minEvictableIdleTime());
       OPTIONS.put(CONNECTION_POOL_MAX_PENDING_REQUESTS, c -> c.connectionPool().maxPendingRequests());
+      OPTIONS.put(CONNECTION_POOL_MULTIPLEXED_CONNECTIONS, c -> c.connectionPool().multiplexedConnections());
       OPTIONS.put("testOnBorrow", c -> c.connectionPool().testOnBorrow());
       OPTIONS.put("testOnReturn", c -> c.connectionPool().testOnReturn());
       OPTIONS.put("testWhileIdle", c -> c.connectionPool().testWhileIdle());
@@ -108,6 +114,8 @@ public class ConfigurationTest extends AbstractInfinispanTest {
       OPTIONS.put(SO_TIMEOUT, Configuration::socketTimeout);
       OPTIONS.put(TCP_NO_DELAY, Configuration::tcpNoDelay);
       OPTIONS.put(TCP_KEEP_ALIVE, Configuration::tcpKeepAlive);
+      OPTIONS.put(READ_ROUTING, Configuration::readRouting);
+      OPTIONS.put(CLIENT_ZONE, Configuration::clientZone);
       OPTIONS.put(KEY_SIZE_ESTIMATE, Configuration::keySizeEstimate);
       OPTIONS.put(VALUE_SIZE_ESTIMATE, Configuration::valueSizeEstimate);
       OPTIONS.put(MAX_RETRIES, Configuration::maxRetries);
@@ -132,6 +140,8 @@ public class ConfigurationTest extends AbstractInfinispanTest {
       OPTIONS.put(NEAR_CACHE_MODE, c -> c.nearCache().mode());
       OPTIONS.put(NEAR_CACHE_MAX_ENTRIES, c -> c.nearCache().maxEntries());
       OPTIONS.put(NEAR_CACHE_NAME_PATTERN, c -> c.nearCache().cacheNamePattern().pattern());
+      OPTIONS.put(NEAR_CACHE_MAX_BYTES, c -> c.nearCache().maxBytes());
+      OPTIONS.put(NEAR_CACHE_BLOOM_FILTER, c -> c.nearCache().bloomFilter());
 
       TYPES.put(Boolean.class, b -> Boolean.toString((Boolean) b));
       TYPES.put(ExhaustedAction.class, e -> e.toString());
@@ -144,6 +154,7 @@ public class ConfigurationTest extends AbstractInfinispanTest {
       TYPES.put(Subject.class, Function.identity());
       TYPES.put(ProtocolVersion.class, p -> p.toString());
       TYPES.put(NearCacheMode.class, p -> p.toString());
+      TYPES.put(ReadRouting.class, p -> p.toString());
       TYPES.put(mkClass(), l -> String.join(",", (List<String>) l));
       TYPES.put(Pattern.class, Function.identity());
    }
@@ -207,6 +218,8 @@ public void testConfiguration() {
             .valueSizeEstimate(1024)
             .maxRetries(0)
             .tcpKeepAlive(true)
+            .readRouting(ReadRouting.LATENCY_AWARE)
+            .clientZone("zone-1")
             .security()
             .ssl()
             .enable()
@@ -261,6 +274,7 @@ public void testWithProperties() {
       p.setProperty("timeBetweenEvictionRunsMillis", "15000");
       p.setProperty(CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, "12000");
       p.setProperty(CONNECTION_POOL_MAX_PENDING_REQUESTS, "12");
+      p.setProperty(CONNECTION_POOL_MULTIPLEXED_CONNECTIONS, "2");
       p.setProperty("testOnBorrow", "true");
       p.setProperty("testOnReturn", "true");
       p.setProperty("testWhileIdle", "false");
@@ -269,6 +283,8 @@ public void testWithProperties() {
       p.setProperty(SO_TIMEOUT, "100");
       p.setProperty(TCP_NO_DELAY, "false");
       p.setProperty(TCP_KEEP_ALIVE, "true");
+      p.setProperty(READ_ROUTING, ReadRouting.LATENCY_AWARE.name());
+      p.setProperty(CLIENT_ZONE, "zone-1");
       p.setProperty(KEY_SIZE_ESTIMATE, "128");
       p.setProperty(VALUE_SIZE_ESTIMATE, "1024");
       p.setProperty(MAX_RETRIES, "0");
@@ -291,6 +307,8 @@ public void testWithProperties() {
       p.setProperty(NEAR_CACHE_MODE, NearCacheMode.INVALIDATED.name());
       p.setProperty(NEAR_CACHE_MAX_ENTRIES, "10000");
       p.setProperty(NEAR_CACHE_NAME_PATTERN, "near.*");
+      p.setProperty(NEAR_CACHE_MAX_BYTES, "1048576");
+      p.setProperty(NEAR_CACHE_BLOOM_FILTER, "true");
       p.setProperty(CLUSTER_PROPERTIES_PREFIX + ".siteA", "hostA1:11222; hostA2:11223");
       p.setProperty(CLUSTER_PROPERTIES_PREFIX + ".siteB", "hostB1:11222; hostB2:11223");
       p.setProperty(STATISTICS, "true");
@@ -541,6 +559,7 @@ private void validateConfiguration(Configuration configuration) {
       assertEqualsConfig(12000L, "minEvictableIdleTimeMillis", configuration);
       assertEqualsConfig(12000L, CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, configuration);
       assertEqualsConfig(12, CONNECTION_POOL_MAX_PENDING_REQUESTS, configuration);
+      assertEqualsConfig(2, CONNECTION_POOL_MULTIPLEXED_CONNECTIONS, configuration);
       assertEqualsConfig(true, "testOnBorrow", configuration);
       assertEqualsConfig(true, "testOnReturn", configuration);
       assertEqualsConfig(false, "testWhileIdle", configuration);
@@ -548,6 +567,8 @@ private void validateConfiguration(Configuration configuration) {
       assertEqualsConfig(100, SO_TIMEOUT, configuration);
       assertEqualsConfig(false, TCP_NO_DELAY, configuration);
       assertEqualsConfig(true, TCP_KEEP_ALIVE, configuration);
+      assertEqualsConfig(ReadRouting.LATENCY_AWARE, READ_ROUTING, configuration);
+      assertEqualsConfig("zone-1", CLIENT_ZONE, configuration);
       assertEqualsConfig(128, KEY_SIZE_ESTIMATE, configuration);
       assertEqualsConfig(1024, VALUE_SIZE_ESTIMATE, configuration);
       assertEqualsConfig(0, MAX_RETRIES, configuration);
@@ -571,6 +592,8 @@ private void validateConfiguration(Configuration configuration) {
       assertEqualsConfig(NearCacheMode.INVALIDATED, NEAR_CACHE_MODE, configuration);
       assertEqualsConfig(10_000, NEAR_CACHE_MAX_ENTRIES, configuration);
       assertEqualsConfig("near.*", NEAR_CACHE_NAME_PATTERN, configuration);
+      assertEqualsConfig(1_048_576L, NEAR_CACHE_MAX_BYTES, configuration);
+      assertEqualsConfig(true, NEAR_CACHE_BLOOM_FILTER, configuration);
       assertEquals(2, configuration.clusters().size());
       assertEquals("siteA", configuration.clusters().get(0).getClusterName());
       assertEquals("hostA1", configuration.clusters().get(0).getCluster().get(0).host());
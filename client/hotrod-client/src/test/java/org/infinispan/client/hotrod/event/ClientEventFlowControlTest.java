@@ -0,0 +1,99 @@
+package org.infinispan.client.hotrod.event;
+
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killRemoteCacheManager;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryCreated;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryModified;
+import org.infinispan.client.hotrod.annotation.ClientListener;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that client listeners with event credits receive all the events, and that coalescing replaces the events
+ * queued in the server while the client doesn't grant more credits.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.event.ClientEventFlowControlTest")
+public class ClientEventFlowControlTest extends SingleHotRodServerTest {
+   private static final int NUM_KEYS = 100;
+
+   public void testAllEventsReceivedWithCredits() {
+      RemoteCache<Integer, String> remote = remoteCacheManager.getCache();
+      CreditListener listener = new CreditListener();
+      remote.addClientListener(listener);
+      try {
+         for (int i = 0; i < NUM_KEYS; i++) {
+            remote.put(i, "v" + i);
+         }
+         eventuallyEquals(NUM_KEYS, listener.events::size);
+         for (int i = 0; i < NUM_KEYS; i++) {
+            assertEquals(Integer.valueOf(i), listener.events.get(i).getKey());
+         }
+      } finally {
+         remote.removeClientListener(listener);
+      }
+   }
+
+   public void testEventsCoalescedWithoutCredits() throws Exception {
+      RemoteCache<Integer, String> remote = remoteCacheManager.getCache();
+      CoalescingListener listener = new CoalescingListener();
+      remote.addClientListener(listener);
+      // The listener blocks the event loop of its client, so the writes go through another client
+      RemoteCacheManager writerManager = getRemoteCacheManager();
+      try {
+         RemoteCache<Integer, String> writer = writerManager.getCache();
+         writer.put(1, "created");
+         assertTrue(listener.received.await(10, TimeUnit.SECONDS));
+         // The only credit was used by the created event, so the server queues the rest and keeps only the last one
+         for (int i = 0; i < NUM_KEYS; i++) {
+            writer.put(1, "v" + i);
+         }
+         listener.release.countDown();
+
+         long lastVersion = writer.getWithMetadata(1).getVersion();
+         eventuallyEquals(2, listener.events::size);
+         assertEquals(ClientEvent.Type.CLIENT_CACHE_ENTRY_CREATED, listener.events.get(0).getType());
+         ClientCacheEntryModifiedEvent<Integer> modified = (ClientCacheEntryModifiedEvent<Integer>) listener.events.get(1);
+         assertEquals(lastVersion, modified.getVersion());
+      } finally {
+         listener.release.countDown();
+         killRemoteCacheManager(writerManager);
+         remote.removeClientListener(listener);
+      }
+   }
+
+   @ClientListener(eventCredits = 10)
+   public static class CreditListener {
+      final List<ClientCacheEntryCreatedEvent<Integer>> events = new CopyOnWriteArrayList<>();
+
+      @ClientCacheEntryCreated
+      public void created(ClientCacheEntryCreatedEvent<Integer> event) {
+         events.add(event);
+      }
+   }
+
+   @ClientListener(eventCredits = 1, coalesceEvents = true)
+   public static class CoalescingListener {
+      final List<ClientEvent> events = new CopyOnWriteArrayList<>();
+      final CountDownLatch received = new CountDownLatch(1);
+      final CountDownLatch release = new CountDownLatch(1);
+
+      @ClientCacheEntryCreated
+      @ClientCacheEntryModified
+      public void handle(ClientEvent event) throws InterruptedException {
+         events.add(event);
+         received.countDown();
+         release.await(10, TimeUnit.SECONDS);
+      }
+   }
+}
@@ -0,0 +1,127 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killRemoteCacheManager;
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killServers;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.infinispan.client.hotrod.DataFormat;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.commons.marshall.IdentityMarshaller;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import io.netty.channel.Channel;
+
+/**
+ * Checks that concurrent operations are pipelined over the fixed number of multiplexed channels, and that an error in
+ * one operation doesn't fail the others sharing its channel.
+ */
+@Test(groups = "functional", testName = "client.hotrod.impl.transport.netty.MultiplexedChannelPoolTest")
+public class MultiplexedChannelPoolTest extends SingleCacheManagerTest {
+   private static final int MULTIPLEXED_CONNECTIONS = 2;
+   private static final int OPERATIONS = 1000;
+
+   private HotRodServer hotRodServer;
+   private RemoteCacheManager remoteCacheManager;
+   private RemoteCache<String, String> remoteCache;
+   private ChannelFactory channelFactory;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      cacheManager = TestCacheManagerFactory.createCacheManager(hotRodCacheConfiguration());
+      cache = cacheManager.getCache();
+      hotRodServer = HotRodClientTestingUtil.startHotRodServer(cacheManager);
+
+      ConfigurationBuilder clientBuilder = HotRodClientTestingUtil.newRemoteConfigurationBuilder();
+      clientBuilder.connectionPool().multiplexedConnections(MULTIPLEXED_CONNECTIONS)
+            .addServer().host("localhost").port(hotRodServer.getPort());
+      remoteCacheManager = new RemoteCacheManager(clientBuilder.build());
+      remoteCache = remoteCacheManager.getCache();
+      channelFactory = TestingUtil.extractField(remoteCacheManager, "channelFactory");
+      return cacheManager;
+   }
+
+   @AfterClass
+   @Override
+   protected void destroyAfterClass() {
+      super.destroyAfterClass();
+      killRemoteCacheManager(remoteCacheManager);
+      killServers(hotRodServer);
+   }
+
+   public void testConcurrentOperationsShareChannels() {
+      List<CompletableFuture<String>> puts = new ArrayList<>(OPERATIONS);
+      for (int i = 0; i < OPERATIONS; i++) {
+         puts.add(remoteCache.putAsync("k" + i, "v" + i));
+      }
+      CompletableFuture.allOf(puts.toArray(new CompletableFuture[0])).join();
+
+      List<CompletableFuture<String>> gets = new ArrayList<>(OPERATIONS);
+      for (int i = 0; i < OPERATIONS; i++) {
+         gets.add(remoteCache.getAsync("k" + i));
+      }
+      for (int i = 0; i < OPERATIONS; i++) {
+         assertEquals("v" + i, gets.get(i).join());
+      }
+      assertEquals(OPERATIONS, cache.size());
+      assertTrue("Active channels: " + channelFactory.getNumActive(), channelFactory.getNumActive() <= MULTIPLEXED_CONNECTIONS);
+      assertEquals(0, channelFactory.getNumIdle());
+   }
+
+   public void testClientErrorOnlyFailsItsOperation() {
+      // Warm up the multiplexed channels
+      for (int i = 0; i < OPERATIONS; i++) {
+         remoteCache.putAsync("k" + i, "v" + i).join();
+      }
+      List<Channel> channels = new ArrayList<>(multiplexedChannels());
+      assertTrue(!channels.isEmpty());
+
+      RemoteCache<String, byte[]> rawCache = remoteCache.withDataFormat(
+            DataFormat.builder().valueMarshaller(IdentityMarshaller.INSTANCE).build());
+      rawCache.put("corrupt", new byte[]{(byte) 0xFF, 1, 2, 3});
+
+      List<CompletableFuture<String>> gets = new ArrayList<>(OPERATIONS);
+      for (int i = 0; i < OPERATIONS; i++) {
+         gets.add(remoteCache.getAsync("k" + i));
+      }
+      CompletableFuture<String> corrupt = remoteCache.getAsync("corrupt");
+      try {
+         corrupt.join();
+         fail("The value should not be unmarshallable");
+      } catch (CompletionException e) {
+         assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof HotRodClientException);
+      }
+      for (int i = 0; i < OPERATIONS; i++) {
+         assertEquals("v" + i, gets.get(i).join());
+      }
+      for (Channel channel : channels) {
+         assertTrue(channel + " was closed", channel.isActive());
+      }
+      assertEquals(channels, multiplexedChannels());
+   }
+
+   private List<Channel> multiplexedChannels() {
+      Map<SocketAddress, ChannelPool> pools = TestingUtil.extractField(channelFactory, "channelPoolMap");
+      assertEquals(1, pools.size());
+      return TestingUtil.extractField(pools.values().iterator().next(), "multiplexed");
+   }
+}
@@ -0,0 +1,100 @@
+package org.infinispan.client.hotrod.near;
+
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killRemoteCacheManager;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.jmx.RemoteCacheClientStatisticsMXBean;
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.client.hotrod.test.InternalRemoteCacheManager;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the near cache with bloom filter invalidation and the near cache bounded by size.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.near.BloomFilterNearCacheTest")
+public class BloomFilterNearCacheTest extends SingleHotRodServerTest {
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      ConfigurationBuilder builder = HotRodClientTestingUtil.newRemoteConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.statistics().enable();
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxEntries(100).bloomFilter(true);
+      return new InternalRemoteCacheManager(builder.build());
+   }
+
+   public void testInvalidationThroughBloomFilter() {
+      RemoteCache<Integer, String> nearCache = remoteCacheManager.getCache();
+      RemoteCacheClientStatisticsMXBean stats = nearCache.clientStatistics();
+      RemoteCacheManager writerManager = createWriter();
+      try {
+         RemoteCache<Integer, String> writer = writerManager.getCache();
+         writer.put(1, "v1");
+
+         // The key enters the near cache once the filter covering it has been registered
+         eventually(() -> "v1".equals(nearCache.get(1)) && stats.getNearCacheHits() > 0);
+         assertEquals(1, stats.getNearCacheSize());
+
+         writer.put(1, "v2");
+         eventually(() -> stats.getNearCacheInvalidations() > 0);
+         assertEquals("v2", nearCache.get(1));
+         assertTrue(stats.getNearCacheHitRatio() > 0);
+      } finally {
+         killRemoteCacheManager(writerManager);
+      }
+   }
+
+   public void testBoundedBySize() {
+      ConfigurationBuilder builder = HotRodClientTestingUtil.newRemoteConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.statistics().enable();
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxBytes(8 * 1024);
+      RemoteCacheManager manager = new InternalRemoteCacheManager(builder.build());
+      try {
+         RemoteCache<Integer, byte[]> nearCache = manager.getCache();
+         for (int i = 0; i < 32; i++) {
+            nearCache.put(i, new byte[1024]);
+            nearCache.get(i);
+         }
+         eventually(() -> nearCache.clientStatistics().getNearCacheSize() < 8);
+      } finally {
+         killRemoteCacheManager(manager);
+      }
+   }
+
+   public void testStopDuringFilterUpdates() {
+      int listenersBefore = cache.getListeners().size();
+      RemoteCacheManager writerManager = createWriter();
+      RemoteCacheManager manager = getRemoteCacheManager();
+      try {
+         RemoteCache<Integer, String> writer = writerManager.getCache();
+         for (int i = 0; i < 500; i++) {
+            writer.put(i, "v" + i);
+         }
+         // Each miss adds a key to the filter, so registrations are in progress when the near cache stops
+         RemoteCache<Integer, String> nearCache = manager.getCache();
+         for (int i = 0; i < 500; i++) {
+            nearCache.get(i);
+         }
+      } finally {
+         killRemoteCacheManager(manager);
+         killRemoteCacheManager(writerManager);
+      }
+      // No filter registered concurrently with stop() is left behind on the server
+      eventually(() -> cache.getListeners().size() == listenersBefore);
+   }
+
+   private RemoteCacheManager createWriter() {
+      ConfigurationBuilder builder = HotRodClientTestingUtil.newRemoteConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      return new InternalRemoteCacheManager(builder.build());
+   }
+}
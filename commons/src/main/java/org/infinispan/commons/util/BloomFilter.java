@@ -0,0 +1,133 @@
+package org.infinispan.commons.util;
+
+import java.util.Arrays;
+
+import org.infinispan.commons.hash.MurmurHash3;
+
+/**
+ * A bloom filter over byte array keys, using {@link MurmurHash3} with double hashing.
+ * <p>
+ * The filter can be serialized with {@link #toBytes()} and restored with {@link #fromBytes(byte[])}, so that a filter
+ * built on one side of a connection can be evaluated on the other. This class is not thread-safe.
+ *
+ * @since 10.0
+ */
+public final class BloomFilter {
+   private final long[] bits;
+   private final int numHashes;
+
+   private BloomFilter(long[] bits, int numHashes) {
+      this.bits = bits;
+      this.numHashes = numHashes;
+   }
+
+   /**
+    * Creates an empty filter sized for the given number of keys and false positive probability.
+    *
+    * @param expectedKeys the number of keys the filter is expected to hold
+    * @param falsePositiveProbability the acceptable false positive probability, between 0 and 1 exclusive
+    */
+   public static BloomFilter create(int expectedKeys, double falsePositiveProbability) {
+      if (expectedKeys < 1)
+         throw new IllegalArgumentException("expectedKeys must be greater than 0");
+      if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1)
+         throw new IllegalArgumentException("falsePositiveProbability must be between 0 and 1");
+      long numBits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+      int numWords = (int) Math.min(Integer.MAX_VALUE / Long.SIZE, Math.max(1, (numBits + Long.SIZE - 1) / Long.SIZE));
+      int numHashes = (int) Math.max(1, Math.min(Byte.MAX_VALUE, Math.round((double) numWords * Long.SIZE / expectedKeys * Math.log(2))));
+      return new BloomFilter(new long[numWords], numHashes);
+   }
+
+   /**
+    * Restores a filter serialized with {@link #toBytes()}.
+    */
+   public static BloomFilter fromBytes(byte[] bytes) {
+      if (bytes.length < 1 + Long.BYTES || (bytes.length - 1) % Long.BYTES != 0)
+         throw new IllegalArgumentException("Invalid bloom filter length " + bytes.length);
+      long[] bits = new long[(bytes.length - 1) / Long.BYTES];
+      for (int i = 0; i < bits.length; i++) {
+         long word = 0;
+         for (int j = 0; j < Long.BYTES; j++) {
+            word = (word << 8) | (bytes[1 + i * Long.BYTES + j] & 0xFF);
+         }
+         bits[i] = word;
+      }
+      return new BloomFilter(bits, bytes[0]);
+   }
+
+   /**
+    * Returns a copy of this filter.
+    */
+   public BloomFilter copy() {
+      return new BloomFilter(bits.clone(), numHashes);
+   }
+
+   /**
+    * Adds a key to the filter.
+    *
+    * @return {@code true} if the filter changed, i.e. the key was definitely not present before
+    */
+   public boolean add(byte[] key) {
+      long[] hash = MurmurHash3.MurmurHash3_x64_128(key, 9001);
+      long numBits = (long) bits.length * Long.SIZE;
+      boolean changed = false;
+      for (int i = 0; i < numHashes; i++) {
+         long bit = ((hash[0] + i * hash[1]) & Long.MAX_VALUE) % numBits;
+         int word = (int) (bit >>> 6);
+         long mask = 1L << bit;
+         if ((bits[word] & mask) == 0) {
+            bits[word] |= mask;
+            changed = true;
+         }
+      }
+      return changed;
+   }
+
+   /**
+    * Returns {@code false} if the key was definitely never added to the filter, {@code true} if it might have been.
+    */
+   public boolean mightContain(byte[] key) {
+      long[] hash = MurmurHash3.MurmurHash3_x64_128(key, 9001);
+      long numBits = (long) bits.length * Long.SIZE;
+      for (int i = 0; i < numHashes; i++) {
+         long bit = ((hash[0] + i * hash[1]) & Long.MAX_VALUE) % numBits;
+         if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0)
+            return false;
+      }
+      return true;
+   }
+
+   /**
+    * Serializes the filter, see {@link #fromBytes(byte[])}.
+    */
+   public byte[] toBytes() {
+      byte[] bytes = new byte[1 + bits.length * Long.BYTES];
+      bytes[0] = (byte) numHashes;
+      for (int i = 0; i < bits.length; i++) {
+         long word = bits[i];
+         for (int j = Long.BYTES - 1; j >= 0; j--) {
+            bytes[1 + i * Long.BYTES + j] = (byte) word;
+            word >>>= 8;
+         }
+      }
+      return bytes;
+   }
+
+   @Override
+   public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      BloomFilter that = (BloomFilter) o;
+      return numHashes == that.numHashes && Arrays.equals(bits, that.bits);
+   }
+
+   @Override
+   public int hashCode() {
+      return 31 * Arrays.hashCode(bits) + numHashes;
+   }
+
+   @Override
+   public String toString() {
+      return "BloomFilter{bits=" + bits.length * Long.SIZE + ", numHashes=" + numHashes + '}';
+   }
+}
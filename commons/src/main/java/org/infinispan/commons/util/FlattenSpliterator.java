@@ -6,8 +6,9 @@
 import java.util.function.IntFunction;
 
 /**
- * Composes an array of Collections into a spliterator. This spliterator will only split up to the collection and will
- * not split the spliterator from the collection itself.
+ * Composes an array of Collections into a spliterator. This spliterator first splits on the collection boundaries, so
+ * that each split covers whole collections, and only splits the spliterator of a collection itself once a single
+ * collection is left.
  * @author wburns
  * @since 9.3
  */
@@ -47,6 +48,9 @@ public boolean tryAdvance(Consumer<? super E> action) {
 
    @Override
    public void forEachRemaining(Consumer<? super E> action) {
+      if (currentSpliterator != null) {
+         currentSpliterator.forEachRemaining(action);
+      }
       for (; index < fence; ++index) {
          toCollection.apply(index).spliterator().forEachRemaining(action);
       }
@@ -55,9 +59,14 @@ public void forEachRemaining(Consumer<? super E> action) {
    @Override
    public Spliterator<E> trySplit() {
       int lo = index, mid = (lo + fence) >>> 1;
-      return (lo >= mid)
-            ? null
-            : new FlattenSpliterator<>(toCollection, length, lo, index = mid, characteristics);
+      if (lo < mid) {
+         return new FlattenSpliterator<>(toCollection, length, lo, index = mid, characteristics);
+      }
+      // At most one collection is left, so split the collection itself
+      if (currentSpliterator == null && index < fence) {
+         currentSpliterator = toCollection.apply(index++).spliterator();
+      }
+      return currentSpliterator != null ? currentSpliterator.trySplit() : null;
    }
 
    @Override
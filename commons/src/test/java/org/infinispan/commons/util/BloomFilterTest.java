@@ -0,0 +1,51 @@
+package org.infinispan.commons.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class BloomFilterTest {
+
+   @Test
+   public void testNoFalseNegatives() {
+      BloomFilter filter = BloomFilter.create(1000, 0.01);
+      for (int i = 0; i < 1000; i++) {
+         filter.add(key(i));
+      }
+      for (int i = 0; i < 1000; i++) {
+         assertTrue(filter.mightContain(key(i)));
+      }
+   }
+
+   @Test
+   public void testFalsePositiveRate() {
+      BloomFilter filter = BloomFilter.create(1000, 0.01);
+      for (int i = 0; i < 1000; i++) {
+         filter.add(key(i));
+      }
+      int falsePositives = 0;
+      for (int i = 1000; i < 11000; i++) {
+         if (filter.mightContain(key(i)))
+            falsePositives++;
+      }
+      assertTrue("False positives: " + falsePositives, falsePositives < 300);
+   }
+
+   @Test
+   public void testSerialization() {
+      BloomFilter filter = BloomFilter.create(100, 0.05);
+      assertTrue(filter.add(key(1)));
+      assertFalse(filter.add(key(1)));
+      BloomFilter copy = BloomFilter.fromBytes(filter.toBytes());
+      assertEquals(filter, copy);
+      assertTrue(copy.mightContain(key(1)));
+   }
+
+   private static byte[] key(int i) {
+      return ("key-" + i).getBytes(StandardCharsets.UTF_8);
+   }
+}
@@ -0,0 +1,70 @@
+package org.infinispan.commons.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.junit.Test;
+
+/**
+ * @since 10.0
+ */
+public class FlattenSpliteratorTest {
+   private static FlattenSpliterator<Integer> spliterator(List<List<Integer>> collections) {
+      return new FlattenSpliterator<>(collections::get, collections.size(), Spliterator.NONNULL);
+   }
+
+   private static List<Integer> range(int start, int end) {
+      return IntStream.range(start, end).boxed().collect(Collectors.toList());
+   }
+
+   @Test
+   public void testSplitsSingleCollection() {
+      FlattenSpliterator<Integer> spliterator = spliterator(Collections.singletonList(range(0, 1000)));
+      Spliterator<Integer> split = spliterator.trySplit();
+      assertNotNull(split);
+
+      List<Integer> values = new ArrayList<>();
+      split.forEachRemaining(values::add);
+      int splitSize = values.size();
+      assertTrue(splitSize > 0 && splitSize < 1000);
+      spliterator.forEachRemaining(values::add);
+      Collections.sort(values);
+      assertEquals(range(0, 1000), values);
+   }
+
+   @Test
+   public void testForEachRemainingAfterAdvance() {
+      List<List<Integer>> collections = new ArrayList<>();
+      collections.add(range(0, 10));
+      collections.add(range(10, 20));
+      FlattenSpliterator<Integer> spliterator = spliterator(collections);
+
+      List<Integer> values = new ArrayList<>();
+      assertTrue(spliterator.tryAdvance(values::add));
+      spliterator.forEachRemaining(values::add);
+      assertEquals(range(0, 20), values);
+   }
+
+   @Test
+   public void testParallelStream() {
+      List<List<Integer>> collections = new ArrayList<>();
+      for (int i = 0; i < 256; ++i) {
+         // Only a few large collections, like a node owning a few segments
+         collections.add(i % 64 == 0 ? range(i * 1000, i * 1000 + 1000) : Collections.emptyList());
+      }
+      Collection<Integer> values = StreamSupport.stream(spliterator(collections), true)
+            .collect(Collectors.toList());
+      assertEquals(4000, values.size());
+      assertEquals(4000, values.stream().distinct().count());
+   }
+}
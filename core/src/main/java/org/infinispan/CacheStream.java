@@ -3,6 +3,7 @@
 import java.io.Serializable;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
@@ -19,6 +20,7 @@
 import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
+import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
@@ -420,6 +422,56 @@ default <R1> R1 collect(SerializableSupplier<R1> supplier, SerializableBiConsume
       return collect((Supplier<R1>) supplier, accumulator, combiner);
    }
 
+   /**
+    * Groups the elements of this stream by the key returned by {@code classifier}, reduces the values returned by
+    * {@code mapper} for each group with {@code combiner} and merges the result of each group into {@code target}.
+    * If {@code target} already contains a value for a group key, the new value is combined with it.
+    * <p>
+    * With a distributed backing cache this is performed as a two phase reduction. Each node first reduces the
+    * elements it owns into one partial result per group key. The partial results are then sent directly from
+    * each node to the primary owner of the group key in {@code target}, which combines them. Neither the elements nor
+    * the partial results go through the originator, so this should be preferred over
+    * {@code collect(Collectors.groupingBy(...))} when there are many groups.
+    * <p>
+    * The partial results are merged in batches, and a batch whose write is retried after a topology change is not
+    * combined twice. When the stream is rehash aware, the elements whose batch was merged are not reduced again if a
+    * node leaves, only the remaining elements it owned are reduced by their new owners. An element may still be
+    * reduced twice if a node crashes after merging a batch but before reporting it, or if another reduceByKey
+    * merges into the same group keys concurrently, so the combiner should be idempotent if an exact result is required
+    * then. The combiner must be associative and the mapper must not return {@code null}.
+    * @param classifier function returning the group key of an element
+    * @param mapper function returning the value of an element to reduce
+    * @param combiner an associative function to combine two values of the same group
+    * @param target the cache to store the result of each group in, which must use the same cache manager
+    * @param <G> type of the group keys
+    * @param <A> type of the reduced values
+    * @since 10.0
+    */
+   default <G, A> void reduceByKey(Function<? super R, ? extends G> classifier,
+         Function<? super R, ? extends A> mapper, BinaryOperator<A> combiner, Cache<G, A> target) {
+      Map<G, A> partials = collect(Collectors.toMap(classifier, mapper, combiner));
+      partials.forEach((key, value) -> target.merge(key, value, combiner));
+   }
+
+   /**
+    * Same as {@link CacheStream#reduceByKey(Function, Function, BinaryOperator, Cache)} except that the functions
+    * must also implement <code>Serializable</code>
+    * <p>
+    * The compiler will pick this overload for lambda parameters, making them <code>Serializable</code>
+    * @param classifier function returning the group key of an element that is serializable
+    * @param mapper function returning the value of an element to reduce that is serializable
+    * @param combiner an associative function to combine two values of the same group that is serializable
+    * @param target the cache to store the result of each group in, which must use the same cache manager
+    * @param <G> type of the group keys
+    * @param <A> type of the reduced values
+    * @since 10.0
+    */
+   default <G, A> void reduceByKey(SerializableFunction<? super R, ? extends G> classifier,
+         SerializableFunction<? super R, ? extends A> mapper, SerializableBinaryOperator<A> combiner,
+         Cache<G, A> target) {
+      reduceByKey((Function<? super R, ? extends G>) classifier, mapper, combiner, target);
+   }
+
    /**
     * Same as {@link CacheStream#allMatch(Predicate)} except that the Predicate must also
     * implement <code>Serializable</code>
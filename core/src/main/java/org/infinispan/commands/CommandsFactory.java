@@ -40,7 +40,9 @@
 import org.infinispan.commands.remote.RenewBiasCommand;
 import org.infinispan.commands.remote.RevokeBiasCommand;
 import org.infinispan.commands.remote.SingleRpcCommand;
+import org.infinispan.commands.remote.expiration.RemoveExpiredManyCommand;
 import org.infinispan.commands.remote.expiration.RetrieveLastAccessCommand;
+import org.infinispan.commands.remote.expiration.RetrieveLastAccessManyCommand;
 import org.infinispan.commands.remote.expiration.UpdateLastAccessCommand;
 import org.infinispan.commands.remote.recovery.CompleteTransactionCommand;
 import org.infinispan.commands.remote.recovery.GetInDoubtTransactionsCommand;
@@ -87,6 +89,7 @@
 import org.infinispan.reactive.publisher.impl.DeliveryGuarantee;
 import org.infinispan.reactive.publisher.impl.PublisherRequestCommand;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.statetransfer.SegmentDigest;
 import org.infinispan.statetransfer.StateChunk;
 import org.infinispan.statetransfer.StateRequestCommand;
 import org.infinispan.statetransfer.StateResponseCommand;
@@ -196,6 +199,27 @@ public interface CommandsFactory {
     */
    UpdateLastAccessCommand buildUpdateLastAccessCommand(Object key, int segment, long accessTime);
 
+   /**
+    * Builds a command that is used to get the last access time of several keys at once.
+    * @param keys the keys of the entries to get the last access time of
+    * @param values the expected values of the entries, in the same order as the keys
+    * @param segments the segments of the keys, in the same order as the keys
+    * @return a RetrieveLastAccessManyCommand
+    */
+   RetrieveLastAccessManyCommand buildRetrieveLastAccessManyCommand(List<Object> keys, List<Object> values, int[] segments);
+
+   /**
+    * Builds a command that asks the primary owner of several expired entries to remove them.
+    * @param keys the keys of the expired entries
+    * @param values the values of the expired entries, in the same order as the keys
+    * @param segments the segments of the keys, in the same order as the keys
+    * @param expirations the lifespan, or the max idle time if the entry expired via max idle, of each entry
+    * @param maxIdle whether each entry expired via max idle
+    * @return a RemoveExpiredManyCommand
+    */
+   RemoveExpiredManyCommand buildRemoveExpiredManyCommand(List<Object> keys, List<Object> values, int[] segments,
+         long[] expirations, boolean[] maxIdle);
+
    /**
     * Builds a ReplaceCommand
     * @param key key to replace
@@ -410,6 +434,11 @@ ComputeIfAbsentCommand buildComputeIfAbsentCommand(Object key, Function mappingF
     */
    StateRequestCommand buildStateRequestCommand(StateRequestCommand.Type subtype, Address sender, int topologyId, IntSet segments);
 
+   /**
+    * Builds a StateRequestCommand used for starting the transfer of the cache entries that differ from the given digests.
+    */
+   StateRequestCommand buildStateRequestCommand(Address sender, int topologyId, Map<Integer, SegmentDigest> digests);
+
    /**
     * Builds a StateResponseCommand used for pushing cache entries to another node in response to a StateRequestCommand.
     */
@@ -45,7 +45,9 @@
 import org.infinispan.commands.remote.RenewBiasCommand;
 import org.infinispan.commands.remote.RevokeBiasCommand;
 import org.infinispan.commands.remote.SingleRpcCommand;
+import org.infinispan.commands.remote.expiration.RemoveExpiredManyCommand;
 import org.infinispan.commands.remote.expiration.RetrieveLastAccessCommand;
+import org.infinispan.commands.remote.expiration.RetrieveLastAccessManyCommand;
 import org.infinispan.commands.remote.expiration.UpdateLastAccessCommand;
 import org.infinispan.commands.remote.recovery.CompleteTransactionCommand;
 import org.infinispan.commands.remote.recovery.GetInDoubtTransactionsCommand;
@@ -102,6 +104,8 @@
 import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.distribution.group.impl.GroupManager;
 import org.infinispan.encoding.DataConversion;
+import org.infinispan.expiration.impl.ClusterExpirationManager;
+import org.infinispan.expiration.impl.InternalExpirationManager;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.KnownComponentNames;
 import org.infinispan.factories.annotations.ComponentName;
@@ -128,6 +132,7 @@
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.scattered.BiasManager;
+import org.infinispan.statetransfer.SegmentDigest;
 import org.infinispan.statetransfer.StateChunk;
 import org.infinispan.statetransfer.StateConsumer;
 import org.infinispan.statetransfer.StateProvider;
@@ -213,6 +218,7 @@ public class CommandsFactoryImpl implements CommandsFactory {
    @Inject private VersionGenerator versionGenerator;
    @Inject private KeyPartitioner keyPartitioner;
    @Inject private TimeService timeService;
+   @Inject private ComponentRef<InternalExpirationManager> expirationManager;
 
    private ByteString cacheName;
    private boolean transactional;
@@ -279,6 +285,18 @@ public UpdateLastAccessCommand buildUpdateLastAccessCommand(Object key, int segm
       return new UpdateLastAccessCommand(cacheName, key, segment, accessTime);
    }
 
+   @Override
+   public RetrieveLastAccessManyCommand buildRetrieveLastAccessManyCommand(List<Object> keys, List<Object> values,
+         int[] segments) {
+      return new RetrieveLastAccessManyCommand(cacheName, keys, values, segments);
+   }
+
+   @Override
+   public RemoveExpiredManyCommand buildRemoveExpiredManyCommand(List<Object> keys, List<Object> values, int[] segments,
+         long[] expirations, boolean[] maxIdle) {
+      return new RemoveExpiredManyCommand(cacheName, keys, values, segments, expirations, maxIdle);
+   }
+
    @Override
    public ReplaceCommand buildReplaceCommand(Object key, Object oldValue, Object newValue, int segment, Metadata metadata, long flagsBitSet) {
       return new ReplaceCommand(key, oldValue, newValue, metadata, segment, flagsBitSet, generateUUID(transactional));
@@ -503,6 +521,14 @@ public void initializeReplicableCommand(ReplicableCommand c, boolean isRemote) {
             UpdateLastAccessCommand updateLastAccessCommand = (UpdateLastAccessCommand) c;
             updateLastAccessCommand.inject(dataContainer);
             break;
+         case RetrieveLastAccessManyCommand.COMMAND_ID:
+            RetrieveLastAccessManyCommand retrieveLastAccessManyCommand = (RetrieveLastAccessManyCommand) c;
+            retrieveLastAccessManyCommand.inject(dataContainer, timeService);
+            break;
+         case RemoveExpiredManyCommand.COMMAND_ID:
+            RemoveExpiredManyCommand removeExpiredManyCommand = (RemoveExpiredManyCommand) c;
+            removeExpiredManyCommand.inject((ClusterExpirationManager) expirationManager.running());
+            break;
          case BackupAckCommand.COMMAND_ID:
             BackupAckCommand command = (BackupAckCommand) c;
             command.setCommandAckCollector(commandAckCollector);
@@ -602,6 +628,11 @@ public StateRequestCommand buildStateRequestCommand(StateRequestCommand.Type sub
       return new StateRequestCommand(cacheName, subtype, sender, topologyId, segments);
    }
 
+   @Override
+   public StateRequestCommand buildStateRequestCommand(Address sender, int topologyId, Map<Integer, SegmentDigest> digests) {
+      return new StateRequestCommand(cacheName, sender, topologyId, digests);
+   }
+
    @Override
    public StateResponseCommand buildStateResponseCommand(Address sender, int topologyId, Collection<StateChunk> stateChunks, boolean applyState, boolean pushTransfer) {
       return new StateResponseCommand(cacheName, sender, topologyId, stateChunks, applyState, pushTransfer);
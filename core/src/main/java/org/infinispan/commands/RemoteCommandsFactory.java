@@ -25,7 +25,9 @@
 import org.infinispan.commands.remote.RenewBiasCommand;
 import org.infinispan.commands.remote.RevokeBiasCommand;
 import org.infinispan.commands.remote.SingleRpcCommand;
+import org.infinispan.commands.remote.expiration.RemoveExpiredManyCommand;
 import org.infinispan.commands.remote.expiration.RetrieveLastAccessCommand;
+import org.infinispan.commands.remote.expiration.RetrieveLastAccessManyCommand;
 import org.infinispan.commands.remote.expiration.UpdateLastAccessCommand;
 import org.infinispan.commands.remote.recovery.CompleteTransactionCommand;
 import org.infinispan.commands.remote.recovery.GetInDoubtTransactionsCommand;
@@ -356,6 +358,12 @@ public CacheRpcCommand fromStream(byte id, byte type, ByteString cacheName) {
             case UpdateLastAccessCommand.COMMAND_ID:
                command = new UpdateLastAccessCommand(cacheName);
                break;
+            case RetrieveLastAccessManyCommand.COMMAND_ID:
+               command = new RetrieveLastAccessManyCommand(cacheName);
+               break;
+            case RemoveExpiredManyCommand.COMMAND_ID:
+               command = new RemoveExpiredManyCommand(cacheName);
+               break;
             case PublisherRequestCommand.COMMAND_ID:
                command = new PublisherRequestCommand<>(cacheName);
                break;
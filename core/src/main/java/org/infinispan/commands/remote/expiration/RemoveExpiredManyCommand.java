@@ -0,0 +1,109 @@
+package org.infinispan.commands.remote.expiration;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.infinispan.commands.remote.BaseRpcCommand;
+import org.infinispan.commons.io.UnsignedNumeric;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.expiration.impl.ClusterExpirationManager;
+import org.infinispan.util.ByteString;
+
+/**
+ * Command sent by the expiration reaper of a node to the primary owner of several expired entries, so that the
+ * primary owner removes all of them after a single RPC instead of one RPC per entry.
+ * <p>
+ * For each entry it carries the key, the value, the segment and either the lifespan or, if the entry expired via max
+ * idle, the max idle time.
+ *
+ * @since 10.0
+ */
+public class RemoveExpiredManyCommand extends BaseRpcCommand {
+
+   public static final byte COMMAND_ID = 84;
+
+   private List<Object> keys;
+   private List<Object> values;
+   private int[] segments;
+   private long[] expirations;
+   private boolean[] maxIdle;
+
+   private ClusterExpirationManager<Object, Object> expirationManager;
+
+   // Only here for CommandIdUniquenessTest
+   private RemoveExpiredManyCommand() {
+      this(null);
+   }
+
+   public RemoveExpiredManyCommand(ByteString cacheName) {
+      super(cacheName);
+   }
+
+   public RemoveExpiredManyCommand(ByteString cacheName, List<Object> keys, List<Object> values, int[] segments,
+         long[] expirations, boolean[] maxIdle) {
+      super(cacheName);
+      this.keys = keys;
+      this.values = values;
+      this.segments = segments;
+      this.expirations = expirations;
+      this.maxIdle = maxIdle;
+   }
+
+   public void inject(ClusterExpirationManager<Object, Object> expirationManager) {
+      this.expirationManager = expirationManager;
+   }
+
+   @Override
+   public byte getCommandId() {
+      return COMMAND_ID;
+   }
+
+   @Override
+   public boolean isReturnValueExpected() {
+      // The reaper waits for the removals, so it doesn't have too many of them in progress
+      return true;
+   }
+
+   @Override
+   public void writeTo(ObjectOutput output) throws IOException {
+      MarshallUtil.marshallCollection(keys, output);
+      MarshallUtil.marshallCollection(values, output);
+      for (int i = 0; i < segments.length; i++) {
+         UnsignedNumeric.writeUnsignedInt(output, segments[i]);
+         output.writeLong(expirations[i]);
+         output.writeBoolean(maxIdle[i]);
+      }
+   }
+
+   @Override
+   public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
+      keys = MarshallUtil.unmarshallCollection(input, ArrayList::new);
+      values = MarshallUtil.unmarshallCollection(input, ArrayList::new);
+      int size = keys.size();
+      segments = new int[size];
+      expirations = new long[size];
+      maxIdle = new boolean[size];
+      for (int i = 0; i < size; i++) {
+         segments[i] = UnsignedNumeric.readUnsignedInt(input);
+         expirations[i] = input.readLong();
+         maxIdle[i] = input.readBoolean();
+      }
+   }
+
+   @Override
+   public CompletableFuture<Object> invokeAsync() throws Throwable {
+      return expirationManager.removeExpired(keys, values, segments, expirations, maxIdle).thenApply(ignore -> null);
+   }
+
+   @Override
+   public String toString() {
+      return "RemoveExpiredManyCommand{" +
+            "cacheName=" + cacheName +
+            ", keys=" + keys.size() +
+            '}';
+   }
+}
@@ -0,0 +1,125 @@
+package org.infinispan.commands.remote.expiration;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.infinispan.commands.TopologyAffectedCommand;
+import org.infinispan.commands.remote.BaseRpcCommand;
+import org.infinispan.commons.io.UnsignedNumeric;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.util.ByteString;
+
+/**
+ * Command that when invoked will retrieve the last access time of several entries without updating them. It is the
+ * batched version of {@link RetrieveLastAccessCommand}, used when many entries expire via max idle at the same time.
+ * <p>
+ * The response is a {@code long[]} with the last access time of each key, in the same order as the keys, or
+ * {@link #NO_ACCESS} if the entry is not present, has expired or doesn't match the given value.
+ *
+ * @since 10.0
+ */
+public class RetrieveLastAccessManyCommand extends BaseRpcCommand implements TopologyAffectedCommand {
+
+   public static final byte COMMAND_ID = 83;
+   public static final long NO_ACCESS = Long.MIN_VALUE;
+
+   private List<Object> keys;
+   private List<Object> values;
+   private int[] segments;
+
+   private InternalDataContainer<Object, Object> container;
+   private TimeService timeService;
+   private int topologyId = -1;
+
+   // Only here for CommandIdUniquenessTest
+   private RetrieveLastAccessManyCommand() {
+      this(null);
+   }
+
+   public RetrieveLastAccessManyCommand(ByteString cacheName) {
+      super(cacheName);
+   }
+
+   public RetrieveLastAccessManyCommand(ByteString cacheName, List<Object> keys, List<Object> values, int[] segments) {
+      super(cacheName);
+      this.keys = keys;
+      this.values = values;
+      this.segments = segments;
+   }
+
+   public void inject(InternalDataContainer container, TimeService timeService) {
+      this.container = container;
+      this.timeService = timeService;
+   }
+
+   @Override
+   public byte getCommandId() {
+      return COMMAND_ID;
+   }
+
+   @Override
+   public boolean isReturnValueExpected() {
+      return true;
+   }
+
+   @Override
+   public void writeTo(ObjectOutput output) throws IOException {
+      MarshallUtil.marshallCollection(keys, output);
+      MarshallUtil.marshallCollection(values, output);
+      for (int segment : segments) {
+         UnsignedNumeric.writeUnsignedInt(output, segment);
+      }
+   }
+
+   @Override
+   public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
+      keys = MarshallUtil.unmarshallCollection(input, ArrayList::new);
+      values = MarshallUtil.unmarshallCollection(input, ArrayList::new);
+      segments = new int[keys.size()];
+      for (int i = 0; i < segments.length; i++) {
+         segments[i] = UnsignedNumeric.readUnsignedInt(input);
+      }
+   }
+
+   @Override
+   public int getTopologyId() {
+      return topologyId;
+   }
+
+   @Override
+   public void setTopologyId(int topologyId) {
+      this.topologyId = topologyId;
+   }
+
+   @Override
+   public CompletableFuture<Object> invokeAsync() throws Throwable {
+      long currentTime = timeService.wallClockTime();
+      long[] lastAccess = new long[keys.size()];
+      for (int i = 0; i < lastAccess.length; i++) {
+         Object value = values.get(i);
+         InternalCacheEntry<Object, Object> ice = container.peek(segments[i], keys.get(i));
+         if (ice != null && (value == null || value.equals(ice.getValue())) && !ice.isExpired(currentTime)) {
+            lastAccess[i] = ice.getLastUsed();
+         } else {
+            lastAccess[i] = NO_ACCESS;
+         }
+      }
+      return CompletableFuture.completedFuture(lastAccess);
+   }
+
+   @Override
+   public String toString() {
+      return "RetrieveLastAccessManyCommand{" +
+            "cacheName=" + cacheName +
+            ", keys=" + keys.size() +
+            ", topologyId=" + topologyId +
+            '}';
+   }
+}
@@ -58,10 +58,14 @@ public Object readAttributeValue(String enclosing, String nesting, AttributeDefi
    public static final AttributeDefinition<Integer> INVALIDATION_BATCH_SIZE = AttributeDefinition.builder("invalidationBatchSize",  128).immutable().build();
    public static final AttributeDefinition<BiasAcquisition> BIAS_ACQUISITION = AttributeDefinition.builder("biasAcquisition", BiasAcquisition.ON_WRITE).immutable().build();
    public static final AttributeDefinition<Long> BIAS_LIFESPAN = AttributeDefinition.builder("biasLifespan", TimeUnit.MINUTES.toMillis(5)).immutable().build();
+   public static final AttributeDefinition<Long> CLUSTER_EVENT_BATCH_DELAY = AttributeDefinition.builder("clusterEventBatchDelay", 0L).immutable().build();
+   public static final AttributeDefinition<Integer> CLUSTER_EVENT_BATCH_SIZE = AttributeDefinition.builder("clusterEventBatchSize", 128).immutable().build();
+   public static final AttributeDefinition<Boolean> CLUSTER_EVENT_COALESCING = AttributeDefinition.builder("clusterEventCoalescing", false).immutable().build();
    private final List<ConfigurationInfo> elements;
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(ClusteringConfiguration.class, CACHE_MODE, REMOTE_TIMEOUT, INVALIDATION_BATCH_SIZE, BIAS_ACQUISITION, BIAS_LIFESPAN);
+      return new AttributeSet(ClusteringConfiguration.class, CACHE_MODE, REMOTE_TIMEOUT, INVALIDATION_BATCH_SIZE, BIAS_ACQUISITION, BIAS_LIFESPAN,
+            CLUSTER_EVENT_BATCH_DELAY, CLUSTER_EVENT_BATCH_SIZE, CLUSTER_EVENT_COALESCING);
    }
 
    public static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(CLUSTERING.getLocalName(), false);
@@ -144,6 +148,30 @@ public long biasLifespan() {
       return attributes.attribute(BIAS_LIFESPAN).get();
    }
 
+   /**
+    * If greater than 0, the events for async cluster listeners are sent to the node that registered the listener in
+    * batches, at most this many milliseconds after they are raised.
+    */
+   public long clusterEventBatchDelay() {
+      return attributes.attribute(CLUSTER_EVENT_BATCH_DELAY).get();
+   }
+
+   /**
+    * The number of events for async cluster listeners after which a batch is sent without waiting for
+    * {@link #clusterEventBatchDelay()}.
+    */
+   public int clusterEventBatchSize() {
+      return attributes.attribute(CLUSTER_EVENT_BATCH_SIZE).get();
+   }
+
+   /**
+    * If {@code true}, a batch of events for an async cluster listener only keeps the latest event of each type for
+    * each key.
+    */
+   public boolean clusterEventCoalescing() {
+      return attributes.attribute(CLUSTER_EVENT_COALESCING).get();
+   }
+
    /**
     * Configure hash sub element
     */
@@ -3,6 +3,9 @@
 import static org.infinispan.configuration.cache.ClusteringConfiguration.BIAS_ACQUISITION;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.BIAS_LIFESPAN;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.CACHE_MODE;
+import static org.infinispan.configuration.cache.ClusteringConfiguration.CLUSTER_EVENT_BATCH_DELAY;
+import static org.infinispan.configuration.cache.ClusteringConfiguration.CLUSTER_EVENT_BATCH_SIZE;
+import static org.infinispan.configuration.cache.ClusteringConfiguration.CLUSTER_EVENT_COALESCING;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.INVALIDATION_BATCH_SIZE;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.REMOTE_TIMEOUT;
 
@@ -12,6 +15,7 @@
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.ConfigurationBuilderInfo;
 import org.infinispan.commons.configuration.ConfigurationInfo;
@@ -114,6 +118,33 @@ public ClusteringConfigurationBuilder biasLifespan(long l, TimeUnit unit) {
       return this;
    }
 
+   /**
+    * If greater than 0, the events for async cluster listeners are sent to the node that registered the listener in
+    * batches, at most this long after they are raised. Events for sync cluster listeners are never delayed.
+    */
+   public ClusteringConfigurationBuilder clusterEventBatchDelay(long l, TimeUnit unit) {
+      attributes.attribute(CLUSTER_EVENT_BATCH_DELAY).set(unit.toMillis(l));
+      return this;
+   }
+
+   /**
+    * The number of events for async cluster listeners after which a batch is sent without waiting for
+    * {@link #clusterEventBatchDelay(long, TimeUnit)}.
+    */
+   public ClusteringConfigurationBuilder clusterEventBatchSize(int size) {
+      attributes.attribute(CLUSTER_EVENT_BATCH_SIZE).set(size);
+      return this;
+   }
+
+   /**
+    * If {@code true}, a batch of events for an async cluster listener only keeps the latest event of each type for
+    * each key.
+    */
+   public ClusteringConfigurationBuilder clusterEventCoalescing(boolean b) {
+      attributes.attribute(CLUSTER_EVENT_COALESCING).set(b);
+      return this;
+   }
+
    /**
     * Configure hash sub element
     */
@@ -162,6 +193,12 @@ void validate() {
             throw log.scatteredCacheIsNonTransactional();
          }
       }
+      if (attributes.attribute(CLUSTER_EVENT_BATCH_DELAY).get() < 0) {
+         throw new CacheConfigurationException("clusterEventBatchDelay can not be < 0");
+      }
+      if (attributes.attribute(CLUSTER_EVENT_BATCH_SIZE).get() <= 0) {
+         throw new CacheConfigurationException("clusterEventBatchSize must be > 0");
+      }
       if (!cacheMode().isScattered() && attributes.attribute(INVALIDATION_BATCH_SIZE).isModified()) {
          throw log.invalidationBatchSizeAppliesOnNonScattered();
       }
@@ -1,5 +1,6 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.ExpirationConfiguration.INDEXED;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.LIFESPAN;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.MAX_IDLE;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.REAPER_ENABLED;
@@ -130,6 +131,16 @@ public ExpirationConfigurationBuilder wakeUpInterval(long l, TimeUnit unit) {
       return wakeUpInterval(unit.toMillis(l));
    }
 
+   /**
+    * Keep the keys that can expire in an index ordered by expiration time, so that the reaper only visits the entries
+    * that are due instead of iterating over the whole data container. This costs some memory for each entry with a
+    * lifespan or max idle, but nothing for the entries that never expire.
+    */
+   public ExpirationConfigurationBuilder indexed(boolean indexed) {
+      attributes.attribute(INDEXED).set(indexed);
+      return this;
+   }
+
    @Override
    public void validate() {
    }
@@ -19,14 +19,27 @@ public class JMXStatisticsConfiguration implements Matchable<JMXStatisticsConfig
    public static final AttributeDefinition<Boolean> ENABLED = AttributeDefinition.builder("enabled", false).xmlName("statistics")
          .build();
    public static final AttributeDefinition<Boolean> AVAILABLE = AttributeDefinition.builder("available", true).xmlName("statistics-available").build();
+   public static final AttributeDefinition<Long> LATENCY_WINDOW = AttributeDefinition.builder("latencyWindow", 60_000L).xmlName("statistics-latency-window").immutable().build();
+   public static final AttributeDefinition<Boolean> PROFILING = AttributeDefinition.builder("profiling", false).xmlName("statistics-profiling").immutable().build();
+   public static final AttributeDefinition<Integer> PROFILING_SAMPLE_INTERVAL = AttributeDefinition.builder("profilingSampleInterval", 100).xmlName("statistics-profiling-sample-interval").immutable().build();
+   public static final AttributeDefinition<Boolean> HOT_KEYS = AttributeDefinition.builder("hotKeys", true).xmlName("statistics-hot-keys").immutable().build();
+   public static final AttributeDefinition<Integer> HOT_KEYS_SAMPLE_INTERVAL = AttributeDefinition.builder("hotKeysSampleInterval", 16).xmlName("statistics-hot-keys-sample-interval").immutable().build();
+   public static final AttributeDefinition<Integer> HOT_KEYS_CAPACITY = AttributeDefinition.builder("hotKeysCapacity", 64).xmlName("statistics-hot-keys-capacity").immutable().build();
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(JMXStatisticsConfiguration.class, ENABLED, AVAILABLE);
+      return new AttributeSet(JMXStatisticsConfiguration.class, ENABLED, AVAILABLE, LATENCY_WINDOW, PROFILING,
+            PROFILING_SAMPLE_INTERVAL, HOT_KEYS, HOT_KEYS_SAMPLE_INTERVAL, HOT_KEYS_CAPACITY);
    }
 
    static ElementDefinition<JMXStatisticsConfiguration> ELEMENT_DEFINITION = new DefaultElementDefinition<>("", false);
 
    private final Attribute<Boolean> enabled;
    private final Attribute<Boolean> available;
+   private final Attribute<Long> latencyWindow;
+   private final Attribute<Boolean> profiling;
+   private final Attribute<Integer> profilingSampleInterval;
+   private final Attribute<Boolean> hotKeys;
+   private final Attribute<Integer> hotKeysSampleInterval;
+   private final Attribute<Integer> hotKeysCapacity;
    private final AttributeSet attributes;
 
    /**
@@ -38,6 +51,12 @@ static AttributeSet attributeDefinitionSet() {
       this.attributes = attributes.checkProtection();
       enabled = attributes.attribute(ENABLED);
       available = attributes.attribute(AVAILABLE);
+      latencyWindow = attributes.attribute(LATENCY_WINDOW);
+      profiling = attributes.attribute(PROFILING);
+      profilingSampleInterval = attributes.attribute(PROFILING_SAMPLE_INTERVAL);
+      hotKeys = attributes.attribute(HOT_KEYS);
+      hotKeysSampleInterval = attributes.attribute(HOT_KEYS_SAMPLE_INTERVAL);
+      hotKeysCapacity = attributes.attribute(HOT_KEYS_CAPACITY);
    }
 
    @Override
@@ -57,6 +76,56 @@ public boolean available() {
       return available.get();
    }
 
+   /**
+    * The length (ms) of the windows the latency percentiles of the cache are computed over.
+    * @return
+    */
+   public long latencyWindow() {
+      return latencyWindow.get();
+   }
+
+   /**
+    * Whether the time spent in each interceptor is profiled when the cache starts. Profiling can also be enabled
+    * later through JMX.
+    * @return
+    */
+   public boolean profiling() {
+      return profiling.get();
+   }
+
+   /**
+    * While profiling, one in this many invocations is sampled.
+    * @return
+    */
+   public int profilingSampleInterval() {
+      return profilingSampleInterval.get();
+   }
+
+   /**
+    * Whether the keys read and written most frequently on this node are tracked, see
+    * {@link org.infinispan.stats.HotKeyTracker}.
+    * @return
+    */
+   public boolean hotKeys() {
+      return hotKeys.get();
+   }
+
+   /**
+    * While tracking the hot keys, one in this many operations is recorded.
+    * @return
+    */
+   public int hotKeysSampleInterval() {
+      return hotKeysSampleInterval.get();
+   }
+
+   /**
+    * How many of the most frequent keys are kept for reads and for writes while tracking the hot keys.
+    * @return
+    */
+   public int hotKeysCapacity() {
+      return hotKeysCapacity.get();
+   }
+
    public AttributeSet attributes() {
       return attributes;
    }
@@ -3,9 +3,17 @@
 import static org.infinispan.configuration.cache.JMXStatisticsConfiguration.AVAILABLE;
 import static org.infinispan.configuration.cache.JMXStatisticsConfiguration.ELEMENT_DEFINITION;
 import static org.infinispan.configuration.cache.JMXStatisticsConfiguration.ENABLED;
+import static org.infinispan.configuration.cache.JMXStatisticsConfiguration.HOT_KEYS;
+import static org.infinispan.configuration.cache.JMXStatisticsConfiguration.HOT_KEYS_CAPACITY;
+import static org.infinispan.configuration.cache.JMXStatisticsConfiguration.HOT_KEYS_SAMPLE_INTERVAL;
+import static org.infinispan.configuration.cache.JMXStatisticsConfiguration.LATENCY_WINDOW;
+import static org.infinispan.configuration.cache.JMXStatisticsConfiguration.PROFILING;
+import static org.infinispan.configuration.cache.JMXStatisticsConfiguration.PROFILING_SAMPLE_INTERVAL;
 
 import java.lang.invoke.MethodHandles;
+import java.util.concurrent.TimeUnit;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.ConfigurationBuilderInfo;
 import org.infinispan.commons.configuration.attributes.Attribute;
@@ -73,6 +81,80 @@ public JMXStatisticsConfigurationBuilder available(boolean available) {
       return this;
    }
 
+   /**
+    * The length (ms) of the windows the latency percentiles are computed over. The percentiles exposed by the cache
+    * statistics are those of the last complete window.
+    * @param latencyWindow
+    * @return
+    */
+   public JMXStatisticsConfigurationBuilder latencyWindow(long latencyWindow) {
+      attributes.attribute(LATENCY_WINDOW).set(latencyWindow);
+      return this;
+   }
+
+   /**
+    * The length of the windows the latency percentiles are computed over. The percentiles exposed by the cache
+    * statistics are those of the last complete window.
+    * @param latencyWindow
+    * @param unit
+    * @return
+    */
+   public JMXStatisticsConfigurationBuilder latencyWindow(long latencyWindow, TimeUnit unit) {
+      return latencyWindow(unit.toMillis(latencyWindow));
+   }
+
+   /**
+    * Enable or disable the profiling of the time spent in each interceptor when the cache starts. Profiling can also
+    * be enabled later through JMX.
+    * @param profiling
+    * @return
+    */
+   public JMXStatisticsConfigurationBuilder profiling(boolean profiling) {
+      attributes.attribute(PROFILING).set(profiling);
+      return this;
+   }
+
+   /**
+    * While profiling, one in this many invocations is sampled.
+    * @param profilingSampleInterval
+    * @return
+    */
+   public JMXStatisticsConfigurationBuilder profilingSampleInterval(int profilingSampleInterval) {
+      attributes.attribute(PROFILING_SAMPLE_INTERVAL).set(profilingSampleInterval);
+      return this;
+   }
+
+   /**
+    * Enable or disable the tracking of the keys read and written most frequently on this node, see
+    * {@link org.infinispan.stats.HotKeyTracker}. Enabled by default, as only a sample of the operations is recorded.
+    * @param hotKeys
+    * @return
+    */
+   public JMXStatisticsConfigurationBuilder hotKeys(boolean hotKeys) {
+      attributes.attribute(HOT_KEYS).set(hotKeys);
+      return this;
+   }
+
+   /**
+    * While tracking the hot keys, one in this many operations is recorded.
+    * @param hotKeysSampleInterval
+    * @return
+    */
+   public JMXStatisticsConfigurationBuilder hotKeysSampleInterval(int hotKeysSampleInterval) {
+      attributes.attribute(HOT_KEYS_SAMPLE_INTERVAL).set(hotKeysSampleInterval);
+      return this;
+   }
+
+   /**
+    * How many of the most frequent keys are kept for reads and for writes while tracking the hot keys.
+    * @param hotKeysCapacity
+    * @return
+    */
+   public JMXStatisticsConfigurationBuilder hotKeysCapacity(int hotKeysCapacity) {
+      attributes.attribute(HOT_KEYS_CAPACITY).set(hotKeysCapacity);
+      return this;
+   }
+
    @Override
    public void validate() {
       Attribute<Boolean> enabled = attributes.attribute(ENABLED);
@@ -82,6 +164,18 @@ public void validate() {
             throw log.statisticsEnabledNotAvailable();
          }
       }
+      if (attributes.attribute(LATENCY_WINDOW).get() <= 0) {
+         throw new CacheConfigurationException("latencyWindow can not be <= 0");
+      }
+      if (attributes.attribute(PROFILING_SAMPLE_INTERVAL).get() <= 0) {
+         throw new CacheConfigurationException("profilingSampleInterval can not be <= 0");
+      }
+      if (attributes.attribute(HOT_KEYS_SAMPLE_INTERVAL).get() <= 0) {
+         throw new CacheConfigurationException("hotKeysSampleInterval can not be <= 0");
+      }
+      if (attributes.attribute(HOT_KEYS_CAPACITY).get() <= 0) {
+         throw new CacheConfigurationException("hotKeysCapacity can not be <= 0");
+      }
    }
 
    @Override
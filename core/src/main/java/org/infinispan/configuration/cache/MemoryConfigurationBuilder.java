@@ -4,8 +4,10 @@
 import static org.infinispan.configuration.cache.MemoryConfiguration.EVICTION_STRATEGY;
 import static org.infinispan.configuration.cache.MemoryConfiguration.EVICTION_TYPE;
 import static org.infinispan.configuration.cache.MemoryConfiguration.SIZE;
+import static org.infinispan.configuration.cache.MemoryConfiguration.SNAPSHOT_MAX_RETAINED_VERSIONS;
 import static org.infinispan.configuration.cache.MemoryConfiguration.STORAGE_TYPE;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.ConfigurationBuilderInfo;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
@@ -159,6 +161,26 @@ public int addressCount() {
       return attributes.attribute(ADDRESS_COUNT).get();
    }
 
+   /**
+    * The maximum number of old versions of entries that a snapshot scan retains for the writes made while it runs.
+    * A scan that needs to retain more is aborted, its retained versions are released and reading it fails.
+    * @param snapshotMaxRetainedVersions the maximum number of versions retained per scan
+    * @return this
+    */
+   public MemoryConfigurationBuilder snapshotMaxRetainedVersions(int snapshotMaxRetainedVersions) {
+      attributes.attribute(SNAPSHOT_MAX_RETAINED_VERSIONS).set(snapshotMaxRetainedVersions);
+      return this;
+   }
+
+   /**
+    * How many old versions of entries a snapshot scan can retain. See
+    * {@link MemoryConfigurationBuilder#snapshotMaxRetainedVersions(int)} for more information.
+    * @return the configured maximum number of retained versions
+    */
+   public int snapshotMaxRetainedVersions() {
+      return attributes.attribute(SNAPSHOT_MAX_RETAINED_VERSIONS).get();
+   }
+
    @Override
    public void validate() {
       StorageType type = attributes.attribute(STORAGE_TYPE).get();
@@ -211,6 +233,10 @@ public void validate() {
             }
          }
       }
+
+      if (attributes.attribute(SNAPSHOT_MAX_RETAINED_VERSIONS).get() <= 0) {
+         throw new CacheConfigurationException("snapshotMaxRetainedVersions can not be <= 0");
+      }
    }
 
    @Override
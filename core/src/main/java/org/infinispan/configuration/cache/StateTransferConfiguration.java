@@ -23,17 +23,31 @@ public class StateTransferConfiguration implements Matchable<StateTransferConfig
    public static final AttributeDefinition<Boolean> FETCH_IN_MEMORY_STATE = AttributeDefinition.builder("fetchInMemoryState", true).xmlName("enabled").immutable().build();
    public static final AttributeDefinition<Long> TIMEOUT = AttributeDefinition.builder("timeout", TimeUnit.MINUTES.toMillis(4)).immutable().build();
    public static final AttributeDefinition<Integer> CHUNK_SIZE = AttributeDefinition.builder("chunkSize", 512).immutable().build();
+   public static final AttributeDefinition<Long> CHUNK_SIZE_BYTES = AttributeDefinition.builder("chunkSizeBytes", 0L).immutable().build();
+   public static final AttributeDefinition<Boolean> COMPRESS_CHUNKS = AttributeDefinition.builder("compressChunks", false).immutable().build();
+   public static final AttributeDefinition<Long> MAX_BANDWIDTH = AttributeDefinition.builder("maxBandwidth", 0L).immutable().build();
+   public static final AttributeDefinition<Long> ITERATOR_TARGET_RESPONSE_TIME = AttributeDefinition.builder("iteratorTargetResponseTime", 100L).immutable().build();
+   public static final AttributeDefinition<Integer> ITERATOR_MAX_CONCURRENT_OWNERS = AttributeDefinition.builder("iteratorMaxConcurrentOwners", 4).immutable().build();
+   public static final AttributeDefinition<Integer> ITERATOR_PREFETCH_BATCHES = AttributeDefinition.builder("iteratorPrefetchBatches", 1).immutable().build();
 
    public static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(STATE_TRANSFER.getLocalName());
 
    static final AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(StateTransferConfiguration.class, FETCH_IN_MEMORY_STATE, TIMEOUT, CHUNK_SIZE, AWAIT_INITIAL_TRANSFER);
+      return new AttributeSet(StateTransferConfiguration.class, FETCH_IN_MEMORY_STATE, TIMEOUT, CHUNK_SIZE,
+            AWAIT_INITIAL_TRANSFER, CHUNK_SIZE_BYTES, COMPRESS_CHUNKS, MAX_BANDWIDTH, ITERATOR_TARGET_RESPONSE_TIME,
+            ITERATOR_MAX_CONCURRENT_OWNERS, ITERATOR_PREFETCH_BATCHES);
    }
 
    private final Attribute<Boolean> awaitInitialTransfer;
    private final Attribute<Boolean> fetchInMemoryState;
    private final Attribute<Long> timeout;
    private final Attribute<Integer> chunkSize;
+   private final Attribute<Long> chunkSizeBytes;
+   private final Attribute<Boolean> compressChunks;
+   private final Attribute<Long> maxBandwidth;
+   private final Attribute<Long> iteratorTargetResponseTime;
+   private final Attribute<Integer> iteratorMaxConcurrentOwners;
+   private final Attribute<Integer> iteratorPrefetchBatches;
    private final AttributeSet attributes;
 
    StateTransferConfiguration(AttributeSet attributes) {
@@ -42,6 +56,12 @@ static final AttributeSet attributeDefinitionSet() {
       fetchInMemoryState = attributes.attribute(FETCH_IN_MEMORY_STATE);
       timeout = attributes.attribute(TIMEOUT);
       chunkSize = attributes.attribute(CHUNK_SIZE);
+      chunkSizeBytes = attributes.attribute(CHUNK_SIZE_BYTES);
+      compressChunks = attributes.attribute(COMPRESS_CHUNKS);
+      maxBandwidth = attributes.attribute(MAX_BANDWIDTH);
+      iteratorTargetResponseTime = attributes.attribute(ITERATOR_TARGET_RESPONSE_TIME);
+      iteratorMaxConcurrentOwners = attributes.attribute(ITERATOR_MAX_CONCURRENT_OWNERS);
+      iteratorPrefetchBatches = attributes.attribute(ITERATOR_PREFETCH_BATCHES);
    }
 
    /**
@@ -81,6 +101,51 @@ public int chunkSize() {
       return chunkSize.get();
    }
 
+   /**
+    * If greater than 0, the state will be transferred in batches of approximately {@code chunkSizeBytes} bytes, and
+    * {@link #chunkSize()} is ignored.
+    */
+   public long chunkSizeBytes() {
+      return chunkSizeBytes.get();
+   }
+
+   /**
+    * If {@code true}, the batches of cache entries will be compressed before being transferred.
+    */
+   public boolean compressChunks() {
+      return compressChunks.get();
+   }
+
+   /**
+    * If greater than 0, the maximum number of bytes per second each node will send while transferring the state of
+    * this cache.
+    */
+   public long maxBandwidth() {
+      return maxBandwidth.get();
+   }
+
+   /**
+    * The response time - in milliseconds - that the batches of a distributed iterator are sized for. Like state
+    * transfer, the iterator starts with batches of {@link #chunkSize()} entries.
+    */
+   public long iteratorTargetResponseTime() {
+      return iteratorTargetResponseTime.get();
+   }
+
+   /**
+    * How many owners a distributed iterator retrieves entries from at the same time.
+    */
+   public int iteratorMaxConcurrentOwners() {
+      return iteratorMaxConcurrentOwners.get();
+   }
+
+   /**
+    * How many batches a distributed iterator requests from each owner in advance, while the current batch is consumed.
+    */
+   public int iteratorPrefetchBatches() {
+      return iteratorPrefetchBatches.get();
+   }
+
    /**
     * If {@code true}, this will cause the first call to method {@code CacheManager.getCache()} on the joiner node to
     * block and wait until the joining is complete and the cache has finished receiving state from neighboring caches
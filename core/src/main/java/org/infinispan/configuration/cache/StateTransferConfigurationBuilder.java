@@ -2,7 +2,13 @@
 
 import static org.infinispan.configuration.cache.StateTransferConfiguration.AWAIT_INITIAL_TRANSFER;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.CHUNK_SIZE;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.CHUNK_SIZE_BYTES;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.COMPRESS_CHUNKS;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.FETCH_IN_MEMORY_STATE;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.ITERATOR_MAX_CONCURRENT_OWNERS;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.ITERATOR_PREFETCH_BATCHES;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.ITERATOR_TARGET_RESPONSE_TIME;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.MAX_BANDWIDTH;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.TIMEOUT;
 
 import java.util.concurrent.TimeUnit;
@@ -79,6 +85,65 @@ public StateTransferConfigurationBuilder chunkSize(int i) {
       return this;
    }
 
+   /**
+    * If greater than 0, the state will be transferred in batches of approximately {@code chunkSizeBytes} bytes instead
+    * of {@link #chunkSize(int)} cache entries.
+    */
+   public StateTransferConfigurationBuilder chunkSizeBytes(long l) {
+      attributes.attribute(CHUNK_SIZE_BYTES).set(l);
+      return this;
+   }
+
+   /**
+    * If {@code true}, the batches of cache entries will be compressed before being transferred.
+    */
+   public StateTransferConfigurationBuilder compressChunks(boolean b) {
+      attributes.attribute(COMPRESS_CHUNKS).set(b);
+      return this;
+   }
+
+   /**
+    * If greater than 0, the maximum number of bytes per second each node will send while transferring the state of
+    * this cache.
+    */
+   public StateTransferConfigurationBuilder maxBandwidth(long l) {
+      attributes.attribute(MAX_BANDWIDTH).set(l);
+      return this;
+   }
+
+   /**
+    * The response time - in milliseconds - that the batches of a distributed iterator are sized for. A batch returned
+    * in less than half of this is doubled for the next request, and one that took more than twice this is halved.
+    */
+   public StateTransferConfigurationBuilder iteratorTargetResponseTime(long l) {
+      attributes.attribute(ITERATOR_TARGET_RESPONSE_TIME).set(l);
+      return this;
+   }
+
+   /**
+    * The response time that the batches of a distributed iterator are sized for.
+    */
+   public StateTransferConfigurationBuilder iteratorTargetResponseTime(long l, TimeUnit unit) {
+      return iteratorTargetResponseTime(unit.toMillis(l));
+   }
+
+   /**
+    * How many owners a distributed iterator retrieves entries from at the same time.
+    */
+   public StateTransferConfigurationBuilder iteratorMaxConcurrentOwners(int i) {
+      attributes.attribute(ITERATOR_MAX_CONCURRENT_OWNERS).set(i);
+      return this;
+   }
+
+   /**
+    * How many batches a distributed iterator requests from each owner in advance, while the current batch is consumed.
+    * At most that many batches are held in memory per owner. 0 disables prefetching.
+    */
+   public StateTransferConfigurationBuilder iteratorPrefetchBatches(int i) {
+      attributes.attribute(ITERATOR_PREFETCH_BATCHES).set(i);
+      return this;
+   }
+
    /**
     * This is the maximum amount of time - in milliseconds - to wait for state from neighboring
     * caches, before throwing an exception and aborting startup.
@@ -101,6 +166,21 @@ public void validate() {
       if (attributes.attribute(CHUNK_SIZE).get() <= 0) {
          throw new CacheConfigurationException("chunkSize can not be <= 0");
       }
+      if (attributes.attribute(CHUNK_SIZE_BYTES).get() < 0) {
+         throw new CacheConfigurationException("chunkSizeBytes can not be < 0");
+      }
+      if (attributes.attribute(MAX_BANDWIDTH).get() < 0) {
+         throw new CacheConfigurationException("maxBandwidth can not be < 0");
+      }
+      if (attributes.attribute(ITERATOR_TARGET_RESPONSE_TIME).get() <= 0) {
+         throw new CacheConfigurationException("iteratorTargetResponseTime can not be <= 0");
+      }
+      if (attributes.attribute(ITERATOR_MAX_CONCURRENT_OWNERS).get() <= 0) {
+         throw new CacheConfigurationException("iteratorMaxConcurrentOwners can not be <= 0");
+      }
+      if (attributes.attribute(ITERATOR_PREFETCH_BATCHES).get() < 0) {
+         throw new CacheConfigurationException("iteratorPrefetchBatches can not be < 0");
+      }
 
       if (clustering().cacheMode().isInvalidation()) {
          Attribute<Boolean> fetchAttribute = attributes.attribute(FETCH_IN_MEMORY_STATE);
@@ -60,6 +60,7 @@ public class GlobalConfiguration {
    private final Optional<String> defaultCacheName;
    private final Features features;
    private final boolean zeroCapacityNode;
+   private final int streamParallelism;
 
    GlobalConfiguration(ThreadPoolConfiguration expirationThreadPool,
                        ThreadPoolConfiguration listenerThreadPool,
@@ -74,7 +75,7 @@ public class GlobalConfiguration {
                        List<?> modules, SiteConfiguration site,
                        Optional<String> defaultCacheName,
                        ClassLoader cl, Features features,
-                       boolean zeroCapacityNode) {
+                       boolean zeroCapacityNode, int streamParallelism) {
       this.expirationThreadPool = expirationThreadPool;
       this.listenerThreadPool = listenerThreadPool;
       this.replicationQueueThreadPool = replicationQueueThreadPool;
@@ -97,6 +98,7 @@ public class GlobalConfiguration {
       this.cl = cl;
       this.features = features;
       this.zeroCapacityNode = features.isAvailable(ZERO_CAPACITY_NODE_FEATURE) ? zeroCapacityNode : false;
+      this.streamParallelism = streamParallelism;
    }
 
    /**
@@ -253,6 +255,7 @@ public String toString() {
             ", defaultCacheName=" + defaultCacheName +
             ", cl=" + cl +
             ", zeroCapacityNode=" + zeroCapacityNode +
+            ", streamParallelism=" + streamParallelism +
             '}';
    }
 
@@ -269,4 +272,12 @@ public boolean isClustered() {
    public boolean isZeroCapacityNode() {
       return zeroCapacityNode;
    }
+
+   /**
+    * The number of threads that run the terminal operations of parallel local streams. 0 means the common
+    * {@link java.util.concurrent.ForkJoinPool} is used, and -1 means one thread per processor.
+    */
+   public int streamParallelism() {
+      return streamParallelism;
+   }
 }
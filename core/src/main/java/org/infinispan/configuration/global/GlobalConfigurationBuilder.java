@@ -35,6 +35,7 @@ public class GlobalConfigurationBuilder implements GlobalConfigurationChildBuild
    private final SiteConfigurationBuilder site;
    private Optional<String> defaultCacheName;
    private boolean zeroCapacityNode;
+   private int streamParallelism;
    private Features features;
 
    public GlobalConfigurationBuilder() {
@@ -59,6 +60,7 @@ public GlobalConfigurationBuilder() {
       this.modules = new LinkedHashMap();
       this.defaultCacheName = Optional.empty();
       this.zeroCapacityNode = false;
+      this.streamParallelism = 0;
    }
 
    /**
@@ -182,6 +184,19 @@ public GlobalConfigurationBuilder zeroCapacityNode(boolean zeroCapacityNode) {
       return this;
    }
 
+   /**
+    * Runs the terminal operations of parallel local streams in a dedicated work stealing pool of this many threads,
+    * instead of the common {@link java.util.concurrent.ForkJoinPool} shared with the rest of the JVM. A value of -1
+    * sizes the pool to the number of processors. Defaults to 0, which uses the common pool.
+    *
+    * @param streamParallelism the number of threads, 0 or -1
+    * @return GlobalConfigurationBuilder instance
+    */
+   public GlobalConfigurationBuilder streamParallelism(int streamParallelism) {
+      this.streamParallelism = streamParallelism;
+      return this;
+   }
+
    public GlobalConfigurationBuilder clearModules() {
       modules.clear();
       return this;
@@ -250,6 +265,9 @@ public void validate() {
             validationExceptions.add(e);
          }
       });
+      if (streamParallelism < -1) {
+         validationExceptions.add(new CacheConfigurationException("streamParallelism can not be < -1"));
+      }
       CacheConfigurationException.fromMultipleRuntimeExceptions(validationExceptions).ifPresent(e -> { throw e; });
    }
 
@@ -277,12 +295,14 @@ public GlobalConfiguration build() {
             defaultCacheName,
             cl,
             features,
-            zeroCapacityNode);
+            zeroCapacityNode,
+            streamParallelism);
    }
 
    public GlobalConfigurationBuilder read(GlobalConfiguration template) {
       this.cl = template.classLoader();
       this.defaultCacheName = template.defaultCacheName();
+      this.streamParallelism = template.streamParallelism();
 
       for (Object c : template.modules().values()) {
          BuiltBy builtBy = c.getClass().getAnnotation(BuiltBy.class);
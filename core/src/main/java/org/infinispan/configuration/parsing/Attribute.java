@@ -31,9 +31,14 @@ public enum Attribute {
     BEFORE,
     CAPACITY_FACTOR("capacity"),
     CHUNK_SIZE,
+    CHUNK_SIZE_BYTES,
     CLASS,
     CLUSTER,
+    CLUSTER_EVENT_BATCH_DELAY,
+    CLUSTER_EVENT_BATCH_SIZE,
+    CLUSTER_EVENT_COALESCING,
     COMPLETED_TX_TIMEOUT("complete-timeout"),
+    COMPRESS_CHUNKS,
     CONCURRENCY_LEVEL,
     CONFIGURATION,
     CONNECTION_ATTEMPTS,
@@ -60,12 +65,16 @@ public enum Attribute {
     GROUP_NAME,
     ID,
     INDEX,
+    INDEXED,
     INITIAL_CLUSTER_SIZE,
     INITIAL_CLUSTER_TIMEOUT,
     INTERVAL,
     INVALIDATION_BATCH_SIZE,
     INVALIDATION_CLEANUP_TASK_FREQUENCY("l1-cleanup-interval"),
     ISOLATION,
+    ITERATOR_MAX_CONCURRENT_OWNERS,
+    ITERATOR_PREFETCH_BATCHES,
+    ITERATOR_TARGET_RESPONSE_TIME,
     JNDI_NAME,
     JMX_DOMAIN("domain"),
     KEEP_ALIVE_TIME("keepalive-time"),
@@ -81,6 +90,7 @@ public enum Attribute {
     MACHINE_ID("machine"),
     MAPPER,
     MARSHALLER_CLASS("marshaller"),
+    MAX_BANDWIDTH,
     MAX_BATCH_SIZE,
     MAX_ENTRIES,
     MAX_IDLE,
@@ -134,15 +144,23 @@ public enum Attribute {
     SINGLETON,
     SITE,
     SIZE,
+    SNAPSHOT_MAX_RETAINED_VERSIONS,
     @Deprecated
     SPIN_DURATION("deadlock-detection-spin"),
     STATISTICS,
     STATISTICS_AVAILABLE,
+    STATISTICS_HOT_KEYS,
+    STATISTICS_HOT_KEYS_CAPACITY,
+    STATISTICS_HOT_KEYS_SAMPLE_INTERVAL,
+    STATISTICS_LATENCY_WINDOW,
+    STATISTICS_PROFILING,
+    STATISTICS_PROFILING_SAMPLE_INTERVAL,
     START,
     STATE_TRANSFER_EXECUTOR,
     STORE_KEYS_AS_BINARY("keys"),
     STORE_VALUES_AS_BINARY("values"),
     STRATEGY,
+    STREAM_PARALLELISM,
     STRIPING,
     STACK,
     STOP_TIMEOUT,
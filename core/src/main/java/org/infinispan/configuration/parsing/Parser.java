@@ -638,6 +638,10 @@ private void parseContainer(XMLExtendedStreamReader reader, ConfigurationBuilder
                builder.zeroCapacityNode(Boolean.parseBoolean(value));
                break;
             }
+            case STREAM_PARALLELISM: {
+               builder.streamParallelism(Integer.parseInt(value));
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -1125,6 +1129,30 @@ private void parseCacheAttribute(XMLExtendedStreamReader reader,
             builder.jmxStatistics().available(Boolean.valueOf(value));
             break;
          }
+         case STATISTICS_LATENCY_WINDOW: {
+            builder.jmxStatistics().latencyWindow(Long.parseLong(value));
+            break;
+         }
+         case STATISTICS_PROFILING: {
+            builder.jmxStatistics().profiling(Boolean.parseBoolean(value));
+            break;
+         }
+         case STATISTICS_PROFILING_SAMPLE_INTERVAL: {
+            builder.jmxStatistics().profilingSampleInterval(Integer.parseInt(value));
+            break;
+         }
+         case STATISTICS_HOT_KEYS: {
+            builder.jmxStatistics().hotKeys(Boolean.parseBoolean(value));
+            break;
+         }
+         case STATISTICS_HOT_KEYS_SAMPLE_INTERVAL: {
+            builder.jmxStatistics().hotKeysSampleInterval(Integer.parseInt(value));
+            break;
+         }
+         case STATISTICS_HOT_KEYS_CAPACITY: {
+            builder.jmxStatistics().hotKeysCapacity(Integer.parseInt(value));
+            break;
+         }
          case SPIN_DURATION: {
             log.ignoreXmlAttribute(attribute);
             break;
@@ -1494,7 +1522,18 @@ private void parseDataContainer(final XMLExtendedStreamReader reader, final Conf
 
    private void parseMemory(final XMLExtendedStreamReader reader, final ConfigurationBuilderHolder holder) throws XMLStreamException {
       MemoryConfigurationBuilder memoryBuilder = holder.getCurrentConfigurationBuilder().memory();
-      ParseUtils.requireNoAttributes(reader);
+      for (int i = 0; i < reader.getAttributeCount(); i++) {
+         ParseUtils.requireNoNamespaceAttribute(reader, i);
+         String value = reader.getAttributeValue(i);
+         Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+         switch (attribute) {
+            case SNAPSHOT_MAX_RETAINED_VERSIONS:
+               memoryBuilder.snapshotMaxRetainedVersions(Integer.parseInt(value));
+               break;
+            default:
+               throw ParseUtils.unexpectedAttribute(reader, i);
+         }
+      }
       while (reader.hasNext() && (reader.nextTag() != XMLStreamConstants.END_ELEMENT)) {
          Element element = Element.forName(reader.getLocalName());
          switch (element) {
@@ -1870,6 +1909,10 @@ private void parseExpiration(XMLExtendedStreamReader reader, ConfigurationBuilde
                builder.expiration().wakeUpInterval(Long.parseLong(value));
                break;
             }
+            case INDEXED: {
+               builder.expiration().indexed(Boolean.parseBoolean(value));
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -1967,6 +2010,18 @@ private void parseClusteredCacheAttribute(XMLExtendedStreamReader reader,
             builder.clustering().remoteTimeout(Long.parseLong(value));
             break;
          }
+         case CLUSTER_EVENT_BATCH_DELAY: {
+            builder.clustering().clusterEventBatchDelay(Long.parseLong(value), TimeUnit.MILLISECONDS);
+            break;
+         }
+         case CLUSTER_EVENT_BATCH_SIZE: {
+            builder.clustering().clusterEventBatchSize(Integer.parseInt(value));
+            break;
+         }
+         case CLUSTER_EVENT_COALESCING: {
+            builder.clustering().clusterEventCoalescing(Boolean.parseBoolean(value));
+            break;
+         }
          default: {
             this.parseCacheAttribute(reader, index, attribute, value, builder);
          }
@@ -2020,6 +2075,30 @@ private void parseStateTransfer(XMLExtendedStreamReader reader, ConfigurationBui
                builder.clustering().stateTransfer().chunkSize(Integer.parseInt(value));
                break;
             }
+            case CHUNK_SIZE_BYTES: {
+               builder.clustering().stateTransfer().chunkSizeBytes(Long.parseLong(value));
+               break;
+            }
+            case COMPRESS_CHUNKS: {
+               builder.clustering().stateTransfer().compressChunks(Boolean.parseBoolean(value));
+               break;
+            }
+            case MAX_BANDWIDTH: {
+               builder.clustering().stateTransfer().maxBandwidth(Long.parseLong(value));
+               break;
+            }
+            case ITERATOR_TARGET_RESPONSE_TIME: {
+               builder.clustering().stateTransfer().iteratorTargetResponseTime(Long.parseLong(value));
+               break;
+            }
+            case ITERATOR_MAX_CONCURRENT_OWNERS: {
+               builder.clustering().stateTransfer().iteratorMaxConcurrentOwners(Integer.parseInt(value));
+               break;
+            }
+            case ITERATOR_PREFETCH_BATCHES: {
+               builder.clustering().stateTransfer().iteratorPrefetchBatches(Integer.parseInt(value));
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
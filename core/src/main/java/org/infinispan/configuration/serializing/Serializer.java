@@ -200,6 +200,9 @@ private void writeCacheContainer(XMLExtendedStreamWriter writer, ConfigurationHo
          if (globalConfiguration.shutdown().hookBehavior() != ShutdownHookBehavior.DEFAULT) {
             writer.writeAttribute(Attribute.SHUTDOWN_HOOK, globalConfiguration.shutdown().hookBehavior().name());
          }
+         if (globalConfiguration.streamParallelism() != 0) {
+            writer.writeAttribute(Attribute.STREAM_PARALLELISM, Integer.toString(globalConfiguration.streamParallelism()));
+         }
          globalConfiguration.globalJmxStatistics().attributes().write(writer, GlobalJmxStatisticsConfiguration.ENABLED, Attribute.STATISTICS);
          if (globalConfiguration.asyncThreadPool().threadPoolFactory() != null) {
             writer.writeAttribute(Attribute.ASYNC_EXECUTOR, "async-pool");
@@ -489,11 +492,20 @@ private void writeCommonClusteredCacheAttributes(XMLExtendedStreamWriter writer,
       ClusteringConfiguration clustering = configuration.clustering();
       writer.writeAttribute(Attribute.MODE, clustering.cacheMode().isSynchronous() ? "SYNC" : "ASYNC");
       clustering.attributes().write(writer, ClusteringConfiguration.REMOTE_TIMEOUT, Attribute.REMOTE_TIMEOUT);
+      clustering.attributes().write(writer, ClusteringConfiguration.CLUSTER_EVENT_BATCH_DELAY, Attribute.CLUSTER_EVENT_BATCH_DELAY);
+      clustering.attributes().write(writer, ClusteringConfiguration.CLUSTER_EVENT_BATCH_SIZE, Attribute.CLUSTER_EVENT_BATCH_SIZE);
+      clustering.attributes().write(writer, ClusteringConfiguration.CLUSTER_EVENT_COALESCING, Attribute.CLUSTER_EVENT_COALESCING);
    }
 
    private void writeCommonCacheAttributesElements(XMLExtendedStreamWriter writer, String name, Configuration configuration) throws XMLStreamException {
       writer.writeAttribute(Attribute.NAME, name);
       configuration.jmxStatistics().attributes().write(writer, JMXStatisticsConfiguration.ENABLED, Attribute.STATISTICS);
+      configuration.jmxStatistics().attributes().write(writer, JMXStatisticsConfiguration.LATENCY_WINDOW, Attribute.STATISTICS_LATENCY_WINDOW);
+      configuration.jmxStatistics().attributes().write(writer, JMXStatisticsConfiguration.PROFILING, Attribute.STATISTICS_PROFILING);
+      configuration.jmxStatistics().attributes().write(writer, JMXStatisticsConfiguration.PROFILING_SAMPLE_INTERVAL, Attribute.STATISTICS_PROFILING_SAMPLE_INTERVAL);
+      configuration.jmxStatistics().attributes().write(writer, JMXStatisticsConfiguration.HOT_KEYS, Attribute.STATISTICS_HOT_KEYS);
+      configuration.jmxStatistics().attributes().write(writer, JMXStatisticsConfiguration.HOT_KEYS_SAMPLE_INTERVAL, Attribute.STATISTICS_HOT_KEYS_SAMPLE_INTERVAL);
+      configuration.jmxStatistics().attributes().write(writer, JMXStatisticsConfiguration.HOT_KEYS_CAPACITY, Attribute.STATISTICS_HOT_KEYS_CAPACITY);
       configuration.unsafe().attributes().write(writer);
       writeBackup(writer, configuration);
       writeEncoding(writer, configuration);
@@ -585,6 +597,7 @@ private void writeMemory(XMLExtendedStreamWriter writer, Configuration configura
       AttributeSet attributes = memory.attributes();
       if (attributes.isModified()) {
          writer.writeStartElement(Element.MEMORY);
+         attributes.write(writer, MemoryConfiguration.SNAPSHOT_MAX_RETAINED_VERSIONS, Attribute.SNAPSHOT_MAX_RETAINED_VERSIONS);
          writer.writeStartElement(memory.storageType().getElement());
          switch (memory.storageType()) {
             case OFF_HEAP:
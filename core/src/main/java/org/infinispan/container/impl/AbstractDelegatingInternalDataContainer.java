@@ -5,6 +5,7 @@
 import java.util.function.Consumer;
 import java.util.function.ObjIntConsumer;
 
+import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.metadata.Metadata;
@@ -67,6 +68,16 @@ public Spliterator<InternalCacheEntry<K, V>> spliteratorIncludingExpired(IntSet
       return delegate().spliteratorIncludingExpired(segments);
    }
 
+   @Override
+   public CloseableIterator<InternalCacheEntry<K, V>> snapshotIterator(IntSet segments) {
+      return delegate().snapshotIterator(segments);
+   }
+
+   @Override
+   public EntrySnapshots<K, V> snapshots() {
+      return delegate().snapshots();
+   }
+
    @Override
    public Iterator<InternalCacheEntry<K, V>> iterator(IntSet segments) {
       return delegate().iterator(segments);
@@ -10,6 +10,7 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.PrimitiveIterator;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
@@ -18,15 +19,18 @@
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.infinispan.commons.logging.Log;
 import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.AbstractIterator;
 import org.infinispan.commons.util.ByRef;
+import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.commons.util.EvictionListener;
 import org.infinispan.commons.util.FilterSpliterator;
 import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.IteratorMapper;
 import org.infinispan.commons.util.PeekableMap;
 import org.infinispan.configuration.cache.Configuration;
@@ -74,6 +78,7 @@
    protected boolean hasPassivation;
 
    protected final List<Consumer<Iterable<InternalCacheEntry<K, V>>>> listeners = new CopyOnWriteArrayList<>();
+   protected final EntrySnapshots<K, V> snapshots = new EntrySnapshots<>();
 
    protected abstract ConcurrentMap<K, InternalCacheEntry<K, V>> getMapForSegment(int segment);
    protected abstract int getSegmentForKey(Object key);
@@ -131,6 +136,8 @@ public void put(int segment, K k, V v, Metadata metadata, long createdTimestamp,
             l1Entry = true;
          }
          InternalCacheEntry<K, V> e = entries.get(k);
+         // The update below can modify the existing entry in place
+         retainForSnapshots(segment, k, e);
 
          if (trace) {
             log.tracef("Creating new ICE for writing. Existing=%s, metadata=%s, new value=%s", e, metadata, toStr(v));
@@ -155,14 +162,23 @@ public void put(int segment, K k, V v, Metadata metadata, long createdTimestamp,
             log.tracef("Store %s in container", copy);
 
          // Passivation should be non blocking at some point in https://issues.jboss.org/browse/ISPN-9723
+         InternalCacheEntry<K, V> previous;
          if (hasPassivation) {
+            final ByRef<InternalCacheEntry<K, V>> reference = new ByRef<>(null);
             entries.compute(k, (key, entry) -> {
                computeEntryWritten(key, copy);
                activator.onUpdate(key, entry == null);
+               reference.set(entry);
                return copy;
             });
+            previous = reference.get();
          } else {
-            entries.put(k, copy);
+            previous = entries.put(k, copy);
+         }
+         if (copy.canExpire()) {
+            expirationManager.scheduleExpiration(segment, copy);
+         } else if (previous != null && previous.canExpire()) {
+            expirationManager.cancelExpiration(segment, k);
          }
       } else {
          log.tracef("Insertion attempted for key: %s but there was no map created for it at segment: %d", k, segment);
@@ -199,6 +215,7 @@ public InternalCacheEntry<K, V> remove(int segment, Object k) {
       if (entries != null) {
          final ByRef<InternalCacheEntry<K, V>> reference = new ByRef<>(null);
          entries.compute((K) k, (key, entry) -> {
+            retainForSnapshots(segment, key, entry);
             activator.onRemove(key, entry == null);
             if (entry != null) {
                computeEntryRemoved(key, entry);
@@ -210,6 +227,9 @@ public InternalCacheEntry<K, V> remove(int segment, Object k) {
          if (trace) {
             log.tracef("Removed %s from container", e);
          }
+         if (e != null && e.canExpire()) {
+            expirationManager.cancelExpiration(segment, (K) k);
+         }
 
          return e == null || (e.canExpire() && e.isExpired(timeService.wallClockTime())) ? null : e;
       }
@@ -226,8 +246,12 @@ public void evict(int segment, K key) {
       ConcurrentMap<K, InternalCacheEntry<K, V>> entries = getMapForSegment(segment);
       if (entries != null) {
          entries.computeIfPresent(key, (o, entry) -> {
+            retainForSnapshots(segment, o, entry);
             passivator.running().passivate(entry);
             computeEntryRemoved(o, entry);
+            if (entry.canExpire()) {
+               expirationManager.cancelExpiration(segment, o);
+            }
             return null;
          });
       }
@@ -242,16 +266,25 @@ public void evict(K key) {
    public InternalCacheEntry<K, V> compute(int segment, K key, DataContainer.ComputeAction<K, V> action) {
       ConcurrentMap<K, InternalCacheEntry<K, V>> entries = getMapForSegment(segment);
       return entries != null ? entries.compute(key, (k, oldEntry) -> {
+         retainForSnapshots(segment, k, oldEntry);
          InternalCacheEntry<K, V> newEntry = action.compute(k, oldEntry, entryFactory);
          if (newEntry == oldEntry) {
             return oldEntry;
          } else if (newEntry == null) {
             computeEntryRemoved(k, oldEntry);
             activator.onRemove(k, false);
+            if (oldEntry != null && oldEntry.canExpire()) {
+               expirationManager.cancelExpiration(segment, k);
+            }
             return null;
          }
          computeEntryWritten(k, newEntry);
          activator.onUpdate(k, oldEntry == null);
+         if (newEntry.canExpire()) {
+            expirationManager.scheduleExpiration(segment, newEntry);
+         } else if (oldEntry != null && oldEntry.canExpire()) {
+            expirationManager.cancelExpiration(segment, k);
+         }
          if (trace)
             log.tracef("Store %s in container", newEntry);
          return newEntry;
@@ -265,6 +298,7 @@ public InternalCacheEntry<K, V> compute(K key, DataContainer.ComputeAction<K, V>
 
    @Override
    public void clear(IntSet segments) {
+      beforeClear(segments);
       segments.forEach((int segment) -> {
          Map<K, InternalCacheEntry<K, V>> map = getMapForSegment(segment);
          if (map != null) {
@@ -273,6 +307,95 @@ public void clear(IntSet segments) {
       });
    }
 
+   @Override
+   public CloseableIterator<InternalCacheEntry<K, V>> snapshotIterator(IntSet segments) {
+      boolean segmented = segmentedSnapshots();
+      int numSegments = configuration.clustering().hash().numSegments();
+      EntrySnapshots<K, V>.Snapshot snapshot = snapshots.start(segmented ? numSegments : 1,
+            timeService.wallClockTime(), entryFactory, configuration.memory().snapshotMaxRetainedVersions());
+      PrimitiveIterator.OfInt segmentIterator;
+      Predicate<? super K> filter;
+      if (segmented) {
+         segmentIterator = (segments != null ? segments : IntSets.immutableRangeSet(numSegments)).iterator();
+         filter = null;
+      } else {
+         // All the entries are in the same map, so read them at once
+         segmentIterator = IntStream.of(0).iterator();
+         filter = segments != null ? k -> segments.contains(keyPartitioner.getSegment(k)) : null;
+      }
+      return new SnapshotIterator(snapshot, segmentIterator, filter, segmented);
+   }
+
+   @Override
+   public EntrySnapshots<K, V> snapshots() {
+      return snapshots;
+   }
+
+   /**
+    * Whether snapshot scans read and retain entries per segment. A container using the same map for every segment
+    * should return {@code false}, so that it is scanned in one pass.
+    * @return {@code true} if the container has a map per segment
+    */
+   protected boolean segmentedSnapshots() {
+      return true;
+   }
+
+   private void retainForSnapshots(int segment, K key, InternalCacheEntry<K, V> entry) {
+      if (snapshots.isActive()) {
+         snapshots.retain(segmentedSnapshots() ? segment : 0, key, entry);
+      }
+   }
+
+   /**
+    * Aborts the snapshot scans that didn't read the given segments yet, and drops the keys of the segments from the
+    * expiration index. Must be invoked before removing the entries of the segments without going through compute, as
+    * in a clear, because the removed entries are not retained.
+    * @param segments the segments being cleared, or {@code null} if the whole container is cleared
+    */
+   protected void beforeClear(IntSet segments) {
+      if (snapshots.isActive()) {
+         snapshots.clear(segmentedSnapshots() ? segments : null);
+      }
+      expirationManager.cancelExpirations(segments);
+   }
+
+   private class SnapshotIterator extends AbstractIterator<InternalCacheEntry<K, V>>
+         implements CloseableIterator<InternalCacheEntry<K, V>> {
+      private final EntrySnapshots<K, V>.Snapshot snapshot;
+      private final PrimitiveIterator.OfInt segmentIterator;
+      private final Predicate<? super K> filter;
+      private final boolean segmented;
+      private Iterator<InternalCacheEntry<K, V>> current = Collections.emptyIterator();
+
+      SnapshotIterator(EntrySnapshots<K, V>.Snapshot snapshot, PrimitiveIterator.OfInt segmentIterator,
+            Predicate<? super K> filter, boolean segmented) {
+         this.snapshot = snapshot;
+         this.segmentIterator = segmentIterator;
+         this.filter = filter;
+         this.segmented = segmented;
+      }
+
+      @Override
+      protected InternalCacheEntry<K, V> getNext() {
+         while (!current.hasNext()) {
+            if (!segmentIterator.hasNext()) {
+               snapshot.close();
+               return null;
+            }
+            int segment = segmentIterator.nextInt();
+            ConcurrentMap<K, InternalCacheEntry<K, V>> map = getMapForSegment(segmented ? segment : -1);
+            Collection<InternalCacheEntry<K, V>> entries = map != null ? map.values() : Collections.emptyList();
+            current = snapshot.read(segment, entries, filter).iterator();
+         }
+         return current.next();
+      }
+
+      @Override
+      public void close() {
+         snapshot.close();
+      }
+   }
+
    /**
     * This method is invoked every time an entry is written inside a compute block
     * @param key key passed to compute method
@@ -510,12 +633,13 @@ public void write(K key, InternalCacheEntry<K, V> value) {
 
          @Override
          public void delete(K key, InternalCacheEntry<K, V> value, RemovalCause cause) {
-            if (additionalWriter != null) {
-               additionalWriter.delete(key, value, cause);
-            }
+            // Notify the listener while the entry is still in the segment maps, so snapshot scans can't miss it
             if (cause == RemovalCause.SIZE) {
                listener.onEntryChosenForEviction(new ImmortalCacheEntry(key, value));
             }
+            if (additionalWriter != null) {
+               additionalWriter.delete(key, value, cause);
+            }
          }
       });
    }
@@ -533,6 +657,8 @@ public void onEntryEviction(Map<K, InternalCacheEntry<K, V>> evicted) {
 
       @Override
       public void onEntryChosenForEviction(Map.Entry<K, InternalCacheEntry<K, V>> entry) {
+         // Evictions don't go through compute, so retain the entry before it is removed
+         retainForSnapshots(getSegmentForKey(entry.getKey()), entry.getKey(), entry.getValue());
          passivator.running().passivate(entry.getValue());
       }
 
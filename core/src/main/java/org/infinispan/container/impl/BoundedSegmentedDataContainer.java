@@ -134,11 +134,13 @@ public InternalCacheEntry<K, V> peek(int segment, Object k) {
 
    @Override
    public void clear() {
+      beforeClear(null);
       entries.clear();
    }
 
    @Override
    public void clear(IntSet segments) {
+      beforeClear(segments);
       clear(segments, false);
    }
 
@@ -129,6 +129,11 @@ protected int getSegmentForKey(Object key) {
       return -1;
    }
 
+   @Override
+   protected boolean segmentedSnapshots() {
+      return false;
+   }
+
    private Policy.Eviction<K, InternalCacheEntry<K, V>> eviction() {
       if (evictionCache != null) {
          Optional<Policy.Eviction<K, InternalCacheEntry<K, V>>> eviction = evictionCache.policy().eviction();
@@ -158,6 +163,7 @@ public int sizeIncludingExpired() {
 
    @Override
    public void clear(IntSet segments) {
+      beforeClear(segments);
       Iterator<InternalCacheEntry<K, V>> iter = iteratorIncludingExpired(segments);
       while (iter.hasNext()) {
          iter.next();
@@ -168,6 +174,7 @@ public void clear(IntSet segments) {
    @Override
    public void clear() {
       log.tracef("Clearing data container");
+      beforeClear(null);
       entries.clear();
    }
 
@@ -204,6 +204,7 @@ public int sizeIncludingExpired() {
 
    @Override
    public void clear() {
+      beforeClear(null);
       for (int i = 0; i < maps.length(); ++i) {
          ConcurrentMap<K, InternalCacheEntry<K, V>> map = maps.get(i);
          if (map != null) {
@@ -0,0 +1,233 @@
+package org.infinispan.container.impl;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.configuration.cache.MemoryConfiguration;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Keeps the old versions of the entries written while snapshot scans of a data container are running.
+ * <p>
+ * A snapshot scan reads the container one segment at a time. Until the scan is done with a segment, the first write
+ * to each key of that segment retains a copy of the entry as it was before the write, or a marker if the key was
+ * absent. The scan returns the retained version of a key instead of the current one, so it sees the entries as they
+ * were when it started. Once a segment was read its retained versions are dropped and writes to it don't retain
+ * anything for that scan anymore. Writers never wait for a scan.
+ * <p>
+ * A scan that retains more than {@link MemoryConfiguration#snapshotMaxRetainedVersions()} versions is aborted: its
+ * retained versions are released and reading it fails. Clearing segments doesn't retain the removed entries, so it
+ * aborts the scans that didn't read those segments yet.
+ *
+ * @since 10.0
+ */
+public final class EntrySnapshots<K, V> {
+   private static final Log log = LogFactory.getLog(EntrySnapshots.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private static final Object ABSENT = new Object();
+   private static final ConcurrentMap SEALED = new ConcurrentHashMap(1);
+
+   private final Collection<Snapshot> snapshots = new CopyOnWriteArrayList<>();
+   private final LongAdder abortedSnapshots = new LongAdder();
+
+   /**
+    * @return whether any snapshot scan is running, in which case writes must call {@link #retain}
+    */
+   boolean isActive() {
+      return !snapshots.isEmpty();
+   }
+
+   /**
+    * Retains the entry of a key before it is written, for every snapshot that didn't retain a version of the key yet.
+    * Must be invoked before the entry is updated in place or replaced in the container.
+    */
+   void retain(int segment, K key, InternalCacheEntry<K, V> entry) {
+      for (Snapshot snapshot : snapshots) {
+         snapshot.retain(segment, key, entry);
+      }
+   }
+
+   /**
+    * Aborts the snapshots that didn't read all the given segments yet. Must be invoked before the entries of the
+    * segments are removed without retaining them.
+    * @param segments the segments being cleared, or {@code null} if all of them are
+    */
+   void clear(IntSet segments) {
+      for (Snapshot snapshot : snapshots) {
+         if (!snapshot.isRead(segments)) {
+            snapshot.abort(true);
+         }
+      }
+   }
+
+   Snapshot start(int numSegments, long wallClockTime, InternalEntryFactory entryFactory, int maxRetainedVersions) {
+      Snapshot snapshot = new Snapshot(numSegments, wallClockTime, entryFactory, maxRetainedVersions);
+      snapshots.add(snapshot);
+      return snapshot;
+   }
+
+   public int getActiveSnapshots() {
+      return snapshots.size();
+   }
+
+   public long getRetainedVersions() {
+      long retained = 0;
+      for (Snapshot snapshot : snapshots) {
+         retained += snapshot.retainedCount.get();
+      }
+      return retained;
+   }
+
+   public long getAbortedSnapshots() {
+      return abortedSnapshots.sum();
+   }
+
+   final class Snapshot implements AutoCloseable {
+      private final AtomicReferenceArray<ConcurrentMap<K, Object>> versions;
+      private final AtomicInteger retainedCount = new AtomicInteger();
+      private final long wallClockTime;
+      private final InternalEntryFactory entryFactory;
+      private final int maxRetainedVersions;
+      // Written before aborted
+      private boolean cleared;
+      private volatile boolean aborted;
+
+      private Snapshot(int numSegments, long wallClockTime, InternalEntryFactory entryFactory, int maxRetainedVersions) {
+         this.versions = new AtomicReferenceArray<>(numSegments);
+         this.wallClockTime = wallClockTime;
+         this.entryFactory = entryFactory;
+         this.maxRetainedVersions = maxRetainedVersions;
+      }
+
+      private ConcurrentMap<K, Object> segmentVersions(int segment) {
+         ConcurrentMap<K, Object> segmentVersions = versions.get(segment);
+         if (segmentVersions == null) {
+            segmentVersions = new ConcurrentHashMap<>();
+            if (!versions.compareAndSet(segment, null, segmentVersions)) {
+               segmentVersions = versions.get(segment);
+            }
+         }
+         return segmentVersions;
+      }
+
+      private void retain(int segment, K key, InternalCacheEntry<K, V> entry) {
+         ConcurrentMap<K, Object> segmentVersions = segmentVersions(segment);
+         if (segmentVersions == SEALED || segmentVersions.containsKey(key)) {
+            return;
+         }
+         // The write can update the entry in place, so retain a copy
+         Object version = entry == null ? ABSENT : entryFactory.copy(entry);
+         if (segmentVersions.putIfAbsent(key, version) == null &&
+               retainedCount.incrementAndGet() > maxRetainedVersions) {
+            abort(false);
+         }
+      }
+
+      private boolean isRead(IntSet segments) {
+         if (segments == null) {
+            for (int i = 0; i < versions.length(); ++i) {
+               if (versions.get(i) != SEALED) {
+                  return false;
+               }
+            }
+            return true;
+         }
+         return segments.intStream().allMatch(segment -> segment >= versions.length() || versions.get(segment) == SEALED);
+      }
+
+      /**
+       * Reads the entries of a segment as they were when the snapshot started and stops retaining versions for it.
+       * @param segment the segment to read
+       * @param current the entries currently in the container for the segment
+       * @param filter only keys matching this are returned, or {@code null} to return all of them
+       * @return the entries of the segment that weren't expired when the snapshot started
+       */
+      Collection<InternalCacheEntry<K, V>> read(int segment, Iterable<InternalCacheEntry<K, V>> current,
+            Predicate<? super K> filter) {
+         checkAborted();
+         ConcurrentMap<K, Object> segmentVersions = segmentVersions(segment);
+         Map<K, InternalCacheEntry<K, V>> entries = new HashMap<>();
+         for (InternalCacheEntry<K, V> entry : current) {
+            K key = entry.getKey();
+            if (filter == null || filter.test(key)) {
+               // Copy the entry before looking for a retained version: a writer retains the old version before it
+               // updates the entry, so if the copy has the new value the old one was retained already
+               InternalCacheEntry<K, V> copy = (InternalCacheEntry<K, V>) entryFactory.copy(entry);
+               Object version = segmentVersions.get(key);
+               addVersion(entries, version != null ? version : copy);
+            }
+         }
+         // The keys that were removed before the scan reached them
+         segmentVersions.forEach((key, version) -> {
+            if (!entries.containsKey(key) && (filter == null || filter.test(key))) {
+               addVersion(entries, version);
+            }
+         });
+         if (versions.compareAndSet(segment, segmentVersions, SEALED)) {
+            retainedCount.addAndGet(-segmentVersions.size());
+         }
+         // An abort releases the retained versions, possibly while they were being read
+         checkAborted();
+         if (trace) {
+            log.tracef("Read %d entries of segment %d from snapshot", entries.size(), segment);
+         }
+         return entries.values();
+      }
+
+      private void addVersion(Map<K, InternalCacheEntry<K, V>> entries, Object version) {
+         if (version != ABSENT) {
+            InternalCacheEntry<K, V> entry = (InternalCacheEntry<K, V>) version;
+            if (!entry.canExpire() || !entry.isExpired(wallClockTime)) {
+               entries.put(entry.getKey(), entry);
+            }
+         }
+      }
+
+      private void checkAborted() {
+         if (aborted) {
+            throw cleared ? log.snapshotSegmentsCleared() : log.snapshotRetentionExceeded(maxRetainedVersions);
+         }
+      }
+
+      private void abort(boolean cleared) {
+         this.cleared = cleared;
+         aborted = true;
+         if (release()) {
+            abortedSnapshots.increment();
+            if (cleared) {
+               log.debugf("Aborting snapshot scan as segments it didn't read yet are being cleared");
+            } else {
+               log.debugf("Aborting snapshot scan after retaining %d versions", maxRetainedVersions);
+            }
+         }
+      }
+
+      private boolean release() {
+         if (!snapshots.remove(this)) {
+            return false;
+         }
+         for (int i = 0; i < versions.length(); ++i) {
+            versions.set(i, SEALED);
+         }
+         retainedCount.set(0);
+         return true;
+      }
+
+      @Override
+      public void close() {
+         release();
+      }
+   }
+}
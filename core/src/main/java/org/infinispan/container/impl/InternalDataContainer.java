@@ -5,6 +5,7 @@
 import java.util.function.Consumer;
 import java.util.function.ObjIntConsumer;
 
+import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.container.DataContainer;
@@ -173,6 +174,31 @@ default int sizeIncludingExpired(IntSet segments) {
     */
    Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired(IntSet segments);
 
+   /**
+    * Returns an iterator over the entries that map to the given segments as they were when this method was invoked,
+    * without blocking writers. Entries written afterwards are returned with their value from before the write and
+    * entries removed afterwards are still returned. Expired entries are not returned.
+    * <p>
+    * Writes retain the old versions of entries until the iterator is done with their segment, so the iterator should
+    * be closed when it is not read until the end. It fails with a {@link org.infinispan.commons.CacheException} if too
+    * many versions had to be retained, see {@link EntrySnapshots}.
+    * @param segments segments of entries to return, or {@code null} for all of them
+    * @return iterator over the entries as they were when this method was invoked
+    * @throws UnsupportedOperationException if this container does not support snapshots
+    * @since 10.0
+    */
+   default CloseableIterator<InternalCacheEntry<K, V>> snapshotIterator(IntSet segments) {
+      throw new UnsupportedOperationException();
+   }
+
+   /**
+    * @return the snapshot scans of this container, or {@code null} if it does not support snapshots
+    * @since 10.0
+    */
+   default EntrySnapshots<K, V> snapshots() {
+      return null;
+   }
+
    default Publisher<InternalCacheEntry<K, V>> publisher(int segment) {
       return Flowable.fromIterable(() -> iterator(IntSets.immutableSet(segment)));
    }
@@ -134,6 +134,7 @@ public Spliterator<InternalCacheEntry<K, V>> spliteratorIncludingExpired() {
 
    @Override
    public void clear() {
+      beforeClear(null);
       nonOwnedEntries.clear();
       super.clear();
    }
@@ -144,6 +145,7 @@ public void clear() {
     */
    @Override
    public void clear(IntSet segments) {
+      beforeClear(segments);
       IntSet extraSegments = null;
       PrimitiveIterator.OfInt iter = segments.iterator();
       // First try to just clear the respective maps
@@ -127,6 +127,7 @@ public int sizeIncludingExpired() {
 
    @Override
    public void clear() {
+      beforeClear(null);
       map.clear();
    }
 }
@@ -285,7 +285,26 @@ public enum Flag {
     * normally need to use this flag. This is helpful if there are concerns that can cause just a simple size invocation
     * from being consistent (eg. on-going transaction with modifications).
     */
-   SKIP_SIZE_OPTIMIZATION
+   SKIP_SIZE_OPTIMIZATION,
+
+   /**
+    * Streams over {@link org.infinispan.Cache#entrySet()}, {@link org.infinispan.Cache#keySet()} or
+    * {@link org.infinispan.Cache#values()} read the in-memory entries as they were when the terminal operation
+    * started, without blocking concurrent writes. Writers retain the old versions of the entries they modify until the
+    * stream has read them.
+    * <p>
+    * Snapshots are taken on each node separately, so in a clustered cache this flag must be used together with
+    * {@link #CACHE_MODE_LOCAL}. Snapshots do not cover the cache stores, so in a cache with a store this flag must be
+    * used together with {@link #SKIP_CACHE_LOAD}. Off-heap storage does not support snapshots.
+    */
+   SNAPSHOT_SCAN,
+
+   /**
+    * Used by the expiration reaper when it already retrieved the last access time of a max idle expired entry from all
+    * the read owners, so that the primary owner does not ask them again when removing the entry. This flag was created
+    * purely for internal Infinispan usage, and should not be used by clients calling into Infinispan.
+    */
+   SKIP_LAST_ACCESS_CHECK
    ;
 
    /**
@@ -43,6 +43,8 @@ public class FlagBitSets {
    public static final long ROLLING_UPGRADE = EnumUtil.bitSetOf(Flag.ROLLING_UPGRADE);
    public static final long REMOTE_ITERATION = EnumUtil.bitSetOf(Flag.REMOTE_ITERATION);
    public static final long SKIP_SIZE_OPTIMIZATION = EnumUtil.bitSetOf(Flag.SKIP_SIZE_OPTIMIZATION);
+   public static final long SNAPSHOT_SCAN = EnumUtil.bitSetOf(Flag.SNAPSHOT_SCAN);
+   public static final long SKIP_LAST_ACCESS_CHECK = EnumUtil.bitSetOf(Flag.SKIP_LAST_ACCESS_CHECK);
 
    /**
     * Creates a copy of a Flag BitSet removing instances of FAIL_SILENTLY.
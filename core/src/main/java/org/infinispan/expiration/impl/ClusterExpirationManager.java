@@ -3,14 +3,20 @@
 import static org.infinispan.commons.util.Util.toStr;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ObjIntConsumer;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.cache.impl.AbstractDelegatingCache;
 import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.remote.expiration.RemoveExpiredManyCommand;
 import org.infinispan.commands.remote.expiration.RetrieveLastAccessCommand;
+import org.infinispan.commands.remote.expiration.RetrieveLastAccessManyCommand;
 import org.infinispan.commons.util.Util;
 import org.infinispan.container.entries.ExpiryHelper;
 import org.infinispan.container.entries.InternalCacheEntry;
@@ -27,6 +33,8 @@
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.remoting.transport.ResponseCollectors;
 import org.infinispan.remoting.transport.ValidResponseCollector;
+import org.infinispan.remoting.transport.ValidSingleResponseCollector;
+import org.infinispan.remoting.transport.impl.VoidResponseCollector;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -44,6 +52,10 @@
  * Cache stores however do not supply the value or metadata information which means if an entry is purged from the cache
  * store that it will forcibly remove the value even if a concurrent write updated it just before.  This will be
  * addressed by future SPI changes to the cache store.
+ * <p>
+ * The entries found expired by the reaper are grouped by primary owner, and each primary owner receives a single
+ * {@link RemoveExpiredManyCommand} per batch of entries. The primary owner then retrieves the last access times of the
+ * max idle entries in that batch with a single {@link RetrieveLastAccessManyCommand} per read owner.
  * @param <K>
  * @param <V>
  */
@@ -53,6 +65,7 @@
    private static final boolean trace = log.isTraceEnabled();
 
    private static final int MAX_ASYNC_EXPIRATIONS = 5;
+   private static final int EXPIRATION_BATCH_SIZE = 128;
 
    @Inject protected ComponentRef<AdvancedCache<K, V>> cacheRef;
    @Inject protected ComponentRef<CommandsFactory> cf;
@@ -60,12 +73,15 @@
    @Inject protected DistributionManager distributionManager;
 
    private AdvancedCache<K, V> cache;
+   private boolean batchRemovals;
 
    @Override
    public void start() {
       super.start();
       // Data container entries are retrieved directly, so we don't need to worry about an encodings
       this.cache = AbstractDelegatingCache.unwrapCache(cacheRef.wired()).getAdvancedCache();
+      // Scattered caches keep the last access time only on the primary owner, so there is nothing to aggregate
+      this.batchRemovals = !configuration.clustering().cacheMode().isScattered();
    }
 
    @Override
@@ -79,8 +95,10 @@ public void processExpiration() {
             }
             // We limit it so there is only so many async expiration removals done at the same time
             List<CompletableFuture> futures = new ArrayList<>(MAX_ASYNC_EXPIRATIONS);
+            Map<Address, ExpirationBatch> batches = new HashMap<>();
+            LocalizedCacheTopology topology = distributionManager.getCacheTopology();
             long currentTimeMillis = timeService.wallClockTime();
-            dataContainer.running().forEachIncludingExpired((ice, segment) -> {
+            ObjIntConsumer<InternalCacheEntry<K, V>> expireIfNeeded = (ice, segment) -> {
                if (ice.canExpire()) {
                   // Have to synchronize on the entry to make sure we see the value and metadata at the same time
                   boolean expiredMortal;
@@ -95,14 +113,37 @@ public void processExpiration() {
                      expiredMortal = ExpiryHelper.isExpiredMortal(lifespan, ice.getCreated(), currentTimeMillis);
                      expiredTransient = ExpiryHelper.isExpiredTransient(maxIdle, ice.getLastUsed(), currentTimeMillis);
                   }
-                  // We check lifespan first as this is much less expensive to remove than max idle.
-                  if (expiredMortal) {
-                     addAndWaitIfFull(handleLifespanExpireEntry(ice.getKey(), value, lifespan, false), futures);
-                  } else if (expiredTransient) {
-                     addAndWaitIfFull(actualRemoveMaxIdleExpireEntry(ice.getKey(), value, maxIdle, false), futures);
+                  if (!expiredMortal && !expiredTransient) {
+                     return;
+                  }
+                  int keySegment = segment >= 0 ? segment : keyPartitioner.getSegment(ice.getKey());
+                  Address primary = batchRemovals && topology != null ?
+                        topology.getSegmentDistribution(keySegment).primary() : null;
+                  if (primary == null) {
+                     // We check lifespan first as this is much less expensive to remove than max idle.
+                     if (expiredMortal) {
+                        addAndWaitIfFull(handleLifespanExpireEntry(ice.getKey(), value, lifespan, false), futures);
+                     } else {
+                        addAndWaitIfFull(actualRemoveMaxIdleExpireEntry(ice.getKey(), value, maxIdle, false), futures);
+                     }
+                     return;
+                  }
+                  ExpirationBatch batch = batches.computeIfAbsent(primary, a -> new ExpirationBatch());
+                  batch.add(ice.getKey(), value, keySegment, expiredMortal ? lifespan : maxIdle, !expiredMortal);
+                  if (batch.size() == EXPIRATION_BATCH_SIZE) {
+                     batches.remove(primary);
+                     addAndWaitIfFull(sendBatch(primary, batch), futures);
                   }
                }
-            });
+            };
+            if (expirationIndex != null) {
+               forEachIndexedExpired(currentTimeMillis, expireIfNeeded);
+            } else {
+               dataContainer.running().forEachIncludingExpired(expireIfNeeded);
+            }
+            for (Map.Entry<Address, ExpirationBatch> entry : batches.entrySet()) {
+               addAndWaitIfFull(sendBatch(entry.getKey(), entry.getValue()), futures);
+            }
             if (!futures.isEmpty()) {
                // Make sure that all of the futures are complete before returning
                futures.forEach(CompletableFuture::join);
@@ -121,6 +162,127 @@ public void processExpiration() {
       }
    }
 
+   private CompletableFuture<Void> sendBatch(Address primary, ExpirationBatch batch) {
+      if (primary.equals(rpcManager.getAddress())) {
+         return removeExpired(batch.keys, batch.values, batch.segments(), batch.expirations(), batch.maxIdle());
+      }
+      if (trace) {
+         log.tracef("Sending removal of %d expired entries to primary owner %s", batch.size(), primary);
+      }
+      RemoveExpiredManyCommand command = cf.running().buildRemoveExpiredManyCommand(batch.keys, batch.values,
+            batch.segments(), batch.expirations(), batch.maxIdle());
+      return rpcManager.invokeCommand(primary, command, VoidResponseCollector.ignoreLeavers(),
+            rpcManager.getSyncRpcOptions()).toCompletableFuture();
+   }
+
+   /**
+    * Removes several expired entries, invoked on the primary owner of the entries. The max idle entries are only
+    * removed if no read owner has accessed them since they expired, which is checked with one RPC per read owner for
+    * the whole batch.
+    * <p>
+    * If this node is no longer the primary owner of an entry, its removal is forwarded to the new primary owner, which
+    * checks the last access time of that entry again.
+    *
+    * @param keys the keys of the expired entries
+    * @param values the values of the expired entries
+    * @param segments the segments of the keys
+    * @param expirations the lifespan, or the max idle time if the entry expired via max idle, of each entry
+    * @param maxIdle whether each entry expired via max idle
+    * @return a future that completes when all the entries have been removed or found not to be expired
+    */
+   public CompletableFuture<Void> removeExpired(List<Object> keys, List<Object> values, int[] segments,
+         long[] expirations, boolean[] maxIdle) {
+      List<CompletableFuture<?>> futures = new ArrayList<>();
+      List<Integer> idleIndexes = new ArrayList<>();
+      for (int i = 0; i < keys.size(); i++) {
+         if (maxIdle[i]) {
+            idleIndexes.add(i);
+         } else {
+            futures.add(handleLifespanExpireEntry((K) keys.get(i), (V) values.get(i), expirations[i], false));
+         }
+      }
+      if (!idleIndexes.isEmpty()) {
+         futures.add(removeMaxIdleExpired(keys, values, segments, expirations, idleIndexes));
+      }
+      return CompletableFuture.allOf(futures.toArray(CompletableFutures.EMPTY_ARRAY));
+   }
+
+   private CompletableFuture<Void> removeMaxIdleExpired(List<Object> keys, List<Object> values, int[] segments,
+         long[] maxIdles, List<Integer> indexes) {
+      LocalizedCacheTopology topology = distributionManager.getCacheTopology();
+      Address localAddress = rpcManager.getAddress();
+      long[] lastAccess = new long[indexes.size()];
+      Map<Address, List<Integer>> ownerIndexes = new HashMap<>();
+      for (int i = 0; i < lastAccess.length; i++) {
+         int index = indexes.get(i);
+         Long access = localLastAccess(keys.get(index), values.get(index), segments[index]);
+         lastAccess[i] = access != null ? access : RetrieveLastAccessManyCommand.NO_ACCESS;
+         for (Address owner : topology.getSegmentDistribution(segments[index]).readOwners()) {
+            if (!owner.equals(localAddress)) {
+               ownerIndexes.computeIfAbsent(owner, a -> new ArrayList<>()).add(i);
+            }
+         }
+      }
+
+      List<CompletableFuture<?>> futures = new ArrayList<>(ownerIndexes.size());
+      for (Map.Entry<Address, List<Integer>> entry : ownerIndexes.entrySet()) {
+         List<Integer> ownerPositions = entry.getValue();
+         List<Object> ownerKeys = new ArrayList<>(ownerPositions.size());
+         List<Object> ownerValues = new ArrayList<>(ownerPositions.size());
+         int[] ownerSegments = new int[ownerPositions.size()];
+         for (int i = 0; i < ownerSegments.length; i++) {
+            int index = indexes.get(ownerPositions.get(i));
+            ownerKeys.add(keys.get(index));
+            ownerValues.add(values.get(index));
+            ownerSegments[i] = segments[index];
+         }
+         if (trace) {
+            log.tracef("Asking read owner %s for the latest access time of %d keys", entry.getKey(), ownerKeys.size());
+         }
+         RetrieveLastAccessManyCommand command = cf.running().buildRetrieveLastAccessManyCommand(ownerKeys,
+               ownerValues, ownerSegments);
+         command.setTopologyId(topology.getTopologyId());
+         futures.add(rpcManager.invokeCommand(entry.getKey(), command, LastAccessResponseCollector.INSTANCE,
+               rpcManager.getSyncRpcOptions()).toCompletableFuture().thenAccept(ownerAccess -> {
+            if (ownerAccess != null) {
+               synchronized (lastAccess) {
+                  for (int i = 0; i < ownerAccess.length; i++) {
+                     int position = ownerPositions.get(i);
+                     lastAccess[position] = Math.max(lastAccess[position], ownerAccess[i]);
+                  }
+               }
+            }
+         }));
+      }
+
+      return CompletableFuture.allOf(futures.toArray(CompletableFutures.EMPTY_ARRAY)).thenCompose(ignore -> {
+         List<CompletableFuture<?>> removals = new ArrayList<>();
+         synchronized (lastAccess) {
+            for (int i = 0; i < lastAccess.length; i++) {
+               int index = indexes.get(i);
+               K key = (K) keys.get(index);
+               if (lastAccess[i] == RetrieveLastAccessManyCommand.NO_ACCESS) {
+                  if (trace) {
+                     log.tracef("No node has a non expired max idle time for key %s, proceeding to remove entry",
+                           toStr(key));
+                  }
+                  // The read owners were already asked, so the removal doesn't have to ask them again
+                  removals.add(removeMaxIdleExpireEntry(key, (V) values.get(index), maxIdles[index],
+                        cache.withFlags(Flag.SKIP_LAST_ACCESS_CHECK)));
+               } else if (lastAccess[i] > 0) {
+                  // Another owner accessed the entry, so it is not expired yet
+                  InternalCacheEntry<K, V> ice = dataContainer.running().peek(segments[index], key);
+                  if (ice != null) {
+                     ice.touch(lastAccess[i]);
+                  }
+               }
+               // If it was -1 that means it has been written to, so the removal is not needed
+            }
+         }
+         return CompletableFuture.allOf(removals.toArray(CompletableFutures.EMPTY_ARRAY));
+      });
+   }
+
    private void addAndWaitIfFull(CompletableFuture future, List<CompletableFuture> futures) {
       futures.add(future);
       if (futures.size() == MAX_ASYNC_EXPIRATIONS) {
@@ -154,6 +316,11 @@ CompletableFuture<Boolean> handleMaxIdleExpireEntry(K key, V value, long maxIdle
 
    // Method invoked when entry should be attempted to be removed via max idle
    CompletableFuture<Boolean> actualRemoveMaxIdleExpireEntry(K key, V value, long maxIdle, boolean skipLocking) {
+      return removeMaxIdleExpireEntry(key, value, maxIdle, skipLocking ? cache.withFlags(Flag.SKIP_LOCKING) : cache);
+   }
+
+   private CompletableFuture<Boolean> removeMaxIdleExpireEntry(K key, V value, long maxIdle,
+         AdvancedCache<K, V> cacheToUse) {
       CompletableFuture<Boolean> completableFuture = new CompletableFuture<>();
       Object expiringObject = expiring.putIfAbsent(key, completableFuture);
       if (expiringObject == null) {
@@ -162,7 +329,6 @@ CompletableFuture<Boolean> actualRemoveMaxIdleExpireEntry(K key, V value, long m
          }
          completableFuture.whenComplete((b, t) -> expiring.remove(key, completableFuture));
          try {
-            AdvancedCache<K, V> cacheToUse = skipLocking ? cache.withFlags(Flag.SKIP_LOCKING) : cache;
             CompletableFuture<Boolean> expired = cacheToUse.removeMaxIdleExpired(key, value);
             expired.whenComplete((b, t) -> {
                if (t != null) {
@@ -276,6 +442,54 @@ public CompletableFuture<Long> retrieveLastAccess(Object key, Object value, int
             rpcManager.getSyncRpcOptions()).toCompletableFuture();
    }
 
+   private static class ExpirationBatch {
+      final List<Object> keys = new ArrayList<>(EXPIRATION_BATCH_SIZE);
+      final List<Object> values = new ArrayList<>(EXPIRATION_BATCH_SIZE);
+      final int[] segments = new int[EXPIRATION_BATCH_SIZE];
+      final long[] expirations = new long[EXPIRATION_BATCH_SIZE];
+      final boolean[] maxIdle = new boolean[EXPIRATION_BATCH_SIZE];
+
+      void add(Object key, Object value, int segment, long expiration, boolean isMaxIdle) {
+         int index = keys.size();
+         keys.add(key);
+         values.add(value);
+         segments[index] = segment;
+         expirations[index] = expiration;
+         maxIdle[index] = isMaxIdle;
+      }
+
+      int size() {
+         return keys.size();
+      }
+
+      int[] segments() {
+         return Arrays.copyOf(segments, size());
+      }
+
+      long[] expirations() {
+         return Arrays.copyOf(expirations, size());
+      }
+
+      boolean[] maxIdle() {
+         return Arrays.copyOf(maxIdle, size());
+      }
+   }
+
+   private static class LastAccessResponseCollector extends ValidSingleResponseCollector<long[]> {
+      static final LastAccessResponseCollector INSTANCE = new LastAccessResponseCollector();
+
+      @Override
+      protected long[] withValidResponse(Address sender, ValidResponse response) {
+         return (long[]) response.getResponseValue();
+      }
+
+      @Override
+      protected long[] targetNotFound(Address sender) {
+         // We don't care about a node leaving
+         return null;
+      }
+   }
+
    static class MaxResponseCollector<T extends Comparable<T>> extends ValidResponseCollector<T> {
       T highest;
 
@@ -0,0 +1,224 @@
+package org.infinispan.expiration.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+import org.infinispan.commons.util.IntSet;
+
+/**
+ * An index of the keys that can expire, ordered by the time at which they are expected to expire, so that the reaper
+ * only has to visit the keys that are due instead of the whole data container.
+ * <p>
+ * Each segment has its own hierarchical timing wheel. A tick of the wheel is the reaper wake up interval, and each
+ * level has {@value #WHEEL_SIZE} slots, so that level {@code n} slots span {@code WHEEL_SIZE^n} ticks. A key is added
+ * to the lowest level whose slot will be reached before its deadline, and it is moved to the lower levels as the
+ * wheel turns, until it is due.
+ * <p>
+ * Keys are removed from the index when their entry is removed or replaced by an entry that cannot expire. The index is
+ * not updated when the deadline of a key is extended, so a key that is due must be checked against the data container.
+ * Only the earliest deadline of each key is kept in the wheel, so a key is never returned more than once per
+ * deadline. The nodes that are superseded or removed release their key, and are dropped when the wheel reaches them.
+ *
+ * @since 10.0
+ */
+class ExpirationIndex<K> {
+   private static final int WHEEL_BITS = 6;
+   static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+   private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+   private static final int LEVELS = 5;
+
+   private final long tickMillis;
+   private final Segment<K>[] segments;
+
+   @SuppressWarnings("unchecked")
+   ExpirationIndex(int numSegments, long tickMillis, long currentTimeMillis) {
+      this.tickMillis = tickMillis;
+      this.segments = new Segment[numSegments];
+      long currentTick = currentTimeMillis / tickMillis;
+      for (int i = 0; i < numSegments; i++) {
+         segments[i] = new Segment<>(currentTick);
+      }
+   }
+
+   /**
+    * Adds a key that should be checked at {@code expiryTime}. If the key is already in the index with an earlier
+    * expiry time, this is a no-op.
+    */
+   void add(int segment, K key, long expiryTime) {
+      // the first tick after the expiry time, the key must not be returned before it expires
+      long deadlineTick = expiryTime / tickMillis + 1;
+      segments[segment].add(key, deadlineTick);
+   }
+
+   /**
+    * Removes a key from the index, if present.
+    */
+   void remove(int segment, K key) {
+      segments[segment].remove(key);
+   }
+
+   /**
+    * Removes all the keys of the given segments, or of all the segments if {@code segmentsToClear} is {@code null}.
+    */
+   void clear(IntSet segmentsToClear) {
+      if (segmentsToClear == null) {
+         for (Segment<K> segment : segments) {
+            segment.clear();
+         }
+      } else {
+         segmentsToClear.forEach((int segment) -> segments[segment].clear());
+      }
+   }
+
+   /**
+    * Removes the keys that are due at {@code currentTimeMillis} from the index, and passes them to {@code consumer}
+    * along with their segment.
+    */
+   void pollExpired(long currentTimeMillis, ObjIntConsumer<K> consumer) {
+      long currentTick = currentTimeMillis / tickMillis;
+      List<K> due = new ArrayList<>();
+      for (int i = 0; i < segments.length; i++) {
+         segments[i].advance(currentTick, due);
+         for (K key : due) {
+            consumer.accept(key, i);
+         }
+         due.clear();
+      }
+   }
+
+   /**
+    * @return the number of keys in the index.
+    */
+   int size() {
+      int size = 0;
+      for (Segment<K> segment : segments) {
+         size += segment.size();
+      }
+      return size;
+   }
+
+   private static final class Node<K> {
+      // null once the node was superseded or removed
+      K key;
+      final long deadlineTick;
+
+      Node(K key, long deadlineTick) {
+         this.key = key;
+         this.deadlineTick = deadlineTick;
+      }
+   }
+
+   private static final class Segment<K> {
+      // The node with the earliest deadline of each key, the other nodes in the wheel have no key
+      private final Map<K, Node<K>> nodes = new HashMap<>();
+      @SuppressWarnings("unchecked")
+      private final List<Node<K>>[][] wheels = new List[LEVELS][WHEEL_SIZE];
+      // The next tick to process
+      private long currentTick;
+
+      Segment(long currentTick) {
+         this.currentTick = currentTick;
+      }
+
+      synchronized void add(K key, long deadlineTick) {
+         Node<K> existing = nodes.get(key);
+         if (existing != null) {
+            if (existing.deadlineTick <= deadlineTick) {
+               return;
+            }
+            existing.key = null;
+         }
+         Node<K> node = new Node<>(key, deadlineTick);
+         nodes.put(key, node);
+         place(node);
+      }
+
+      synchronized void remove(K key) {
+         Node<K> node = nodes.remove(key);
+         if (node != null) {
+            node.key = null;
+         }
+      }
+
+      synchronized void clear() {
+         nodes.clear();
+         for (List<Node<K>>[] wheel : wheels) {
+            Arrays.fill(wheel, null);
+         }
+      }
+
+      synchronized int size() {
+         return nodes.size();
+      }
+
+      synchronized void advance(long nowTick, List<K> due) {
+         while (currentTick <= nowTick) {
+            List<Node<K>> slot = take(0, (int) (currentTick & WHEEL_MASK));
+            if (slot != null) {
+               for (Node<K> node : slot) {
+                  if (node.key != null) {
+                     nodes.remove(node.key);
+                     due.add(node.key);
+                     node.key = null;
+                  }
+               }
+            }
+            currentTick++;
+            // Move the keys of the higher level slots that start now to the lower levels, highest first
+            for (int level = LEVELS - 1; level > 0; level--) {
+               int shift = WHEEL_BITS * level;
+               if ((currentTick & ((1L << shift) - 1)) == 0) {
+                  cascade(level, (int) ((currentTick >>> shift) & WHEEL_MASK));
+               }
+            }
+         }
+      }
+
+      private void cascade(int level, int index) {
+         List<Node<K>> slot = take(level, index);
+         if (slot != null) {
+            for (Node<K> node : slot) {
+               if (node.key != null) {
+                  place(node);
+               }
+            }
+         }
+      }
+
+      private List<Node<K>> take(int level, int index) {
+         List<Node<K>> slot = wheels[level][index];
+         wheels[level][index] = null;
+         return slot;
+      }
+
+      private void place(Node<K> node) {
+         // Keys that are already due are returned by the next advance
+         long deadlineTick = Math.max(node.deadlineTick, currentTick);
+         for (int level = 0; level < LEVELS; level++) {
+            int shift = WHEEL_BITS * level;
+            // The slot is reached before the deadline only if both are in the same span of the next level
+            if ((deadlineTick >>> (shift + WHEEL_BITS)) == (currentTick >>> (shift + WHEEL_BITS))) {
+               addToSlot(level, (int) ((deadlineTick >>> shift) & WHEEL_MASK), node);
+               return;
+            }
+         }
+         // Too far in the future: park it in the last slot of the top level, it is placed again when that slot is
+         // cascaded
+         int shift = WHEEL_BITS * (LEVELS - 1);
+         addToSlot(LEVELS - 1, (int) (((currentTick >>> shift) - 1) & WHEEL_MASK), node);
+      }
+
+      private void addToSlot(int level, int index, Node<K> node) {
+         List<Node<K>> slot = wheels[level][index];
+         if (slot == null) {
+            slot = new ArrayList<>();
+            wheels[level][index] = slot;
+         }
+         slot.add(node);
+      }
+   }
+}
@@ -7,8 +7,10 @@
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ObjIntConsumer;
 
 import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.entries.InternalCacheEntry;
@@ -56,6 +58,8 @@
     */
    protected ConcurrentMap<K, Object> expiring = new ConcurrentHashMap<>();
    protected ScheduledFuture<?> expirationTask;
+   // The keys that can expire ordered by expiration time, null if the reaper iterates over the data container
+   protected volatile ExpirationIndex<K> expirationIndex;
 
    // used only for testing
    void initialize(ScheduledExecutorService executor, String cacheName, Configuration cfg) {
@@ -76,12 +80,78 @@ public void start() {
             log.notStartingEvictionThread();
             enabled = false;
          } else {
+            // A custom data container doesn't report the entries written to it
+            if (configuration.expiration().indexed() && configuration.dataContainer().dataContainer() == null) {
+               createExpirationIndex(expWakeUpInt);
+            }
             expirationTask = executor.scheduleWithFixedDelay(new ScheduledTask(),
                   expWakeUpInt, expWakeUpInt, TimeUnit.MILLISECONDS);
          }
       }
    }
 
+   private void createExpirationIndex(long tickMillis) {
+      expirationIndex = new ExpirationIndex<>(configuration.clustering().hash().numSegments(), tickMillis,
+            timeService.wallClockTime());
+      // Entries may have been written before the index was created, e.g. by preload
+      dataContainer.running().forEachIncludingExpired((ice, segment) -> {
+         if (ice.canExpire()) {
+            scheduleExpiration(segment, ice);
+         }
+      });
+   }
+
+   @Override
+   public void scheduleExpiration(int segment, InternalCacheEntry<K, V> entry) {
+      ExpirationIndex<K> index = expirationIndex;
+      if (index != null) {
+         // Non segmented data containers don't compute the segment
+         index.add(segment >= 0 ? segment : keyPartitioner.getSegment(entry.getKey()), entry.getKey(),
+               entry.getExpiryTime());
+      }
+   }
+
+   @Override
+   public void cancelExpiration(int segment, K key) {
+      ExpirationIndex<K> index = expirationIndex;
+      if (index != null) {
+         index.remove(segment >= 0 ? segment : keyPartitioner.getSegment(key), key);
+      }
+   }
+
+   @Override
+   public void cancelExpirations(IntSet segments) {
+      ExpirationIndex<K> index = expirationIndex;
+      if (index != null) {
+         index.clear(segments);
+      }
+   }
+
+   /**
+    * Passes the entries of the expiration index that are due and expired to {@code consumer}, along with their segment.
+    * The entries that are still in the data container afterwards are added back to the index, as their expiration
+    * time may have been extended.
+    */
+   protected void forEachIndexedExpired(long currentTimeMillis, ObjIntConsumer<InternalCacheEntry<K, V>> consumer) {
+      InternalDataContainer<K, V> container = dataContainer.running();
+      expirationIndex.pollExpired(currentTimeMillis, (key, segment) -> {
+         InternalCacheEntry<K, V> ice = container.peek(segment, key);
+         if (ice == null || !ice.canExpire()) {
+            // removed, or replaced with an entry that never expires
+            return;
+         }
+         if (ice.isExpired(currentTimeMillis)) {
+            consumer.accept(ice, segment);
+            // The removal may be asynchronous, or may not happen at all
+            ice = container.peek(segment, key);
+            if (ice == null || !ice.canExpire()) {
+               return;
+            }
+         }
+         scheduleExpiration(segment, ice);
+      });
+   }
+
    @Override
    public void processExpiration() {
       long start = 0;
@@ -92,11 +162,15 @@ public void processExpiration() {
                start = timeService.time();
             }
             long currentTimeMillis = timeService.wallClockTime();
-            for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.running().iteratorIncludingExpired();
-                 purgeCandidates.hasNext();) {
-               InternalCacheEntry<K, V> e = purgeCandidates.next();
-               if (e.isExpired(currentTimeMillis)) {
-                  entryExpiredInMemory(e, currentTimeMillis, false);
+            if (expirationIndex != null) {
+               forEachIndexedExpired(currentTimeMillis, (e, segment) -> entryExpiredInMemory(e, currentTimeMillis, false));
+            } else {
+               for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.running().iteratorIncludingExpired();
+                    purgeCandidates.hasNext();) {
+                  InternalCacheEntry<K, V> e = purgeCandidates.next();
+                  if (e.isExpired(currentTimeMillis)) {
+                     entryExpiredInMemory(e, currentTimeMillis, false);
+                  }
                }
             }
             if (trace) {
@@ -2,6 +2,7 @@
 
 import java.util.concurrent.CompletableFuture;
 
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.expiration.ExpirationManager;
 import org.infinispan.factories.scopes.Scope;
@@ -71,4 +72,29 @@
     * @return the last access time if available
     */
    CompletableFuture<Long> retrieveLastAccess(Object key, Object value, int segment);
+
+   /**
+    * This is to be invoked by the data container after an entry that can expire has been written, so that the reaper
+    * can find it without iterating over the whole data container.
+    * @param segment the segment of the entry, or a negative value if the data container is not segmented
+    * @param entry the entry that was written
+    */
+   default void scheduleExpiration(int segment, InternalCacheEntry<K, V> entry) {
+   }
+
+   /**
+    * This is to be invoked by the data container after an entry that can expire has been removed, or replaced by an
+    * entry that cannot expire.
+    * @param segment the segment of the key, or a negative value if the data container is not segmented
+    * @param key the key of the entry
+    */
+   default void cancelExpiration(int segment, K key) {
+   }
+
+   /**
+    * This is to be invoked by the data container before the entries of some segments are cleared.
+    * @param segments the segments being cleared, or {@code null} if the whole container is cleared
+    */
+   default void cancelExpirations(IntSet segments) {
+   }
 }
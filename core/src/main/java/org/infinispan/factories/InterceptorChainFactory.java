@@ -36,6 +36,7 @@
 import org.infinispan.interceptors.impl.DistCacheWriterInterceptor;
 import org.infinispan.interceptors.impl.EntryWrappingInterceptor;
 import org.infinispan.interceptors.impl.GroupingInterceptor;
+import org.infinispan.interceptors.impl.HotKeyInterceptor;
 import org.infinispan.interceptors.impl.InvalidationInterceptor;
 import org.infinispan.interceptors.impl.InvocationContextInterceptor;
 import org.infinispan.interceptors.impl.IsMarshallableInterceptor;
@@ -144,6 +145,11 @@ public AsyncInterceptorChain buildInterceptorChain() {
          interceptorChain.appendInterceptor(createInterceptor(new CacheMgmtInterceptor(), CacheMgmtInterceptor.class), false);
       }
 
+      // sample the keys of the commands executed on this node for the hot key tracker
+      if (configuration.jmxStatistics().hotKeys()) {
+         interceptorChain.appendInterceptor(createInterceptor(new HotKeyInterceptor(), HotKeyInterceptor.class), false);
+      }
+
       // load the state transfer lock interceptor
       // the state transfer lock ensures that the cache member list is up-to-date
       // so it's necessary even if state transfer is disabled
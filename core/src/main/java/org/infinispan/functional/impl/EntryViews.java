@@ -341,9 +341,8 @@ public <T extends MetaParam> Optional<T> findMetaParam(Class<T> type) {
             return metaParamsMetadata.findMetaParam(type);
          }
 
-         // TODO: Add interoperability support, e.g. able to retrieve lifespan for data stored in Cache via lifespan API
-
-         return Optional.empty();
+         // TODO: Add interoperability support for the other meta params
+         return findExpirationMetaParam(metadata, type);
       }
 
       @Override
@@ -469,9 +468,8 @@ public <T extends MetaParam> Optional<T> findMetaParam(Class<T> type) {
             return metaParamsMetadata.findMetaParam(type);
          }
 
-         // TODO: Add interoperability support, e.g. able to retrieve lifespan for data stored in Cache via lifespan API
-
-         return Optional.empty();
+         // TODO: Add interoperability support for the other meta params
+         return findExpirationMetaParam(metadata, type);
       }
 
       @Override
@@ -604,6 +602,22 @@ public String toString() {
       }
    }
 
+   /**
+    * Exposes the expiration of an entry written through the Cache API, so that a function writing the entry can keep
+    * it.
+    */
+   private static <T extends MetaParam> Optional<T> findExpirationMetaParam(Metadata metadata, Class<T> type) {
+      if (metadata != null) {
+         if (type == MetaParam.MetaLifespan.class && metadata.lifespan() >= 0) {
+            return Optional.of((T) new MetaParam.MetaLifespan(metadata.lifespan()));
+         }
+         if (type == MetaParam.MetaMaxIdle.class && metadata.maxIdle() >= 0) {
+            return Optional.of((T) new MetaParam.MetaMaxIdle(metadata.maxIdle()));
+         }
+      }
+      return Optional.empty();
+   }
+
    private static <K, V> void updateMetaParams(CacheEntry<K, V> entry, MetaParam.Writable[] metas) {
       // TODO: Deal with entry instances that are MetaParamsCacheEntry and merge meta params
       // e.g. check if meta params exist and if so, merge, but also check for old metadata
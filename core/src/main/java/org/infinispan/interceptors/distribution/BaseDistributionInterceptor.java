@@ -859,8 +859,10 @@ public Object visitRemoveExpiredCommand(InvocationContext ctx, RemoveExpiredComm
       } else {
          if (info.isPrimary()) {
             // We don't pass the value for performance as we already have the lock obtained for this key - so it can't
-            // change from its current value
-            CompletableFuture<Long> completableFuture = expirationManager.retrieveLastAccess(key, null, segment);
+            // change from its current value. The reaper may have already asked the read owners on this node.
+            CompletableFuture<Long> completableFuture = ctx.isOriginLocal() &&
+                  command.hasAnyFlag(FlagBitSets.SKIP_LAST_ACCESS_CHECK) ? CompletableFutures.completedNull() :
+                  expirationManager.retrieveLastAccess(key, null, segment);
 
             return asyncValue(completableFuture).thenApply(ctx, command, (rCtx, rCommand, max) -> {
                if (max != null) {
@@ -140,7 +140,7 @@ public Object visitRemoveCommand(InvocationContext ctx, RemoveCommand command) t
 
    @Override
    public Object visitRemoveExpiredCommand(InvocationContext ctx, RemoveExpiredCommand command) throws Throwable {
-      if (ctx.isOriginLocal() && command.isMaxIdle()) {
+      if (ctx.isOriginLocal() && command.isMaxIdle() && !command.hasAnyFlag(FlagBitSets.SKIP_LAST_ACCESS_CHECK)) {
          Object key = command.getKey();
          CompletableFuture<Long> completableFuture = expirationManager.retrieveLastAccess(key, null, command.getSegment());
          return asyncValue(completableFuture).thenApply(ctx, command, (rCtx, rCommand, max) -> {
@@ -7,13 +7,19 @@
 import java.util.List;
 import java.util.ListIterator;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.CacheException;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.ImmutableListCopy;
 import org.infinispan.commons.util.ReflectionUtil;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.JMXStatisticsConfiguration;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
@@ -24,6 +30,12 @@
 import org.infinispan.interceptors.AsyncInterceptor;
 import org.infinispan.interceptors.AsyncInterceptorChain;
 import org.infinispan.interceptors.InvocationStage;
+import org.infinispan.jmx.annotations.DataType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.Parameter;
+import org.infinispan.stats.impl.LatencyHistogram;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.TimeoutException;
 import org.infinispan.util.logging.Log;
@@ -31,11 +43,16 @@
 
 /**
  * Knows how to build and manage a chain of interceptors. Also in charge with invoking methods on the chain.
+ * <p>
+ * The chain can also profile the time spent in each interceptor, see {@link ProfilingInterceptor}. Profiling is
+ * disabled by default and costs nothing then; it can be enabled through JMX or with
+ * {@link JMXStatisticsConfiguration#profiling()}.
  *
  * @author Dan Berindei
  * @since 9.0
  */
 @Scope(Scopes.NAMED_CACHE)
+@MBean(objectName = "InterceptorChain", description = "Profiles the time spent in each interceptor")
 @SuppressWarnings("deprecation")
 public class AsyncInterceptorChainImpl implements AsyncInterceptorChain {
    // Using the same list type everywhere may help with the optimization of the invocation context methods
@@ -43,6 +60,9 @@ public class AsyncInterceptorChainImpl implements AsyncInterceptorChain {
          new ImmutableListCopy<>(new AsyncInterceptor[0]);
    private static final Log log = LogFactory.getLog(AsyncInterceptorChainImpl.class);
 
+   @Inject private TimeService timeService;
+   @Inject private Configuration configuration;
+
    private final ComponentMetadataRepo componentMetadataRepo;
 
    private final ReentrantLock lock = new ReentrantLock();
@@ -51,6 +71,10 @@ public class AsyncInterceptorChainImpl implements AsyncInterceptorChain {
    private volatile List<AsyncInterceptor> interceptors = EMPTY_INTERCEPTORS_LIST;
    private volatile AsyncInterceptor firstInterceptor = null;
 
+   private volatile boolean profilingEnabled;
+   private volatile int profilingSampleInterval = JMXStatisticsConfiguration.PROFILING_SAMPLE_INTERVAL.getDefaultValue();
+   private final ConcurrentMap<AsyncInterceptor, ProfilingInterceptor.Profile> profiles = new ConcurrentHashMap<>();
+
    public AsyncInterceptorChainImpl(ComponentMetadataRepo componentMetadataRepo) {
       this.componentMetadataRepo = componentMetadataRepo;
    }
@@ -63,6 +87,16 @@ private void printChainInfo() {
       }
    }
 
+   @Start
+   private void startProfiling() {
+      // The interceptors are added before the time service is injected
+      JMXStatisticsConfiguration statistics = configuration.jmxStatistics();
+      profilingSampleInterval = statistics.profilingSampleInterval();
+      if (statistics.profiling()) {
+         setProfilingEnabled(true);
+      }
+   }
+
    private void validateCustomInterceptor(Class<? extends AsyncInterceptor> i) {
       if ((!ReflectionUtil.getAllMethodsShallow(i, Inject.class).isEmpty() ||
             !ReflectionUtil.getAllMethodsShallow(i, Start.class).isEmpty() ||
@@ -342,14 +376,103 @@ public List<AsyncInterceptor> getInterceptors() {
    }
 
    private void rebuildInterceptors() {
+      profiles.keySet().retainAll(interceptors);
       ListIterator<AsyncInterceptor> it = interceptors.listIterator(interceptors.size());
       // The CallInterceptor
-      AsyncInterceptor nextInterceptor = it.previous();
+      AsyncInterceptor nextInterceptor = profiled(it.previous());
       while (it.hasPrevious()) {
          AsyncInterceptor interceptor = it.previous();
          interceptor.setNextInterceptor(nextInterceptor);
-         nextInterceptor = interceptor;
+         nextInterceptor = profiled(interceptor);
       }
       this.firstInterceptor = nextInterceptor;
    }
+
+   private AsyncInterceptor profiled(AsyncInterceptor interceptor) {
+      if (!profilingEnabled)
+         return interceptor;
+
+      ProfilingInterceptor.Profile profile =
+            profiles.computeIfAbsent(interceptor, i -> new ProfilingInterceptor.Profile());
+      return new ProfilingInterceptor(interceptor, profile, timeService, profilingSampleInterval);
+   }
+
+   private void updateProfiling(boolean enabled, int sampleInterval) {
+      lock.lock();
+      try {
+         profilingEnabled = enabled;
+         profilingSampleInterval = sampleInterval;
+         if (!interceptors.isEmpty()) {
+            rebuildInterceptors();
+         }
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   @ManagedAttribute(description = "Enables or disables the profiling of the interceptors",
+         displayName = "Profiling enabled", dataType = DataType.TRAIT, writable = true)
+   public boolean isProfilingEnabled() {
+      return profilingEnabled;
+   }
+
+   public void setProfilingEnabled(boolean enabled) {
+      updateProfiling(enabled, profilingSampleInterval);
+   }
+
+   @ManagedAttribute(description = "While profiling, one in this many invocations is sampled",
+         displayName = "Profiling sample interval", dataType = DataType.TRAIT, writable = true)
+   public int getProfilingSampleInterval() {
+      return profilingSampleInterval;
+   }
+
+   public void setProfilingSampleInterval(int sampleInterval) {
+      if (sampleInterval <= 0)
+         throw new IllegalArgumentException("Sample interval must be positive: " + sampleInterval);
+
+      updateProfiling(profilingEnabled, sampleInterval);
+   }
+
+   @ManagedOperation(description = "Returns a percentile of the time spent in an interceptor, in nanoseconds",
+         displayName = "Interceptor time percentile")
+   public long getInterceptorTimePercentile(
+         @Parameter(name = "interceptor", description = "The simple class name of the interceptor") String interceptor,
+         @Parameter(name = "percentile", description = "The percentile, between 0 and 100") double percentile,
+         @Parameter(name = "asyncWait", description = "Whether to use the async wait time instead of the self time") boolean asyncWait) {
+      for (AsyncInterceptor current : interceptors) {
+         ProfilingInterceptor.Profile profile = profiles.get(current);
+         if (profile != null && current.getClass().getSimpleName().equals(interceptor)) {
+            LatencyHistogram histogram = asyncWait ? profile.asyncWaitTimes : profile.selfTimes;
+            return histogram.getPercentile(percentile, TimeUnit.NANOSECONDS);
+         }
+      }
+      return 0;
+   }
+
+   @ManagedOperation(description = "Dumps the time spent in each interceptor while profiling",
+         displayName = "Dump interceptor profile")
+   public String dumpProfile() {
+      StringBuilder sb = new StringBuilder();
+      sb.append(String.format("%-48s %10s %10s %10s %10s %10s %10s %10s%n", "Interceptor", "Samples",
+            "Self p50", "Self p99", "Self max", "Async", "Async p50", "Async p99"));
+      for (AsyncInterceptor interceptor : interceptors) {
+         ProfilingInterceptor.Profile profile = profiles.get(interceptor);
+         if (profile == null)
+            continue;
+
+         LatencyHistogram self = profile.selfTimes;
+         LatencyHistogram async = profile.asyncWaitTimes;
+         sb.append(String.format("%-48s %10d %8dus %8dus %8dus %10d %8dus %8dus%n",
+               interceptor.getClass().getSimpleName(), self.getCount(),
+               self.getPercentile(50, TimeUnit.MICROSECONDS), self.getPercentile(99, TimeUnit.MICROSECONDS),
+               self.getMax(TimeUnit.MICROSECONDS), async.getCount(),
+               async.getPercentile(50, TimeUnit.MICROSECONDS), async.getPercentile(99, TimeUnit.MICROSECONDS)));
+      }
+      return sb.toString();
+   }
+
+   @ManagedOperation(description = "Resets the time recorded for each interceptor", displayName = "Reset profile")
+   public void resetProfile() {
+      profiles.values().forEach(ProfilingInterceptor.Profile::reset);
+   }
 }
@@ -238,6 +238,7 @@ public Object visitGetKeysInGroupCommand(final InvocationContext ctx,
    @Override
    public Object visitEntrySetCommand(InvocationContext ctx, EntrySetCommand command)
          throws Throwable {
+      checkSnapshotScan(command);
       // Acquire the remote iteration flag and set it for all below - so they won't wrap unnecessarily
       boolean isRemoteIteration = command.hasAnyFlag(FlagBitSets.REMOTE_ITERATION);
       command.addFlags(FlagBitSets.REMOTE_ITERATION);
@@ -254,6 +255,7 @@ public Object visitEntrySetCommand(InvocationContext ctx, EntrySetCommand comman
    @Override
    public Object visitKeySetCommand(InvocationContext ctx, KeySetCommand command)
          throws Throwable {
+      checkSnapshotScan(command);
       // Acquire the remote iteration flag and set it for all below - so they won't wrap unnecessarily
       boolean isRemoteIteration = command.hasAnyFlag(FlagBitSets.REMOTE_ITERATION);
       command.addFlags(FlagBitSets.REMOTE_ITERATION);
@@ -326,6 +328,13 @@ protected final boolean hasSkipLoadFlag(FlagAffectedCommand cmd) {
       return cmd.hasAnyFlag(FlagBitSets.SKIP_CACHE_LOAD);
    }
 
+   private void checkSnapshotScan(FlagAffectedCommand cmd) {
+      // The snapshot only covers the data container, the entries published by the stores would be read live
+      if (cmd.hasAnyFlag(FlagBitSets.SNAPSHOT_SCAN) && !hasSkipLoadFlag(cmd)) {
+         throw log.snapshotScanRequiresSkipLoad();
+      }
+   }
+
    protected boolean canLoad(Object key) {
       return true;
    }
@@ -38,6 +38,7 @@
 import org.infinispan.configuration.cache.ClusteringConfiguration;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.DataContainer;
+import org.infinispan.container.impl.EntrySnapshots;
 import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.container.offheap.OffHeapMemoryAllocator;
 import org.infinispan.context.Flag;
@@ -53,7 +54,10 @@
 import org.infinispan.jmx.annotations.ManagedAttribute;
 import org.infinispan.jmx.annotations.ManagedOperation;
 import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Parameter;
 import org.infinispan.jmx.annotations.Units;
+import org.infinispan.stats.impl.LatencyHistogram;
+import org.infinispan.stats.impl.RollingLatencyHistogram;
 import org.infinispan.topology.CacheTopology;
 import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.concurrent.StripedCounters;
@@ -74,11 +78,17 @@ public class CacheMgmtInterceptor extends JmxStatsCommandInterceptor {
    private final AtomicLong startNanoseconds = new AtomicLong(0);
    private volatile AtomicLong resetNanoseconds = new AtomicLong(0);
    private StripedCounters<StripeB> counters = new StripedCounters<>(StripeC::new);
+   private RollingLatencyHistogram[] latencies;
 
    @Start
    public void start() {
       startNanoseconds.set(timeService.time());
       resetNanoseconds.set(startNanoseconds.get());
+      latencies = new RollingLatencyHistogram[Latency.values().length];
+      for (int i = 0; i < latencies.length; i++) {
+         latencies[i] = new RollingLatencyHistogram(timeService, cacheConfiguration.jmxStatistics().latencyWindow(),
+               TimeUnit.MILLISECONDS);
+      }
    }
 
    @Override
@@ -105,12 +115,18 @@ public void addDataRead(boolean foundValue, long timeNanoSeconds) {
       if (foundValue) {
          counters.add(StripeB.hitTimesFieldUpdater, stripe, timeNanoSeconds);
          counters.increment(StripeB.hitsFieldUpdater, stripe);
+         recordLatency(Latency.HIT, timeNanoSeconds);
       } else {
          counters.add(StripeB.missTimesFieldUpdater, stripe, timeNanoSeconds);
          counters.increment(StripeB.missesFieldUpdater, stripe);
+         recordLatency(Latency.MISS, timeNanoSeconds);
       }
    }
 
+   private void recordLatency(Latency latency, long intervalNanoseconds) {
+      latencies[latency.ordinal()].record(intervalNanoseconds, TimeUnit.NANOSECONDS);
+   }
+
    private Object visitDataReadCommand(InvocationContext ctx, AbstractDataCommand command) throws Throwable {
       boolean statisticsEnabled = getStatisticsEnabled(command);
       if (!statisticsEnabled || !ctx.isOriginLocal())
@@ -152,6 +168,7 @@ public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) t
             counters.add(StripeB.missesFieldUpdater, stripe, missCount);
             counters.add(StripeB.missTimesFieldUpdater, stripe, intervalNanoseconds * missCount / requests);
          }
+         recordLatency(Latency.GET_ALL, intervalNanoseconds);
       });
    }
 
@@ -169,6 +186,7 @@ public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) t
             StripeB stripe = counters.stripeForCurrentThread();
             counters.add(StripeB.storeTimesFieldUpdater, stripe, intervalNanoseconds);
             counters.add(StripeB.storesFieldUpdater, stripe, data.size());
+            recordLatency(Latency.PUT_ALL, intervalNanoseconds);
          }
       });
    }
@@ -195,10 +213,11 @@ public Object visitComputeCommand(InvocationContext ctx, ComputeCommand command)
          if (rv == null && rCommand.isSuccessful()) {
             increaseRemoveMisses();
          } else if (rCommand.isSuccessful()) {
-            long intervalMilliseconds = timeService.timeDuration(start, TimeUnit.MILLISECONDS);
+            long intervalNanoseconds = timeService.timeDuration(start, TimeUnit.NANOSECONDS);
             StripeB stripe = counters.stripeForCurrentThread();
-            counters.add(StripeB.storeTimesFieldUpdater, stripe, intervalMilliseconds);
+            counters.add(StripeB.storeTimesFieldUpdater, stripe, intervalNanoseconds);
             counters.increment(StripeB.storesFieldUpdater, stripe);
+            recordLatency(Latency.WRITE, intervalNanoseconds);
          }
       });
    }
@@ -220,6 +239,7 @@ private Object updateStoreStatistics(InvocationContext ctx, WriteCommand command
             StripeB stripe = counters.stripeForCurrentThread();
             counters.add(StripeB.storeTimesFieldUpdater, stripe, intervalNanoseconds);
             counters.increment(StripeB.storesFieldUpdater, stripe);
+            recordLatency(Latency.WRITE, intervalNanoseconds);
          }
       });
    }
@@ -240,9 +260,11 @@ public Object visitReadOnlyKeyCommand(InvocationContext ctx, ReadOnlyKeyCommand
          if (envelope.isMiss()) {
             counters.add(StripeB.missTimesFieldUpdater, stripe, intervalNanoseconds);
             counters.increment(StripeB.missesFieldUpdater, stripe);
+            recordLatency(Latency.MISS, intervalNanoseconds);
          } else if (envelope.isHit()){
             counters.add(StripeB.hitTimesFieldUpdater, stripe, intervalNanoseconds);
             counters.increment(StripeB.hitsFieldUpdater, stripe);
+            recordLatency(Latency.HIT, intervalNanoseconds);
          }
          return envelope.value();
       });
@@ -301,9 +323,11 @@ private Object updateStatisticsWriteOnly(InvocationContext ctx, AbstractDataComm
          if (envelope.isDelete()) {
             counters.add(StripeB.removeTimesFieldUpdater, stripe, intervalNanoseconds);
             counters.increment(StripeB.removeHitsFieldUpdater, stripe);
+            recordLatency(Latency.REMOVE, intervalNanoseconds);
          } else if ((envelope.flags() & (StatsEnvelope.CREATE | StatsEnvelope.UPDATE)) != 0) {
             counters.add(StripeB.storeTimesFieldUpdater, stripe, intervalNanoseconds);
             counters.increment(StripeB.storesFieldUpdater, stripe);
+            recordLatency(Latency.WRITE, intervalNanoseconds);
          }
          assert envelope.value() == null;
          return null;
@@ -331,9 +355,11 @@ private Object updateStatisticsReadWrite(InvocationContext ctx, AbstractDataComm
          if (envelope.isDelete()) {
             counters.add(StripeB.removeTimesFieldUpdater, stripe, intervalNanoseconds);
             counters.increment(StripeB.removeHitsFieldUpdater, stripe);
+            recordLatency(Latency.REMOVE, intervalNanoseconds);
          } else if ((envelope.flags() & (StatsEnvelope.CREATE | StatsEnvelope.UPDATE)) != 0) {
             counters.add(StripeB.storeTimesFieldUpdater, stripe, intervalNanoseconds);
             counters.increment(StripeB.storesFieldUpdater, stripe);
+            recordLatency(Latency.WRITE, intervalNanoseconds);
          }
          if (envelope.isHit()) {
             counters.add(StripeB.hitTimesFieldUpdater, stripe, intervalNanoseconds);
@@ -449,6 +475,7 @@ private void increaseRemoveHits(long start) {
       StripeB stripe = counters.stripeForCurrentThread();
       counters.add(StripeB.removeTimesFieldUpdater, stripe, intervalNanoseconds);
       counters.increment(StripeB.removeHitsFieldUpdater, stripe);
+      recordLatency(Latency.REMOVE, intervalNanoseconds);
    }
 
    private void increaseRemoveMisses() {
@@ -630,6 +657,203 @@ public long getAverageRemoveTimeNanos() {
       return counters.get(StripeB.removeTimesFieldUpdater) / removes;
    }
 
+   @ManagedAttribute(
+         description = "Median of the time taken by read operations that found a value in the last complete window",
+         displayName = "Median read hit time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getHitTimeP50() {
+      return latencyPercentile(Latency.HIT, 50);
+   }
+
+   @ManagedAttribute(
+         description = "99th percentile of the time taken by read operations that found a value in the last complete window",
+         displayName = "99th percentile read hit time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getHitTimeP99() {
+      return latencyPercentile(Latency.HIT, 99);
+   }
+
+   @ManagedAttribute(
+         description = "99.9th percentile of the time taken by read operations that found a value in the last complete window",
+         displayName = "99.9th percentile read hit time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getHitTimeP999() {
+      return latencyPercentile(Latency.HIT, 99.9);
+   }
+
+   @ManagedAttribute(
+         description = "Median of the time taken by read operations that didn't find a value in the last complete window",
+         displayName = "Median read miss time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getMissTimeP50() {
+      return latencyPercentile(Latency.MISS, 50);
+   }
+
+   @ManagedAttribute(
+         description = "99th percentile of the time taken by read operations that didn't find a value in the last complete window",
+         displayName = "99th percentile read miss time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getMissTimeP99() {
+      return latencyPercentile(Latency.MISS, 99);
+   }
+
+   @ManagedAttribute(
+         description = "99.9th percentile of the time taken by read operations that didn't find a value in the last complete window",
+         displayName = "99.9th percentile read miss time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getMissTimeP999() {
+      return latencyPercentile(Latency.MISS, 99.9);
+   }
+
+   @ManagedAttribute(
+         description = "Median of the time taken by write operations in the last complete window",
+         displayName = "Median write time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getWriteTimeP50() {
+      return latencyPercentile(Latency.WRITE, 50);
+   }
+
+   @ManagedAttribute(
+         description = "99th percentile of the time taken by write operations in the last complete window",
+         displayName = "99th percentile write time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getWriteTimeP99() {
+      return latencyPercentile(Latency.WRITE, 99);
+   }
+
+   @ManagedAttribute(
+         description = "99.9th percentile of the time taken by write operations in the last complete window",
+         displayName = "99.9th percentile write time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getWriteTimeP999() {
+      return latencyPercentile(Latency.WRITE, 99.9);
+   }
+
+   @ManagedAttribute(
+         description = "Median of the time taken by remove operations that removed a value in the last complete window",
+         displayName = "Median remove time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getRemoveTimeP50() {
+      return latencyPercentile(Latency.REMOVE, 50);
+   }
+
+   @ManagedAttribute(
+         description = "99th percentile of the time taken by remove operations that removed a value in the last complete window",
+         displayName = "99th percentile remove time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getRemoveTimeP99() {
+      return latencyPercentile(Latency.REMOVE, 99);
+   }
+
+   @ManagedAttribute(
+         description = "99.9th percentile of the time taken by remove operations that removed a value in the last complete window",
+         displayName = "99.9th percentile remove time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getRemoveTimeP999() {
+      return latencyPercentile(Latency.REMOVE, 99.9);
+   }
+
+   @ManagedAttribute(
+         description = "Median of the time taken by getAll operations in the last complete window",
+         displayName = "Median getAll time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getGetAllTimeP50() {
+      return latencyPercentile(Latency.GET_ALL, 50);
+   }
+
+   @ManagedAttribute(
+         description = "99th percentile of the time taken by getAll operations in the last complete window",
+         displayName = "99th percentile getAll time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getGetAllTimeP99() {
+      return latencyPercentile(Latency.GET_ALL, 99);
+   }
+
+   @ManagedAttribute(
+         description = "99.9th percentile of the time taken by getAll operations in the last complete window",
+         displayName = "99.9th percentile getAll time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getGetAllTimeP999() {
+      return latencyPercentile(Latency.GET_ALL, 99.9);
+   }
+
+   @ManagedAttribute(
+         description = "Median of the time taken by putAll operations in the last complete window",
+         displayName = "Median putAll time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getPutAllTimeP50() {
+      return latencyPercentile(Latency.PUT_ALL, 50);
+   }
+
+   @ManagedAttribute(
+         description = "99th percentile of the time taken by putAll operations in the last complete window",
+         displayName = "99th percentile putAll time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getPutAllTimeP99() {
+      return latencyPercentile(Latency.PUT_ALL, 99);
+   }
+
+   @ManagedAttribute(
+         description = "99.9th percentile of the time taken by putAll operations in the last complete window",
+         displayName = "99.9th percentile putAll time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getPutAllTimeP999() {
+      return latencyPercentile(Latency.PUT_ALL, 99.9);
+   }
+
+   @ManagedOperation(
+         description = "Returns a percentile of the time taken by an operation, in nanoseconds",
+         displayName = "Operation time percentile"
+   )
+   public long getOperationTimePercentile(
+         @Parameter(name = "operation", description = "One of HIT, MISS, WRITE, REMOVE, GET_ALL, PUT_ALL") String operation,
+         @Parameter(name = "percentile", description = "The percentile, between 0 and 100") double percentile,
+         @Parameter(name = "sinceReset", description = "Whether to use all the operations since the statistics were reset instead of the last complete window") boolean sinceReset) {
+      RollingLatencyHistogram latency = latencies[Latency.valueOf(operation).ordinal()];
+      LatencyHistogram histogram = sinceReset ? latency.getSinceReset() : latency.getLastWindow();
+      return histogram.getPercentile(percentile, TimeUnit.NANOSECONDS);
+   }
+
+   private long latencyPercentile(Latency latency, double percentile) {
+      return latencies[latency.ordinal()].getLastWindow().getPercentile(percentile, TimeUnit.NANOSECONDS);
+   }
+
    @ManagedAttribute(
          description = "Number of entries in the cache including passivated entries",
          displayName = "Number of current cache entries",
@@ -660,6 +884,37 @@ public long getDataMemoryUsed() {
       return 0;
    }
 
+   @ManagedAttribute(
+         description = "Number of snapshot scans currently running on this node",
+         displayName = "Active snapshot scans",
+         displayType = DisplayType.SUMMARY
+   )
+   public int getActiveSnapshots() {
+      EntrySnapshots snapshots = dataContainer.snapshots();
+      return snapshots != null ? snapshots.getActiveSnapshots() : 0;
+   }
+
+   @ManagedAttribute(
+         description = "Number of old versions of entries retained for the running snapshot scans",
+         displayName = "Retained snapshot versions",
+         displayType = DisplayType.SUMMARY
+   )
+   public long getRetainedSnapshotVersions() {
+      EntrySnapshots snapshots = dataContainer.snapshots();
+      return snapshots != null ? snapshots.getRetainedVersions() : 0;
+   }
+
+   @ManagedAttribute(
+         description = "Number of snapshot scans aborted because they retained too many old versions of entries",
+         displayName = "Aborted snapshot scans",
+         measurementType = MeasurementType.TRENDSUP,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getAbortedSnapshots() {
+      EntrySnapshots snapshots = dataContainer.snapshots();
+      return snapshots != null ? snapshots.getAbortedSnapshots() : 0;
+   }
+
    @ManagedAttribute(
          description = "Amount of memory in bytes allocated in off-heap",
          displayName = "Off-Heap Memory Used",
@@ -768,6 +1023,9 @@ public void resetStatistics() {
       counters.reset(StripeB.removeHitsFieldUpdater);
       counters.reset(StripeB.removeTimesFieldUpdater);
       counters.reset(StripeB.removeMissesFieldUpdater);
+      for (RollingLatencyHistogram latency : latencies) {
+         latency.reset();
+      }
       resetNanoseconds.set(timeService.time());
    }
 
@@ -779,6 +1037,13 @@ public void addEvictions(long numEvictions) {
       counters.add(StripeB.evictionsFieldUpdater, counters.stripeForCurrentThread(), numEvictions);
    }
 
+   /**
+    * The operations whose latencies are recorded in histograms.
+    */
+   private enum Latency {
+      HIT, MISS, WRITE, REMOVE, GET_ALL, PUT_ALL
+   }
+
    @SuppressWarnings("unused")
    private static class StripeA {
       private long slack1, slack2, slack3, slack4, slack5, slack6, slack7, slack8;
@@ -657,7 +657,9 @@ public Object visitKeySetCommand(InvocationContext ctx, KeySetCommand command) t
       // We have to check for the flags when we do perform - as interceptor could change this while going down
       // the stack
       boolean isRemoteIteration = EnumUtil.containsAny(flagBitSet, FlagBitSets.REMOTE_ITERATION);
-      return new BackingKeySet<>(cacheWithFlags(flagBitSet), dataContainer, keyPartitioner, isRemoteIteration);
+      boolean snapshot = isSnapshotScan(flagBitSet);
+      return new BackingKeySet<>(cacheWithFlags(flagBitSet), dataContainer, keyPartitioner, isRemoteIteration,
+            snapshot);
    }
 
    @Override
@@ -666,12 +668,26 @@ public Object visitEntrySetCommand(InvocationContext ctx, EntrySetCommand comman
       // We have to check for the flags when we do perform - as interceptor could change this while going down
       // the stack
       boolean isRemoteIteration = EnumUtil.containsAny(flagsBitSet, FlagBitSets.REMOTE_ITERATION);
+      boolean snapshot = isSnapshotScan(flagsBitSet);
       Cache flagCache = cacheWithFlags(flagsBitSet);
       Object lockOwner = ctx.getLockOwner();
       if (ctx.getLockOwner() != null) {
-         return new BackingEntrySet<>(flagCache.getAdvancedCache().lockAs(lockOwner), dataContainer, keyPartitioner, isRemoteIteration);
+         return new BackingEntrySet<>(flagCache.getAdvancedCache().lockAs(lockOwner), dataContainer, keyPartitioner,
+               isRemoteIteration, snapshot);
       }
-      return new BackingEntrySet<>(flagCache, dataContainer, keyPartitioner, isRemoteIteration);
+      return new BackingEntrySet<>(flagCache, dataContainer, keyPartitioner, isRemoteIteration, snapshot);
+   }
+
+   private boolean isSnapshotScan(long flagsBitSet) {
+      if (!EnumUtil.containsAny(flagsBitSet, FlagBitSets.SNAPSHOT_SCAN)) {
+         return false;
+      }
+      // The snapshot only covers the entries of this node
+      if (cacheConfiguration.clustering().cacheMode().isClustered() &&
+            !EnumUtil.containsAny(flagsBitSet, FlagBitSets.CACHE_MODE_LOCAL)) {
+         throw log.snapshotScanRequiresLocalMode();
+      }
+      return true;
    }
 
    @Override
@@ -1073,13 +1089,15 @@ public Object visitReadWriteManyEntriesCommand(InvocationContext ctx, ReadWriteM
       private final Cache<K, V> cache;
       private final InternalDataContainer<K, V> dataContainer;
       private final KeyPartitioner keyPartitioner;
+      private final boolean snapshot;
 
       BackingEntrySet(Cache<K, V> cache, InternalDataContainer<K, V> dataContainer, KeyPartitioner keyPartitioner,
-            boolean isRemoteIteration) {
+            boolean isRemoteIteration, boolean snapshot) {
          this.cache = cache;
          this.dataContainer = dataContainer;
          this.keyPartitioner = keyPartitioner;
          this.isRemoteIteration = isRemoteIteration;
+         this.snapshot = snapshot;
       }
 
       @Override
@@ -1136,8 +1154,8 @@ private Map.Entry<K, V> toEntry(Object obj) {
       }
 
       private CacheStream<CacheEntry<K, V>> doStream(boolean parallel) {
-         return new LocalCacheStream<>(new SegmentedEntryStreamSupplier<>(cache, keyPartitioner, dataContainer),
-               parallel, cache.getAdvancedCache().getComponentRegistry());
+         return new LocalCacheStream<>(new SegmentedEntryStreamSupplier<>(cache, keyPartitioner, dataContainer,
+               snapshot), parallel, cache.getAdvancedCache().getComponentRegistry());
       }
 
       @Override
@@ -1169,12 +1187,15 @@ public Publisher<CacheEntry<K, V>> localPublisher(IntSet segments) {
       private final Cache<K, V> cache;
       private final InternalDataContainer<K, V> dataContainer;
       private final KeyPartitioner keyPartitioner;
+      private final boolean snapshot;
 
-      BackingKeySet(Cache<K, V> cache, InternalDataContainer<K, V> dataContainer, KeyPartitioner keyPartitioner, boolean isRemoteIteration) {
+      BackingKeySet(Cache<K, V> cache, InternalDataContainer<K, V> dataContainer, KeyPartitioner keyPartitioner,
+            boolean isRemoteIteration, boolean snapshot) {
          this.cache = cache;
          this.dataContainer = dataContainer;
          this.keyPartitioner = keyPartitioner;
          this.isRemoteIteration = isRemoteIteration;
+         this.snapshot = snapshot;
       }
 
       @Override
@@ -1208,8 +1229,8 @@ public boolean remove(Object o) {
       }
 
       private CacheStream<K> doStream(boolean parallel) {
-         return new LocalCacheStream<>(new SegmentedKeyStreamSupplier<>(cache, keyPartitioner, dataContainer), parallel,
-               cache.getAdvancedCache().getComponentRegistry());
+         return new LocalCacheStream<>(new SegmentedKeyStreamSupplier<>(cache, keyPartitioner, dataContainer, snapshot),
+               parallel, cache.getAdvancedCache().getComponentRegistry());
       }
 
       @Override
@@ -0,0 +1,210 @@
+package org.infinispan.interceptors.impl;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.infinispan.commands.FlagAffectedCommand;
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.functional.ReadOnlyKeyCommand;
+import org.infinispan.commands.functional.ReadOnlyManyCommand;
+import org.infinispan.commands.functional.ReadWriteKeyCommand;
+import org.infinispan.commands.functional.ReadWriteKeyValueCommand;
+import org.infinispan.commands.functional.ReadWriteManyCommand;
+import org.infinispan.commands.functional.ReadWriteManyEntriesCommand;
+import org.infinispan.commands.functional.WriteOnlyKeyCommand;
+import org.infinispan.commands.functional.WriteOnlyKeyValueCommand;
+import org.infinispan.commands.functional.WriteOnlyManyCommand;
+import org.infinispan.commands.functional.WriteOnlyManyEntriesCommand;
+import org.infinispan.commands.read.AbstractDataCommand;
+import org.infinispan.commands.read.GetAllCommand;
+import org.infinispan.commands.read.GetCacheEntryCommand;
+import org.infinispan.commands.read.GetKeyValueCommand;
+import org.infinispan.commands.tx.PrepareCommand;
+import org.infinispan.commands.write.ComputeCommand;
+import org.infinispan.commands.write.ComputeIfAbsentCommand;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commands.write.PutMapCommand;
+import org.infinispan.commands.write.RemoveCommand;
+import org.infinispan.commands.write.ReplaceCommand;
+import org.infinispan.commands.write.WriteCommand;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.context.impl.FlagBitSets;
+import org.infinispan.context.impl.TxInvocationContext;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.interceptors.DDAsyncInterceptor;
+import org.infinispan.stats.HotKeyTracker;
+
+/**
+ * Records a sample of the reads and writes executed on this node in the {@link HotKeyTracker}.
+ * <p>
+ * The interceptor records the keys before invoking the next interceptor and never waits for the result, so an
+ * operation that isn't sampled only costs a random number.
+ *
+ * @since 10.0
+ */
+public class HotKeyInterceptor extends DDAsyncInterceptor {
+   @Inject private HotKeyTracker hotKeyTracker;
+   @Inject private KeyPartitioner keyPartitioner;
+
+   private int sampleInterval;
+
+   @Start
+   public void start() {
+      sampleInterval = cacheConfiguration.jmxStatistics().hotKeysSampleInterval();
+   }
+
+   private boolean sampled() {
+      return ThreadLocalRandom.current().nextInt(sampleInterval) == 0;
+   }
+
+   private static boolean ignored(FlagAffectedCommand command) {
+      // State transfer only copies the entries, it doesn't make the keys any hotter
+      return command.hasAnyFlag(FlagBitSets.PUT_FOR_STATE_TRANSFER | FlagBitSets.PUT_FOR_X_SITE_STATE_TRANSFER);
+   }
+
+   private Object read(InvocationContext ctx, AbstractDataCommand command) {
+      if (sampled()) {
+         hotKeyTracker.recordRead(command.getKey(), command.getSegment());
+      }
+      return invokeNext(ctx, command);
+   }
+
+   private Object readMany(InvocationContext ctx, VisitableCommand command, Collection<?> keys) {
+      for (Object key : keys) {
+         if (sampled()) {
+            hotKeyTracker.recordRead(key, keyPartitioner.getSegment(key));
+         }
+      }
+      return invokeNext(ctx, command);
+   }
+
+   private Object write(InvocationContext ctx, AbstractDataCommand command) {
+      if (!ignored(command) && sampled()) {
+         hotKeyTracker.recordWrite(command.getKey(), command.getSegment());
+      }
+      return invokeNext(ctx, command);
+   }
+
+   private Object writeMany(InvocationContext ctx, WriteCommand command) {
+      recordWrites(command);
+      return invokeNext(ctx, command);
+   }
+
+   private void recordWrites(WriteCommand command) {
+      if (!ignored(command)) {
+         for (Object key : command.getAffectedKeys()) {
+            if (sampled()) {
+               hotKeyTracker.recordWrite(key, keyPartitioner.getSegment(key));
+            }
+         }
+      }
+   }
+
+   @Override
+   public Object visitGetKeyValueCommand(InvocationContext ctx, GetKeyValueCommand command) throws Throwable {
+      return read(ctx, command);
+   }
+
+   @Override
+   public Object visitGetCacheEntryCommand(InvocationContext ctx, GetCacheEntryCommand command) throws Throwable {
+      return read(ctx, command);
+   }
+
+   @Override
+   public Object visitReadOnlyKeyCommand(InvocationContext ctx, ReadOnlyKeyCommand command) throws Throwable {
+      return read(ctx, command);
+   }
+
+   @Override
+   public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) throws Throwable {
+      return readMany(ctx, command, command.getKeys());
+   }
+
+   @Override
+   public Object visitReadOnlyManyCommand(InvocationContext ctx, ReadOnlyManyCommand command) throws Throwable {
+      return readMany(ctx, command, command.getKeys());
+   }
+
+   @Override
+   public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand command) throws Throwable {
+      return write(ctx, command);
+   }
+
+   @Override
+   public Object visitRemoveCommand(InvocationContext ctx, RemoveCommand command) throws Throwable {
+      return write(ctx, command);
+   }
+
+   @Override
+   public Object visitReplaceCommand(InvocationContext ctx, ReplaceCommand command) throws Throwable {
+      return write(ctx, command);
+   }
+
+   @Override
+   public Object visitComputeIfAbsentCommand(InvocationContext ctx, ComputeIfAbsentCommand command) throws Throwable {
+      return write(ctx, command);
+   }
+
+   @Override
+   public Object visitComputeCommand(InvocationContext ctx, ComputeCommand command) throws Throwable {
+      return write(ctx, command);
+   }
+
+   @Override
+   public Object visitWriteOnlyKeyCommand(InvocationContext ctx, WriteOnlyKeyCommand command) throws Throwable {
+      return write(ctx, command);
+   }
+
+   @Override
+   public Object visitWriteOnlyKeyValueCommand(InvocationContext ctx, WriteOnlyKeyValueCommand command) throws Throwable {
+      return write(ctx, command);
+   }
+
+   @Override
+   public Object visitReadWriteKeyCommand(InvocationContext ctx, ReadWriteKeyCommand command) throws Throwable {
+      return write(ctx, command);
+   }
+
+   @Override
+   public Object visitReadWriteKeyValueCommand(InvocationContext ctx, ReadWriteKeyValueCommand command) throws Throwable {
+      return write(ctx, command);
+   }
+
+   @Override
+   public Object visitPrepareCommand(TxInvocationContext ctx, PrepareCommand command) throws Throwable {
+      // The originator already recorded the writes of the transaction when they were invoked
+      if (!ctx.isOriginLocal()) {
+         for (WriteCommand modification : command.getModifications()) {
+            recordWrites(modification);
+         }
+      }
+      return invokeNext(ctx, command);
+   }
+
+   @Override
+   public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) throws Throwable {
+      return writeMany(ctx, command);
+   }
+
+   @Override
+   public Object visitWriteOnlyManyCommand(InvocationContext ctx, WriteOnlyManyCommand command) throws Throwable {
+      return writeMany(ctx, command);
+   }
+
+   @Override
+   public Object visitWriteOnlyManyEntriesCommand(InvocationContext ctx, WriteOnlyManyEntriesCommand command) throws Throwable {
+      return writeMany(ctx, command);
+   }
+
+   @Override
+   public Object visitReadWriteManyCommand(InvocationContext ctx, ReadWriteManyCommand command) throws Throwable {
+      return writeMany(ctx, command);
+   }
+
+   @Override
+   public Object visitReadWriteManyEntriesCommand(InvocationContext ctx, ReadWriteManyEntriesCommand command) throws Throwable {
+      return writeMany(ctx, command);
+   }
+}
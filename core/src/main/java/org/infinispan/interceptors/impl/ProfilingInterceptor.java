@@ -0,0 +1,113 @@
+package org.infinispan.interceptors.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.AsyncInterceptor;
+import org.infinispan.interceptors.InvocationStage;
+import org.infinispan.stats.impl.LatencyHistogram;
+
+/**
+ * Wraps an interceptor of the chain while profiling is enabled and records the time spent in it.
+ * <p>
+ * The first wrapper entered by a thread decides whether the invocation is sampled, and the following wrappers keep
+ * that decision until the first one returns. While a sampled invocation runs,
+ * the wrappers of the following interceptors measure their invocations too, so each one can subtract the time spent
+ * in the next interceptors from its own time. The self time of an interceptor only covers the synchronous part of its
+ * invocation. When the interceptor returns an {@link InvocationStage} that is not done, the time until the stage
+ * completes is recorded as async wait time; that includes the wait of all the following interceptors.
+ * <p>
+ * Callbacks that continue an invocation on another thread start a new sampling decision there.
+ *
+ * @since 10.0
+ */
+final class ProfilingInterceptor implements AsyncInterceptor {
+   private static final ThreadLocal<Frame> FRAME = ThreadLocal.withInitial(Frame::new);
+
+   private final AsyncInterceptor delegate;
+   private final Profile profile;
+   private final TimeService timeService;
+   private final int sampleInterval;
+
+   ProfilingInterceptor(AsyncInterceptor delegate, Profile profile, TimeService timeService, int sampleInterval) {
+      this.delegate = delegate;
+      this.profile = profile;
+      this.timeService = timeService;
+      this.sampleInterval = sampleInterval;
+   }
+
+   @Override
+   public Object visitCommand(InvocationContext ctx, VisitableCommand command) throws Throwable {
+      Frame frame = FRAME.get();
+      if (frame.decided) {
+         return frame.sampling ? profile(frame, ctx, command) : delegate.visitCommand(ctx, command);
+      }
+      frame.decided = true;
+      frame.sampling = ThreadLocalRandom.current().nextInt(sampleInterval) == 0;
+      try {
+         return frame.sampling ? profile(frame, ctx, command) : delegate.visitCommand(ctx, command);
+      } finally {
+         frame.decided = false;
+         frame.sampling = false;
+         frame.nextNanos = 0;
+      }
+   }
+
+   private Object profile(Frame frame, InvocationContext ctx, VisitableCommand command) throws Throwable {
+      long previousNextNanos = frame.nextNanos;
+      frame.nextNanos = 0;
+      long start = timeService.time();
+      long end = start;
+      Object rv;
+      try {
+         rv = delegate.visitCommand(ctx, command);
+      } finally {
+         end = timeService.time();
+         long total = end - start;
+         profile.selfTimes.record(total - frame.nextNanos, TimeUnit.NANOSECONDS);
+         // For the previous interceptor, this invocation is time spent in the next interceptors
+         frame.nextNanos = previousNextNanos + total;
+      }
+      if (rv instanceof InvocationStage && !((InvocationStage) rv).isDone()) {
+         long returned = end;
+         return ((InvocationStage) rv).andFinally(ctx, command, (rCtx, rCommand, rv1, t) ->
+               profile.asyncWaitTimes.record(timeService.timeDuration(returned, TimeUnit.NANOSECONDS),
+                     TimeUnit.NANOSECONDS));
+      }
+      return rv;
+   }
+
+   @Override
+   public void setNextInterceptor(AsyncInterceptor nextInterceptor) {
+      delegate.setNextInterceptor(nextInterceptor);
+   }
+
+   @Override
+   public String toString() {
+      return "ProfilingInterceptor{" + delegate + "}";
+   }
+
+   /**
+    * The times recorded for an interceptor, kept while the chain is rebuilt.
+    */
+   static final class Profile {
+      final LatencyHistogram selfTimes = new LatencyHistogram();
+      final LatencyHistogram asyncWaitTimes = new LatencyHistogram();
+
+      void reset() {
+         selfTimes.reset();
+         asyncWaitTimes.reset();
+      }
+   }
+
+   private static final class Frame {
+      // Whether the first wrapper of the current invocation already decided to sample it or not
+      boolean decided;
+      boolean sampling;
+      // Time spent in the next interceptors by the current invocation
+      long nextNanos;
+   }
+}
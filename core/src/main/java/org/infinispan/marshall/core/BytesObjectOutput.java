@@ -12,6 +12,8 @@
 final class BytesObjectOutput implements ObjectOutput {
 
    final GlobalMarshaller marshaller;
+   // Non-null if the buffer is borrowed from a pool
+   private final MarshallingBufferPool pool;
 
    byte bytes[];
    int pos;
@@ -19,6 +21,13 @@ final class BytesObjectOutput implements ObjectOutput {
    BytesObjectOutput(int size, GlobalMarshaller marshaller) {
       this.bytes = new byte[size];
       this.marshaller = marshaller;
+      this.pool = null;
+   }
+
+   BytesObjectOutput(MarshallingBufferPool pool, int size, GlobalMarshaller marshaller) {
+      this.bytes = pool.acquire(size);
+      this.marshaller = marshaller;
+      this.pool = pool;
    }
 
    @Override
@@ -237,8 +246,12 @@ public void close() {
    private int ensureCapacity(int len) {
       int newcount = pos + len;
       if (newcount > bytes.length) {
-         byte newbuf[] = new byte[getNewBufferSize(bytes.length, newcount)];
+         int newSize = getNewBufferSize(bytes.length, newcount);
+         byte newbuf[] = pool == null ? new byte[newSize] : pool.acquire(newSize);
          System.arraycopy(bytes, 0, newbuf, 0, pos);
+         if (pool != null) {
+            pool.release(bytes);
+         }
          bytes = newbuf;
       }
       return newcount;
@@ -277,4 +290,14 @@ ByteBuffer toByteBuffer() {
       return new ByteBufferImpl(bytes, 0, pos);
    }
 
+   /**
+    * Returns the buffer to the pool, if it was borrowed from one. This output must not be used afterwards.
+    */
+   void releaseBuffer() {
+      if (pool != null) {
+         pool.release(bytes);
+         bytes = null;
+      }
+   }
+
 }
@@ -95,6 +95,25 @@ public class GlobalMarshaller implements StreamingMarshaller {
 
 
    private final MarshallableTypeHints marshallableTypeHints = new MarshallableTypeHints();
+   private final MarshallingBufferPool bufferPool = new MarshallingBufferPool();
+   // The externalizers of @SerializeWith and @SerializeFunctionWith classes are stateless, so they are looked up and
+   // instantiated once per class instead of reflectively for every marshalled object
+   private final ClassValue<Externalizer<?>> annotatedExternalizers = new ClassValue<Externalizer<?>>() {
+      @Override
+      protected Externalizer<?> computeValue(Class<?> type) {
+         return createAnnotatedExternalizer(type);
+      }
+   };
+   private final ClassValue<Externalizer<?>> externalizerInstances = new ClassValue<Externalizer<?>>() {
+      @Override
+      protected Externalizer<?> computeValue(Class<?> type) {
+         try {
+            return (Externalizer<?>) type.newInstance();
+         } catch (Exception e) {
+            throw new CacheException("Error instantiating class: " + type, e);
+         }
+      }
+   };
 
    @Inject private GlobalComponentRegistry gcr;
    @Inject private RemoteCommandsFactory cmdFactory;
@@ -163,8 +182,12 @@ public void stopDefaultExternalMarshaller() {
    @Override
    public byte[] objectToByteBuffer(Object obj) throws IOException, InterruptedException {
       try {
-         BytesObjectOutput out = writeObjectOutput(obj);
-         return out.toBytes(); // trim out unused bytes
+         BytesObjectOutput out = writePooledObjectOutput(obj);
+         try {
+            return out.toBytes(); // trim out unused bytes
+         } finally {
+            out.releaseBuffer();
+         }
       } catch (java.io.NotSerializableException nse) {
          if (log.isDebugEnabled()) log.debug("Object is not serializable", nse);
          throw new NotSerializableException(nse.getMessage(), nse.getCause());
@@ -184,6 +207,19 @@ private BytesObjectOutput writeObjectOutput(Object obj, int estimatedSize) throw
       return out;
    }
 
+   private BytesObjectOutput writePooledObjectOutput(Object obj) throws IOException {
+      BufferSizePredictor sizePredictor = marshallableTypeHints.getBufferSizePredictor(obj);
+      BytesObjectOutput out = new BytesObjectOutput(bufferPool, sizePredictor.nextSize(obj), this);
+      try {
+         writeNullableObject(obj, out);
+      } catch (Throwable t) {
+         out.releaseBuffer();
+         throw t;
+      }
+      sizePredictor.recordSize(out.pos);
+      return out;
+   }
+
    @Override
    public Object objectFromByteBuffer(byte[] buf) throws IOException, ClassNotFoundException {
       BytesObjectInput in = BytesObjectInput.from(buf, this);
@@ -259,7 +295,7 @@ public boolean isMarshallable(Object o) throws Exception {
          if (isMarshallableCandidate(o)) {
             boolean isMarshallable = true;
             try {
-               objectToBuffer(o);
+               writePooledObjectOutput(o).releaseBuffer();
             } catch (Exception e) {
                isMarshallable = false;
                throw e;
@@ -666,6 +702,10 @@ private void writePrimitive(Object obj, BytesObjectOutput out, int id) throws IO
    }
 
    private <T> Externalizer<T> findAnnotatedExternalizer(Class<?> clazz) {
+      return (Externalizer<T>) annotatedExternalizers.get(clazz);
+   }
+
+   private <T> Externalizer<T> createAnnotatedExternalizer(Class<?> clazz) {
       try {
          SerializeWith serialAnn = clazz.getAnnotation(SerializeWith.class);
          if (serialAnn != null) {
@@ -711,12 +751,8 @@ private Object readWithExternalizer(int id, IdToExternalizerMap reverseMap, Byte
    private Object readAnnotated(BytesObjectInput in) throws IOException, ClassNotFoundException {
       Class<? extends Externalizer> clazz =
             (Class<? extends Externalizer>) in.readObject();
-      try {
-         Externalizer ext = clazz.newInstance();
-         return ext.readObject(in);
-      } catch (Exception e) {
-         throw new CacheException("Error instantiating class: " + clazz, e);
-      }
+      Externalizer ext = externalizerInstances.get(clazz);
+      return ext.readObject(in);
    }
 
    private Object readArray(BytesObjectInput in) throws IOException, ClassNotFoundException {
@@ -825,11 +861,7 @@ private Externalizer<?> getArrayElementExternalizer(int type, AdvancedExternaliz
          case ID_EXTERNAL:
             return componentExt;
          case ID_ANNOTATED:
-            try {
-               return (Externalizer<?>) extClazz.newInstance();
-            } catch (Exception e) {
-               throw new CacheException("Error instantiating class: " + extClazz, e);
-            }
+            return externalizerInstances.get(extClazz);
          case ID_UNKNOWN:
             return null;
          default:
@@ -846,11 +878,7 @@ private Externalizer<?> readExternalizer(BytesObjectInput in, int type) throws C
             return getExternalizer(reverseExternalExts, in.readInt());
          case ID_ANNOTATED:
             extClazz = (Class<?>) in.readObject();
-            try {
-               return (Externalizer<?>) extClazz.newInstance();
-            } catch (Exception e) {
-               throw new CacheException("Error instantiating class: " + extClazz, e);
-            }
+            return externalizerInstances.get(extClazz);
          case ID_UNKNOWN:
          case ID_PRIMITIVE:
             return null;
@@ -235,7 +235,7 @@ static ClassToExternalizerMap load(
       addInternalExternalizer(new ScatteredConsistentHashFactory.Externalizer(), exts);
       addInternalExternalizer(new SerializableXid.XidExternalizer(), exts);
       addInternalExternalizer(new SimpleClusteredVersion.Externalizer(), exts);
-      addInternalExternalizer(new StateChunk.Externalizer(), exts);
+      addInternalExternalizer(new StateChunk.Externalizer(marshaller), exts);
       addInternalExternalizer(new StatsEnvelope.Externalizer(), exts);
       addInternalExternalizer(new MarshalledValueImpl.Externalizer(), exts);
       addInternalExternalizer(new StreamMarshalling.StreamMarshallingExternalizer(), exts);
@@ -0,0 +1,70 @@
+package org.infinispan.marshall.core;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded pool of the byte arrays {@link BytesObjectOutput} marshalls into.
+ * <p>
+ * Arrays are pooled in power of two size classes from {@link #MIN_SIZE} to {@link #MAX_SIZE} bytes, each class keeping
+ * at most {@link #SLOTS} arrays. Acquiring and releasing never allocate or block: a thread scans the slots of a class
+ * starting from a position derived from its id, and allocates a new array (or drops the released one) when it finds
+ * none (or no free slot).
+ *
+ * @since 10.0
+ */
+final class MarshallingBufferPool {
+   static final int MIN_SIZE = 256;
+   static final int MAX_SIZE = 64 * 1024;
+   static final int SLOTS = 16;
+
+   private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_SIZE);
+   private static final int NUM_CLASSES = Integer.numberOfTrailingZeros(MAX_SIZE) - MIN_SHIFT + 1;
+
+   private final AtomicReferenceArray<byte[]> slots = new AtomicReferenceArray<>(NUM_CLASSES * SLOTS);
+
+   /**
+    * Returns an array of at least {@code minSize} bytes, with undefined content.
+    */
+   byte[] acquire(int minSize) {
+      if (minSize > MAX_SIZE)
+         return new byte[minSize];
+      int sizeClass = sizeClass(minSize);
+      int base = sizeClass * SLOTS;
+      int start = startSlot();
+      for (int i = 0; i < SLOTS; i++) {
+         int slot = base + ((start + i) & (SLOTS - 1));
+         if (slots.get(slot) != null) {
+            byte[] bytes = slots.getAndSet(slot, null);
+            if (bytes != null)
+               return bytes;
+         }
+      }
+      return new byte[MIN_SIZE << sizeClass];
+   }
+
+   /**
+    * Returns an array obtained from {@link #acquire(int)} to the pool. The caller must not use it afterwards.
+    */
+   void release(byte[] bytes) {
+      int length = bytes.length;
+      if (length < MIN_SIZE || length > MAX_SIZE || Integer.bitCount(length) != 1)
+         return;
+      int base = sizeClass(length) * SLOTS;
+      int start = startSlot();
+      for (int i = 0; i < SLOTS; i++) {
+         int slot = base + ((start + i) & (SLOTS - 1));
+         if (slots.get(slot) == null && slots.compareAndSet(slot, null, bytes))
+            return;
+      }
+   }
+
+   private static int sizeClass(int size) {
+      if (size <= MIN_SIZE)
+         return 0;
+      return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+   }
+
+   private static int startSlot() {
+      return (int) Thread.currentThread().getId();
+   }
+}
@@ -15,7 +15,9 @@
 import org.infinispan.commands.remote.RenewBiasCommand;
 import org.infinispan.commands.remote.RevokeBiasCommand;
 import org.infinispan.commands.remote.SingleRpcCommand;
+import org.infinispan.commands.remote.expiration.RemoveExpiredManyCommand;
 import org.infinispan.commands.remote.expiration.RetrieveLastAccessCommand;
+import org.infinispan.commands.remote.expiration.RetrieveLastAccessManyCommand;
 import org.infinispan.commands.remote.expiration.UpdateLastAccessCommand;
 import org.infinispan.commands.remote.recovery.CompleteTransactionCommand;
 import org.infinispan.commands.remote.recovery.GetInDoubtTransactionsCommand;
@@ -98,7 +100,8 @@ public Set<Class<? extends CacheRpcCommand>> getTypeClasses() {
                StreamIteratorNextCommand.class, StreamIteratorCloseCommand.class,
                RevokeBiasCommand.class, RenewBiasCommand.class, RetrieveLastAccessCommand.class,
                UpdateLastAccessCommand.class, PublisherRequestCommand.class,
-               MultiClusterEventCommand.class);
+               MultiClusterEventCommand.class, RetrieveLastAccessManyCommand.class,
+               RemoveExpiredManyCommand.class);
       // Only interested in cache specific replicable commands
       coreCommands.addAll(gcr.getModuleProperties().moduleCacheRpcCommands());
       return coreCommands;
@@ -124,8 +127,8 @@ private void marshallParameters(CacheRpcCommand cmd, ObjectOutput oo) throws IOE
    @Override
    public CacheRpcCommand readObject(ObjectInput input) throws IOException, ClassNotFoundException {
       //header
-      byte type = input.readByte();
-      byte methodId = (byte) input.readShort();
+      byte type = ReplicableCommandExternalizer.readCommandType(input);
+      byte methodId = input.readByte();
       ByteString cacheName = ByteString.readObject(input);
 
       //create the object input
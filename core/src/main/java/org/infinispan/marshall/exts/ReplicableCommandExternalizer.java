@@ -35,6 +35,7 @@
 import org.infinispan.commands.write.RemoveCommand;
 import org.infinispan.commands.write.RemoveExpiredCommand;
 import org.infinispan.commands.write.ReplaceCommand;
+import org.infinispan.commons.io.UnsignedNumeric;
 import org.infinispan.commons.marshall.AbstractExternalizer;
 import org.infinispan.commons.util.Util;
 import org.infinispan.factories.GlobalComponentRegistry;
@@ -44,6 +45,8 @@
 import org.infinispan.topology.CacheTopologyControlCommand;
 import org.infinispan.topology.HeartBeatCommand;
 import org.infinispan.util.ByteString;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
 
 /**
  * ReplicableCommandExternalizer.
@@ -52,8 +55,19 @@
  * @since 4.0
  */
 public class ReplicableCommandExternalizer extends AbstractExternalizer<ReplicableCommand> {
+   private static final Log log = LogFactory.getLog(ReplicableCommandExternalizer.class);
+
+   /**
+    * Version of the command header and parameter encoding, stored in the header so that an incompatible node fails
+    * with a clear error instead of misreading the parameters.
+    */
+   static final int ENCODING_VERSION = 1;
+   private static final int MODULE_COMMAND_FLAG = 1;
+
    private final RemoteCommandsFactory cmdFactory;
    private final GlobalComponentRegistry globalComponentRegistry;
+   // Resolved once, looking up the module commands on every write was one of the costs of the header
+   private volatile ClassValue<Boolean> moduleCommandClasses;
 
    public ReplicableCommandExternalizer(RemoteCommandsFactory cmdFactory, GlobalComponentRegistry globalComponentRegistry) {
       this.cmdFactory = cmdFactory;
@@ -69,21 +83,50 @@ public void writeObject(ObjectOutput output, ReplicableCommand command) throws I
    protected void writeCommandParameters(ObjectOutput output, ReplicableCommand command) throws IOException {
       command.writeTo(output);
       if (command instanceof TopologyAffectedCommand) {
-         output.writeInt(((TopologyAffectedCommand) command).getTopologyId());
+         // Topology ids are small, shift them so that -1 (no topology) also takes a single byte
+         UnsignedNumeric.writeUnsignedInt(output, ((TopologyAffectedCommand) command).getTopologyId() + 1);
       }
    }
 
+   /**
+    * Writes the 2 bytes header: the encoding version and a flag that separates the commands defined outside of the
+    * core module from the core ones, followed by the command id.
+    */
    protected void writeCommandHeader(ObjectOutput output, ReplicableCommand command) throws IOException {
-      // To decide whether it's a core or user defined command, load them all and check
-      Collection<Class<? extends ReplicableCommand>> moduleCommands = getModuleCommands();
-      // Write an indexer to separate commands defined external to the
-      // infinispan core module from the ones defined via module commands
-      if (moduleCommands != null && moduleCommands.contains(command.getClass()))
-         output.writeByte(1);
-      else
-         output.writeByte(0);
-
-      output.writeShort(command.getCommandId());
+      int header = ENCODING_VERSION << 1;
+      if (isModuleCommand(command.getClass()))
+         header |= MODULE_COMMAND_FLAG;
+      output.writeByte(header);
+      output.writeByte(command.getCommandId());
+   }
+
+   /**
+    * Reads the header written by {@link #writeCommandHeader(ObjectOutput, ReplicableCommand)}.
+    *
+    * @return the command type, {@code 1} for module commands and {@code 0} for core commands
+    */
+   static byte readCommandType(ObjectInput input) throws IOException {
+      int header = input.readUnsignedByte();
+      int version = header >>> 1;
+      if (version != ENCODING_VERSION)
+         throw log.unsupportedCommandEncodingVersion(version, ENCODING_VERSION);
+      return (byte) (header & MODULE_COMMAND_FLAG);
+   }
+
+   private boolean isModuleCommand(Class<?> commandClass) {
+      ClassValue<Boolean> classes = moduleCommandClasses;
+      if (classes == null) {
+         // To decide whether it's a core or user defined command, load them all and check
+         Collection<Class<? extends ReplicableCommand>> moduleCommands = getModuleCommands();
+         classes = new ClassValue<Boolean>() {
+            @Override
+            protected Boolean computeValue(Class<?> type) {
+               return moduleCommands != null && moduleCommands.contains(type);
+            }
+         };
+         moduleCommandClasses = classes;
+      }
+      return classes.get(commandClass);
    }
 
    @Override
@@ -94,15 +137,15 @@ public ReplicableCommand readObject(ObjectInput input) throws IOException, Class
    }
 
    private ReplicableCommand readCommandHeader(ObjectInput input) throws IOException {
-      byte type = input.readByte();
-      short methodId = input.readShort();
-      return cmdFactory.fromStream((byte) methodId, type);
+      byte type = readCommandType(input);
+      byte methodId = input.readByte();
+      return cmdFactory.fromStream(methodId, type);
    }
 
    void readCommandParameters(ObjectInput input, ReplicableCommand command) throws IOException, ClassNotFoundException {
       command.readFrom(input);
       if (command instanceof TopologyAffectedCommand) {
-         ((TopologyAffectedCommand) command).setTopologyId(input.readInt());
+         ((TopologyAffectedCommand) command).setTopologyId(UnsignedNumeric.readUnsignedInt(input) - 1);
       }
    }
 
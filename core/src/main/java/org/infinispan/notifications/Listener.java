@@ -69,6 +69,12 @@
  * caller or network thread.  The separate thread for async listeners is taken from a pool, which can be
  * configured using {@link GlobalConfiguration#listenerThreadPool()}. The
  * default values can be found in the {@link org.infinispan.factories.KnownComponentNames} class.
+ * <p>Each async listener has its own queue of pending events, bounded by {@link Listener#queueSize()}. The events
+ * of a listener are delivered in order and by at most one notification thread at a time, so a slow listener does not
+ * delay the events of the other listeners. What happens when the queue is full is defined by
+ * {@link Listener#overflowPolicy()}. A method of an async listener can also accept a {@link java.util.List} of events
+ * instead of a single event, in which case it receives the pending events in batches of up to
+ * {@link Listener#batchSize()} events.
  *
  * <h4>Clustered Listeners</h4>
  * Listeners by default are classified as a local listener. That is that they only receive events that are generated
@@ -357,6 +363,32 @@
     */
    Observation observation() default Observation.BOTH;
 
+   /**
+    * The maximum number of events waiting to be delivered to an async listener. Ignored if the listener is sync.
+    * The default, {@code 0}, means the queue is unbounded and no event is ever discarded.
+    * @return the size of the event queue of the listener, or {@code 0} if the queue is unbounded
+    * @see OverflowPolicy
+    * @since 10.0
+    */
+   int queueSize() default 0;
+
+   /**
+    * The maximum number of events delivered at once to an async listener method that accepts a
+    * {@link java.util.List} of events. Ignored if the listener is sync.
+    * @return the maximum size of a batch of events
+    * @since 10.0
+    */
+   int batchSize() default 100;
+
+   /**
+    * What happens to a new event when the event queue of an async listener is full. Ignored if the listener is sync
+    * or its {@link #queueSize()} is unbounded.
+    * @return the overflow policy of the listener
+    * @see OverflowPolicy
+    * @since 10.0
+    */
+   OverflowPolicy overflowPolicy() default OverflowPolicy.BLOCK;
+
 
    /**
     * Enumeration that defines when a listener event can be observed. A listener can receive an event before and/or
@@ -396,4 +428,26 @@ public boolean shouldInvoke(boolean pre) {
 
       public abstract boolean shouldInvoke(boolean pre);
    }
+
+   /**
+    * Enumeration that defines what happens when an event is raised and the event queue of an async listener is full.
+    */
+   enum OverflowPolicy {
+      /**
+       * The thread raising the event waits until the listener has consumed some of the queued events. The wait is
+       * bounded by the lock acquisition timeout of the cache, or 10 seconds for cache manager listeners, after which
+       * the operation raising the event fails with a {@link org.infinispan.util.concurrent.TimeoutException}. No
+       * event is discarded.
+       */
+      BLOCK,
+      /**
+       * The oldest queued event is discarded to make room for the new event
+       */
+      DROP_OLDEST,
+      /**
+       * The new event replaces a queued event for the same method, key and observation, if there is one, otherwise
+       * the thread raising the event waits as with {@link #BLOCK}. Only applies to cache entry events.
+       */
+      COALESCE_PER_KEY
+   }
 }
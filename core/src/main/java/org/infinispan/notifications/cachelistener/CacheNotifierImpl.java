@@ -67,6 +67,7 @@
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.interceptors.AsyncInterceptorChain;
 import org.infinispan.interceptors.locking.ClusteringDependentLogic;
+import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.manager.ClusterExecutor;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.notifications.Listener;
@@ -146,6 +147,7 @@
  * @author anistor@redhat.com
  * @since 4.0
  */
+@MBean(objectName = "CacheNotifier", description = "Delivers the cache events to the registered listeners")
 public final class CacheNotifierImpl<K, V> extends AbstractListenerImpl<Event<K, V>, CacheEntryListenerInvocation<K, V>>
       implements ClusterCacheNotifier<K, V> {
 
@@ -276,6 +278,11 @@ protected Log getLog() {
       return log;
    }
 
+   @Override
+   protected long getEventQueueBlockTimeout() {
+      return config.locking().lockAcquisitionTimeout();
+   }
+
 
    @Override
    protected Map<Class<? extends Annotation>, Class<?>> getAllowedMethodAnnotations(Listener l) {
@@ -1614,7 +1621,7 @@ public CacheInvocationBuilder setFilterAnnotations(Set<Class<? extends Annotatio
 
       @Override
       public CacheEntryListenerInvocation<K, V> build() {
-         ListenerInvocation<Event<K, V>> invocation = new ListenerInvocationImpl(target, method, sync, classLoader, subject);
+         ListenerInvocation<Event<K, V>> invocation = new ListenerInvocationImpl(target, method, sync, classLoader, subject, eventQueue);
 
          wireDependencies(filter, converter);
 
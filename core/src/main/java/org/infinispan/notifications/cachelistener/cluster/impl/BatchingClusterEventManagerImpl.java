@@ -1,45 +1,110 @@
 package org.infinispan.notifications.cachelistener.cluster.impl;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
 import org.infinispan.factories.impl.ComponentRef;
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.notifications.cachelistener.cluster.ClusterEvent;
 import org.infinispan.notifications.cachelistener.cluster.ClusterEventManager;
 import org.infinispan.notifications.cachelistener.cluster.MultiClusterEventCommand;
+import org.infinispan.notifications.cachelistener.event.Event;
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
 import org.infinispan.remoting.responses.ValidResponse;
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.remoting.rpc.RpcOptions;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.remoting.transport.impl.SingleResponseCollector;
+import org.infinispan.remoting.transport.jgroups.SuspectException;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.CompletionStages;
 import org.infinispan.util.concurrent.AggregateCompletionStage;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
 
+/**
+ * Sends the events of the cluster listeners to the nodes that registered them.
+ * <p>
+ * The events raised by a command are gathered per thread and sent once the command completes, one RPC per target
+ * node. If {@link org.infinispan.configuration.cache.ClusteringConfiguration#clusterEventBatchDelay()} is greater
+ * than 0, the events for async cluster listeners are further aggregated per target node, across commands and
+ * threads, and sent when the batch reaches
+ * {@link org.infinispan.configuration.cache.ClusteringConfiguration#clusterEventBatchSize()} events or when the
+ * delay expires, whichever comes first.
+ */
+@MBean(objectName = "ClusterEventManager", description = "Sends the events of cluster listeners to the nodes that registered them")
 public class BatchingClusterEventManagerImpl<K, V> implements ClusterEventManager<K, V> {
+   private static final Log log = LogFactory.getLog(BatchingClusterEventManagerImpl.class);
+   private static final boolean trace = log.isTraceEnabled();
+
    @Inject private EmbeddedCacheManager cacheManager;
    @Inject private Configuration configuration;
    @Inject private RpcManager rpcManager;
    @Inject private ComponentRef<CommandsFactory> commandsFactory;
+   @Inject private TimeService timeService;
+   @Inject @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR)
+   private ScheduledExecutorService timeoutExecutor;
 
    private long timeout;
+   private long batchDelay;
+   private int batchSize;
+   private boolean coalescing;
 
    private final ThreadLocal<EventContext<K, V>> localContext = new ThreadLocal<>();
+   private final ConcurrentMap<Address, TargetBatch> targetBatches = new ConcurrentHashMap<>();
+
+   private final LongAdder sentBatches = new LongAdder();
+   private final LongAdder sentEvents = new LongAdder();
+   private final LongAdder coalescedEvents = new LongAdder();
+   private final LongAdder failedEvents = new LongAdder();
+   private final LongAdder totalDeliveryLag = new LongAdder();
+   private final AtomicLong maxDeliveryLag = new AtomicLong();
 
    @Start
    public void start() {
       timeout = configuration.clustering().remoteTimeout();
+      batchDelay = configuration.clustering().clusterEventBatchDelay();
+      batchSize = configuration.clustering().clusterEventBatchSize();
+      coalescing = configuration.clustering().clusterEventCoalescing();
+   }
+
+   @Stop
+   public void stop() {
+      for (TargetBatch batch : targetBatches.values()) {
+         batch.flush();
+      }
+      targetBatches.clear();
    }
 
    @Override
@@ -67,6 +132,86 @@ public void dropEvents() {
       localContext.remove();
    }
 
+   private void addToBatch(Address target, Map<UUID, Collection<ClusterEvent<K, V>>> events) {
+      TargetBatch batch = targetBatches.computeIfAbsent(target, TargetBatch::new);
+      batch.add(events);
+   }
+
+   private CompletionStage<ValidResponse> sendBatch(Address target, Map<UUID, Collection<ClusterEvent<K, V>>> events,
+                                                    int eventCount, long firstEventTime) {
+      MultiClusterEventCommand<K, V> command = commandsFactory.running().buildMultiClusterEventCommand(events);
+      CompletionStage<ValidResponse> stage = rpcManager.invokeCommand(target, command,
+            SingleResponseCollector.validOnly(), new RpcOptions(DeliverOrder.NONE, timeout, TimeUnit.MILLISECONDS));
+      stage.whenComplete((response, throwable) -> {
+         if (throwable != null) {
+            failedEvents.add(eventCount);
+            if (CompletableFutures.extractException(throwable) instanceof SuspectException) {
+               // The node that registered the listeners left, and its listeners with it
+               if (trace) log.tracef(throwable, "Failed to send a batch of %d cluster events to %s", eventCount, target);
+            } else {
+               log.failedToSendClusterEvents(eventCount, target, throwable);
+            }
+            return;
+         }
+         long lag = timeService.timeDuration(firstEventTime, TimeUnit.MILLISECONDS);
+         sentBatches.increment();
+         sentEvents.add(eventCount);
+         totalDeliveryLag.add(lag);
+         maxDeliveryLag.accumulateAndGet(lag, Math::max);
+      });
+      return stage;
+   }
+
+   @ManagedAttribute(description = "Number of events for async cluster listeners waiting to be sent", displayName = "Pending cluster events", displayType = DisplayType.SUMMARY)
+   public int getPendingEvents() {
+      int pending = 0;
+      for (TargetBatch batch : targetBatches.values()) {
+         pending += batch.size();
+      }
+      return pending;
+   }
+
+   @ManagedAttribute(description = "Number of batches of events for async cluster listeners sent", displayName = "Sent cluster event batches", measurementType = MeasurementType.TRENDSUP, displayType = DisplayType.SUMMARY)
+   public long getSentEventBatches() {
+      return sentBatches.sum();
+   }
+
+   @ManagedAttribute(description = "Number of events for async cluster listeners sent in batches", displayName = "Sent batched cluster events", measurementType = MeasurementType.TRENDSUP, displayType = DisplayType.SUMMARY)
+   public long getSentEvents() {
+      return sentEvents.sum();
+   }
+
+   @ManagedAttribute(description = "Number of events for async cluster listeners replaced by a later event for the same key", displayName = "Coalesced cluster events", measurementType = MeasurementType.TRENDSUP, displayType = DisplayType.SUMMARY)
+   public long getCoalescedEvents() {
+      return coalescedEvents.sum();
+   }
+
+   @ManagedAttribute(description = "Number of events for async cluster listeners that could not be sent", displayName = "Failed cluster events", measurementType = MeasurementType.TRENDSUP, displayType = DisplayType.SUMMARY)
+   public long getFailedEvents() {
+      return failedEvents.sum();
+   }
+
+   @ManagedAttribute(description = "Average time between the first event of a batch being raised and the batch being received, in milliseconds", displayName = "Average cluster event delivery lag", units = Units.MILLISECONDS, displayType = DisplayType.SUMMARY)
+   public long getAverageDeliveryLag() {
+      long batches = sentBatches.sum();
+      return batches == 0 ? 0 : totalDeliveryLag.sum() / batches;
+   }
+
+   @ManagedAttribute(description = "Maximum time between the first event of a batch being raised and the batch being received, in milliseconds", displayName = "Maximum cluster event delivery lag", units = Units.MILLISECONDS, displayType = DisplayType.SUMMARY)
+   public long getMaxDeliveryLag() {
+      return maxDeliveryLag.get();
+   }
+
+   @ManagedOperation(description = "Resets statistics gathered by this component", displayName = "Reset statistics")
+   public void resetStatistics() {
+      sentBatches.reset();
+      sentEvents.reset();
+      coalescedEvents.reset();
+      failedEvents.reset();
+      totalDeliveryLag.reset();
+      maxDeliveryLag.set(0);
+   }
+
    private interface EventContext<K, V> {
       void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync);
 
@@ -102,6 +247,11 @@ public CompletionStage<Void> sendToTargets() {
          CommandsFactory factory = commandsFactory.running();
          for (Entry<Address, TargetEvents<K, V>> entry : targets.entrySet()) {
             TargetEvents<K, V> multiEvents = entry.getValue();
+            if (!multiEvents.sync && batchDelay > 0) {
+               // Nobody waits for these events, so they can be sent along with the events of other commands
+               addToBatch(entry.getKey(), (Map) multiEvents.events);
+               continue;
+            }
             MultiClusterEventCommand<K, V> callable = factory.buildMultiClusterEventCommand(multiEvents.events);
             CompletionStage<ValidResponse> stage = rpcManager.invokeCommand(entry.getKey(), callable, SingleResponseCollector.validOnly(),
                   new RpcOptions(DeliverOrder.NONE, timeout, TimeUnit.MILLISECONDS));
@@ -117,4 +267,174 @@ public CompletionStage<Void> sendToTargets() {
       final Map<UUID, Collection<ClusterEvent<K, V>>> events = new HashMap<>();
       boolean sync = false;
    }
+
+   /**
+    * The events for async cluster listeners waiting to be sent to a node.
+    * <p>
+    * Only one batch per node is in flight at a time: the next batch is sent once the previous one has been
+    * acknowledged, so the node receives the events in the order they were raised.
+    */
+   private class TargetBatch {
+      private final Address target;
+      // All the fields below are guarded by this
+      private Map<UUID, ListenerEvents<K, V>> events = new HashMap<>();
+      private int size;
+      private long firstEventTime;
+      private ScheduledFuture<?> flushTask;
+      private final Queue<ReadyBatch<K, V>> ready = new ArrayDeque<>();
+      private boolean sending;
+
+      TargetBatch(Address target) {
+         this.target = target;
+      }
+
+      void add(Map<UUID, Collection<ClusterEvent<K, V>>> newEvents) {
+         boolean full;
+         synchronized (this) {
+            if (size == 0) {
+               firstEventTime = timeService.time();
+               flushTask = timeoutExecutor.schedule(this::flush, batchDelay, TimeUnit.MILLISECONDS);
+            }
+            for (Entry<UUID, Collection<ClusterEvent<K, V>>> entry : newEvents.entrySet()) {
+               ListenerEvents<K, V> listenerEvents = events.computeIfAbsent(entry.getKey(), k -> new ListenerEvents<>(coalescing));
+               for (ClusterEvent<K, V> event : entry.getValue()) {
+                  if (listenerEvents.add(event)) {
+                     size++;
+                  } else {
+                     coalescedEvents.increment();
+                  }
+               }
+            }
+            full = size >= batchSize;
+         }
+         if (full) {
+            flush();
+         }
+      }
+
+      void flush() {
+         synchronized (this) {
+            if (size == 0)
+               return;
+
+            Map<UUID, Collection<ClusterEvent<K, V>>> toSend = new HashMap<>(events.size());
+            for (Entry<UUID, ListenerEvents<K, V>> entry : events.entrySet()) {
+               toSend.put(entry.getKey(), entry.getValue().events());
+            }
+            ready.add(new ReadyBatch<>(toSend, size, firstEventTime));
+            events = new HashMap<>();
+            size = 0;
+            if (flushTask != null) {
+               flushTask.cancel(false);
+               flushTask = null;
+            }
+            if (sending)
+               return;
+
+            sending = true;
+         }
+         sendNext();
+      }
+
+      private void sendNext() {
+         ReadyBatch<K, V> batch;
+         synchronized (this) {
+            batch = ready.poll();
+            if (batch == null) {
+               sending = false;
+               return;
+            }
+         }
+         CompletionStage<ValidResponse> stage;
+         try {
+            stage = sendBatch(target, batch.events, batch.eventCount, batch.firstEventTime);
+         } catch (Throwable t) {
+            failedEvents.add(batch.eventCount);
+            log.failedToSendClusterEvents(batch.eventCount, target, t);
+            stage = CompletableFutures.completedNull();
+         }
+         // Failures are already logged by sendBatch, and they must not stop the following batches
+         stage.whenComplete((response, throwable) -> sendNext());
+      }
+
+      synchronized int size() {
+         int pending = size;
+         for (ReadyBatch<K, V> batch : ready) {
+            pending += batch.eventCount;
+         }
+         return pending;
+      }
+   }
+
+   private static class ReadyBatch<K, V> {
+      final Map<UUID, Collection<ClusterEvent<K, V>>> events;
+      final int eventCount;
+      final long firstEventTime;
+
+      ReadyBatch(Map<UUID, Collection<ClusterEvent<K, V>>> events, int eventCount, long firstEventTime) {
+         this.events = events;
+         this.eventCount = eventCount;
+         this.firstEventTime = firstEventTime;
+      }
+   }
+
+   /**
+    * The events for a single cluster listener in a {@link TargetBatch}.
+    */
+   private static class ListenerEvents<K, V> {
+      private final List<ClusterEvent<K, V>> events;
+      private final Map<CoalesceKey, ClusterEvent<K, V>> eventsByKey;
+
+      ListenerEvents(boolean coalescing) {
+         if (coalescing) {
+            events = null;
+            eventsByKey = new LinkedHashMap<>();
+         } else {
+            events = new ArrayList<>();
+            eventsByKey = null;
+         }
+      }
+
+      /**
+       * @return {@code false} if the event replaced a previous event of the same type for the same key.
+       */
+      boolean add(ClusterEvent<K, V> event) {
+         if (eventsByKey == null) {
+            events.add(event);
+            return true;
+         }
+         // Remove the previous event first, so the events stay in the order of their latest update
+         CoalesceKey key = new CoalesceKey(event.getKey(), event.getType());
+         boolean replaced = eventsByKey.remove(key) != null;
+         eventsByKey.put(key, event);
+         return !replaced;
+      }
+
+      Collection<ClusterEvent<K, V>> events() {
+         return eventsByKey == null ? events : new ArrayList<>(eventsByKey.values());
+      }
+   }
+
+   private static class CoalesceKey {
+      final Object key;
+      final Event.Type type;
+
+      CoalesceKey(Object key, Event.Type type) {
+         this.key = key;
+         this.type = type;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) return true;
+         if (o == null || getClass() != o.getClass()) return false;
+         CoalesceKey that = (CoalesceKey) o;
+         return type == that.type && Objects.equals(key, that.key);
+      }
+
+      @Override
+      public int hashCode() {
+         return 31 * Objects.hashCode(key) + type.hashCode();
+      }
+   }
 }
@@ -10,6 +10,7 @@
 import javax.transaction.Transaction;
 
 import org.infinispan.factories.annotations.Inject;
+import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.notifications.Listener;
 import org.infinispan.notifications.cachemanagerlistener.annotation.CacheStarted;
@@ -37,6 +38,7 @@
  * @author Manik Surtani
  * @since 4.0
  */
+@MBean(objectName = "CacheManagerNotifier", description = "Delivers the cache manager events to the registered listeners")
 public class CacheManagerNotifierImpl extends AbstractListenerImpl<Event, ListenerInvocation<Event>>
       implements CacheManagerNotifier {
 
@@ -69,7 +71,7 @@ protected class DefaultBuilder extends AbstractInvocationBuilder {
 
       @Override
       public ListenerInvocation<Event> build() {
-         return new ListenerInvocationImpl<>(target, method, sync, classLoader, subject);
+         return new ListenerInvocationImpl<>(target, method, sync, classLoader, subject, eventQueue);
       }
    }
 
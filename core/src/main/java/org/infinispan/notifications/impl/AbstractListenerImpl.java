@@ -8,6 +8,7 @@
 import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -15,8 +16,10 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
-import java.util.function.Supplier;
+import java.util.concurrent.TimeUnit;
 
 import javax.security.auth.Subject;
 import javax.transaction.Transaction;
@@ -27,6 +30,10 @@
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Stop;
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.notifications.IncorrectListenerException;
 import org.infinispan.notifications.Listener;
 import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
@@ -49,7 +56,10 @@
  */
 public abstract class AbstractListenerImpl<T, L extends ListenerInvocation<T>> {
 
+   protected static final long DEFAULT_EVENT_QUEUE_BLOCK_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
    protected final Map<Class<? extends Annotation>, List<L>> listenersMap = new HashMap<>(16, 0.99f);
+   protected final ConcurrentMap<Object, ListenerEventQueue> eventQueues = new ConcurrentHashMap<>();
 
    protected abstract class AbstractInvocationBuilder {
       protected Object target;
@@ -58,6 +68,7 @@ protected abstract class AbstractInvocationBuilder {
       protected boolean sync;
       protected ClassLoader classLoader;
       protected Subject subject;
+      protected ListenerEventQueue eventQueue;
 
       public Object getTarget() {
          return target;
@@ -109,6 +120,15 @@ public AbstractInvocationBuilder setSubject(Subject subject) {
          return this;
       }
 
+      public ListenerEventQueue getEventQueue() {
+         return eventQueue;
+      }
+
+      public AbstractInvocationBuilder setEventQueue(ListenerEventQueue eventQueue) {
+         this.eventQueue = eventQueue;
+         return this;
+      }
+
       public abstract L build();
 
    }
@@ -125,6 +145,10 @@ public void stop() {
       for (List<L> list : listenersMap.values()) {
          if (list != null) list.clear();
       }
+      for (ListenerEventQueue eventQueue : eventQueues.values()) {
+         eventQueue.stop();
+      }
+      eventQueues.clear();
    }
 
    protected abstract Log getLog();
@@ -168,6 +192,8 @@ protected void removeListenerFromMaps(Object listener) {
       for (Class<? extends Annotation> annotation :
             getAllowedMethodAnnotations(testListenerClassValidity(listener.getClass())).keySet())
          removeListenerInvocation(annotation, listener);
+      // The events already queued are still delivered
+      eventQueues.remove(listener);
    }
 
    protected Set<L> removeListenerInvocation(Class<? extends Annotation> annotation, Object listener) {
@@ -188,6 +214,79 @@ public Set<Object> getListeners() {
       return Collections.unmodifiableSet(result);
    }
 
+   /**
+    * @return the queue of the events waiting to be delivered to the given async listener, or {@code null} if the
+    * listener is not registered or is sync.
+    */
+   public ListenerEventQueue getEventQueue(Object listener) {
+      return eventQueues.get(listener);
+   }
+
+   /**
+    * @return the queues of the events waiting to be delivered to the registered async listeners.
+    */
+   public Collection<ListenerEventQueue> getEventQueues() {
+      return Collections.unmodifiableCollection(eventQueues.values());
+   }
+
+   private ListenerEventQueue eventQueue(Object listener, Listener l) {
+      if (l.sync())
+         return null;
+      if (l.queueSize() < 0 || l.batchSize() <= 0)
+         throw new IncorrectListenerException(String.format("Listener class %s must have a non-negative queueSize and a positive batchSize", listener.getClass().getName()));
+      return eventQueues.computeIfAbsent(listener, k -> new ListenerEventQueue(k, asyncProcessor, l, getEventQueueBlockTimeout()));
+   }
+
+   /**
+    * @return how long, in milliseconds, a thread raising an event waits for room in the full queue of an async
+    * listener before the operation raising the event fails.
+    */
+   protected long getEventQueueBlockTimeout() {
+      return DEFAULT_EVENT_QUEUE_BLOCK_TIMEOUT;
+   }
+
+   @ManagedAttribute(description = "Number of events waiting to be delivered to async listeners",
+         displayName = "Pending async listener events", displayType = DisplayType.SUMMARY)
+   public int getPendingAsyncEvents() {
+      int pending = 0;
+      for (ListenerEventQueue eventQueue : eventQueues.values()) {
+         pending += eventQueue.getPendingEvents();
+      }
+      return pending;
+   }
+
+   @ManagedAttribute(description = "How long the oldest event waiting to be delivered to an async listener has been queued",
+         displayName = "Async listener lag", units = Units.MILLISECONDS, displayType = DisplayType.SUMMARY)
+   public long getAsyncListenerLag() {
+      long lag = 0;
+      for (ListenerEventQueue eventQueue : eventQueues.values()) {
+         lag = Math.max(lag, eventQueue.getLag(TimeUnit.MILLISECONDS));
+      }
+      return lag;
+   }
+
+   @ManagedAttribute(description = "Number of events discarded because the queue of a registered async listener was full",
+         displayName = "Dropped async listener events", measurementType = MeasurementType.TRENDSUP,
+         displayType = DisplayType.SUMMARY)
+   public long getDroppedAsyncEvents() {
+      long dropped = 0;
+      for (ListenerEventQueue eventQueue : eventQueues.values()) {
+         dropped += eventQueue.getDroppedEvents();
+      }
+      return dropped;
+   }
+
+   @ManagedAttribute(description = "Number of events that replaced a queued event for the same key because the queue of a registered async listener was full",
+         displayName = "Coalesced async listener events", measurementType = MeasurementType.TRENDSUP,
+         displayType = DisplayType.SUMMARY)
+   public long getCoalescedAsyncEvents() {
+      long coalesced = 0;
+      for (ListenerEventQueue eventQueue : eventQueues.values()) {
+         coalesced += eventQueue.getCoalescedEvents();
+      }
+      return coalesced;
+   }
+
    /**
     * Loops through all valid methods on the object passed in, and caches the relevant methods as {@link
     * ListenerInvocation} for invocation by reflection.
@@ -204,6 +303,7 @@ protected boolean validateAndAddListenerInvocations(Object listener, AbstractInv
       builder.setTarget(listener);
       builder.setSubject(Security.getSubject());
       builder.setSync(l.sync());
+      builder.setEventQueue(eventQueue(listener, l));
       Map<Class<? extends Annotation>, Class<?>> allowedListeners = getAllowedMethodAnnotations(l);
       // now try all methods on the listener for anything that we like.  Note that only PUBLIC methods are scanned.
       for (Method m : listener.getClass().getMethods()) {
@@ -214,7 +314,7 @@ protected boolean validateAndAddListenerInvocations(Object listener, AbstractInv
                final Class<? extends Annotation> annotationClass = annotationEntry.getKey();
                if (m.isAnnotationPresent(annotationClass)) {
                   final Class<?> eventClass = annotationEntry.getValue();
-                  testListenerMethodValidity(m, eventClass, annotationClass.getName());
+                  testListenerMethodValidity(m, eventClass, annotationClass.getName(), !l.sync());
 
                   if (System.getSecurityManager() == null) {
                      m.setAccessible(true);
@@ -250,6 +350,7 @@ protected boolean validateAndAddFilterListenerInvocations(Object listener,
       builder.setTarget(listener);
       builder.setSubject(Security.getSubject());
       builder.setSync(l.sync());
+      builder.setEventQueue(eventQueue(listener, l));
       Map<Class<? extends Annotation>, Class<?>> allowedListeners = getAllowedMethodAnnotations(l);
       // now try all methods on the listener for anything that we like.  Note that only PUBLIC methods are scanned.
       for (Method m : listener.getClass().getMethods()) {
@@ -260,7 +361,7 @@ protected boolean validateAndAddFilterListenerInvocations(Object listener,
                final Class<? extends Annotation> annotationClass = annotationEntry.getKey();
                if (m.isAnnotationPresent(annotationClass) && canApply(filterAnnotations, annotationClass)) {
                   final Class<?> eventClass = annotationEntry.getValue();
-                  testListenerMethodValidity(m, eventClass, annotationClass.getName());
+                  testListenerMethodValidity(m, eventClass, annotationClass.getName(), !l.sync());
 
                   if (System.getSecurityManager() == null) {
                      m.setAccessible(true);
@@ -310,7 +411,7 @@ protected Set<Class<? extends Annotation>> findListenerCallbacks(Object listener
                final Class<? extends Annotation> annotationClass = annotationEntry.getKey();
                if (m.isAnnotationPresent(annotationClass)) {
                   final Class<?> eventClass = annotationEntry.getValue();
-                  testListenerMethodValidity(m, eventClass, annotationClass.getName());
+                  testListenerMethodValidity(m, eventClass, annotationClass.getName(), !l.sync());
 
                   if (System.getSecurityManager() == null) {
                      m.setAccessible(true);
@@ -352,14 +453,31 @@ protected static Listener testListenerClassValidity(Class<?> listenerClass) {
     * @throws IncorrectListenerException if the listener is not a valid target
     */
    protected static void testListenerMethodValidity(Method m, Class<?> allowedParameter, String annotationName) {
-      if (m.getParameterTypes().length != 1 || !m.getParameterTypes()[0].isAssignableFrom(allowedParameter))
-         throw new IncorrectListenerException("Methods annotated with " + annotationName + " must accept exactly one parameter, of assignable from type " + allowedParameter.getName());
+      testListenerMethodValidity(m, allowedParameter, annotationName, false);
+   }
+
+   /**
+    * Same as {@link #testListenerMethodValidity(Method, Class, String)}, but if <b>allowBatch</b> is {@code true} the
+    * argument can also be a {@link List} of events.
+    */
+   protected static void testListenerMethodValidity(Method m, Class<?> allowedParameter, String annotationName, boolean allowBatch) {
+      if (m.getParameterTypes().length != 1 || !(m.getParameterTypes()[0].isAssignableFrom(allowedParameter) || allowBatch && isBatchMethod(m)))
+         throw new IncorrectListenerException("Methods annotated with " + annotationName + " must accept exactly one parameter, of assignable from type " + allowedParameter.getName() +
+               (allowBatch ? " or List" : ""));
       Class<?> returnType = m.getReturnType();
       if (!returnType.equals(void.class) && !CompletionStage.class.isAssignableFrom(returnType)) {
          throw new IncorrectListenerException("Methods annotated with " + annotationName + " should have a return type of void or CompletionStage.");
       }
    }
 
+   /**
+    * @return {@code true} if the listener method accepts a {@link List} of events.
+    */
+   private static boolean isBatchMethod(Method m) {
+      Class<?> parameterType = m.getParameterTypes()[0];
+      return parameterType != Object.class && parameterType.isAssignableFrom(List.class);
+   }
+
    protected abstract Transaction suspendIfNeeded();
 
    protected abstract void resumeIfNeeded(Transaction transaction);
@@ -368,88 +486,115 @@ protected static void testListenerMethodValidity(Method m, Class<?> allowedParam
     * Class that encapsulates a valid invocation for a given registered listener - containing a reference to the method
     * to be invoked as well as the target object.
     */
-   protected class ListenerInvocationImpl<A> implements ListenerInvocation<A> {
+   protected class ListenerInvocationImpl<A> implements ListenerInvocation<A>, ListenerEventQueue.EventHandler {
       final Object target;
       final Method method;
       final boolean sync;
       final WeakReference<ClassLoader> classLoader;
       final Subject subject;
+      final ListenerEventQueue eventQueue;
+      final boolean batch;
 
       public ListenerInvocationImpl(Object target, Method method, boolean sync, ClassLoader classLoader, Subject subject) {
+         this(target, method, sync, classLoader, subject, null);
+      }
+
+      public ListenerInvocationImpl(Object target, Method method, boolean sync, ClassLoader classLoader, Subject subject,
+                                    ListenerEventQueue eventQueue) {
          this.target = target;
          this.method = method;
          this.sync = sync;
          this.classLoader = new WeakReference<>(classLoader);
          this.subject = subject;
+         this.eventQueue = eventQueue;
+         this.batch = isBatchMethod(method);
       }
 
       @Override
       public CompletionStage<Void> invoke(final A event) {
-         Supplier<Object> r = () -> {
-            ClassLoader contextClassLoader = null;
-            Transaction transaction = suspendIfNeeded();
-            if (classLoader.get() != null) {
-               contextClassLoader = SecurityActions.setContextClassLoader(classLoader.get());
-            }
-
-            try {
-               Object result;
-               if (subject != null) {
-                  try {
-                     result = Security.doAs(subject, (PrivilegedExceptionAction<Object>) () -> {
-                        // Don't want to print out Subject as it could have sensitive information
-                        getLog().tracef("Invoking listener: %s passing event %s using subject", target, event);
-                        return method.invoke(target, event);
-                     });
-                  } catch (PrivilegedActionException e) {
-                     Throwable cause = e.getCause();
-                     if (cause instanceof InvocationTargetException) {
-                        throw (InvocationTargetException)cause;
-                     } else if (cause instanceof IllegalAccessException) {
-                        throw (IllegalAccessException)cause;
-                     } else {
-                        throw new InvocationTargetException(cause);
-                     }
-                  }
-               } else {
-                  getLog().tracef("Invoking listener: %s passing event %s", target, event);
-                  result = method.invoke(target, event);
-               }
-               getLog().tracef("Listener %s has completed event %s", target, event);
-               return result;
-            } catch (InvocationTargetException exception) {
-               Throwable cause = getRealException(exception);
-               if (sync) {
-                  throw getLog().exceptionInvokingListener(
-                        cause.getClass().getName(), method, target, cause);
-               } else {
-                  getLog().unableToInvokeListenerMethod(method, target, cause);
-               }
-            } catch (IllegalAccessException exception) {
-               getLog().unableToInvokeListenerMethodAndRemoveListener(method, target, exception);
-               // Don't worry about return, just let it fire async
-               removeListenerAsync(target);
-            } finally {
-               if (classLoader.get() != null) {
-                  SecurityActions.setContextClassLoader(contextClassLoader);
-               }
-               resumeIfNeeded(transaction);
-            }
-            return null;
-         };
-
          if (sync) {
             // Sync can run in a blocking (null) or non blocking (CompletionStage) fashion
-            Object result = r.get();
+            Object result = invokeMethod(event);
             if (result instanceof CompletionStage) {
                return (CompletionStage<Void>) result;
             }
+         } else if (eventQueue != null) {
+            eventQueue.offer(this, event);
          } else {
-            asyncProcessor.execute(r::get);
+            asyncProcessor.execute(() -> invokeMethod(event));
          }
          return CompletableFutures.completedNull();
       }
 
+      @Override
+      public CompletionStage<Void> handleEvents(List<Object> events) {
+         if (batch) {
+            return toStage(invokeMethod(events));
+         }
+         AggregateCompletionStage<Void> aggregateCompletionStage = null;
+         for (Object event : events) {
+            aggregateCompletionStage = composeStageIfNeeded(aggregateCompletionStage, toStage(invokeMethod(event)));
+         }
+         return aggregateCompletionStage != null ? aggregateCompletionStage.freeze() : CompletableFutures.completedNull();
+      }
+
+      private CompletionStage<Void> toStage(Object result) {
+         return result instanceof CompletionStage ? (CompletionStage<Void>) result : null;
+      }
+
+      private Object invokeMethod(Object event) {
+         ClassLoader contextClassLoader = null;
+         Transaction transaction = suspendIfNeeded();
+         if (classLoader.get() != null) {
+            contextClassLoader = SecurityActions.setContextClassLoader(classLoader.get());
+         }
+
+         try {
+            Object result;
+            if (subject != null) {
+               try {
+                  result = Security.doAs(subject, (PrivilegedExceptionAction<Object>) () -> {
+                     // Don't want to print out Subject as it could have sensitive information
+                     getLog().tracef("Invoking listener: %s passing event %s using subject", target, event);
+                     return method.invoke(target, event);
+                  });
+               } catch (PrivilegedActionException e) {
+                  Throwable cause = e.getCause();
+                  if (cause instanceof InvocationTargetException) {
+                     throw (InvocationTargetException)cause;
+                  } else if (cause instanceof IllegalAccessException) {
+                     throw (IllegalAccessException)cause;
+                  } else {
+                     throw new InvocationTargetException(cause);
+                  }
+               }
+            } else {
+               getLog().tracef("Invoking listener: %s passing event %s", target, event);
+               result = method.invoke(target, event);
+            }
+            getLog().tracef("Listener %s has completed event %s", target, event);
+            return result;
+         } catch (InvocationTargetException exception) {
+            Throwable cause = getRealException(exception);
+            if (sync) {
+               throw getLog().exceptionInvokingListener(
+                     cause.getClass().getName(), method, target, cause);
+            } else {
+               getLog().unableToInvokeListenerMethod(method, target, cause);
+            }
+         } catch (IllegalAccessException exception) {
+            getLog().unableToInvokeListenerMethodAndRemoveListener(method, target, exception);
+            // Don't worry about return, just let it fire async
+            removeListenerAsync(target);
+         } finally {
+            if (classLoader.get() != null) {
+               SecurityActions.setContextClassLoader(contextClassLoader);
+            }
+            resumeIfNeeded(transaction);
+         }
+         return null;
+      }
+
       @Override
       public Object getTarget() {
          return target;
@@ -0,0 +1,342 @@
+package org.infinispan.notifications.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.util.concurrent.AggregateCompletionStage;
+import org.infinispan.util.concurrent.CompletableFutures;
+import org.infinispan.util.concurrent.CompletionStages;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * The queue of the events waiting to be delivered to an async listener.
+ * <p>
+ * The events are delivered in order by at most one task at a time running in the notification executor, so a slow
+ * listener only delays its own events. Each task delivers a batch of up to {@link Listener#batchSize()} events and
+ * consecutive events for the same listener method are passed to it at once if the method accepts a list of events.
+ * If the listener returns an incomplete {@link CompletionStage}, the next batch is only delivered once it completes.
+ * <p>
+ * The queue is unbounded unless the listener sets a {@link Listener#queueSize()}. When a bounded queue is full, new
+ * events are handled according to the {@link Listener#overflowPolicy()} of the listener. A thread raising an event
+ * never waits longer than the block timeout given by the notifier: after that the event is not queued and the
+ * operation raising it fails with a {@link org.infinispan.util.concurrent.TimeoutException}.
+ *
+ * @since 10.0
+ */
+public final class ListenerEventQueue {
+   private static final Log log = LogFactory.getLog(ListenerEventQueue.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final Object listener;
+   private final Executor executor;
+   private final int capacity;
+   private final int batchSize;
+   private final Listener.OverflowPolicy overflowPolicy;
+   private final long blockTimeoutMillis;
+
+   // All the fields below are guarded by this
+   private final ArrayDeque<PendingEvent> events = new ArrayDeque<>();
+   private final Map<CoalesceKey, PendingEvent> eventsByKey;
+   private boolean draining;
+   private boolean stopped;
+   private Thread drainThread;
+
+   // Only updated by the thread holding the monitor or by the single drain task
+   private volatile long deliveredEvents;
+   private volatile long droppedEvents;
+   private volatile long coalescedEvents;
+
+   ListenerEventQueue(Object listener, Executor executor, Listener l, long blockTimeoutMillis) {
+      this.listener = listener;
+      this.executor = executor;
+      this.capacity = l.queueSize() > 0 ? l.queueSize() : Integer.MAX_VALUE;
+      this.batchSize = l.batchSize();
+      this.overflowPolicy = l.overflowPolicy();
+      this.blockTimeoutMillis = blockTimeoutMillis;
+      this.eventsByKey = overflowPolicy == Listener.OverflowPolicy.COALESCE_PER_KEY ? new HashMap<>() : null;
+   }
+
+   /**
+    * Handles the events of a listener method.
+    */
+   interface EventHandler {
+      CompletionStage<Void> handleEvents(List<Object> events);
+   }
+
+   void offer(EventHandler handler, Object event) {
+      CoalesceKey key = eventsByKey != null ? coalesceKey(handler, event) : null;
+      synchronized (this) {
+         if (stopped)
+            return;
+
+         // The listener itself may raise new events, and it can't wait for its own queue to make room for them
+         if (events.size() >= capacity && drainThread != Thread.currentThread()) {
+            if (!makeRoom(key, event))
+               return;
+         }
+         PendingEvent pending = new PendingEvent(handler, event, key, System.nanoTime());
+         events.addLast(pending);
+         if (key != null) {
+            eventsByKey.put(key, pending);
+         }
+         if (draining)
+            return;
+
+         draining = true;
+      }
+      submitDrain();
+   }
+
+   /**
+    * Called with the monitor held when the queue is full.
+    *
+    * @return {@code false} if the event replaced a queued event and must not be queued itself.
+    */
+   private boolean makeRoom(CoalesceKey key, Object event) {
+      switch (overflowPolicy) {
+         case DROP_OLDEST:
+            dropOldest();
+            return true;
+         case COALESCE_PER_KEY:
+            PendingEvent existing = key != null ? eventsByKey.get(key) : null;
+            if (existing != null) {
+               existing.event = event;
+               coalescedEvents++;
+               return false;
+            }
+            // Nothing to coalesce with, so wait like BLOCK
+         default:
+            boolean interrupted = false;
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+            while (events.size() >= capacity && !stopped) {
+               if (remainingNanos <= 0) {
+                  // The listener is not keeping up, and the writes must not wait for it forever
+                  throw log.listenerEventQueueTimeout(blockTimeoutMillis, listener);
+               }
+               long start = System.nanoTime();
+               try {
+                  TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+               } catch (InterruptedException e) {
+                  // Queue the event anyway, it must not be lost
+                  interrupted = true;
+                  break;
+               }
+               remainingNanos -= System.nanoTime() - start;
+            }
+            if (interrupted) {
+               Thread.currentThread().interrupt();
+            }
+            return !stopped;
+      }
+   }
+
+   private void dropOldest() {
+      PendingEvent oldest = events.pollFirst();
+      removeKey(oldest);
+      droppedEvents++;
+      if (trace) log.tracef("Event queue of listener %s is full, dropped event %s", listener, oldest.event);
+   }
+
+   private void removeKey(PendingEvent pending) {
+      if (pending.key != null) {
+         eventsByKey.remove(pending.key, pending);
+      }
+   }
+
+   private void submitDrain() {
+      try {
+         executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+         // The notification executor has been shut down, the events can't be delivered any more
+         log.tracef(e, "Discarding the queued events of listener %s", listener);
+         stop();
+      }
+   }
+
+   private void drain() {
+      List<PendingEvent> batch;
+      synchronized (this) {
+         if (stopped || events.isEmpty()) {
+            draining = false;
+            return;
+         }
+         batch = new ArrayList<>(Math.min(batchSize, events.size()));
+         while (batch.size() < batchSize && !events.isEmpty()) {
+            PendingEvent pending = events.pollFirst();
+            removeKey(pending);
+            batch.add(pending);
+         }
+         drainThread = Thread.currentThread();
+         // Wake up the threads waiting for room in the queue
+         notifyAll();
+      }
+
+      CompletionStage<Void> stage;
+      try {
+         stage = deliver(batch);
+      } catch (Throwable t) {
+         log.debugf(t, "Failed to deliver events to listener %s", listener);
+         stage = CompletableFutures.completedNull();
+      } finally {
+         synchronized (this) {
+            drainThread = null;
+         }
+      }
+
+      // Submit a new task for the next batch instead of looping, so the listeners sharing the executor take turns
+      if (CompletionStages.isCompletedSuccessfully(stage)) {
+         submitDrain();
+      } else {
+         stage.whenComplete((ignore, t) -> submitDrain());
+      }
+   }
+
+   private CompletionStage<Void> deliver(List<PendingEvent> batch) {
+      AggregateCompletionStage<Void> aggregateCompletionStage = null;
+      int i = 0;
+      while (i < batch.size()) {
+         EventHandler handler = batch.get(i).handler;
+         List<Object> handlerEvents = new ArrayList<>();
+         while (i < batch.size() && batch.get(i).handler == handler) {
+            handlerEvents.add(batch.get(i).event);
+            i++;
+         }
+         CompletionStage<Void> stage = handler.handleEvents(handlerEvents);
+         deliveredEvents += handlerEvents.size();
+         aggregateCompletionStage = AbstractListenerImpl.composeStageIfNeeded(aggregateCompletionStage, stage);
+      }
+      return aggregateCompletionStage != null ? aggregateCompletionStage.freeze() : CompletableFutures.completedNull();
+   }
+
+   /**
+    * Discards the queued events and stops accepting new ones.
+    */
+   synchronized void stop() {
+      stopped = true;
+      events.clear();
+      if (eventsByKey != null) {
+         eventsByKey.clear();
+      }
+      notifyAll();
+   }
+
+   private static CoalesceKey coalesceKey(EventHandler handler, Object event) {
+      if (event instanceof CacheEntryEvent) {
+         CacheEntryEvent<?, ?> entryEvent = (CacheEntryEvent<?, ?>) event;
+         return new CoalesceKey(handler, entryEvent.getKey(), entryEvent.isPre());
+      }
+      return null;
+   }
+
+   /**
+    * @return the listener the events are delivered to.
+    */
+   public Object getListener() {
+      return listener;
+   }
+
+   public Listener.OverflowPolicy getOverflowPolicy() {
+      return overflowPolicy;
+   }
+
+   /**
+    * @return the number of events waiting to be delivered.
+    */
+   public synchronized int getPendingEvents() {
+      return events.size();
+   }
+
+   /**
+    * @return how long the oldest pending event has been waiting to be delivered, or 0 if there are no pending events.
+    */
+   public long getLag(TimeUnit unit) {
+      PendingEvent oldest;
+      synchronized (this) {
+         oldest = events.peekFirst();
+      }
+      return oldest != null ? unit.convert(System.nanoTime() - oldest.queuedNanos, TimeUnit.NANOSECONDS) : 0;
+   }
+
+   /**
+    * @return the number of events passed to the listener.
+    */
+   public long getDeliveredEvents() {
+      return deliveredEvents;
+   }
+
+   /**
+    * @return the number of events discarded because the queue was full, with {@link Listener.OverflowPolicy#DROP_OLDEST}.
+    */
+   public long getDroppedEvents() {
+      return droppedEvents;
+   }
+
+   /**
+    * @return the number of events that replaced a queued event for the same key because the queue was full.
+    */
+   public long getCoalescedEvents() {
+      return coalescedEvents;
+   }
+
+   @Override
+   public String toString() {
+      return "ListenerEventQueue{" +
+            "listener=" + listener +
+            ", overflowPolicy=" + overflowPolicy +
+            ", pendingEvents=" + getPendingEvents() +
+            ", deliveredEvents=" + deliveredEvents +
+            ", droppedEvents=" + droppedEvents +
+            ", coalescedEvents=" + coalescedEvents +
+            '}';
+   }
+
+   private static class PendingEvent {
+      final EventHandler handler;
+      final CoalesceKey key;
+      final long queuedNanos;
+      Object event;
+
+      PendingEvent(EventHandler handler, Object event, CoalesceKey key, long queuedNanos) {
+         this.handler = handler;
+         this.event = event;
+         this.key = key;
+         this.queuedNanos = queuedNanos;
+      }
+   }
+
+   private static class CoalesceKey {
+      final EventHandler handler;
+      final Object key;
+      final boolean pre;
+
+      CoalesceKey(EventHandler handler, Object key, boolean pre) {
+         this.handler = handler;
+         this.key = key;
+         this.pre = pre;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) return true;
+         if (o == null || getClass() != o.getClass()) return false;
+         CoalesceKey that = (CoalesceKey) o;
+         return pre == that.pre && handler == that.handler && Objects.equals(key, that.key);
+      }
+
+      @Override
+      public int hashCode() {
+         return 31 * (31 * System.identityHashCode(handler) + Objects.hashCode(key)) + (pre ? 1 : 0);
+      }
+   }
+}
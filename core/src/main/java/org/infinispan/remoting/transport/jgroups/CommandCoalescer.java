@@ -0,0 +1,251 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.io.UnsignedNumeric;
+import org.infinispan.commons.time.TimeService;
+import org.jgroups.Address;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Packs the one-way commands sent to the same target into a single multi-command message.
+ * <p>
+ * Commands are queued per target. The first command queued schedules a flush after the coalescing window, and the
+ * queue is flushed immediately once the queued commands reach the size threshold. A batch with a single command is
+ * sent as a regular message.
+ * <p>
+ * The batch payload is the number of commands followed by the length and the bytes of each command, both lengths
+ * written as variable-length ints. Batches to the same target are sent in order and unpacked in order by the
+ * receiver, so the relative order of the coalesced commands is preserved.
+ *
+ * @since 10.0
+ */
+class CommandCoalescer {
+   // Batch size distribution buckets: 1, 2-3, 4-7, ..., 64+
+   static final int BUCKETS = 7;
+
+   private final JGroupsTransport transport;
+   private final ScheduledExecutorService timeoutExecutor;
+   private final TimeService timeService;
+   private final long windowNanos;
+   private final int maxBytes;
+   private final ConcurrentMap<Address, Batch> batches = new ConcurrentHashMap<>();
+
+   private final LongAdder messages = new LongAdder();
+   private final LongAdder commands = new LongAdder();
+   private final LongAdder[] batchSizes = new LongAdder[BUCKETS];
+   private volatile long resetNanos;
+
+   CommandCoalescer(JGroupsTransport transport, ScheduledExecutorService timeoutExecutor, TimeService timeService,
+                    long windowMicros, int maxBytes) {
+      this.transport = transport;
+      this.timeoutExecutor = timeoutExecutor;
+      this.timeService = timeService;
+      this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+      this.maxBytes = maxBytes;
+      for (int i = 0; i < BUCKETS; i++) {
+         batchSizes[i] = new LongAdder();
+      }
+      this.resetNanos = timeService.time();
+   }
+
+   void send(Address target, ByteBuffer command) {
+      batches.computeIfAbsent(target, Batch::new).add(command);
+   }
+
+   /**
+    * Sends the commands queued for all the targets.
+    */
+   void flushAll() {
+      batches.values().forEach(Batch::flush);
+   }
+
+   /**
+    * Discards the queues of the targets that are no longer cluster members.
+    */
+   void retainTargets(Collection<Address> members) {
+      batches.keySet().retainAll(members);
+   }
+
+   /**
+    * Splits a batch payload and passes each command to {@code consumer}, in the order they were queued.
+    */
+   static void unpack(byte[] buffer, int offset, CommandConsumer consumer) {
+      int count = UnsignedNumeric.readUnsignedInt(buffer, offset);
+      offset += UnsignedNumeric.sizeUnsignedInt(count);
+      for (int i = 0; i < count; i++) {
+         int length = UnsignedNumeric.readUnsignedInt(buffer, offset);
+         offset += UnsignedNumeric.sizeUnsignedInt(length);
+         consumer.accept(buffer, offset, length);
+         offset += length;
+      }
+   }
+
+   long getMessages() {
+      return messages.sum();
+   }
+
+   long getCommands() {
+      return commands.sum();
+   }
+
+   double getMessagesPerSecond() {
+      long elapsedNanos = timeService.timeDuration(resetNanos, TimeUnit.NANOSECONDS);
+      return elapsedNanos > 0 ? messages.sum() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0;
+   }
+
+   double getAverageBatchSize() {
+      long messages = this.messages.sum();
+      return messages > 0 ? (double) commands.sum() / messages : 0;
+   }
+
+   /**
+    * @return the number of messages sent with 1, 2-3, 4-7, 8-15, 16-31, 32-63, and 64 or more commands
+    */
+   long[] getBatchSizeDistribution() {
+      long[] distribution = new long[BUCKETS];
+      for (int i = 0; i < BUCKETS; i++) {
+         distribution[i] = batchSizes[i].sum();
+      }
+      return distribution;
+   }
+
+   void resetStatistics() {
+      messages.reset();
+      commands.reset();
+      for (LongAdder bucket : batchSizes) {
+         bucket.reset();
+      }
+      resetNanos = timeService.time();
+   }
+
+   private void recordBatch(int size) {
+      messages.increment();
+      commands.add(size);
+      int bucket = Math.min(BUCKETS - 1, 31 - Integer.numberOfLeadingZeros(size));
+      batchSizes[bucket].increment();
+   }
+
+   @FunctionalInterface
+   interface CommandConsumer {
+      void accept(byte[] buffer, int offset, int length);
+   }
+
+   private class Batch {
+      private final Address target;
+      @GuardedBy("this")
+      private List<ByteBuffer> queued = new ArrayList<>();
+      @GuardedBy("this")
+      private int queuedBytes;
+      @GuardedBy("this")
+      private boolean scheduled;
+      // Batches detached from the queue but not sent yet, in queue order
+      @GuardedBy("this")
+      private final Queue<List<ByteBuffer>> ready = new ArrayDeque<>();
+      @GuardedBy("this")
+      private boolean sending;
+
+      Batch(Address target) {
+         this.target = target;
+      }
+
+      void add(ByteBuffer command) {
+         synchronized (this) {
+            queued.add(command);
+            queuedBytes += command.getLength() + UnsignedNumeric.sizeUnsignedInt(command.getLength());
+            if (queuedBytes < maxBytes) {
+               if (!scheduled) {
+                  scheduled = true;
+                  timeoutExecutor.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+               }
+               return;
+            }
+            detachQueued();
+         }
+         sendReady();
+      }
+
+      void flush() {
+         synchronized (this) {
+            scheduled = false;
+            if (queued.isEmpty())
+               return;
+
+            detachQueued();
+         }
+         sendReady();
+      }
+
+      @GuardedBy("this")
+      private void detachQueued() {
+         ready.add(queued);
+         queued = new ArrayList<>();
+         queuedBytes = 0;
+      }
+
+      /**
+       * Sends the detached batches outside the lock. Only one thread sends at a time, draining the batches detached
+       * by the other threads meanwhile, so the batches to the same target are still sent in order.
+       */
+      private void sendReady() {
+         synchronized (this) {
+            if (sending)
+               return;
+
+            sending = true;
+         }
+         List<ByteBuffer> commands;
+         do {
+            synchronized (this) {
+               commands = ready.poll();
+               if (commands == null) {
+                  sending = false;
+               }
+            }
+            if (commands != null) {
+               try {
+                  send(commands);
+               } catch (Throwable t) {
+                  synchronized (this) {
+                     sending = false;
+                  }
+                  throw t;
+               }
+            }
+         } while (commands != null);
+      }
+
+      private void send(List<ByteBuffer> commands) {
+         int size = commands.size();
+         if (size == 1) {
+            ByteBuffer command = commands.get(0);
+            transport.sendCoalesced(target, command.getBuf(), command.getOffset(), command.getLength(), false);
+         } else {
+            int bytes = UnsignedNumeric.sizeUnsignedInt(size);
+            for (ByteBuffer command : commands) {
+               bytes += command.getLength() + UnsignedNumeric.sizeUnsignedInt(command.getLength());
+            }
+            byte[] buffer = new byte[bytes];
+            int offset = UnsignedNumeric.writeUnsignedInt(buffer, 0, size);
+            for (ByteBuffer command : commands) {
+               offset += UnsignedNumeric.writeUnsignedInt(buffer, offset, command.getLength());
+               System.arraycopy(command.getBuf(), command.getOffset(), buffer, offset, command.getLength());
+               offset += command.getLength();
+            }
+            transport.sendCoalesced(target, buffer, 0, buffer.length, true);
+         }
+         recordBatch(size);
+      }
+   }
+}
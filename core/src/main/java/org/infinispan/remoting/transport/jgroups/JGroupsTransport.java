@@ -57,6 +57,11 @@
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Stop;
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
 import org.infinispan.notifications.cachemanagerlistener.CacheManagerNotifier;
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
 import org.infinispan.remoting.inboundhandler.InboundInvocationHandler;
@@ -124,12 +129,23 @@
  * @author Galder Zamarreño
  * @since 4.0
  */
+@MBean(objectName = "Transport", description = "Transport used for the communication between the cluster members.")
 public class JGroupsTransport implements Transport {
    public static final String CONFIGURATION_STRING = "configurationString";
    public static final String CONFIGURATION_XML = "configurationXml";
    public static final String CONFIGURATION_FILE = "configurationFile";
    public static final String CHANNEL_LOOKUP = "channelLookup";
    public static final String CHANNEL_CONFIGURATOR = "channelConfigurator";
+   /**
+    * The time, in microseconds, that one-way commands sent to the same target with {@link DeliverOrder#NONE} are
+    * queued in order to be packed into a single message. Coalescing is disabled when the value is {@code 0}, the
+    * default. All the members of the cluster must run a version that supports coalescing before enabling it.
+    */
+   public static final String COMMAND_COALESCING_WINDOW = "commandCoalescingWindow";
+   /**
+    * The size, in bytes, of the queued commands after which they are sent without waiting for the coalescing window.
+    */
+   public static final String COMMAND_COALESCING_MAX_BYTES = "commandCoalescingMaxBytes";
    public static final short REPLY_FLAGS =
          (short) (Message.Flag.NO_FC.value() | Message.Flag.OOB.value() | Message.Flag.NO_TOTAL_ORDER.value());
    protected static final String DEFAULT_JGROUPS_CONFIGURATION_FILE = "default-configs/default-jgroups-udp.xml";
@@ -142,6 +158,8 @@ public class JGroupsTransport implements Transport {
    private static final byte REQUEST = 0;
    private static final byte RESPONSE = 1;
    private static final byte SINGLE_MESSAGE = 2;
+   private static final byte MULTI_MESSAGE = 3;
+   private static final int DEFAULT_COMMAND_COALESCING_MAX_BYTES = 32 * 1024;
 
    @Inject protected GlobalConfiguration configuration;
    @Inject protected StreamingMarshaller marshaller;
@@ -169,6 +187,7 @@ public class JGroupsTransport implements Transport {
    private volatile Set<String>  sitesView = Collections.emptySet();
    private CompletableFuture<Void> nextViewFuture = new CompletableFuture<>();
    private RequestRepository requests;
+   private CommandCoalescer coalescer;
 
    // ------------------------------------------------------------------------------------------------------------------
    // Lifecycle and setup stuff
@@ -261,7 +280,14 @@ public void sendTo(Address destination, ReplicableCommand command, DeliverOrder
          return;
       }
       logCommand(command, destination);
-      sendCommand(destination, command, Request.NO_REQUEST_ID, deliverOrder, isRsvpCommand(command), true, true);
+      boolean rsvp = isRsvpCommand(command);
+      if (coalescer != null && deliverOrder == DeliverOrder.NONE && !rsvp) {
+         if (clusterView.contains(destination)) {
+            coalescer.send(toJGroupsAddress(destination), marshallCommand(command));
+         }
+         return;
+      }
+      sendCommand(destination, command, Request.NO_REQUEST_ID, deliverOrder, rsvp, true, true);
    }
 
    @Override
@@ -271,6 +297,19 @@ public void sendToMany(Collection<Address> targets, ReplicableCommand command, D
          sendCommandToAll(command, Request.NO_REQUEST_ID, deliverOrder, false);
       } else {
          logCommand(command, targets);
+         if (coalescer != null && deliverOrder == DeliverOrder.NONE && !isRsvpCommand(command)) {
+            // The command is marshalled once and the same bytes are queued for every target
+            ByteBuffer bytes = null;
+            for (Address target : targets) {
+               if (target.equals(address) || !clusterView.contains(target))
+                  continue;
+               if (bytes == null) {
+                  bytes = marshallCommand(command);
+               }
+               coalescer.send(toJGroupsAddress(target), bytes);
+            }
+            return;
+         }
          sendCommand(targets, command, Request.NO_REQUEST_ID, deliverOrder, false, true);
       }
    }
@@ -385,6 +424,12 @@ public void start() {
       probeHandler.updateThreadPool(remoteExecutor);
       props = TypedProperties.toTypedProperties(configuration.transport().properties());
       requests = new RequestRepository();
+      long coalescingWindow = props.getLongProperty(COMMAND_COALESCING_WINDOW, 0);
+      if (coalescingWindow > 0) {
+         coalescer = new CommandCoalescer(this, timeoutExecutor, timeService, coalescingWindow,
+                                          props.getIntProperty(COMMAND_COALESCING_MAX_BYTES,
+                                                               DEFAULT_COMMAND_COALESCING_MAX_BYTES));
+      }
 
       if (log.isInfoEnabled())
          log.startingJGroupsChannel(configuration.transport().clusterName());
@@ -692,6 +737,10 @@ protected void receiveClusterView(View newView) {
          }
       });
 
+      if (coalescer != null) {
+         coalescer.retainTargets(newView.getMembers());
+      }
+
       JGroupsAddressCache.pruneAddressCache();
    }
 
@@ -704,6 +753,9 @@ private static List<Address> fromJGroupsAddressList(List<org.jgroups.Address> li
    @Stop(priority = 120)
    @Override
    public void stop() {
+      if (coalescer != null) {
+         coalescer.flushAll();
+      }
       running = false;
 
       if (channel != null) {
@@ -1016,10 +1068,14 @@ private static org.jgroups.Address toJGroupsAddress(Address address) {
    }
 
    private void marshallRequest(Message message, ReplicableCommand command, long requestId) {
+      ByteBuffer bytes = marshallCommand(command);
+      message.setBuffer(bytes.getBuf(), bytes.getOffset(), bytes.getLength());
+      addRequestHeader(message, requestId);
+   }
+
+   private ByteBuffer marshallCommand(ReplicableCommand command) {
       try {
-         ByteBuffer bytes = marshaller.objectToBuffer(command);
-         message.setBuffer(bytes.getBuf(), bytes.getOffset(), bytes.getLength());
-         addRequestHeader(message, requestId);
+         return marshaller.objectToBuffer(command);
       } catch (RuntimeException e) {
          throw e;
       } catch (Exception e) {
@@ -1027,6 +1083,20 @@ private void marshallRequest(Message message, ReplicableCommand command, long re
       }
    }
 
+   /**
+    * Sends one or more commands queued by the {@link CommandCoalescer}.
+    */
+   void sendCoalesced(org.jgroups.Address target, byte[] buffer, int offset, int length, boolean multiple) {
+      Message message = new Message(target);
+      message.setBuffer(buffer, offset, length);
+      if (multiple) {
+         message.putHeader(HEADER_ID, new RequestCorrelator.Header(MULTI_MESSAGE, Request.NO_REQUEST_ID,
+                                                                   CORRELATOR_ID));
+      }
+      setMessageFlags(message, DeliverOrder.NONE, false, true);
+      send(message);
+   }
+
    private static void setMessageFlags(Message message, DeliverOrder deliverOrder, boolean rsvp, boolean noRelay) {
       if (noRelay) {
          message.setFlag(Message.Flag.NO_RELAY.value());
@@ -1285,6 +1355,11 @@ private void processMessage(Message message) {
          case RESPONSE:
             processResponse(src, buffer, offset, length, requestId);
             break;
+         case MULTI_MESSAGE:
+            // Process the commands in the order they were sent, so that the per-key ordering is preserved
+            CommandCoalescer.unpack(buffer, offset, (commandBuffer, commandOffset, commandLength) ->
+                  processRequest(src, flags, commandBuffer, commandOffset, commandLength, Request.NO_REQUEST_ID));
+            break;
          default:
             log.invalidMessageType(type, src);
       }
@@ -1400,6 +1475,45 @@ private DeliverOrder decodeDeliverMode(short flags) {
       throw new IllegalArgumentException("Unable to decode order from flags " + flags);
    }
 
+   @ManagedAttribute(description = "Number of messages sent with coalesced commands, or -1 if coalescing is disabled",
+                     displayName = "Number of coalesced messages", measurementType = MeasurementType.TRENDSUP,
+                     displayType = DisplayType.SUMMARY)
+   public long getCoalescedMessages() {
+      return coalescer != null ? coalescer.getMessages() : -1;
+   }
+
+   @ManagedAttribute(description = "Number of commands sent in coalesced messages, or -1 if coalescing is disabled",
+                     displayName = "Number of coalesced commands", measurementType = MeasurementType.TRENDSUP,
+                     displayType = DisplayType.SUMMARY)
+   public long getCoalescedCommands() {
+      return coalescer != null ? coalescer.getCommands() : -1;
+   }
+
+   @ManagedAttribute(description = "Coalesced messages sent per second since the statistics were reset",
+                     displayName = "Coalesced messages per second", displayType = DisplayType.SUMMARY)
+   public double getCoalescedMessagesPerSecond() {
+      return coalescer != null ? coalescer.getMessagesPerSecond() : 0;
+   }
+
+   @ManagedAttribute(description = "Average number of commands in a coalesced message",
+                     displayName = "Average coalesced batch size", displayType = DisplayType.SUMMARY)
+   public double getAverageCoalescedBatchSize() {
+      return coalescer != null ? coalescer.getAverageBatchSize() : 0;
+   }
+
+   @ManagedAttribute(description = "Number of coalesced messages with 1, 2-3, 4-7, 8-15, 16-31, 32-63 and 64 or more commands",
+                     displayName = "Coalesced batch size distribution")
+   public String getCoalescedBatchSizeDistribution() {
+      return coalescer != null ? Arrays.toString(coalescer.getBatchSizeDistribution()) : "N/A";
+   }
+
+   @ManagedOperation(description = "Resets the command coalescing statistics", displayName = "Reset statistics")
+   public void resetStatistics() {
+      if (coalescer != null) {
+         coalescer.resetStatistics();
+      }
+   }
+
    private class ChannelCallbacks implements RouteStatusListener, UpHandler {
       @Override
       public void sitesUp(String... sites) {
@@ -86,7 +86,8 @@ private CompletableFuture<Void> replicateAndInvalidate(CacheTopology cacheTopolo
                }
             }, chunks -> invalidateChunks(chunks, otherMembers, outboundInvalidations, outboundTaskFuture, cacheTopology),
             OutboundTransferTask::defaultMapEntryFromDataContainer, OutboundTransferTask::defaultMapEntryFromStore,
-            dataContainer, persistenceManager, rpcManager, commandsFactory, entryFactory, timeout, cacheName, true, true);
+            dataContainer, persistenceManager, rpcManager, commandsFactory, entryFactory, timeout, cacheName, true, true,
+            chunkEncoder);
          outboundTransferTask.execute(executorService);
          return outboundTaskFuture;
       } else {
@@ -180,7 +181,8 @@ public void startKeysTransfer(IntSet segments, Address origin) {
             } else {
                return null;
             }
-         }, dataContainer, persistenceManager, rpcManager, commandsFactory, entryFactory, timeout, cacheName, true, false);
+         }, dataContainer, persistenceManager, rpcManager, commandsFactory, entryFactory, timeout, cacheName, true, false,
+            chunkEncoder);
       addTransfer(outboundTransferTask);
       outboundTransferTask.execute(executorService);
    }
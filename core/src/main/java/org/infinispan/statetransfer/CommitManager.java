@@ -80,9 +80,10 @@ public final void stopTrack(Flag track) {
     * @param entry     the entry to commit
     * @param operation if {@code null}, it identifies this commit as originated from a normal operation. Otherwise, it
     * @param ctx
+    * @return {@code true} if the entry was committed, {@code false} if it was discarded.
     */
-   public final void commit(final CacheEntry entry, final Flag operation, int segment,
-                            boolean l1Only, InvocationContext ctx) {
+   public final boolean commit(final CacheEntry entry, final Flag operation, int segment,
+                               boolean l1Only, InvocationContext ctx) {
       if (trace) {
          log.tracef("Trying to commit. Key=%s. Operation Flag=%s, L1 write/invalidation=%s", toStr(entry.getKey()),
                operation, l1Only);
@@ -95,7 +96,7 @@ public final void commit(final CacheEntry entry, final Flag operation, int segme
                   toStr(entry.getKey()));
          }
          commitEntry(entry, segment, ctx);
-         return;
+         return true;
       }
       if (isTrackDisabled(operation)) {
          //this a put for state transfer but we are not tracking it. This means that the state transfer has ended
@@ -104,8 +105,9 @@ public final void commit(final CacheEntry entry, final Flag operation, int segme
             log.tracef("Not committing key=%s. It is a state transfer key but no track is enabled!",
                   toStr(entry.getKey()));
          }
-         return;
+         return false;
       }
+      boolean[] committed = new boolean[1];
       tracker.compute(entry.getKey(), (o, discardPolicy) -> {
          if (discardPolicy != null && discardPolicy.ignore(operation)) {
             if (trace) {
@@ -115,6 +117,7 @@ public final void commit(final CacheEntry entry, final Flag operation, int segme
             return discardPolicy;
          }
          commitEntry(entry, segment, ctx);
+         committed[0] = true;
          DiscardPolicy newDiscardPolicy = calculateDiscardPolicy(operation);
          if (trace) {
             log.tracef("Committed key=%s. Old discard policy=%s. New discard policy=%s", toStr(entry.getKey()),
@@ -122,6 +125,7 @@ public final void commit(final CacheEntry entry, final Flag operation, int segme
          }
          return newDiscardPolicy;
       });
+      return committed[0];
    }
 
    private void commitEntry(CacheEntry entry, int segment, InvocationContext ctx) {
@@ -1,7 +1,13 @@
 package org.infinispan.statetransfer;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import net.jcip.annotations.GuardedBy;
@@ -9,6 +15,7 @@
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
+import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
 import org.infinispan.remoting.responses.Response;
 import org.infinispan.remoting.responses.SuccessfulResponse;
@@ -62,6 +69,21 @@ public class InboundTransferTask {
 
    private final RpcOptions rpcOptions;
 
+   /**
+    * Whether the state was requested with {@link #requestDeltaSegments(Map)}.
+    */
+   private volatile boolean delta;
+
+   /**
+    * The bit masks of the buckets that differ from the source, by segment, only for delta transfers.
+    */
+   private volatile Map<Integer, Long> differingBuckets = Collections.emptyMap();
+
+   /**
+    * The keys received for each segment, only tracked for delta transfers.
+    */
+   private final Map<Integer, Set<Object>> receivedKeys = new ConcurrentHashMap<>();
+
    public InboundTransferTask(IntSet segments, Address source, int topologyId, RpcManager rpcManager,
                               CommandsFactory commandsFactory, long timeout, String cacheName, boolean applyState) {
       if (segments == null || segments.isEmpty()) {
@@ -116,11 +138,27 @@ public CompletableFuture<Void> requestSegments() {
       return startTransfer(applyState ? StateRequestCommand.Type.START_STATE_TRANSFER : StateRequestCommand.Type.START_CONSISTENCY_CHECK);
    }
 
+   /**
+    * Send START_DELTA_STATE_TRANSFER request to source node, with the digests of the local entries. The source only
+    * sends the entries in the buckets that differ, see {@link #getDifferingBuckets(int)}.
+    *
+    * @param digests the digests of the local entries, for all the segments of this task
+    * @return a {@code CompletableFuture} that completes when the transfer is done.
+    */
+   public CompletableFuture<Void> requestDeltaSegments(Map<Integer, SegmentDigest> digests) {
+      delta = true;
+      return startTransfer(StateRequestCommand.Type.START_DELTA_STATE_TRANSFER, digests);
+   }
+
    public CompletableFuture<Void> requestKeys() {
       return startTransfer(StateRequestCommand.Type.START_KEYS_TRANSFER);
    }
 
    private CompletableFuture<Void> startTransfer(StateRequestCommand.Type type) {
+      return startTransfer(type, null);
+   }
+
+   private CompletableFuture<Void> startTransfer(StateRequestCommand.Type type, Map<Integer, SegmentDigest> digests) {
       if (!isCancelled) {
          IntSet segmentsCopy = getSegments();
          if (segmentsCopy.isEmpty()) {
@@ -133,11 +171,22 @@ private CompletableFuture<Void> startTransfer(StateRequestCommand.Type type) {
          }
          // start transfer of cache entries
          try {
-            StateRequestCommand cmd = commandsFactory.buildStateRequestCommand(type, rpcManager.getAddress(), topologyId, segmentsCopy);
+            StateRequestCommand cmd;
+            if (digests != null) {
+               // Segments may have been cancelled since the digests were computed
+               Map<Integer, SegmentDigest> segmentDigests = new HashMap<>(digests);
+               segmentDigests.keySet().retainAll(segmentsCopy);
+               cmd = commandsFactory.buildStateRequestCommand(rpcManager.getAddress(), topologyId, segmentDigests);
+            } else {
+               cmd = commandsFactory.buildStateRequestCommand(type, rpcManager.getAddress(), topologyId, segmentsCopy);
+            }
             Response response = rpcManager.blocking(rpcManager.invokeCommand(source, cmd,
                                                                              SingleResponseCollector.validOnly(),
                                                                              rpcOptions));
             if (response instanceof SuccessfulResponse) {
+               if (digests != null) {
+                  differingBuckets = (Map<Integer, Long>) ((SuccessfulResponse) response).getResponseValue();
+               }
                if (trace) {
                   log.tracef("Successfully requested state (%s) from node %s for segments %s", type, source, segmentsCopy);
                }
@@ -233,6 +282,33 @@ private void sendCancelCommand(IntSet cancelledSegments) {
       }
    }
 
+   public boolean isDelta() {
+      return delta;
+   }
+
+   /**
+    * @return the bit mask of the buckets of the segment that differ from the source, only for delta transfers.
+    */
+   public long getDifferingBuckets(int segmentId) {
+      return differingBuckets.getOrDefault(segmentId, 0L);
+   }
+
+   /**
+    * @return the keys received for the segment, only tracked for delta transfers.
+    */
+   public Set<Object> getReceivedKeys(int segmentId) {
+      return receivedKeys.getOrDefault(segmentId, Collections.emptySet());
+   }
+
+   public void onEntriesReceived(int segmentId, Collection<InternalCacheEntry> entries) {
+      if (delta && !entries.isEmpty()) {
+         Set<Object> keys = receivedKeys.computeIfAbsent(segmentId, k -> ConcurrentHashMap.newKeySet());
+         for (InternalCacheEntry entry : entries) {
+            keys.add(entry.getKey());
+         }
+      }
+   }
+
    public void onStateReceived(int segmentId, boolean isLastChunk) {
       if (!isCancelled && isLastChunk) {
          boolean isCompleted = false;
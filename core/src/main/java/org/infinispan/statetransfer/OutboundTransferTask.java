@@ -11,9 +11,11 @@
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commons.CacheException;
+import org.infinispan.commons.io.ExposedByteArrayOutputStream;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.container.entries.InternalCacheEntry;
@@ -83,11 +85,26 @@ public class OutboundTransferTask implements Runnable {
 
    private final Map<Integer, List<InternalCacheEntry>> entriesBySegment = new ConcurrentHashMap<>();
 
+   /**
+    * Marshalls the entries before sending them, or {@code null} if the entries are marshalled with the command.
+    */
+   private final StateChunkEncoder chunkEncoder;
+
+   /**
+    * The marshalled entries of each segment, only used with a {@link #chunkEncoder}.
+    */
+   private final Map<Integer, ExposedByteArrayOutputStream> bytesBySegment = new ConcurrentHashMap<>();
+
    /**
     * The total number of entries from all segments accumulated in entriesBySegment.
     */
    private int accumulatedEntries;
 
+   /**
+    * The total size of the entries from all segments accumulated in bytesBySegment.
+    */
+   private long accumulatedBytes;
+
    /**
     * The Future obtained from submitting this task to an executor service. This is used for cancellation.
     */
@@ -97,6 +114,11 @@ public class OutboundTransferTask implements Runnable {
 
    private InternalEntryFactory entryFactory;
 
+   /**
+    * Only the entries with keys matching the filter are sent, or all the entries if {@code null}.
+    */
+   private Predicate<Object> keyFilter;
+
    public OutboundTransferTask(Address destination, IntSet segments, int segmentCount, int chunkSize,
                                int topologyId, KeyPartitioner keyPartitioner,
                                Consumer<OutboundTransferTask> onCompletion, Consumer<List<StateChunk>> onChunkReplicated,
@@ -104,7 +126,7 @@ public OutboundTransferTask(Address destination, IntSet segments, int segmentCou
                                BiFunction<MarshallableEntry, InternalEntryFactory, InternalCacheEntry> mapEntryFromStore, InternalDataContainer dataContainer,
                                PersistenceManager persistenceManager, RpcManager rpcManager,
                                CommandsFactory commandsFactory, InternalEntryFactory ef, long timeout, String cacheName,
-                               boolean applyState, boolean pushTransfer) {
+                               boolean applyState, boolean pushTransfer, StateChunkEncoder chunkEncoder) {
       if (segments == null || segments.isEmpty()) {
          throw new IllegalArgumentException("Segments must not be null or empty");
       }
@@ -132,6 +154,7 @@ public OutboundTransferTask(Address destination, IntSet segments, int segmentCou
       this.cacheName = cacheName;
       this.applyState = applyState;
       this.pushTransfer = pushTransfer;
+      this.chunkEncoder = chunkEncoder;
       //the rpc options does not change in runtime. re-use the same instance
       this.rpcOptions = rpcManager.getRpcOptionsBuilder(ResponseMode.SYNCHRONOUS)
             .timeout(timeout, TimeUnit.MILLISECONDS).build();
@@ -150,6 +173,13 @@ protected void done() {
       executorService.submit(runnableFuture);
    }
 
+   void setKeyFilter(Predicate<Object> keyFilter) {
+      if (runnableFuture != null) {
+         throw new IllegalStateException("This task was already submitted");
+      }
+      this.keyFilter = keyFilter;
+   }
+
    public Address getDestination() {
       return destination;
    }
@@ -170,7 +200,7 @@ public void run() {
          for (InternalCacheEntry ice : dataContainer) {
             Object key = ice.getKey();  //todo [anistor] should we check for expired entries?
             int segmentId = keyPartitioner.getSegment(key);
-            if (segments.contains(segmentId) && !ice.isL1Entry()) {
+            if (segments.contains(segmentId) && !ice.isL1Entry() && (keyFilter == null || keyFilter.test(key))) {
                InternalCacheEntry entry = mapEntryFromDataContainer.apply(ice, entryFactory);
                if (entry != null) {
                   sendEntry(entry, segmentId);
@@ -181,7 +211,8 @@ public void run() {
          AdvancedCacheLoader<Object, Object> stProvider = persistenceManager.getStateTransferProvider();
          if (stProvider != null) {
             try {
-               Flowable.fromPublisher(stProvider.entryPublisher(k -> !dataContainer.containsKey(k), true, true))
+               Flowable.fromPublisher(stProvider.entryPublisher(
+                     k -> !dataContainer.containsKey(k) && (keyFilter == null || keyFilter.test(k)), true, true))
                      .blockingForEach(me -> {
                         int segmentId = keyPartitioner.getSegment(me.getKey());
                         if (segments.contains(segmentId)) {
@@ -218,24 +249,41 @@ public void run() {
       }
    }
 
-   private void sendEntry(InternalCacheEntry ice, int segmentId) {
+   private void sendEntry(InternalCacheEntry ice, int segmentId) throws InterruptedException {
       // send if we have a full chunk
-      if (accumulatedEntries >= chunkSize) {
+      if (chunkEncoder != null ? chunkEncoder.isFull(accumulatedEntries, accumulatedBytes, chunkSize) :
+          accumulatedEntries >= chunkSize) {
          sendEntries(false);
          accumulatedEntries = 0;
+         accumulatedBytes = 0;
       }
 
       List<InternalCacheEntry> entries = entriesBySegment.computeIfAbsent(segmentId, k -> new ArrayList<>());
       entries.add(ice);
       accumulatedEntries++;
+      if (chunkEncoder != null) {
+         ExposedByteArrayOutputStream bytes =
+               bytesBySegment.computeIfAbsent(segmentId, k -> new ExposedByteArrayOutputStream());
+         accumulatedBytes += chunkEncoder.writeEntry(bytes, ice);
+      }
    }
 
-   private void sendEntries(boolean isLast) {
+   private void sendEntries(boolean isLast) throws InterruptedException {
       List<StateChunk> chunks = new ArrayList<>();
+      long chunksBytes = 0;
       for (Map.Entry<Integer, List<InternalCacheEntry>> e : entriesBySegment.entrySet()) {
          List<InternalCacheEntry> entries = e.getValue();
          if (!entries.isEmpty() || isLast) {
-            chunks.add(new StateChunk(e.getKey(), new ArrayList<>(entries), isLast));
+            if (chunkEncoder != null) {
+               ExposedByteArrayOutputStream bytes =
+                     bytesBySegment.computeIfAbsent(e.getKey(), k -> new ExposedByteArrayOutputStream());
+               StateChunk chunk = chunkEncoder.encode(e.getKey(), entries, bytes, isLast);
+               chunksBytes += chunk.getTransferredBytes();
+               chunks.add(chunk);
+               bytes.reset();
+            } else {
+               chunks.add(new StateChunk(e.getKey(), new ArrayList<>(entries), isLast));
+            }
             entries.clear();
          }
       }
@@ -259,6 +307,9 @@ private void sendEntries(boolean isLast) {
             }
          }
 
+         if (chunkEncoder != null) {
+            chunkEncoder.throttle(chunksBytes);
+         }
          StateResponseCommand cmd = commandsFactory.buildStateResponseCommand(rpcManager.getAddress(), topologyId, chunks, applyState, pushTransfer);
          // send synchronously, in order. it is important that the last chunk is received last in order to correctly detect completion of the stream of chunks
          try {
@@ -289,6 +340,7 @@ public void cancelSegments(IntSet cancelledSegments) {
                        destination, cancelledSegments, segments);
          }
          entriesBySegment.keySet().removeAll(cancelledSegments);  // here we do not update accumulatedEntries but this inaccuracy does not cause any harm
+         bytesBySegment.keySet().removeAll(cancelledSegments);
          if (segments.isEmpty()) {
             cancel();
          }
@@ -0,0 +1,176 @@
+package org.infinispan.statetransfer;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.function.Predicate;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.commons.io.UnsignedNumeric;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.spi.AdvancedCacheLoader;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import io.reactivex.Flowable;
+
+/**
+ * A digest of the entries of a segment, used to transfer only the entries that differ between two nodes.
+ * <p>
+ * The keys of a segment are split into {@link #BUCKETS} buckets by the hash of the marshalled key, and each bucket
+ * holds the XOR of the hashes of its entries. The hash of an entry covers the key, the value, the version and the
+ * expiration settings, so two nodes have the same bucket only if they have the same entries in it. Comparing two
+ * digests yields a bit mask with a bit set for each bucket that differs.
+ * <p>
+ * The keys and values are hashed in their marshalled form, so the digests of two nodes can be compared regardless of
+ * the {@code hashCode()} implementation of the keys and values.
+ *
+ * @since 10.0
+ */
+public final class SegmentDigest {
+   private static final Log log = LogFactory.getLog(SegmentDigest.class);
+
+   public static final int BUCKETS = Long.SIZE;
+   private static final int SEED = 9001;
+
+   private final long[] buckets;
+
+   SegmentDigest() {
+      this(new long[BUCKETS]);
+   }
+
+   private SegmentDigest(long[] buckets) {
+      this.buckets = buckets;
+   }
+
+   void add(long keyHash, long entryHash) {
+      buckets[bucket(keyHash)] ^= entryHash;
+   }
+
+   /**
+    * @return a bit mask with bit {@code i} set if bucket {@code i} differs between the two digests.
+    */
+   public long differingBuckets(SegmentDigest other) {
+      long mask = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+         if (buckets[i] != other.buckets[i]) {
+            mask |= 1L << i;
+         }
+      }
+      return mask;
+   }
+
+   /**
+    * @return {@code true} if the key with the given {@link #keyHash(StreamingMarshaller, Object)} belongs to one of
+    * the buckets in {@code bucketMask}.
+    */
+   static boolean isInBuckets(long bucketMask, long keyHash) {
+      return (bucketMask & (1L << bucket(keyHash))) != 0;
+   }
+
+   private static int bucket(long keyHash) {
+      // The low bits select the segment for most key partitioners, so use the high bits
+      return (int) (keyHash >>> (Long.SIZE - 6));
+   }
+
+   static long keyHash(StreamingMarshaller marshaller, Object key) {
+      return MurmurHash3.MurmurHash3_x64_64(toBytes(marshaller, key), SEED);
+   }
+
+   static long entryHash(StreamingMarshaller marshaller, long keyHash, Object value, Metadata metadata) {
+      long valueHash = value == null ? 0 : MurmurHash3.MurmurHash3_x64_64(toBytes(marshaller, value), SEED);
+      // Stores may not keep the metadata of immortal entries, so a missing metadata is the same as the default one
+      long versionHash = 0;
+      long lifespan = -1;
+      long maxIdle = -1;
+      if (metadata != null) {
+         if (metadata.version() != null) {
+            versionHash = MurmurHash3.MurmurHash3_x64_64(toBytes(marshaller, metadata.version()), SEED);
+         }
+         lifespan = metadata.lifespan();
+         maxIdle = metadata.maxIdle();
+      }
+      return MurmurHash3.MurmurHash3_x64_64(new long[]{keyHash, valueHash, versionHash, lifespan, maxIdle}, SEED);
+   }
+
+   private static byte[] toBytes(StreamingMarshaller marshaller, Object o) {
+      try {
+         return marshaller.objectToByteBuffer(o);
+      } catch (IOException e) {
+         throw new CacheException(e);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new CacheException(e);
+      }
+   }
+
+   /**
+    * Computes the digests of the given segments, over the entries that would be sent by an {@link OutboundTransferTask}:
+    * the non-L1 entries in the data container and the entries in the store with {@code fetchPersistentState}.
+    */
+   static Map<Integer, SegmentDigest> compute(IntSet segments, InternalDataContainer<Object, Object> dataContainer,
+                                              PersistenceManager persistenceManager, KeyPartitioner keyPartitioner,
+                                              StreamingMarshaller marshaller) {
+      Map<Integer, SegmentDigest> digests = new HashMap<>();
+      for (PrimitiveIterator.OfInt it = segments.iterator(); it.hasNext(); ) {
+         digests.put(it.nextInt(), new SegmentDigest());
+      }
+
+      dataContainer.forEach(segments, ice -> {
+         if (!ice.isL1Entry()) {
+            long keyHash = keyHash(marshaller, ice.getKey());
+            digests.get(keyPartitioner.getSegment(ice.getKey()))
+                   .add(keyHash, entryHash(marshaller, keyHash, ice.getValue(), ice.getMetadata()));
+         }
+      });
+
+      AdvancedCacheLoader<Object, Object> stProvider = persistenceManager.getStateTransferProvider();
+      if (stProvider != null) {
+         Predicate<Object> filter = k -> segments.contains(keyPartitioner.getSegment(k)) && !dataContainer.containsKey(k);
+         try {
+            Flowable.fromPublisher(stProvider.entryPublisher(filter, true, true))
+                  .blockingForEach(me -> {
+                     long keyHash = keyHash(marshaller, me.getKey());
+                     digests.get(keyPartitioner.getSegment(me.getKey()))
+                            .add(keyHash, entryHash(marshaller, keyHash, me.getValue(), me.getMetadata()));
+                  });
+         } catch (CacheException e) {
+            log.failedLoadingKeysFromCacheStore(e);
+         }
+      }
+      return digests;
+   }
+
+   static void writeDigests(ObjectOutput output, Map<Integer, SegmentDigest> digests) throws IOException {
+      UnsignedNumeric.writeUnsignedInt(output, digests.size());
+      for (Map.Entry<Integer, SegmentDigest> e : digests.entrySet()) {
+         UnsignedNumeric.writeUnsignedInt(output, e.getKey());
+         for (long bucket : e.getValue().buckets) {
+            output.writeLong(bucket);
+         }
+      }
+   }
+
+   static Map<Integer, SegmentDigest> readDigests(ObjectInput input) throws IOException {
+      int size = UnsignedNumeric.readUnsignedInt(input);
+      Map<Integer, SegmentDigest> digests = new HashMap<>(size);
+      for (int i = 0; i < size; i++) {
+         int segmentId = UnsignedNumeric.readUnsignedInt(input);
+         long[] buckets = new long[BUCKETS];
+         for (int j = 0; j < BUCKETS; j++) {
+            buckets[j] = input.readLong();
+         }
+         digests.put(segmentId, new SegmentDigest(buckets));
+      }
+      return digests;
+   }
+}
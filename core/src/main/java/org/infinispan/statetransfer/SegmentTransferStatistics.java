@@ -0,0 +1,82 @@
+package org.infinispan.statetransfer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.remoting.transport.Address;
+
+/**
+ * Statistics about the latest outbound transfer of a segment.
+ * <p>
+ * A segment is sent by a single thread, so the statistics are only updated by one thread at a time.
+ *
+ * @since 10.0
+ */
+public class SegmentTransferStatistics {
+   private final int segmentId;
+   private final Address destination;
+   private final int topologyId;
+   private final long startNanos;
+   private volatile long entries;
+   private volatile long bytes;
+   private volatile long durationNanos = -1;
+
+   SegmentTransferStatistics(int segmentId, Address destination, int topologyId, long startNanos) {
+      this.segmentId = segmentId;
+      this.destination = destination;
+      this.topologyId = topologyId;
+      this.startNanos = startNanos;
+   }
+
+   void chunkSent(StateChunk chunk, long nowNanos) {
+      entries += chunk.getCacheEntries().size();
+      bytes += chunk.getTransferredBytes();
+      if (chunk.isLastChunk()) {
+         durationNanos = nowNanos - startNanos;
+      }
+   }
+
+   public int getSegmentId() {
+      return segmentId;
+   }
+
+   public Address getDestination() {
+      return destination;
+   }
+
+   public int getTopologyId() {
+      return topologyId;
+   }
+
+   public long getEntries() {
+      return entries;
+   }
+
+   /**
+    * @return the number of bytes sent, or 0 if the entries were not marshalled separately, see
+    * {@link StateChunk#getTransferredBytes()}.
+    */
+   public long getBytes() {
+      return bytes;
+   }
+
+   /**
+    * @return the time between the start of the transfer and sending the last chunk of the segment, or -1 if the transfer
+    * is still in progress.
+    */
+   public long getDuration(TimeUnit unit) {
+      long duration = durationNanos;
+      return duration < 0 ? -1 : unit.convert(duration, TimeUnit.NANOSECONDS);
+   }
+
+   @Override
+   public String toString() {
+      return "SegmentTransferStatistics{" +
+            "segmentId=" + segmentId +
+            ", destination=" + destination +
+            ", topologyId=" + topologyId +
+            ", entries=" + entries +
+            ", bytes=" + bytes +
+            ", durationMillis=" + getDuration(TimeUnit.MILLISECONDS) +
+            '}';
+   }
+}
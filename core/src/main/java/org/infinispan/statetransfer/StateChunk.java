@@ -3,11 +3,15 @@
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
 
+import org.infinispan.commons.io.UnsignedNumeric;
 import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.marshall.core.Ids;
 
@@ -35,10 +39,36 @@ public class StateChunk {
     */
    private final boolean isLastChunk;
 
+   /**
+    * The marshalled cache entries, only present on the sender, see {@link StateChunkEncoder}.
+    */
+   private final byte[] marshalledEntries;
+
+   private final boolean compressed;
+
+   /**
+    * The size of the marshalled cache entries, or 0 if the cache entries were not marshalled separately.
+    */
+   private final int transferredBytes;
+
    public StateChunk(int segmentId, Collection<InternalCacheEntry> cacheEntries, boolean isLastChunk) {
+      this(segmentId, cacheEntries, null, false, isLastChunk);
+   }
+
+   StateChunk(int segmentId, Collection<InternalCacheEntry> cacheEntries, byte[] marshalledEntries, boolean compressed,
+              boolean isLastChunk) {
+      this(segmentId, cacheEntries, marshalledEntries, compressed, isLastChunk,
+           marshalledEntries != null ? marshalledEntries.length : 0);
+   }
+
+   private StateChunk(int segmentId, Collection<InternalCacheEntry> cacheEntries, byte[] marshalledEntries,
+                      boolean compressed, boolean isLastChunk, int transferredBytes) {
       this.segmentId = segmentId;
       this.cacheEntries = cacheEntries;
+      this.marshalledEntries = marshalledEntries;
+      this.compressed = compressed;
       this.isLastChunk = isLastChunk;
+      this.transferredBytes = transferredBytes;
    }
 
    public int getSegmentId() {
@@ -53,16 +83,33 @@ public boolean isLastChunk() {
       return isLastChunk;
    }
 
+   /**
+    * @return the number of bytes used to transfer the cache entries, or 0 if unknown.
+    */
+   public int getTransferredBytes() {
+      return transferredBytes;
+   }
+
    @Override
    public String toString() {
       return "StateChunk{" +
             "segmentId=" + segmentId +
             ", cacheEntries=" + cacheEntries.size() +
             ", isLastChunk=" + isLastChunk +
+            (transferredBytes > 0 ? ", transferredBytes=" + transferredBytes + ", compressed=" + compressed : "") +
             '}';
    }
 
    public static class Externalizer extends AbstractExternalizer<StateChunk> {
+      private static final byte ENTRIES = 0;
+      private static final byte MARSHALLED_ENTRIES = 1;
+      private static final byte COMPRESSED_ENTRIES = 2;
+
+      private final StreamingMarshaller marshaller;
+
+      public Externalizer(StreamingMarshaller marshaller) {
+         this.marshaller = marshaller;
+      }
 
       @Override
       public Integer getId() {
@@ -76,18 +123,33 @@ public Set<Class<? extends StateChunk>> getTypeClasses() {
 
       @Override
       public void writeObject(ObjectOutput output, StateChunk object) throws IOException {
-         output.writeInt(object.segmentId);
-         output.writeObject(object.cacheEntries);
+         UnsignedNumeric.writeUnsignedInt(output, object.segmentId);
+         if (object.marshalledEntries == null) {
+            output.writeByte(ENTRIES);
+            MarshallUtil.marshallCollection(object.cacheEntries, output);
+         } else {
+            output.writeByte(object.compressed ? COMPRESSED_ENTRIES : MARSHALLED_ENTRIES);
+            UnsignedNumeric.writeUnsignedInt(output, object.cacheEntries.size());
+            MarshallUtil.marshallByteArray(object.marshalledEntries, output);
+         }
          output.writeBoolean(object.isLastChunk);
       }
 
       @Override
-      @SuppressWarnings("unchecked")
       public StateChunk readObject(ObjectInput input) throws IOException, ClassNotFoundException {
-         int segmentId = input.readInt();
-         Collection<InternalCacheEntry> cacheEntries = (Collection<InternalCacheEntry>) input.readObject();
+         int segmentId = UnsignedNumeric.readUnsignedInt(input);
+         byte type = input.readByte();
+         if (type == ENTRIES) {
+            Collection<InternalCacheEntry> cacheEntries = MarshallUtil.unmarshallCollection(input, ArrayList::new);
+            boolean isLastChunk = input.readBoolean();
+            return new StateChunk(segmentId, cacheEntries, isLastChunk);
+         }
+         int numEntries = UnsignedNumeric.readUnsignedInt(input);
+         byte[] bytes = MarshallUtil.unmarshallByteArray(input);
          boolean isLastChunk = input.readBoolean();
-         return new StateChunk(segmentId, cacheEntries, isLastChunk);
+         Collection<InternalCacheEntry> cacheEntries =
+               StateChunkEncoder.decode(marshaller, bytes, type == COMPRESSED_ENTRIES, numEntries);
+         return new StateChunk(segmentId, cacheEntries, null, false, isLastChunk, bytes.length);
       }
    }
 }
@@ -0,0 +1,189 @@
+package org.infinispan.statetransfer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.io.ExposedByteArrayOutputStream;
+import org.infinispan.commons.io.UnsignedNumeric;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.configuration.cache.StateTransferConfiguration;
+import org.infinispan.container.entries.InternalCacheEntry;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Marshalls the entries of the state chunks before they are sent, so that the chunks can be sized in bytes,
+ * compressed, and sent within a maximum bandwidth.
+ * <p>
+ * The marshalled entries of a chunk are written one after the other, each one prefixed with its length. A compressed
+ * chunk is prefixed with the uncompressed length, and it is only sent compressed if compression made it smaller.
+ *
+ * @since 10.0
+ */
+public class StateChunkEncoder {
+   private final StreamingMarshaller marshaller;
+   private final TimeService timeService;
+   private final long chunkSizeBytes;
+   private final boolean compress;
+   private final long maxBandwidth;
+
+   @GuardedBy("this")
+   private long nextSendNanos;
+
+   private StateChunkEncoder(StreamingMarshaller marshaller, TimeService timeService, long chunkSizeBytes,
+                             boolean compress, long maxBandwidth) {
+      this.marshaller = marshaller;
+      this.timeService = timeService;
+      this.chunkSizeBytes = chunkSizeBytes;
+      this.compress = compress;
+      this.maxBandwidth = maxBandwidth;
+   }
+
+   /**
+    * @return an encoder for the given configuration, or {@code null} if the entries can be sent without marshalling
+    * them first.
+    */
+   public static StateChunkEncoder create(StateTransferConfiguration configuration, StreamingMarshaller marshaller,
+                                          TimeService timeService) {
+      if (configuration.chunkSizeBytes() <= 0 && !configuration.compressChunks() && configuration.maxBandwidth() <= 0)
+         return null;
+
+      return new StateChunkEncoder(marshaller, timeService, configuration.chunkSizeBytes(),
+                                   configuration.compressChunks(), configuration.maxBandwidth());
+   }
+
+   /**
+    * @return {@code true} if a chunk with the given number of entries and bytes should be sent.
+    */
+   boolean isFull(int entries, long bytes, int chunkSize) {
+      return chunkSizeBytes > 0 ? bytes >= chunkSizeBytes : entries >= chunkSize;
+   }
+
+   /**
+    * Marshalls an entry at the end of {@code out}.
+    *
+    * @return the number of bytes written
+    */
+   int writeEntry(ExposedByteArrayOutputStream out, InternalCacheEntry entry) {
+      try {
+         ByteBuffer bytes = marshaller.objectToBuffer(entry);
+         int length = bytes.getLength();
+         UnsignedNumeric.writeUnsignedInt(out, length);
+         out.write(bytes.getBuf(), bytes.getOffset(), length);
+         return UnsignedNumeric.sizeUnsignedInt(length) + length;
+      } catch (IOException e) {
+         throw new CacheException(e);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new CacheException(e);
+      }
+   }
+
+   /**
+    * Creates a chunk with a copy of {@code entries} and of the entries marshalled in {@code out}.
+    */
+   StateChunk encode(int segmentId, List<InternalCacheEntry> entries, ExposedByteArrayOutputStream out,
+                     boolean isLastChunk) {
+      byte[] raw = out.getRawBuffer();
+      int length = out.size();
+      if (compress && length > 0) {
+         byte[] compressed = compress(raw, length);
+         if (compressed != null) {
+            return new StateChunk(segmentId, new ArrayList<>(entries), compressed, true, isLastChunk);
+         }
+      }
+      byte[] bytes = new byte[length];
+      System.arraycopy(raw, 0, bytes, 0, length);
+      return new StateChunk(segmentId, new ArrayList<>(entries), bytes, false, isLastChunk);
+   }
+
+   /**
+    * Waits until {@code bytes} can be sent without exceeding the maximum bandwidth.
+    */
+   void throttle(long bytes) throws InterruptedException {
+      if (maxBandwidth <= 0 || bytes == 0)
+         return;
+
+      long delayNanos;
+      synchronized (this) {
+         long now = timeService.time();
+         long start = Math.max(now, nextSendNanos);
+         nextSendNanos = start + bytes * TimeUnit.SECONDS.toNanos(1) / maxBandwidth;
+         delayNanos = start - now;
+      }
+      if (delayNanos > 0) {
+         TimeUnit.NANOSECONDS.sleep(delayNanos);
+      }
+   }
+
+   private static byte[] compress(byte[] raw, int length) {
+      Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try {
+         deflater.setInput(raw, 0, length);
+         deflater.finish();
+         byte[] compressed = new byte[length];
+         int offset = UnsignedNumeric.writeUnsignedInt(compressed, 0, length);
+         while (!deflater.finished()) {
+            if (offset == compressed.length) {
+               // Not smaller than the uncompressed entries
+               return null;
+            }
+            offset += deflater.deflate(compressed, offset, compressed.length - offset);
+         }
+         byte[] result = new byte[offset];
+         System.arraycopy(compressed, 0, result, 0, offset);
+         return result;
+      } finally {
+         deflater.end();
+      }
+   }
+
+   /**
+    * Unmarshalls the entries written by {@link #writeEntry(ExposedByteArrayOutputStream, InternalCacheEntry)}.
+    */
+   static List<InternalCacheEntry> decode(StreamingMarshaller marshaller, byte[] bytes, boolean compressed,
+                                          int numEntries) throws IOException, ClassNotFoundException {
+      if (compressed) {
+         bytes = decompress(bytes);
+      }
+      List<InternalCacheEntry> entries = new ArrayList<>(numEntries);
+      int offset = 0;
+      for (int i = 0; i < numEntries; i++) {
+         int length = UnsignedNumeric.readUnsignedInt(bytes, offset);
+         offset += UnsignedNumeric.sizeUnsignedInt(length);
+         entries.add((InternalCacheEntry) marshaller.objectFromByteBuffer(bytes, offset, length));
+         offset += length;
+      }
+      return entries;
+   }
+
+   private static byte[] decompress(byte[] compressed) throws IOException {
+      int length = UnsignedNumeric.readUnsignedInt(compressed, 0);
+      int prefix = UnsignedNumeric.sizeUnsignedInt(length);
+      Inflater inflater = new Inflater();
+      try {
+         inflater.setInput(compressed, prefix, compressed.length - prefix);
+         byte[] bytes = new byte[length];
+         int offset = 0;
+         while (offset < length) {
+            int inflated = inflater.inflate(bytes, offset, length - offset);
+            if (inflated == 0 && (inflater.finished() || inflater.needsInput()))
+               throw new IOException("Truncated state chunk");
+            offset += inflated;
+         }
+         return bytes;
+      } catch (DataFormatException e) {
+         throw new IOException(e);
+      } finally {
+         inflater.end();
+      }
+   }
+}
@@ -39,13 +39,17 @@
 import org.infinispan.commands.write.InvalidateCommand;
 import org.infinispan.commands.write.PutKeyValueCommand;
 import org.infinispan.commons.CacheException;
+import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.commons.util.EnumUtil;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.conflict.impl.InternalConflictManager;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.entries.ReadCommittedEntry;
 import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.InvocationContextFactory;
@@ -65,9 +69,13 @@
 import org.infinispan.interceptors.AsyncInterceptorChain;
 import org.infinispan.metadata.impl.InternalMetadataImpl;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
 import org.infinispan.notifications.cachelistener.annotation.DataRehashed;
 import org.infinispan.notifications.cachelistener.cluster.ClusterListenerReplicateCallable;
 import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
 import org.infinispan.reactive.publisher.impl.LocalPublisherManager;
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
 import org.infinispan.remoting.responses.CacheNotFoundResponse;
@@ -91,6 +99,7 @@
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.CompletionStages;
 import org.infinispan.util.concurrent.TimeoutException;
+import org.infinispan.util.concurrent.locks.LockManager;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 import org.reactivestreams.Publisher;
@@ -112,6 +121,8 @@ public class StateConsumerImpl implements StateConsumer {
                                                                       IGNORE_RETURN_VALUES, SKIP_REMOTE_LOOKUP,
                                                                       SKIP_SHARED_CACHE_STORE, SKIP_OWNERSHIP_CHECK,
                                                                       SKIP_XSITE_BACKUP);
+   // The entries of the received chunks are applied in parallel in batches of this size
+   private static final int APPLY_BATCH_SIZE = 128;
 
    @Inject protected ComponentRef<Cache<Object, Object>> cache;
    @Inject protected LocalTopologyManager localTopologyManager;
@@ -138,6 +149,10 @@ public class StateConsumerImpl implements StateConsumer {
    @Inject protected KeyPartitioner keyPartitioner;
    @Inject private InternalConflictManager conflictManager;
    @Inject private LocalPublisherManager<Object, Object> localPublisherManager;
+   @Inject private GlobalConfiguration globalConfiguration;
+   @Inject protected StreamingMarshaller marshaller;
+   @Inject protected LockManager lockManager;
+   @Inject protected MarshallableEntryFactory<Object, Object> marshallableEntryFactory;
 
    protected String cacheName;
    protected long timeout;
@@ -190,12 +205,30 @@ public class StateConsumerImpl implements StateConsumer {
     */
    protected LimitedExecutor stateRequestExecutor;
 
+   /**
+    * Applies the received entries, with at most one task per core
+    */
+   protected LimitedExecutor stateApplyExecutor;
+
+   /**
+    * Whether the received entries can be written directly to the data container and the stores, if there are no
+    * listeners and their keys are not locked.
+    */
+   private boolean directApplyEnabled;
+   private boolean directApplyToStores;
+
    private volatile boolean ownsData = false;
 
    // Use the state transfer timeout for RPCs instead of the regular remote timeout
    protected RpcOptions rpcOptions;
    private volatile boolean running;
 
+   /**
+    * Whether the local node can restart with persistent state and did not finish its first state transfer yet. If so,
+    * the state is requested with the digests of the local entries and only the differences are transferred.
+    */
+   private volatile boolean deltaStateTransfer;
+
    public StateConsumerImpl() {
    }
 
@@ -519,6 +552,7 @@ protected boolean notifyEndOfStateTransferIfNeeded() {
          if (waitingForState.compareAndSet(true, false)) {
             int topologyId = stateTransferTopologyId.get();
             log.debugf("Finished receiving of segments for cache %s for topology %d.", cacheName, topologyId);
+            deltaStateTransfer = false;
             stopApplyingState(topologyId);
             stateTransferFuture.complete(null);
          }
@@ -566,9 +600,9 @@ public void applyState(final Address sender, int topologyId, boolean pushTransfe
          log.tracef("Before applying the received state the data container of cache %s has %d keys", cacheName,
                     dataContainer.sizeIncludingExpired());
       }
-      final CountDownLatch countDownLatch = new CountDownLatch(stateChunks.size());
       if (pushTransfer) {
          // push-transfer is specific for scattered cache but this is the easiest way to integrate it
+         final CountDownLatch countDownLatch = new CountDownLatch(stateChunks.size());
          for (StateChunk stateChunk : stateChunks) {
             if (stateChunk.getCacheEntries() != null) {
                stateTransferExecutor.submit(() -> {
@@ -577,20 +611,22 @@ public void applyState(final Address sender, int topologyId, boolean pushTransfe
                });
             }
          }
+         awaitStateApplied(countDownLatch);
       } else {
          IntSet mySegments = IntSets.from(wCh.getSegmentsForOwner(rpcManager.getAddress()));
-         for (StateChunk stateChunk : stateChunks) {
-            stateTransferExecutor.submit(() -> {
-               try {
-                  applyChunk(sender, mySegments, stateChunk);
-               } catch (Throwable e) {
-                  log.error("Failed applying state", e);
-               }
-               countDownLatch.countDown();
-               log.tracef("Latch %d", countDownLatch.getCount());
-            });
+         applyChunks(sender, mySegments, stateChunks);
+      }
+
+      if (trace) {
+         log.tracef("After applying the received state the data container of cache %s has %d keys", cacheName,
+                    dataContainer.sizeIncludingExpired());
+         synchronized (transferMapsLock) {
+            log.tracef("Segments not received yet for cache %s: %s", cacheName, transfersBySource);
          }
       }
+   }
+
+   private void awaitStateApplied(CountDownLatch countDownLatch) {
       try {
          boolean await = countDownLatch.await(timeout, TimeUnit.MILLISECONDS);
          if (!await) {
@@ -600,23 +636,61 @@ public void applyState(final Address sender, int topologyId, boolean pushTransfe
          Thread.currentThread().interrupt();
          throw new CacheException(e);
       }
+   }
 
-      if (trace) {
-         log.tracef("After applying the received state the data container of cache %s has %d keys", cacheName,
-                    dataContainer.sizeIncludingExpired());
-         synchronized (transferMapsLock) {
-            log.tracef("Segments not received yet for cache %s: %s", cacheName, transfersBySource);
+   /**
+    * Splits the entries of the chunks in batches of at most {@link #APPLY_BATCH_SIZE} entries and applies the batches
+    * in parallel on the {@link #stateApplyExecutor}, regardless of their segment. The inbound transfers are notified
+    * after all the batches were applied.
+    */
+   private void applyChunks(Address sender, IntSet mySegments, Collection<StateChunk> stateChunks) {
+      List<StateChunk> acceptedChunks = new ArrayList<>(stateChunks.size());
+      List<InboundTransferTask> inboundTransfers = new ArrayList<>(stateChunks.size());
+      List<Runnable> batches = new ArrayList<>();
+      for (StateChunk stateChunk : stateChunks) {
+         InboundTransferTask inboundTransfer = findInboundTransfer(sender, mySegments, stateChunk);
+         if (inboundTransfer == null)
+            continue;
+
+         acceptedChunks.add(stateChunk);
+         inboundTransfers.add(inboundTransfer);
+         Collection<InternalCacheEntry> cacheEntries = stateChunk.getCacheEntries();
+         if (cacheEntries != null && !cacheEntries.isEmpty()) {
+            inboundTransfer.onEntriesReceived(stateChunk.getSegmentId(), cacheEntries);
+            List<InternalCacheEntry> entries = new ArrayList<>(cacheEntries);
+            for (int from = 0; from < entries.size(); from += APPLY_BATCH_SIZE) {
+               List<InternalCacheEntry> batch = entries.subList(from, Math.min(entries.size(), from + APPLY_BATCH_SIZE));
+               batches.add(() -> doApplyState(sender, stateChunk.getSegmentId(), batch));
+            }
          }
       }
+
+      CountDownLatch countDownLatch = new CountDownLatch(batches.size());
+      for (Runnable batch : batches) {
+         stateApplyExecutor.execute(() -> {
+            try {
+               batch.run();
+            } catch (Throwable e) {
+               log.error("Failed applying state", e);
+            }
+            countDownLatch.countDown();
+         });
+      }
+      awaitStateApplied(countDownLatch);
+
+      // Notify the inbound tasks that a chunk of cache entries was received
+      for (int i = 0; i < acceptedChunks.size(); i++) {
+         StateChunk stateChunk = acceptedChunks.get(i);
+         inboundTransfers.get(i).onStateReceived(stateChunk.getSegmentId(), stateChunk.isLastChunk());
+      }
    }
 
-   private void applyChunk(Address sender, IntSet mySegments, StateChunk stateChunk) {
+   private InboundTransferTask findInboundTransfer(Address sender, IntSet mySegments, StateChunk stateChunk) {
       if (!mySegments.contains(stateChunk.getSegmentId())) {
          log.warnf("Discarding received cache entries for segment %d of cache %s because they do not belong to this node.", stateChunk.getSegmentId(), cacheName);
-         return;
+         return null;
       }
 
-      // Notify the inbound task that a chunk of cache entries was received
       InboundTransferTask inboundTransfer = null;
       synchronized (transferMapsLock) {
          List<InboundTransferTask> inboundTransfers = transfersBySegment.get(stateChunk.getSegmentId());
@@ -624,23 +698,22 @@ private void applyChunk(Address sender, IntSet mySegments, StateChunk stateChunk
             inboundTransfer = inboundTransfers.stream().filter(task -> task.getSource().equals(sender)).findFirst().orElse(null);
          }
       }
-      if (inboundTransfer != null) {
-         if (stateChunk.getCacheEntries() != null) {
-            doApplyState(sender, stateChunk.getSegmentId(), stateChunk.getCacheEntries());
-         }
-
-         inboundTransfer.onStateReceived(stateChunk.getSegmentId(), stateChunk.isLastChunk());
-      } else {
-         if (cache.wired().getStatus().allowInvocations()) {
-            log.ignoringUnsolicitedState(sender, stateChunk.getSegmentId(), cacheName);
-         }
+      if (inboundTransfer == null && cache.wired().getStatus().allowInvocations()) {
+         log.ignoringUnsolicitedState(sender, stateChunk.getSegmentId(), cacheName);
       }
+      return inboundTransfer;
    }
 
    private void doApplyState(Address sender, int segmentId, Collection<InternalCacheEntry> cacheEntries) {
       if (trace) log.tracef("Applying new state chunk for segment %d of cache %s from node %s: received %d cache entries",
             segmentId, cacheName, sender, cacheEntries.size());
 
+      if (directApplyEnabled && !cacheNotifier.hasListener(CacheEntryCreated.class) &&
+            !cacheNotifier.hasListener(CacheEntryModified.class) && applyDirectly(segmentId, cacheEntries)) {
+         if (trace) log.tracef("Finished applying chunk of segment %d of cache %s directly", segmentId, cacheName);
+         return;
+      }
+
       // CACHE_MODE_LOCAL avoids handling by StateTransferInterceptor and any potential locks in StateTransferLock
       boolean transactional = transactionManager != null;
       for (InternalCacheEntry e : cacheEntries) {
@@ -685,6 +758,51 @@ private void doApplyState(Address sender, int segmentId, Collection<InternalCach
       if (trace) log.tracef("Finished applying chunk of segment %d of cache %s", segmentId, cacheName);
    }
 
+   /**
+    * Writes the entries to the data container and to the private stores in bulk, without invoking the interceptor
+    * chain. The keys are locked for the duration of the writes, so that a local write cannot update the stores in
+    * between, and the commit manager still discards the entries already overwritten by local writes.
+    *
+    * @return {@code false} if some of the keys are locked by local writes, and the entries must be applied with
+    * commands instead.
+    */
+   private boolean applyDirectly(int segmentId, Collection<InternalCacheEntry> cacheEntries) {
+      List<Object> keys = new ArrayList<>(cacheEntries.size());
+      for (InternalCacheEntry e : cacheEntries) {
+         keys.add(e.getKey());
+      }
+      Object lockOwner = new Object();
+      try {
+         lockManager.lockAll(keys, lockOwner, 0, TimeUnit.MILLISECONDS).lock();
+      } catch (TimeoutException e) {
+         lockManager.unlockAll(keys, lockOwner);
+         return false;
+      } catch (InterruptedException e) {
+         lockManager.unlockAll(keys, lockOwner);
+         Thread.currentThread().interrupt();
+         throw new CacheException(e);
+      }
+      try {
+         List<MarshallableEntry> committed = directApplyToStores ? new ArrayList<>(cacheEntries.size()) : null;
+         for (InternalCacheEntry e : cacheEntries) {
+            ReadCommittedEntry entry = new ReadCommittedEntry(e.getKey(), e.getValue(), e.getMetadata());
+            entry.setCreated(e.getCreated());
+            entry.setLastUsed(e.getLastUsed());
+            entry.setChanged(true);
+            if (commitManager.commit(entry, PUT_FOR_STATE_TRANSFER, segmentId, false, null) && committed != null) {
+               committed.add(marshallableEntryFactory.create(e.getKey(), e.getValue(), e.getMetadata(),
+                                                             e.getCreated(), e.getLastUsed()));
+            }
+         }
+         if (committed != null && !committed.isEmpty()) {
+            persistenceManager.writeBatchToAllNonTxStores(committed, PRIVATE, STATE_TRANSFER_FLAGS);
+         }
+      } finally {
+         lockManager.unlockAll(keys, lockOwner);
+      }
+      return true;
+   }
+
    private void applyTransactions(Address sender, Collection<TransactionInfo> transactions, int topologyId) {
       log.debugf("Applying %d transactions for cache %s transferred from node %s", transactions.size(), cacheName, sender);
       if (isTransactional) {
@@ -733,6 +851,17 @@ public void start() {
       rpcOptions = new RpcOptions(DeliverOrder.NONE, timeout, TimeUnit.MILLISECONDS);
 
       stateRequestExecutor = new LimitedExecutor("StateRequest-" + cacheName, stateTransferExecutor, 1);
+      stateApplyExecutor = new LimitedExecutor("StateApply-" + cacheName, stateTransferExecutor,
+                                               ProcessorInfo.availableProcessors());
+      // Transactions, L1, indexing, passivation and custom interceptors all need the state transfer commands
+      directApplyEnabled = !isTransactional && (mode.isDistributed() || mode.isReplicated()) &&
+            !configuration.clustering().l1().enabled() && !configuration.indexing().enabled() &&
+            configuration.customInterceptors().interceptors().isEmpty() && !configuration.persistence().passivation();
+      directApplyToStores = configuration.persistence().usingStores();
+      // With global state the node keeps its identity across restarts, and the entries in its private store can be reused
+      deltaStateTransfer = isFetchEnabled && globalConfiguration != null && globalConfiguration.globalState().enabled() &&
+            configuration.persistence().stores().stream()
+                         .anyMatch(store -> store.fetchPersistentState() && !store.shared() && !store.purgeOnStartup());
       running = true;
    }
 
@@ -757,6 +886,7 @@ public void stop() {
          }
 
          stateRequestExecutor.shutdownNow();
+         stateApplyExecutor.shutdownNow();
       } catch (Throwable t) {
          log.errorf(t, "Failed to stop StateConsumer of cache %s on node %s", cacheName, rpcManager.getAddress());
       }
@@ -1032,6 +1162,52 @@ protected void removeStaleData(final IntSet removedSegments) throws InterruptedE
       }
    }
 
+   /**
+    * Removes the local entries in the buckets that differed from the source of a delta transfer, but were not received
+    * from the source. Keys written during the state transfer are not removed, as the commit manager is still tracking
+    * them.
+    */
+   private void removeDeltaStaleEntries(InboundTransferTask inboundTransfer) {
+      IntSet segments = inboundTransfer.getSegments();
+      Predicate<Object> isStale = key -> {
+         int segment = getSegment(key);
+         long mask = inboundTransfer.getDifferingBuckets(segment);
+         return mask != 0 && segments.contains(segment) &&
+               SegmentDigest.isInBuckets(mask, SegmentDigest.keyHash(marshaller, key)) &&
+               !inboundTransfer.getReceivedKeys(segment).contains(key);
+      };
+      Set<Object> keysToRemove = new HashSet<>();
+      dataContainer.forEach(segments, ice -> {
+         if (!ice.isL1Entry() && isStale.test(ice.getKey())) {
+            keysToRemove.add(ice.getKey());
+         }
+      });
+      try {
+         Publisher<Object> publisher = persistenceManager.publishKeys(
+               key -> !dataContainer.containsKey(key) && isStale.test(key), PRIVATE);
+         Flowable.fromPublisher(publisher).blockingForEach(keysToRemove::add);
+      } catch (CacheException e) {
+         log.failedLoadingKeysFromCacheStore(e);
+      }
+      if (keysToRemove.isEmpty())
+         return;
+
+      if (trace) log.tracef("Removing %d stale keys after delta transfer from %s", keysToRemove.size(),
+                            inboundTransfer.getSource());
+      try {
+         InvalidateCommand invalidateCmd = commandsFactory.buildInvalidateCommand(STATE_TRANSFER_FLAGS,
+                                                                                   keysToRemove.toArray());
+         InvocationContext ctx = icf.createNonTxInvocationContext();
+         ctx.setLockOwner(invalidateCmd.getKeyLockOwner());
+         interceptorChain.invoke(ctx, invalidateCmd);
+      } catch (IllegalLifecycleStateException e) {
+         // Ignore shutdown-related errors, because InvocationContextInterceptor starts rejecting commands
+         // before any component is stopped
+      } catch (CacheException e) {
+         log.failedToInvalidateKeys(e);
+      }
+   }
+
    /**
     * Check if any of the existing transfers should be restarted from a different source because the initial source is no longer a member.
     */
@@ -1091,8 +1267,16 @@ private InboundTransferTask addTransfer(Address source, IntSet segmentsFromSourc
          addTransfer(inboundTransfer, segmentsFromSource);
       }
 
+      boolean delta = deltaStateTransfer;
       stateRequestExecutor.executeAsync(() -> {
-         CompletableFuture<Void> transferStarted = inboundTransfer.requestSegments();
+         CompletableFuture<Void> transferStarted;
+         if (delta) {
+            Map<Integer, SegmentDigest> digests = SegmentDigest.compute(inboundTransfer.getSegments(), dataContainer,
+                                                                        persistenceManager, keyPartitioner, marshaller);
+            transferStarted = inboundTransfer.requestDeltaSegments(digests);
+         } else {
+            transferStarted = inboundTransfer.requestSegments();
+         }
 
          if (trace)
             log.tracef("Waiting for inbound transfer to finish: %s", inboundTransfer);
@@ -1136,6 +1320,9 @@ protected boolean removeTransfer(InboundTransferTask inboundTransfer) {
    protected void onTaskCompletion(final InboundTransferTask inboundTransfer) {
       if (trace) log.tracef("Inbound transfer finished: %s", inboundTransfer);
       if (inboundTransfer.isCompletedSuccessfully()) {
+         if (inboundTransfer.isDelta()) {
+            removeDeltaStaleEntries(inboundTransfer);
+         }
          removeTransfer(inboundTransfer);
          notifyEndOfStateTransferIfNeeded();
       }
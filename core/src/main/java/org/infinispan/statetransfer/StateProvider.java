@@ -2,6 +2,7 @@
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import org.infinispan.commons.util.IntSet;
@@ -58,6 +59,22 @@ public interface StateProvider {
     */
    void startOutboundTransfer(Address destination, int topologyId, IntSet segments, boolean applyState) throws InterruptedException;
 
+   /**
+    * Start to send the cache entries that differ from the given digests of the requester's entries. This is invoked
+    * in response to a StateRequestCommand of type StateRequestCommand.Type.START_DELTA_STATE_TRANSFER.
+    *
+    * Only the entries in the buckets that differ are sent, and the requester must remove the entries it has in those
+    * buckets but does not receive.
+    *
+    * @param destination the address of the requester
+    * @param topologyId
+    * @param digests     the digests of the requested segments on the requester
+    * @return a future completed with a bit mask of the buckets that differ, by segment, see
+    *       {@link SegmentDigest#differingBuckets(SegmentDigest)}, once the local digests have been computed
+    */
+   CompletableFuture<Map<Integer, Long>> startDeltaOutboundTransfer(Address destination, int topologyId,
+                                                                    Map<Integer, SegmentDigest> digests);
+
    /**
     * Cancel sending of cache entries that belong to the given set of segments. This is invoked in response to a
     * StateRequestCommand of type StateRequestCommand.Type.CANCEL_STATE_TRANSFER.
@@ -68,6 +85,11 @@ public interface StateProvider {
     */
    void cancelOutboundTransfer(Address destination, int topologyId, IntSet segments);
 
+   /**
+    * @return the statistics of the latest outbound transfer of each segment sent by this node.
+    */
+   Collection<SegmentTransferStatistics> getSegmentTransferStatistics();
+
    void start();
 
    /**
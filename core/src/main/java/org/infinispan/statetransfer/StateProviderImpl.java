@@ -10,14 +10,19 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.PrimitiveIterator;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commands.write.WriteCommand;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.configuration.cache.Configuration;
@@ -75,9 +80,14 @@ public class StateProviderImpl implements StateProvider {
    @Inject protected KeyPartitioner keyPartitioner;
    @Inject protected DistributionManager distributionManager;
    @Inject private TransactionOriginatorChecker transactionOriginatorChecker;
+   @Inject protected StreamingMarshaller marshaller;
+   @Inject protected TimeService timeService;
 
    protected long timeout;
    protected int chunkSize;
+   protected StateChunkEncoder chunkEncoder;
+
+   private final Map<Integer, SegmentTransferStatistics> segmentTransferStatistics = new ConcurrentHashMap<>();
 
    /**
     * A map that keeps track of current outbound state transfers by destination address. There could be multiple transfers
@@ -121,6 +131,7 @@ public CompletableFuture<Void> onTopologyUpdate(CacheTopology cacheTopology, boo
    public void start() {
       timeout = configuration.clustering().stateTransfer().timeout();
       chunkSize = configuration.clustering().stateTransfer().chunkSize();
+      chunkEncoder = StateChunkEncoder.create(configuration.clustering().stateTransfer(), marshaller, timeService);
    }
 
    @Stop(priority = 0)
@@ -266,21 +277,76 @@ private void collectTransactionsToTransfer(Address destination,
    @Override
    public void startOutboundTransfer(Address destination, int requestTopologyId, IntSet segments, boolean applyState)
          throws InterruptedException {
+      startOutboundTransfer(destination, requestTopologyId, segments, applyState, null);
+   }
+
+   @Override
+   public CompletableFuture<Map<Integer, Long>> startDeltaOutboundTransfer(Address destination, int requestTopologyId,
+                                                                         Map<Integer, SegmentDigest> digests) {
+      IntSet segments = IntSets.from(digests.keySet());
+      // Computing the digests iterates over all the entries of the segments, don't block the remote command thread
+      return CompletableFuture.supplyAsync(() -> {
+         Map<Integer, SegmentDigest> localDigests =
+               SegmentDigest.compute(segments, dataContainer, persistenceManager, keyPartitioner, marshaller);
+         Map<Integer, Long> differingBuckets = new HashMap<>();
+         for (Map.Entry<Integer, SegmentDigest> e : digests.entrySet()) {
+            differingBuckets.put(e.getKey(), localDigests.get(e.getKey()).differingBuckets(e.getValue()));
+         }
+         if (trace) {
+            log.tracef("Differing buckets for delta transfer to node %s for cache %s: %s", destination, cacheName,
+                       differingBuckets);
+         }
+
+         // Segments without differing buckets are still sent, as an empty last chunk
+         startOutboundTransfer(destination, requestTopologyId, segments, true, key -> {
+            long mask = differingBuckets.getOrDefault(keyPartitioner.getSegment(key), 0L);
+            return mask != 0 && SegmentDigest.isInBuckets(mask, SegmentDigest.keyHash(marshaller, key));
+         });
+         return differingBuckets;
+      }, executorService);
+   }
+
+   private void startOutboundTransfer(Address destination, int requestTopologyId, IntSet segments,
+                                      boolean applyState, Predicate<Object> keyFilter) {
       if (trace) {
          log.tracef("Starting outbound transfer to node %s for cache %s, topology id %d, segments %s", destination,
                     cacheName, requestTopologyId, segments);
       }
 
+      long startNanos = timeService.time();
+      for (PrimitiveIterator.OfInt it = segments.iterator(); it.hasNext(); ) {
+         int segmentId = it.nextInt();
+         segmentTransferStatistics.put(segmentId,
+               new SegmentTransferStatistics(segmentId, destination, requestTopologyId, startNanos));
+      }
+
       // the destination node must already have an InboundTransferTask waiting for these segments
       OutboundTransferTask outboundTransfer = new OutboundTransferTask(destination, segments,
             this.configuration.clustering().hash().numSegments(), chunkSize, requestTopologyId,
-            keyPartitioner, this::onTaskCompletion, chunks -> {},
+            keyPartitioner, this::onTaskCompletion, this::onChunksSent,
             OutboundTransferTask::defaultMapEntryFromDataContainer, OutboundTransferTask::defaultMapEntryFromStore,
-            dataContainer, persistenceManager, rpcManager, commandsFactory, entryFactory, timeout, cacheName, applyState, false);
+            dataContainer, persistenceManager, rpcManager, commandsFactory, entryFactory, timeout, cacheName, applyState,
+            false, chunkEncoder);
+      outboundTransfer.setKeyFilter(keyFilter);
       addTransfer(outboundTransfer);
       outboundTransfer.execute(executorService);
    }
 
+   private void onChunksSent(List<StateChunk> chunks) {
+      long now = timeService.time();
+      for (StateChunk chunk : chunks) {
+         SegmentTransferStatistics statistics = segmentTransferStatistics.get(chunk.getSegmentId());
+         if (statistics != null) {
+            statistics.chunkSent(chunk, now);
+         }
+      }
+   }
+
+   @Override
+   public Collection<SegmentTransferStatistics> getSegmentTransferStatistics() {
+      return Collections.unmodifiableCollection(segmentTransferStatistics.values());
+   }
+
    protected void addTransfer(OutboundTransferTask transferTask) {
       if (trace) {
          log.tracef("Adding outbound transfer to %s for segments %s", transferTask.getDestination(),
@@ -5,6 +5,7 @@
 import java.io.ObjectOutput;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import org.infinispan.commands.TopologyAffectedCommand;
@@ -12,6 +13,7 @@
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.marshall.MarshallUtil;
 import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.notifications.cachelistener.cluster.ClusterListenerReplicateCallable;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.scattered.BiasManager;
@@ -40,6 +42,7 @@ public enum Type {
       START_STATE_TRANSFER,
       CANCEL_STATE_TRANSFER,
       CONFIRM_REVOKED_SEGMENTS,
+      START_DELTA_STATE_TRANSFER,
       ;
 
       private static final Type[] CACHED_VALUES = values();
@@ -53,6 +56,8 @@ public enum Type {
 
    private IntSet segments;
 
+   private Map<Integer, SegmentDigest> digests;
+
    private StateProvider stateProvider;
    private BiasManager biasManager;
 
@@ -72,6 +77,16 @@ public StateRequestCommand(ByteString cacheName, Type type, Address origin, int
       this.segments = segments;
    }
 
+   public StateRequestCommand(ByteString cacheName, Address origin, int topologyId,
+                              Map<Integer, SegmentDigest> digests) {
+      super(cacheName);
+      this.type = Type.START_DELTA_STATE_TRANSFER;
+      setOrigin(origin);
+      this.topologyId = topologyId;
+      this.segments = IntSets.from(digests.keySet());
+      this.digests = digests;
+   }
+
    public void init(StateProvider stateProvider, BiasManager biasManager) {
       this.stateProvider = stateProvider;
       this.biasManager = biasManager;
@@ -100,6 +115,10 @@ public CompletableFuture<Object> invokeAsync() throws Throwable {
                stateProvider.startOutboundTransfer(getOrigin(), topologyId, segments, true);
                return CompletableFutures.completedNull();
 
+            case START_DELTA_STATE_TRANSFER:
+               return stateProvider.startDeltaOutboundTransfer(getOrigin(), topologyId, digests)
+                     .thenApply(differingBuckets -> differingBuckets);
+
             case CANCEL_CONSISTENCY_CHECK:
             case CANCEL_STATE_TRANSFER:
                stateProvider.cancelOutboundTransfer(getOrigin(), topologyId, segments);
@@ -154,6 +173,10 @@ public IntSet getSegments() {
       return segments;
    }
 
+   public Map<Integer, SegmentDigest> getDigests() {
+      return digests;
+   }
+
    @Override
    public byte getCommandId() {
       return COMMAND_ID;
@@ -174,6 +197,10 @@ public void writeTo(ObjectOutput output) throws IOException {
          case CONFIRM_REVOKED_SEGMENTS:
             output.writeObject(segments);
             return;
+         case START_DELTA_STATE_TRANSFER:
+            output.writeObject(getOrigin());
+            SegmentDigest.writeDigests(output, digests);
+            return;
          case GET_CACHE_LISTENERS:
             return;
          default:
@@ -195,6 +222,11 @@ public void readFrom(ObjectInput input) throws IOException, ClassNotFoundExcepti
          case CONFIRM_REVOKED_SEGMENTS:
             segments = (IntSet) input.readObject();
             return;
+         case START_DELTA_STATE_TRANSFER:
+            setOrigin((Address) input.readObject());
+            digests = SegmentDigest.readDigests(input);
+            segments = IntSets.from(digests.keySet());
+            return;
          case GET_CACHE_LISTENERS:
             return;
          default:
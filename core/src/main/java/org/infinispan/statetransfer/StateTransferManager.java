@@ -80,4 +80,7 @@ public interface StateTransferManager {
 
    @ManagedAttribute(description = "Retrieves the rebalancing status for this cache. Possible values are PENDING, SUSPENDED, IN_PROGRESS, BALANCED", displayName = "Rebalancing progress", dataType = DataType.TRAIT)
    String getRebalancingStatus() throws Exception;
+
+   @ManagedAttribute(description = "Retrieves the number of entries and bytes sent and the duration of the latest outbound transfer of each segment", displayName = "Segment transfer statistics", dataType = DataType.TRAIT)
+   String getSegmentTransferStatistics();
 }
@@ -2,6 +2,7 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
@@ -9,6 +10,7 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.infinispan.commands.TopologyAffectedCommand;
 import org.infinispan.commons.CacheException;
@@ -269,6 +271,14 @@ public String getRebalancingStatus() throws Exception {
       return localTopologyManager.getRebalancingStatus(cacheName).toString();
    }
 
+   @Override
+   public String getSegmentTransferStatistics() {
+      return stateProvider.getSegmentTransferStatistics().stream()
+            .sorted(Comparator.comparingInt(SegmentTransferStatistics::getSegmentId))
+            .map(SegmentTransferStatistics::toString)
+            .collect(Collectors.joining("\n"));
+   }
+
    @Override
    public boolean isStateTransferInProgress() {
       return stateConsumer.isStateTransferInProgress();
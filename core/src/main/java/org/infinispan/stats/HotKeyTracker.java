@@ -0,0 +1,73 @@
+package org.infinispan.stats;
+
+import java.util.Map;
+
+import org.infinispan.configuration.cache.JMXStatisticsConfiguration;
+
+/**
+ * Tracks the keys read and written most frequently on this node.
+ * <p>
+ * The tracking is enabled by default and can be disabled per cache with {@link JMXStatisticsConfiguration#hotKeys()}.
+ * Only a sample of the operations is recorded (one in {@link JMXStatisticsConfiguration#hotKeysSampleInterval()}) and
+ * the frequencies decay over time, so the values are approximate: they estimate the recent number of operations on
+ * each key, not the total number since the cache started. Every command executed on this node is counted, whether it
+ * was invoked locally or by another node; the writes of a transaction are counted by the originator when they are
+ * invoked and by the other nodes when the transaction is prepared.
+ * <p>
+ * The tracker is a cache component, it can be retrieved with
+ * {@code cache.getAdvancedCache().getComponentRegistry().getComponent(HotKeyTracker.class)}.
+ *
+ * @since 10.0
+ */
+public interface HotKeyTracker {
+
+   /**
+    * @return the most frequently read keys, up to {@code count}, with their estimated frequencies, the most read first.
+    */
+   Map<Object, Long> getTopReadKeys(int count);
+
+   /**
+    * @return the most frequently read keys of a segment, up to {@code count}, with their estimated frequencies, the
+    * most read first.
+    */
+   Map<Object, Long> getTopReadKeys(int segment, int count);
+
+   /**
+    * @return the most frequently written keys, up to {@code count}, with their estimated frequencies, the most written
+    * first.
+    */
+   Map<Object, Long> getTopWriteKeys(int count);
+
+   /**
+    * @return the most frequently written keys of a segment, up to {@code count}, with their estimated frequencies, the
+    * most written first.
+    */
+   Map<Object, Long> getTopWriteKeys(int segment, int count);
+
+   /**
+    * @return the estimated recent number of reads of a key.
+    */
+   long getEstimatedReads(Object key);
+
+   /**
+    * @return the estimated recent number of writes of a key.
+    */
+   long getEstimatedWrites(Object key);
+
+   /**
+    * Records a read of a key. Invoked by the interceptor chain for a sample of the reads, not meant to be invoked by
+    * applications.
+    */
+   void recordRead(Object key, int segment);
+
+   /**
+    * Records a write of a key. Invoked by the interceptor chain for a sample of the writes, not meant to be invoked by
+    * applications.
+    */
+   void recordWrite(Object key, int segment);
+
+   /**
+    * Forgets all the recorded operations.
+    */
+   void reset();
+}
@@ -0,0 +1,159 @@
+package org.infinispan.stats.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A count-min sketch of key frequencies that also keeps the keys with the highest estimates.
+ * <p>
+ * Each key increments one counter in each of {@link #DEPTH} rows, and its estimated frequency is the minimum of those
+ * counters. After every {@code 8 * width} additions all the counters are halved, so the estimates follow the recent
+ * frequencies and old hot keys cool down. The candidates for the top keys are tracked in a small map: a key enters it
+ * when its estimate exceeds the lowest estimate in the map, which then evicts that key.
+ * <p>
+ * Additions don't take any lock unless they change the candidates or decay the counters.
+ *
+ * @since 10.0
+ */
+final class HotKeySketch {
+   private static final int DEPTH = 4;
+   private static final int[] SEEDS = {0x9E3779B1, 0x85EBCA77, 0xC2B2AE3D, 0x27D4EB2F};
+
+   private final AtomicIntegerArray counters;
+   private final int widthBits;
+   private final int capacity;
+   private final int decayThreshold;
+   private final AtomicInteger additions = new AtomicInteger();
+   private final ConcurrentMap<Object, Candidate> candidates = new ConcurrentHashMap<>();
+   private volatile int minCandidateCount;
+
+   /**
+    * @param width the number of counters per row, rounded up to a power of two
+    * @param capacity the maximum number of top keys tracked
+    */
+   HotKeySketch(int width, int capacity) {
+      this.widthBits = 32 - Integer.numberOfLeadingZeros(Math.max(width, 2) - 1);
+      this.counters = new AtomicIntegerArray(DEPTH << widthBits);
+      this.capacity = capacity;
+      this.decayThreshold = 8 << widthBits;
+   }
+
+   void add(Object key, int segment) {
+      int hash = key.hashCode();
+      int estimate = Integer.MAX_VALUE;
+      for (int row = 0; row < DEPTH; row++) {
+         estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+      }
+      Candidate candidate = candidates.get(key);
+      if (candidate != null) {
+         candidate.count = estimate;
+      } else if (candidates.size() < capacity || estimate > minCandidateCount) {
+         offer(key, segment, estimate);
+      }
+      if (additions.incrementAndGet() >= decayThreshold) {
+         decay();
+      }
+   }
+
+   int estimate(Object key) {
+      int hash = key.hashCode();
+      int estimate = Integer.MAX_VALUE;
+      for (int row = 0; row < DEPTH; row++) {
+         estimate = Math.min(estimate, counters.get(index(hash, row)));
+      }
+      return estimate;
+   }
+
+   /**
+    * @param segment only return keys of this segment, or {@code -1} for all the keys
+    * @return up to {@code count} keys with their estimates, the most frequent first
+    */
+   Map<Object, Integer> top(int segment, int count) {
+      List<Map.Entry<Object, Candidate>> entries = new ArrayList<>(candidates.size());
+      for (Map.Entry<Object, Candidate> entry : candidates.entrySet()) {
+         if (segment < 0 || entry.getValue().segment == segment) {
+            entries.add(entry);
+         }
+      }
+      entries.sort(Comparator.comparingInt((Map.Entry<Object, Candidate> e) -> e.getValue().count).reversed());
+      Map<Object, Integer> top = new LinkedHashMap<>();
+      for (int i = 0; i < Math.min(count, entries.size()); i++) {
+         Map.Entry<Object, Candidate> entry = entries.get(i);
+         top.put(entry.getKey(), entry.getValue().count);
+      }
+      return top;
+   }
+
+   synchronized void reset() {
+      for (int i = 0; i < counters.length(); i++) {
+         counters.set(i, 0);
+      }
+      candidates.clear();
+      minCandidateCount = 0;
+      additions.set(0);
+   }
+
+   private int index(int hash, int row) {
+      return (row << widthBits) | ((hash * SEEDS[row]) >>> (32 - widthBits));
+   }
+
+   private synchronized void offer(Object key, int segment, int estimate) {
+      if (candidates.containsKey(key))
+         return;
+
+      if (candidates.size() >= capacity) {
+         Map.Entry<Object, Candidate> min = minCandidate();
+         if (min.getValue().count >= estimate) {
+            minCandidateCount = min.getValue().count;
+            return;
+         }
+         candidates.remove(min.getKey());
+      }
+      candidates.put(key, new Candidate(segment, estimate));
+      if (candidates.size() >= capacity) {
+         minCandidateCount = minCandidate().getValue().count;
+      }
+   }
+
+   private Map.Entry<Object, Candidate> minCandidate() {
+      Map.Entry<Object, Candidate> min = null;
+      for (Map.Entry<Object, Candidate> entry : candidates.entrySet()) {
+         if (min == null || entry.getValue().count < min.getValue().count) {
+            min = entry;
+         }
+      }
+      return min;
+   }
+
+   private synchronized void decay() {
+      if (additions.get() < decayThreshold)
+         return;
+
+      // Concurrent increments may be lost, which only makes the estimates a bit lower
+      for (int i = 0; i < counters.length(); i++) {
+         counters.set(i, counters.get(i) >>> 1);
+      }
+      for (Candidate candidate : candidates.values()) {
+         candidate.count >>>= 1;
+      }
+      minCandidateCount >>>= 1;
+      additions.set(0);
+   }
+
+   private static final class Candidate {
+      final int segment;
+      volatile int count;
+
+      Candidate(int segment, int count) {
+         this.segment = segment;
+         this.count = count;
+      }
+   }
+}
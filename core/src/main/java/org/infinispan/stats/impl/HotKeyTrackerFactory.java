@@ -0,0 +1,23 @@
+package org.infinispan.stats.impl;
+
+import org.infinispan.configuration.cache.JMXStatisticsConfiguration;
+import org.infinispan.factories.AbstractNamedCacheComponentFactory;
+import org.infinispan.factories.AutoInstantiableFactory;
+import org.infinispan.factories.annotations.DefaultFactoryFor;
+import org.infinispan.stats.HotKeyTracker;
+
+/**
+ * HotKeyTrackerFactory is a default factory class for {@link HotKeyTracker}.
+ * <p>
+ * This is an internal class, not intended to be used by clients.
+ * @since 10.0
+ */
+@DefaultFactoryFor(classes = {HotKeyTracker.class})
+public class HotKeyTrackerFactory extends AbstractNamedCacheComponentFactory implements AutoInstantiableFactory {
+
+   @Override
+   public Object construct(String componentName) {
+      JMXStatisticsConfiguration statistics = configuration.jmxStatistics();
+      return new HotKeyTrackerImpl(statistics.hotKeysSampleInterval(), statistics.hotKeysCapacity());
+   }
+}
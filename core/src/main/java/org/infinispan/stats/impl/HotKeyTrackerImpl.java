@@ -0,0 +1,106 @@
+package org.infinispan.stats.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.Parameter;
+import org.infinispan.stats.HotKeyTracker;
+
+/**
+ * Default {@link HotKeyTracker}, keeping one {@link HotKeySketch} for reads and one for writes.
+ *
+ * @since 10.0
+ */
+@MBean(objectName = "HotKeys", description = "Estimates the keys read and written most frequently on this node")
+public class HotKeyTrackerImpl implements HotKeyTracker {
+   private static final int SKETCH_WIDTH = 1024;
+
+   private final int sampleInterval;
+   private final HotKeySketch reads;
+   private final HotKeySketch writes;
+
+   /**
+    * @param sampleInterval one in this many operations is recorded
+    * @param capacity how many of the most frequent keys are kept for reads and for writes
+    */
+   public HotKeyTrackerImpl(int sampleInterval, int capacity) {
+      this.sampleInterval = sampleInterval;
+      this.reads = new HotKeySketch(SKETCH_WIDTH, capacity);
+      this.writes = new HotKeySketch(SKETCH_WIDTH, capacity);
+   }
+
+   @Override
+   public Map<Object, Long> getTopReadKeys(int count) {
+      return scale(reads.top(-1, count));
+   }
+
+   @Override
+   public Map<Object, Long> getTopReadKeys(int segment, int count) {
+      return scale(reads.top(segment, count));
+   }
+
+   @Override
+   public Map<Object, Long> getTopWriteKeys(int count) {
+      return scale(writes.top(-1, count));
+   }
+
+   @Override
+   public Map<Object, Long> getTopWriteKeys(int segment, int count) {
+      return scale(writes.top(segment, count));
+   }
+
+   @Override
+   public long getEstimatedReads(Object key) {
+      return (long) reads.estimate(key) * sampleInterval;
+   }
+
+   @Override
+   public long getEstimatedWrites(Object key) {
+      return (long) writes.estimate(key) * sampleInterval;
+   }
+
+   @Override
+   public void recordRead(Object key, int segment) {
+      reads.add(key, segment);
+   }
+
+   @Override
+   public void recordWrite(Object key, int segment) {
+      writes.add(key, segment);
+   }
+
+   @ManagedOperation(description = "Forgets all the recorded operations", displayName = "Reset hot keys")
+   @Override
+   public void reset() {
+      reads.reset();
+      writes.reset();
+   }
+
+   @ManagedOperation(description = "Shows the most frequently read keys with their estimated recent number of reads",
+         displayName = "Top read keys")
+   public Map<String, Long> getTopReadKeysAsString(
+         @Parameter(name = "count", description = "The maximum number of keys") int count) {
+      return asString(getTopReadKeys(count));
+   }
+
+   @ManagedOperation(description = "Shows the most frequently written keys with their estimated recent number of writes",
+         displayName = "Top written keys")
+   public Map<String, Long> getTopWriteKeysAsString(
+         @Parameter(name = "count", description = "The maximum number of keys") int count) {
+      return asString(getTopWriteKeys(count));
+   }
+
+   private Map<Object, Long> scale(Map<Object, Integer> top) {
+      Map<Object, Long> scaled = new LinkedHashMap<>();
+      top.forEach((key, count) -> scaled.put(key, (long) count * sampleInterval));
+      return scaled;
+   }
+
+   private static Map<String, Long> asString(Map<Object, Long> top) {
+      Map<String, Long> map = new LinkedHashMap<>();
+      top.forEach((key, count) -> map.put(String.valueOf(key), count));
+      return map;
+   }
+}
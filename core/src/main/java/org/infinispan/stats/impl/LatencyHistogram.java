@@ -0,0 +1,106 @@
+package org.infinispan.stats.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of durations, with one bucket per power of two nanoseconds.
+ * <p>
+ * Recording a value only increments a couple of {@link LongAdder}s, so it can be used in hot paths. The percentiles are
+ * approximate: they return the upper bound of the bucket containing the requested rank, which is at most twice the
+ * exact value.
+ *
+ * @since 10.0
+ */
+public final class LatencyHistogram {
+   // Bucket i holds the values in [2^(i-1), 2^i), bucket 0 holds 0
+   private static final int BUCKETS = 64;
+
+   private final LongAdder[] buckets = new LongAdder[BUCKETS];
+   private final LongAdder count = new LongAdder();
+   private final LongAdder sum = new LongAdder();
+   private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+   public LatencyHistogram() {
+      for (int i = 0; i < BUCKETS; i++) {
+         buckets[i] = new LongAdder();
+      }
+   }
+
+   /**
+    * Records a duration. Negative durations are recorded as 0.
+    */
+   public void record(long duration, TimeUnit unit) {
+      long nanos = Math.max(unit.toNanos(duration), 0);
+      buckets[BUCKETS - Long.numberOfLeadingZeros(nanos)].increment();
+      count.increment();
+      sum.add(nanos);
+      max.accumulate(nanos);
+   }
+
+   /**
+    * @return the number of recorded durations.
+    */
+   public long getCount() {
+      return count.sum();
+   }
+
+   public long getMean(TimeUnit unit) {
+      long n = count.sum();
+      return n == 0 ? 0 : unit.convert(sum.sum() / n, TimeUnit.NANOSECONDS);
+   }
+
+   public long getMax(TimeUnit unit) {
+      return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+   }
+
+   /**
+    * @param percentile the percentile, between 0 and 100.
+    * @return the approximate duration below which {@code percentile} percent of the recorded durations fall.
+    */
+   public long getPercentile(double percentile, TimeUnit unit) {
+      if (percentile < 0 || percentile > 100)
+         throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+
+      long[] counts = new long[BUCKETS];
+      long total = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+         counts[i] = buckets[i].sum();
+         total += counts[i];
+      }
+      if (total == 0)
+         return 0;
+
+      long rank = Math.max((long) Math.ceil(total * percentile / 100), 1);
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+         seen += counts[i];
+         if (seen >= rank) {
+            // The upper bound of the bucket, but never more than the maximum recorded value
+            long upperBound = i == 0 ? 0 : (i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+            return unit.convert(Math.min(upperBound, max.get()), TimeUnit.NANOSECONDS);
+         }
+      }
+      return getMax(unit);
+   }
+
+   public void reset() {
+      for (LongAdder bucket : buckets) {
+         bucket.reset();
+      }
+      count.reset();
+      sum.reset();
+      max.reset();
+   }
+
+   @Override
+   public String toString() {
+      return "LatencyHistogram{" +
+            "count=" + getCount() +
+            ", meanNanos=" + getMean(TimeUnit.NANOSECONDS) +
+            ", p99Nanos=" + getPercentile(99, TimeUnit.NANOSECONDS) +
+            ", maxNanos=" + getMax(TimeUnit.NANOSECONDS) +
+            '}';
+   }
+}
@@ -0,0 +1,85 @@
+package org.infinispan.stats.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.infinispan.commons.time.TimeService;
+
+/**
+ * A {@link LatencyHistogram} of all the durations recorded since the last reset, plus a histogram of the durations
+ * recorded during the last complete time window.
+ * <p>
+ * The windows are rotated lazily, by the first recording or read after the current window ended, so an idle
+ * histogram doesn't use any thread. The window histogram only changes once per window, which makes it suitable for
+ * alerting on tail latencies: a single slow operation can't move the percentiles of a window that already ended.
+ *
+ * @since 10.0
+ */
+public final class RollingLatencyHistogram {
+   // Never recorded into, returned for a window with no recordings
+   private static final LatencyHistogram EMPTY = new LatencyHistogram();
+
+   private final TimeService timeService;
+   private final long windowNanos;
+   private final LatencyHistogram sinceReset = new LatencyHistogram();
+   private final AtomicReference<Window> window;
+
+   public RollingLatencyHistogram(TimeService timeService, long window, TimeUnit unit) {
+      if (window <= 0)
+         throw new IllegalArgumentException("Window must be positive: " + window);
+
+      this.timeService = timeService;
+      this.windowNanos = unit.toNanos(window);
+      this.window = new AtomicReference<>(new Window(timeService.time() + windowNanos, EMPTY));
+   }
+
+   public void record(long duration, TimeUnit unit) {
+      sinceReset.record(duration, unit);
+      currentWindow().histogram.record(duration, unit);
+   }
+
+   /**
+    * @return the durations recorded since the histogram was created or last reset.
+    */
+   public LatencyHistogram getSinceReset() {
+      return sinceReset;
+   }
+
+   /**
+    * @return the durations recorded during the last complete window.
+    */
+   public LatencyHistogram getLastWindow() {
+      return currentWindow().previous;
+   }
+
+   public void reset() {
+      sinceReset.reset();
+      window.set(new Window(timeService.time() + windowNanos, EMPTY));
+   }
+
+   private Window currentWindow() {
+      Window current = window.get();
+      long now = timeService.time();
+      while (now - current.end >= 0) {
+         // If nothing rotated the windows for a whole window, nothing was recorded during the last complete one
+         LatencyHistogram previous = now - current.end < windowNanos ? current.histogram : EMPTY;
+         Window next = new Window(now + windowNanos, previous);
+         if (window.compareAndSet(current, next)) {
+            return next;
+         }
+         current = window.get();
+      }
+      return current;
+   }
+
+   private static final class Window {
+      final LatencyHistogram histogram = new LatencyHistogram();
+      final long end;
+      final LatencyHistogram previous;
+
+      Window(long end, LatencyHistogram previous) {
+         this.end = end;
+         this.previous = previous;
+      }
+   }
+}
@@ -47,6 +47,7 @@
 import org.infinispan.stream.StreamMarshalling;
 import org.infinispan.stream.impl.intops.FlatMappingOperation;
 import org.infinispan.stream.impl.intops.IntermediateOperation;
+import org.infinispan.stream.impl.intops.IntermediateOperations;
 import org.infinispan.stream.impl.termop.SegmentRetryingOperation;
 import org.infinispan.stream.impl.termop.SingleRunOperation;
 import org.infinispan.topology.CacheTopology;
@@ -695,7 +696,8 @@ protected <V> Flowable<V> flowableFromPublisher(Publisher<V> publisher, Consumer
       public OutputStream perform(Stream<Object> cacheEntryStream) {
          ByRef<Object> key = new ByRef<>(null);
          BaseStream stream = cacheEntryStream.peek(e -> key.set(toKeyFunction.apply(e)));
-         for (IntermediateOperation intermediateOperation : intermediateOperations) {
+         // Only the original operations are marshalled, they are fused when applied on each node
+         for (IntermediateOperation intermediateOperation : IntermediateOperations.fuse(intermediateOperations)) {
             stream = intermediateOperation.perform(stream);
          }
          // We assume the resulting stream contains objects (this is because we also box all primitives). If this
@@ -715,7 +717,7 @@ public OutputStream perform(Stream<Object> cacheEntryStream) {
          ByRef<Object> key = new ByRef<>(null);
          BaseStream stream = cacheEntryStream.peek(e -> key.set(toKeyFunction.apply(e)));
 
-         Iterator<IntermediateOperation> iter = intermediateOperations.iterator();
+         Iterator<IntermediateOperation> iter = IntermediateOperations.fuse(intermediateOperations).iterator();
          while (iter.hasNext()) {
             IntermediateOperation intermediateOperation = iter.next();
             if (intermediateOperation instanceof FlatMappingOperation) {
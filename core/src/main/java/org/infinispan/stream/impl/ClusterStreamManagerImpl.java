@@ -27,8 +27,10 @@
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commons.CacheException;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
+import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
@@ -61,11 +63,19 @@
    protected final AtomicInteger requestId = new AtomicInteger();
    @Inject protected RpcManager rpc;
    @Inject protected CommandsFactory factory;
+   @Inject protected TimeService timeService;
+   @Inject protected Configuration configuration;
 
    protected RpcOptions rpcOptions;
 
    protected Address localAddress;
 
+   /**
+    * The response time that iterator batches are sized for. A batch that was returned quicker than half of this is
+    * doubled for the next request and one that took longer than twice this is halved.
+    */
+   protected long targetResponseNanos;
+
    protected final static Log log = LogFactory.getLog(ClusterStreamManagerImpl.class);
    protected final static boolean trace = log.isTraceEnabled();
 
@@ -73,6 +83,8 @@
    public void start() {
       localAddress = rpc.getAddress();
       rpcOptions = new RpcOptions(DeliverOrder.NONE, Long.MAX_VALUE, TimeUnit.DAYS);
+      targetResponseNanos = TimeUnit.MILLISECONDS.toNanos(
+            configuration.clustering().stateTransfer().iteratorTargetResponseTime());
    }
 
    @Override
@@ -475,6 +487,27 @@ public void subscribe(Subscriber<? super V> s, Consumer<? super Supplier<Primiti
       }
    }
 
+   /**
+    * Returns the size of the batch to request next from an owner, given how long the previous batch took.
+    * @param batchSize the size of the previous batch
+    * @param minBatchSize the size the batch is never halved below
+    * @param requested how many entries the subscriber requested and were not returned yet
+    * @param fullBatch whether the owner returned the whole previous batch
+    * @param responseTime the response time of the previous batch, in nanoseconds
+    * @param targetResponseNanos the response time batches are sized for, in nanoseconds
+    */
+   static long nextBatchSize(long batchSize, long minBatchSize, long requested, boolean fullBatch, long responseTime,
+         long targetResponseNanos) {
+      // The response time includes marshalling and transferring the entries, so larger entries give smaller batches
+      if (fullBatch && responseTime < targetResponseNanos / 2) {
+         // Never grows beyond what the subscriber requested, as that bounds the memory used by the iterator
+         return Math.min(batchSize << 1, Math.max(batchSize, requested));
+      } else if (responseTime > targetResponseNanos * 2) {
+         return Math.max(batchSize >> 1, minBatchSize);
+      }
+      return batchSize;
+   }
+
    private class ClusterStreamSubscription<V> implements Subscription {
 
       private final Subscriber<? super V> s;
@@ -486,6 +519,10 @@ public void subscribe(Subscriber<? super V> s, Consumer<? super Supplier<Primiti
       private final AtomicLong requestedAmount = new AtomicLong();
       private final AtomicBoolean pendingRequest = new AtomicBoolean();
 
+      // Only updated by the thread holding pendingRequest, but that can be a different thread every time
+      private volatile long batchSize;
+      private volatile long minBatchSize;
+
       private volatile AtomicReference<Map.Entry<Address, IntSet>> currentTarget;
       private volatile boolean alreadyCreated;
 
@@ -511,6 +548,12 @@ public void request(long n) {
          if (n <= 0) {
             throw new IllegalArgumentException("request amount must be greater than 0");
          }
+         if (batchSize == 0) {
+            // The first request is the batch size the subscriber asked for, anything requested later is prefetched
+            // in batches that are adapted to the response times of the target
+            batchSize = n;
+            minBatchSize = Math.max(1, n >> 3);
+         }
          requestedAmount.addAndGet(n);
          // If there is no pending request we can submit a new one
          if (!pendingRequest.getAndSet(true)) {
@@ -533,10 +576,11 @@ StreamIteratorNextCommand getCommand(IntSet segments, long batchAmount) {
          }
       }
 
-      private void sendRequest(long batchAmount) {
+      private void sendRequest(long requested) {
          // Copy the variable in case if we are closed concurrently - also this double check works for resubmission
          Map.Entry<Address, IntSet> target = currentTarget.get();
          if (target != null) {
+            long batchAmount = Math.min(requested, batchSize);
             IntSet segments = target.getValue();
             if (trace) {
                log.tracef("Request: %s is requesting %d more entries from %s in segments %s", id, batchAmount, target, segments);
@@ -544,6 +588,7 @@ private void sendRequest(long batchAmount) {
             Address sendee = target.getKey();
             StreamIteratorNextCommand command = getCommand(segments, batchAmount);
             command.setTopologyId(rpc.getTopologyId());
+            long startTime = timeService.time();
             CompletionStage<ValidResponse> rpcStage =
                rpc.invokeCommand(sendee, command, SingleResponseCollector.validOnly(), rpcOptions);
             rpcStage.whenComplete((r, t) -> {
@@ -558,9 +603,12 @@ private void sendRequest(long batchAmount) {
                         }
                         Spliterator<V> spliterator = iteratorResponse.getSpliterator();
                         long returnedAmount = spliterator.getExactSizeIfKnown();
+                        long responseTime = timeService.timeDuration(startTime, TimeUnit.NANOSECONDS);
                         if (trace) {
-                           log.tracef("Received %d entries for id %s from %s", returnedAmount, id, sendee);
+                           log.tracef("Received %d entries for id %s from %s in %d ns", returnedAmount, id, sendee,
+                                 responseTime);
                         }
+                        adaptBatchSize(returnedAmount == batchAmount, responseTime);
                         spliterator.forEachRemaining(s::onNext);
 
                         if (iteratorResponse.isComplete()) {
@@ -621,6 +669,11 @@ private void sendRequest(long batchAmount) {
          }
       }
 
+      private void adaptBatchSize(boolean fullBatch, long responseTime) {
+         batchSize = nextBatchSize(batchSize, minBatchSize, requestedAmount.get(), fullBatch, responseTime,
+               targetResponseNanos);
+      }
+
       private void handleThrowable(Throwable t, Map.Entry<Address, IntSet> target) {
          cancel();
          // Most likely SuspectException will be wrapped in CompletionException
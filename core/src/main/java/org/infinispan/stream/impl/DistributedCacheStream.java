@@ -18,6 +18,7 @@
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
@@ -65,6 +66,7 @@
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.stream.impl.intops.IntermediateOperation;
+import org.infinispan.stream.impl.intops.IntermediateOperations;
 import org.infinispan.stream.impl.intops.object.DistinctOperation;
 import org.infinispan.stream.impl.intops.object.FilterOperation;
 import org.infinispan.stream.impl.intops.object.FlatMapOperation;
@@ -79,6 +81,7 @@
 import org.infinispan.stream.impl.intops.object.PeekOperation;
 import org.infinispan.stream.impl.termop.object.ForEachBiOperation;
 import org.infinispan.stream.impl.termop.object.ForEachOperation;
+import org.infinispan.stream.impl.termop.object.ReduceByKeyOperation;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 import org.reactivestreams.Publisher;
@@ -95,8 +98,10 @@
         implements CacheStream<R> {
 
    private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
-
    private final boolean writeBehindShared;
+   // How many owners a distributed iterator retrieves entries from at the same time
+   private final int maxIteratorTargets;
+   private final int iteratorPrefetchBatches;
 
    // This is a hack to allow for cast to work properly, since Java doesn't work as well with nested generics
    protected static <R> Supplier<CacheStream<R>> supplierStreamCast(Supplier supplier) {
@@ -126,6 +131,8 @@ public DistributedCacheStream(Address localAddress, boolean parallel, Distributi
 
       Configuration configuration = registry.getComponent(Configuration.class);
       writeBehindShared = hasWriteBehindSharedStore(configuration.persistence());
+      maxIteratorTargets = configuration.clustering().stateTransfer().iteratorMaxConcurrentOwners();
+      iteratorPrefetchBatches = configuration.clustering().stateTransfer().iteratorPrefetchBatches();
    }
 
    /**
@@ -138,6 +145,8 @@ protected DistributedCacheStream(AbstractCacheStream other) {
 
       Configuration configuration = registry.getComponent(Configuration.class);
       writeBehindShared = hasWriteBehindSharedStore(configuration.persistence());
+      maxIteratorTargets = configuration.clustering().stateTransfer().iteratorMaxConcurrentOwners();
+      iteratorPrefetchBatches = configuration.clustering().stateTransfer().iteratorPrefetchBatches();
    }
 
    boolean hasWriteBehindSharedStore(PersistenceConfiguration persistenceConfiguration) {
@@ -633,7 +642,7 @@ <S> Publisher<S> localPublisher(IntSet segmentsToFilter, ConsistentHash ch, Set<
          Iterable<IntermediateOperation> intermediateOperations, boolean stayLocal) {
       Supplier<Stream<Original>> supplier = supplierForSegments(ch, segmentsToFilter, excludedKeys, stayLocal);
       BaseStream stream = supplier.get();
-      for (IntermediateOperation intermediateOperation : intermediateOperations) {
+      for (IntermediateOperation intermediateOperation : IntermediateOperations.fuse(intermediateOperations)) {
          stream = intermediateOperation.perform(stream);
       }
       BaseStream innerStream = stream;
@@ -680,7 +689,7 @@ <S> CloseableIterator<S> nonRehashRemoteIterator(ConsistentHash ch, IntSet segme
          Map<Address, IntSet> targets = determineTargets(ch, segmentsToFilter);
          Iterator<Map.Entry<Address, IntSet>> targetIter = targets.entrySet().iterator();
 
-         int publisherAmount = Math.min(4, targets.size());
+         int publisherAmount = Math.min(maxIteratorTargets, targets.size());
 
          // Parallel distribution is enabled by default, so it is only false if explicitly disabled
          // Also if the batch size is less than number of publishers just use 1
@@ -691,7 +700,8 @@ <S> CloseableIterator<S> nonRehashRemoteIterator(ConsistentHash ch, IntSet segme
             Publisher<S> publisher = publisherFunction.decorateRemote(remotePublisher);
 
             // Local publisher is always last
-            return PriorityMergingProcessor.build(publisher, distributedBatchSize, localPublisher, 64).iterator();
+            return PriorityMergingProcessor.build(publisher, distributedBatchSize, localPublisher, 64,
+                  iteratorPrefetchBatches).iterator();
          } else {
             // Have to synchronize supplier retrieval as it could be called from 2 threads at once
             Supplier<Map.Entry<Address, IntSet>> supplier = () -> {
@@ -699,8 +709,8 @@ <S> CloseableIterator<S> nonRehashRemoteIterator(ConsistentHash ch, IntSet segme
                   return targetIter.hasNext() ? targetIter.next() : null;
                }
             };
-            PriorityMergingProcessor.Builder<S> builder = PriorityMergingProcessor.builder();
-            // TODO: do we want to cap number of parallel distributions like this?
+            PriorityMergingProcessor.Builder<S> builder = PriorityMergingProcessor.<S>builder()
+                  .prefetchBatches(iteratorPrefetchBatches);
             for (int i = 0; i < publisherAmount; ++i) {
                ClusterStreamManager.RemoteIteratorPublisher<S> remotePublisher = csm.remoteIterationPublisher(false,
                      supplier, keysToFilter, keysToExclude, includeLoader, toKeyFunction != null, intermediateOperations);
@@ -767,6 +777,21 @@ public <K, V> void forEach(BiConsumer<Cache<K, V>, ? super R> action) {
       }
    }
 
+   @Override
+   public <G, A> void reduceByKey(Function<? super R, ? extends G> classifier,
+         Function<? super R, ? extends A> mapper, BinaryOperator<A> combiner, Cache<G, A> target) {
+      // Each node merges its partial results into the target cache itself, nothing is returned to the originator
+      UUID operationId = UUID.randomUUID();
+      if (!rehashAware) {
+         performOperation(TerminalFunctions.reduceByKeyFunction(classifier, mapper, combiner, target.getName(),
+               distributedBatchSize, operationId, registry.getComponent(Cache.class)), false, (v1, v2) -> null, null);
+      } else {
+         // Like forEach, the keys are only completed once their batch is merged so lost segments don't reduce them again
+         performRehashKeyTrackingOperation(s -> new ReduceByKeyOperation(intermediateOperations, s,
+               nonNullKeyFunction(), distributedBatchSize, classifier, mapper, combiner, target.getName(), operationId));
+      }
+   }
+
    @Override
    public void forEachOrdered(Consumer<? super R> action) {
       // We aren't sorted, so just do forEach
@@ -272,6 +272,12 @@ public <R1> R1 collect(Supplier<R1> supplier, BiConsumer<R1, ? super R> accumula
       return localStream.collect(supplier, accumulator, combiner);
    }
 
+   @Override
+   public <G, A> void reduceByKey(Function<? super R, ? extends G> classifier,
+         Function<? super R, ? extends A> mapper, BinaryOperator<A> combiner, Cache<G, A> target) {
+      localStream.reduceByKey(classifier, mapper, combiner, target);
+   }
+
    @Override
    public Optional<R> max(Comparator<? super R> comparator) {
       return localStream.max(comparator);
@@ -25,6 +25,7 @@
 import org.infinispan.notifications.cachemanagerlistener.event.ViewChangedEvent;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.stream.impl.intops.IntermediateOperation;
+import org.infinispan.stream.impl.intops.IntermediateOperations;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -103,7 +104,7 @@ public <Original, E> OnCloseIterator<E> start(Address origin, Supplier<Stream<Or
          log.tracef("Iterator requested from %s using requestId %s", origin, requestId);
       }
       BaseStream stream = streamSupplier.get();
-      for (IntermediateOperation intOp : intOps) {
+      for (IntermediateOperation intOp : IntermediateOperations.fuse(intOps)) {
          stream = intOp.perform(stream);
       }
 
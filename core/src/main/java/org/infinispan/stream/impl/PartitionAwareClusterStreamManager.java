@@ -10,7 +10,6 @@
 
 import org.infinispan.Cache;
 import org.infinispan.commons.util.IntSet;
-import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
@@ -30,7 +29,6 @@
 public class PartitionAwareClusterStreamManager<Original, K> extends ClusterStreamManagerImpl<Original, K> {
    protected final PartitionListener listener = new PartitionListener();
    @Inject protected Cache<?, ?> cache;
-   @Inject protected Configuration configuration;
    private PartitionHandling partitionHandling;
 
    @Listener
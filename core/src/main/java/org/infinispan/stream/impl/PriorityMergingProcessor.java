@@ -33,6 +33,9 @@
  * returned from the first publisher and so forth. If no publisher has recently published an entry the iterator
  * will block until one does so or all are known to have completed.
  * <p>
+ * Each publisher is asked for its batch size and then for {@code prefetchBatches} more batches, so that the next batch is already being retrieved while the current one is consumed.
+ * Entries are only requested again once they were consumed, so at most that many batches are held per publisher.
+ * <p>
  * The iterator returned should be closed by the user when they are done to ensure resources are freed properly.
  * @author wburns
  * @since 9.0
@@ -42,10 +45,16 @@
 
    private final PublisherIntPair<T> firstPair;
    private final Collection<PublisherIntPair<T>> pairs;
+   private final int prefetchBatches;
 
    public static <T> PriorityMergingProcessor<T> build(Publisher<T> publisher, int firstbatchSize, Publisher<T> secondPublisher,
          int secondBatchSize) {
-      return new PriorityMergingProcessor<>(publisher, firstbatchSize, secondPublisher, secondBatchSize);
+      return build(publisher, firstbatchSize, secondPublisher, secondBatchSize, 1);
+   }
+
+   public static <T> PriorityMergingProcessor<T> build(Publisher<T> publisher, int firstbatchSize, Publisher<T> secondPublisher,
+         int secondBatchSize, int prefetchBatches) {
+      return new PriorityMergingProcessor<>(publisher, firstbatchSize, secondPublisher, secondBatchSize, prefetchBatches);
    }
 
    public static <T> Builder<T> builder() {
@@ -68,6 +77,7 @@ private PublisherIntPair(Publisher<T> publisher, int batchSize) {
    public static class Builder<T> {
       PublisherIntPair<T> firstPair;
       Stream.Builder<PublisherIntPair<T>> current = Stream.builder();
+      int prefetchBatches = 1;
 
       Builder<T> addPublisher(Publisher<T> publisher, int batchSize) {
          if (firstPair == null) {
@@ -78,20 +88,30 @@ Builder<T> addPublisher(Publisher<T> publisher, int batchSize) {
          return this;
       }
 
+      Builder<T> prefetchBatches(int prefetchBatches) {
+         this.prefetchBatches = prefetchBatches;
+         return this;
+      }
+
       PriorityMergingProcessor<T> build() {
-         return new PriorityMergingProcessor<>(firstPair, current.build().collect(Collectors.toList()));
+         return new PriorityMergingProcessor<>(firstPair, current.build().collect(Collectors.toList()), prefetchBatches);
       }
    }
 
    private PriorityMergingProcessor(Publisher<T> publisher, int firstbatchSize, Publisher<T> secondPublisher,
-         int secondBatchSize) {
-      this.firstPair = new PublisherIntPair<>(publisher, firstbatchSize);
-      this.pairs = Collections.singleton(new PublisherIntPair<>(secondPublisher, secondBatchSize));
+         int secondBatchSize, int prefetchBatches) {
+      this(new PublisherIntPair<>(publisher, firstbatchSize),
+            Collections.singleton(new PublisherIntPair<>(secondPublisher, secondBatchSize)), prefetchBatches);
    }
 
-   private PriorityMergingProcessor(PublisherIntPair<T> firstPair, Collection<PublisherIntPair<T>> pairs) {
+   private PriorityMergingProcessor(PublisherIntPair<T> firstPair, Collection<PublisherIntPair<T>> pairs,
+         int prefetchBatches) {
+      if (prefetchBatches < 0) {
+         throw new IllegalArgumentException("prefetchBatches must not be negative");
+      }
       this.firstPair = firstPair;
       this.pairs = pairs;
+      this.prefetchBatches = prefetchBatches;
    }
 
    @Override
@@ -101,7 +121,7 @@ public void close() {
 
    @Override
    public CloseableIterator<T> iterator() {
-      MultiSubscriberIterator<T> iterator = new MultiSubscriberIterator<>(firstPair, pairs);
+      MultiSubscriberIterator<T> iterator = new MultiSubscriberIterator<>(firstPair, pairs, prefetchBatches);
       iterator.start();
       return iterator;
    }
@@ -120,8 +140,10 @@ public CloseableIterator<T> iterator() {
 
       volatile Throwable error;
 
-      MultiSubscriberIterator(PublisherIntPair<T> firstPair, Collection<PublisherIntPair<T>> pairs) {
-         this.firstQueueSubscriber = new QueueSubscriber<>(firstPair.publisher, firstPair.batchSize, this);
+      MultiSubscriberIterator(PublisherIntPair<T> firstPair, Collection<PublisherIntPair<T>> pairs,
+            int prefetchBatches) {
+         this.firstQueueSubscriber = new QueueSubscriber<>(firstPair.publisher, firstPair.batchSize, prefetchBatches,
+               this);
          this.queueSubscribers = new QueueSubscriber[pairs.size()];
 
          this.signalled = false;
@@ -130,7 +152,8 @@ public CloseableIterator<T> iterator() {
 
          int offset = 0;
          for (PublisherIntPair<T> pair : pairs) {
-            QueueSubscriber<T> actualSubscriber = new QueueSubscriber<>(pair.publisher, pair.batchSize, this);
+            QueueSubscriber<T> actualSubscriber = new QueueSubscriber<>(pair.publisher, pair.batchSize,
+                  prefetchBatches, this);
             queueSubscribers[offset++] = actualSubscriber;
          }
       }
@@ -229,6 +252,7 @@ void signalConsumer() {
       private final Publisher<T> publisher;
       private final SimplePlainQueue<T> queue;
       private final long batchSize;
+      private final long prefetchSize;
       private final long limit;
       private MultiSubscriberIterator notifier;
 
@@ -236,9 +260,13 @@ void signalConsumer() {
 
       private volatile boolean done;
 
-      QueueSubscriber(Publisher<T> publisher, int batchSize, MultiSubscriberIterator subscriber) {
+      QueueSubscriber(Publisher<T> publisher, int batchSize, int prefetchBatches, MultiSubscriberIterator subscriber) {
          this.publisher = publisher;
-         this.queue = new SpscArrayQueue<>(batchSize);
+         // The queue has to hold every entry that was requested and not yet consumed, so cap the prefetched entries
+         // to what an array queue can hold
+         this.prefetchSize = Math.max(0, Math.min((long) batchSize * prefetchBatches,
+               (Integer.MAX_VALUE >> 1) - batchSize));
+         this.queue = new SpscArrayQueue<>((int) (batchSize + prefetchSize));
          this.batchSize = batchSize;
          this.notifier = subscriber;
          this.limit = batchSize - (batchSize >> 2);
@@ -269,6 +297,9 @@ public T poll() {
       public void onSubscribe(Subscription s) {
          if (SubscriptionHelper.setOnce(this, s)) {
             s.request(batchSize);
+            if (prefetchSize > 0) {
+               s.request(prefetchSize);
+            }
          }
       }
 
@@ -0,0 +1,241 @@
+package org.infinispan.stream.impl;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.marshall.SerializeWith;
+import org.infinispan.functional.EntryView.ReadWriteEntryView;
+import org.infinispan.functional.FunctionalMap.ReadWriteMap;
+import org.infinispan.functional.MetaParam;
+import org.infinispan.functional.impl.FunctionalMapImpl;
+import org.infinispan.functional.impl.ReadWriteMapImpl;
+
+/**
+ * Merges the partial results computed by a node for {@link org.infinispan.CacheStream#reduceByKey} into the target
+ * cache.
+ * <p>
+ * The partial results are merged in numbered batches, and each target entry remembers the last batch of each run that
+ * was merged into it in a {@link MergedBatches} meta param, which moves with the entry during state transfer. If the
+ * write of a batch is retried, for example after a topology change, the owners that already merged it don't combine
+ * it again. Only the batches of the latest operation are remembered, so two operations merging into the same target
+ * keys concurrently are not protected from retries.
+ * <p>
+ * The lifespan and max idle of the target entries are kept when merging. Once a run has merged all its batches,
+ * {@link #complete()} removes the run from the meta param of the entries it merged into, and removes the meta param
+ * when no other run of the operation is left.
+ *
+ * @since 10.0
+ */
+public final class ReduceByKeyMerger<G, A> {
+   private final ReadWriteMap<G, A> targetMap;
+   private final BinaryOperator<A> combiner;
+   private final UUID operationId;
+   private final UUID runId = UUID.randomUUID();
+   private final List<Set<G>> mergedKeys = new ArrayList<>();
+   private long batch;
+
+   public ReduceByKeyMerger(Cache<?, ?> cache, String targetCacheName, BinaryOperator<A> combiner, UUID operationId) {
+      Cache<G, A> target = cache.getCacheManager().getCache(targetCacheName);
+      this.targetMap = ReadWriteMapImpl.create(FunctionalMapImpl.create(target.getAdvancedCache()));
+      this.combiner = combiner;
+      this.operationId = operationId;
+   }
+
+   /**
+    * Merges a batch of partial results, returning only after all the owners of the group keys applied it.
+    */
+   public void merge(Map<G, A> partials) {
+      if (!partials.isEmpty()) {
+         targetMap.evalMany(partials, mergeFunction());
+         mergedKeys.add(new HashSet<>(partials.keySet()));
+      }
+   }
+
+   /**
+    * Removes the batches of this run from the target entries. Must be invoked after the last batch was merged, so
+    * that no write of this run can be retried any more.
+    */
+   public void complete() {
+      CompleteRunFunction<G, A> function = new CompleteRunFunction<>(operationId, runId);
+      for (Set<G> keys : mergedKeys) {
+         targetMap.evalMany(keys, function);
+      }
+      mergedKeys.clear();
+   }
+
+   MergeFunction<G, A> mergeFunction() {
+      return new MergeFunction<>(combiner, operationId, runId, ++batch);
+   }
+
+   @SerializeWith(value = MergeFunction.Externalizer.class)
+   static final class MergeFunction<K, V> implements BiFunction<V, ReadWriteEntryView<K, V>, Void> {
+      private final BinaryOperator<V> combiner;
+      private final UUID operationId;
+      private final UUID runId;
+      private final long batch;
+
+      MergeFunction(BinaryOperator<V> combiner, UUID operationId, UUID runId, long batch) {
+         this.combiner = combiner;
+         this.operationId = operationId;
+         this.runId = runId;
+         this.batch = batch;
+      }
+
+      @Override
+      public Void apply(V partial, ReadWriteEntryView<K, V> view) {
+         Optional<MergedBatches> merged = view.findMetaParam(MergedBatches.class)
+               .filter(m -> m.operationId.equals(operationId));
+         if (merged.isPresent() && merged.get().lastBatch(runId) >= batch) {
+            // This batch was already merged, the write is being retried
+            return null;
+         }
+         V value = view.find().map(existing -> combiner.apply(existing, partial)).orElse(partial);
+         return view.set(value, withExpiration(view,
+               new MergedBatches(operationId, merged.map(MergedBatches::get).orElse(null), runId, batch)));
+      }
+
+      public static final class Externalizer implements org.infinispan.commons.marshall.Externalizer<MergeFunction> {
+         @Override
+         public void writeObject(ObjectOutput output, MergeFunction object) throws IOException {
+            output.writeObject(object.combiner);
+            output.writeObject(object.operationId);
+            output.writeObject(object.runId);
+            output.writeLong(object.batch);
+         }
+
+         @Override
+         public MergeFunction readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+            return new MergeFunction((BinaryOperator) input.readObject(), (UUID) input.readObject(),
+                  (UUID) input.readObject(), input.readLong());
+         }
+      }
+   }
+
+   @SerializeWith(value = CompleteRunFunction.Externalizer.class)
+   static final class CompleteRunFunction<K, V> implements Function<ReadWriteEntryView<K, V>, Void> {
+      private final UUID operationId;
+      private final UUID runId;
+
+      CompleteRunFunction(UUID operationId, UUID runId) {
+         this.operationId = operationId;
+         this.runId = runId;
+      }
+
+      @Override
+      public Void apply(ReadWriteEntryView<K, V> view) {
+         Optional<MergedBatches> merged = view.findMetaParam(MergedBatches.class)
+               .filter(m -> m.operationId.equals(operationId) && m.lastBatch(runId) > 0);
+         if (!merged.isPresent() || !view.find().isPresent()) {
+            // Already completed, or overwritten since
+            return null;
+         }
+         MergedBatches remaining = merged.get().without(runId);
+         return remaining != null ? view.set(view.get(), withExpiration(view, remaining)) :
+               view.set(view.get(), withExpiration(view));
+      }
+
+      public static final class Externalizer implements org.infinispan.commons.marshall.Externalizer<CompleteRunFunction> {
+         @Override
+         public void writeObject(ObjectOutput output, CompleteRunFunction object) throws IOException {
+            output.writeObject(object.operationId);
+            output.writeObject(object.runId);
+         }
+
+         @Override
+         public CompleteRunFunction readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+            return new CompleteRunFunction((UUID) input.readObject(), (UUID) input.readObject());
+         }
+      }
+   }
+
+   /**
+    * @return the lifespan and max idle of the entry, if set, followed by {@code metas}, as the set methods of the
+    * entry views replace all the meta params.
+    */
+   private static MetaParam.Writable[] withExpiration(ReadWriteEntryView<?, ?> view, MetaParam.Writable... metas) {
+      List<MetaParam.Writable> params = new ArrayList<>(metas.length + 2);
+      view.findMetaParam(MetaParam.MetaLifespan.class).ifPresent(params::add);
+      view.findMetaParam(MetaParam.MetaMaxIdle.class).ifPresent(params::add);
+      Collections.addAll(params, metas);
+      return params.toArray(new MetaParam.Writable[0]);
+   }
+
+   /**
+    * The last batch of each run of a reduceByKey operation merged into an entry.
+    */
+   @SerializeWith(value = MergedBatches.Externalizer.class)
+   static final class MergedBatches implements MetaParam.Writable<Map<UUID, Long>> {
+      private final UUID operationId;
+      private final Map<UUID, Long> lastBatches;
+
+      private MergedBatches(UUID operationId, Map<UUID, Long> lastBatches) {
+         this.operationId = operationId;
+         this.lastBatches = lastBatches;
+      }
+
+      MergedBatches(UUID operationId, Map<UUID, Long> previous, UUID runId, long batch) {
+         this(operationId, previous != null ? new HashMap<>(previous) : new HashMap<>(4));
+         lastBatches.put(runId, batch);
+      }
+
+      long lastBatch(UUID runId) {
+         return lastBatches.getOrDefault(runId, 0L);
+      }
+
+      /**
+       * @return the batches of the other runs, or {@code null} if there are none.
+       */
+      MergedBatches without(UUID runId) {
+         Map<UUID, Long> remaining = new HashMap<>(lastBatches);
+         remaining.remove(runId);
+         return remaining.isEmpty() ? null : new MergedBatches(operationId, remaining);
+      }
+
+      @Override
+      public Map<UUID, Long> get() {
+         return Collections.unmodifiableMap(lastBatches);
+      }
+
+      @Override
+      public String toString() {
+         return "MergedBatches{operationId=" + operationId + ", lastBatches=" + lastBatches + '}';
+      }
+
+      public static final class Externalizer implements org.infinispan.commons.marshall.Externalizer<MergedBatches> {
+         @Override
+         public void writeObject(ObjectOutput output, MergedBatches object) throws IOException {
+            output.writeObject(object.operationId);
+            output.writeInt(object.lastBatches.size());
+            for (Map.Entry<UUID, Long> entry : object.lastBatches.entrySet()) {
+               output.writeObject(entry.getKey());
+               output.writeLong(entry.getValue());
+            }
+         }
+
+         @Override
+         public MergedBatches readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+            UUID operationId = (UUID) input.readObject();
+            int size = input.readInt();
+            Map<UUID, Long> lastBatches = new HashMap<>(size);
+            for (int i = 0; i < size; i++) {
+               lastBatches.put((UUID) input.readObject(), input.readLong());
+            }
+            return new MergedBatches(operationId, lastBatches);
+         }
+      }
+   }
+}
@@ -5,11 +5,14 @@
 import java.io.ObjectOutput;
 import java.util.Comparator;
 import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
 import java.util.IntSummaryStatistics;
 import java.util.LongSummaryStatistics;
+import java.util.Map;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
+import java.util.UUID;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
@@ -31,6 +34,7 @@
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
+import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
@@ -43,6 +47,7 @@
 import org.infinispan.LongCacheStream;
 import org.infinispan.commons.marshall.Externalizer;
 import org.infinispan.commons.marshall.SerializeWith;
+import org.infinispan.stream.CacheAware;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -235,6 +240,15 @@ public static Function<LongStream, Boolean> noneMatchFunction(LongPredicate pred
       return new NoneMatchLongFunction<>(predicate);
    }
 
+   public static <T, G, A> Function<Stream<T>, Void> reduceByKeyFunction(Function<? super T, ? extends G> classifier,
+         Function<? super T, ? extends A> mapper, BinaryOperator<A> combiner, String targetCacheName, int batchSize,
+         UUID operationId, Cache<?, ?> cache) {
+      ReduceByKeyFunction<T, G, A> function = new ReduceByKeyFunction<>(classifier, mapper, combiner, targetCacheName,
+            batchSize, operationId);
+      function.injectCache((Cache) cache);
+      return function;
+   }
+
    public static <T> Function<Stream<T>, T> reduceFunction(BinaryOperator<T> accumulator) {
       return new ReduceFunction<>(accumulator);
    }
@@ -1569,6 +1583,79 @@ public MinLongFunction readObject(ObjectInput input) throws IOException, ClassNo
       }
    }
 
+   /**
+    * Reduces the local elements to one partial result per group key, and then merges the partial results into the
+    * target cache. The merges are sent in batches to the primary owners of the group keys, which combine them with
+    * the values already in the target cache, see {@link ReduceByKeyMerger}.
+    */
+   @SerializeWith(value = ReduceByKeyFunction.ReduceByKeyFunctionExternalizer.class)
+   private static final class ReduceByKeyFunction<T, G, A> implements Function<Stream<T>, Void>,
+         CacheAware<Object, Object> {
+      private final Function<? super T, ? extends G> classifier;
+      private final Function<? super T, ? extends A> mapper;
+      private final BinaryOperator<A> combiner;
+      private final String targetCacheName;
+      private final int batchSize;
+      private final UUID operationId;
+      private transient Cache<Object, Object> cache;
+
+      private ReduceByKeyFunction(Function<? super T, ? extends G> classifier, Function<? super T, ? extends A> mapper,
+            BinaryOperator<A> combiner, String targetCacheName, int batchSize, UUID operationId) {
+         this.classifier = classifier;
+         this.mapper = mapper;
+         this.combiner = combiner;
+         this.targetCacheName = targetCacheName;
+         this.batchSize = batchSize;
+         this.operationId = operationId;
+      }
+
+      @Override
+      public void injectCache(Cache<Object, Object> cache) {
+         this.cache = cache;
+      }
+
+      @Override
+      public Void apply(Stream<T> stream) {
+         Map<G, A> partials = stream.collect(Collectors.toMap(classifier, mapper, combiner));
+         if (partials.isEmpty()) {
+            return null;
+         }
+         if (trace) {
+            log.tracef("Merging %d partial results into cache %s", partials.size(), targetCacheName);
+         }
+         ReduceByKeyMerger<G, A> merger = new ReduceByKeyMerger<>(cache, targetCacheName, combiner, operationId);
+         Map<G, A> batch = new HashMap<>();
+         for (Map.Entry<G, A> entry : partials.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= batchSize) {
+               merger.merge(batch);
+               batch.clear();
+            }
+         }
+         merger.merge(batch);
+         merger.complete();
+         return null;
+      }
+
+      public static final class ReduceByKeyFunctionExternalizer implements Externalizer<ReduceByKeyFunction> {
+         @Override
+         public void writeObject(ObjectOutput output, ReduceByKeyFunction object) throws IOException {
+            output.writeObject(object.classifier);
+            output.writeObject(object.mapper);
+            output.writeObject(object.combiner);
+            output.writeUTF(object.targetCacheName);
+            output.writeInt(object.batchSize);
+            output.writeObject(object.operationId);
+         }
+
+         @Override
+         public ReduceByKeyFunction readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+            return new ReduceByKeyFunction((Function) input.readObject(), (Function) input.readObject(),
+                  (BinaryOperator) input.readObject(), input.readUTF(), input.readInt(), (UUID) input.readObject());
+         }
+      }
+   }
+
    @SerializeWith(value = ReduceFunction.ReduceFunctionExternalizer.class)
    private static final class ReduceFunction<T> implements Function<Stream<T>, T> {
       private final BinaryOperator<T> accumulator;
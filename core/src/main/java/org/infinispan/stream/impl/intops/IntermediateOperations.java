@@ -0,0 +1,141 @@
+package org.infinispan.stream.impl.intops;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import org.infinispan.stream.impl.intops.object.FilterOperation;
+import org.infinispan.stream.impl.intops.object.MapOperation;
+import org.infinispan.stream.impl.intops.object.MapToDoubleOperation;
+import org.infinispan.stream.impl.intops.object.MapToIntOperation;
+import org.infinispan.stream.impl.intops.object.MapToLongOperation;
+import org.infinispan.stream.impl.intops.primitive.d.FilterDoubleOperation;
+import org.infinispan.stream.impl.intops.primitive.d.MapDoubleOperation;
+import org.infinispan.stream.impl.intops.primitive.i.FilterIntOperation;
+import org.infinispan.stream.impl.intops.primitive.i.MapIntOperation;
+import org.infinispan.stream.impl.intops.primitive.l.FilterLongOperation;
+import org.infinispan.stream.impl.intops.primitive.l.MapLongOperation;
+
+/**
+ * Utility methods for lists of {@link IntermediateOperation}s.
+ * <p>
+ * Each intermediate operation adds a stage to the stream, which is one more virtual call per element and sometimes a
+ * boxed value. {@link #fuse(Iterable)} combines adjacent filter and map operations into a single operation before
+ * they are applied to the stream on each node. The operations sent to the other nodes are always the original ones,
+ * the fused operations are never marshalled.
+ * <p>
+ * Fusion can be disabled with the {@code infinispan.stream.disableFusion} system property.
+ *
+ * @since 10.0
+ */
+public final class IntermediateOperations {
+   private static final boolean FUSION_DISABLED = Boolean.getBoolean("infinispan.stream.disableFusion");
+
+   private IntermediateOperations() { }
+
+   /**
+    * Returns the operations to apply to a stream to get the same result as applying {@code intermediateOperations},
+    * with adjacent filter and map operations combined.
+    * @param intermediateOperations the operations as requested by the user
+    * @return the operations to apply to the stream
+    */
+   public static Iterable<IntermediateOperation> fuse(Iterable<IntermediateOperation> intermediateOperations) {
+      if (FUSION_DISABLED) {
+         return intermediateOperations;
+      }
+      List<IntermediateOperation> fused = new ArrayList<>();
+      IntermediateOperation previous = null;
+      for (IntermediateOperation intOp : intermediateOperations) {
+         IntermediateOperation combined = previous != null ? combine(previous, intOp) : null;
+         if (combined != null) {
+            fused.set(fused.size() - 1, combined);
+            previous = combined;
+         } else {
+            fused.add(intOp);
+            previous = intOp;
+         }
+      }
+      return fused;
+   }
+
+   private static IntermediateOperation combine(IntermediateOperation first, IntermediateOperation second) {
+      if (first instanceof FilterOperation) {
+         if (second instanceof FilterOperation) {
+            Predicate firstPredicate = ((FilterOperation) first).getPredicate();
+            Predicate secondPredicate = ((FilterOperation) second).getPredicate();
+            return new FilterOperation<>(o -> firstPredicate.test(o) && secondPredicate.test(o));
+         }
+      } else if (first instanceof MapOperation) {
+         Function function = ((MapOperation) first).getFunction();
+         if (second instanceof MapOperation) {
+            Function combined = function.andThen(((MapOperation) second).getFunction());
+            return new MapOperation<>(combined);
+         } else if (second instanceof MapToLongOperation) {
+            ToLongFunction toLong = ((MapToLongOperation) second).getFunction();
+            return new MapToLongOperation<>(o -> toLong.applyAsLong(function.apply(o)));
+         } else if (second instanceof MapToIntOperation) {
+            ToIntFunction toInt = ((MapToIntOperation) second).getFunction();
+            return new MapToIntOperation<>(o -> toInt.applyAsInt(function.apply(o)));
+         } else if (second instanceof MapToDoubleOperation) {
+            ToDoubleFunction toDouble = ((MapToDoubleOperation) second).getFunction();
+            return new MapToDoubleOperation<>(o -> toDouble.applyAsDouble(function.apply(o)));
+         }
+      } else if (first instanceof MapToLongOperation) {
+         if (second instanceof MapLongOperation) {
+            ToLongFunction toLong = ((MapToLongOperation) first).getFunction();
+            LongUnaryOperator operator = ((MapLongOperation) second).getOperator();
+            return new MapToLongOperation<>(o -> operator.applyAsLong(toLong.applyAsLong(o)));
+         }
+      } else if (first instanceof MapToIntOperation) {
+         if (second instanceof MapIntOperation) {
+            ToIntFunction toInt = ((MapToIntOperation) first).getFunction();
+            IntUnaryOperator operator = ((MapIntOperation) second).getOperator();
+            return new MapToIntOperation<>(o -> operator.applyAsInt(toInt.applyAsInt(o)));
+         }
+      } else if (first instanceof MapToDoubleOperation) {
+         if (second instanceof MapDoubleOperation) {
+            ToDoubleFunction toDouble = ((MapToDoubleOperation) first).getFunction();
+            DoubleUnaryOperator operator = ((MapDoubleOperation) second).getOperator();
+            return new MapToDoubleOperation<>(o -> operator.applyAsDouble(toDouble.applyAsDouble(o)));
+         }
+      } else if (first instanceof FilterLongOperation) {
+         if (second instanceof FilterLongOperation) {
+            return new FilterLongOperation<>(((FilterLongOperation<?>) first).getPredicate()
+                  .and(((FilterLongOperation<?>) second).getPredicate()));
+         }
+      } else if (first instanceof MapLongOperation) {
+         if (second instanceof MapLongOperation) {
+            return new MapLongOperation(((MapLongOperation) first).getOperator()
+                  .andThen(((MapLongOperation) second).getOperator()));
+         }
+      } else if (first instanceof FilterIntOperation) {
+         if (second instanceof FilterIntOperation) {
+            return new FilterIntOperation<>(((FilterIntOperation<?>) first).getPredicate()
+                  .and(((FilterIntOperation<?>) second).getPredicate()));
+         }
+      } else if (first instanceof MapIntOperation) {
+         if (second instanceof MapIntOperation) {
+            return new MapIntOperation(((MapIntOperation) first).getOperator()
+                  .andThen(((MapIntOperation) second).getOperator()));
+         }
+      } else if (first instanceof FilterDoubleOperation) {
+         if (second instanceof FilterDoubleOperation) {
+            return new FilterDoubleOperation(((FilterDoubleOperation) first).getPredicate()
+                  .and(((FilterDoubleOperation) second).getPredicate()));
+         }
+      } else if (first instanceof MapDoubleOperation) {
+         if (second instanceof MapDoubleOperation) {
+            return new MapDoubleOperation(((MapDoubleOperation) first).getOperator()
+                  .andThen(((MapDoubleOperation) second).getOperator()));
+         }
+      }
+      return null;
+   }
+}
@@ -5,6 +5,8 @@
 import java.util.Collection;
 import java.util.Queue;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.BaseStream;
 
 import org.infinispan.commons.util.IntSet;
@@ -68,6 +70,31 @@ protected final S createStream() {
       return (S) stream;
    }
 
+   /**
+    * Creates the stream and applies the given terminal operation to it. Parallel streams run the operation in the
+    * {@link ParallelStreamPool} when it is enabled. The stream is closed once the operation returns, so the resources
+    * of the source, such as a snapshot, are released when a short-circuiting operation doesn't exhaust it.
+    * @param operation the terminal operation
+    * @param <R> the result type of the operation
+    * @return the result of the operation
+    */
+   protected final <R> R perform(Function<? super S, ? extends R> operation) {
+      try (S stream = createStream()) {
+         if (parallel) {
+            ParallelStreamPool pool = registry.getGlobalComponentRegistry().getComponent(ParallelStreamPool.class);
+            return pool.perform(stream, operation);
+         }
+         return operation.apply(stream);
+      }
+   }
+
+   protected final void performVoid(Consumer<? super S> operation) {
+      perform(stream -> {
+         operation.accept(stream);
+         return null;
+      });
+   }
+
    @Override
    public boolean isParallel() {
       return parallel;
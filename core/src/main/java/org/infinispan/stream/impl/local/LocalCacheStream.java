@@ -202,20 +202,20 @@ public LocalCacheStream<R> skip(long n) {
    @Override
    public void forEach(Consumer<? super R> action) {
       injectCache(action);
-      createStream().forEach(action);
+      performVoid(stream -> stream.forEach(action));
    }
 
    @Override
    public <K, V> void forEach(BiConsumer<Cache<K, V>, ? super R> action) {
       Cache<K, V> cache = registry.getComponent(Cache.class);
       registry.wireDependencies(action);
-      createStream().forEach(e -> action.accept(cache, e));
+      performVoid(stream -> stream.forEach(e -> action.accept(cache, e)));
    }
 
    @Override
    public void forEachOrdered(Consumer<? super R> action) {
       injectCache(action);
-      createStream().forEachOrdered(action);
+      performVoid(stream -> stream.forEachOrdered(action));
    }
 
    /**
@@ -231,87 +231,87 @@ private void injectCache(Consumer<? super R> cacheAware) {
 
    @Override
    public Object[] toArray() {
-      return createStream().toArray();
+      return perform(stream -> stream.toArray());
    }
 
    @Override
    public <A> A[] toArray(IntFunction<A[]> generator) {
-      return createStream().toArray(generator);
+      return perform(stream -> stream.toArray(generator));
    }
 
    @Override
    public R reduce(R identity, BinaryOperator<R> accumulator) {
-      return createStream().reduce(identity, accumulator);
+      return perform(stream -> stream.reduce(identity, accumulator));
    }
 
    @Override
    public Optional<R> reduce(BinaryOperator<R> accumulator) {
-      return createStream().reduce(accumulator);
+      return perform(stream -> stream.reduce(accumulator));
    }
 
    @Override
    public <U> U reduce(U identity, BiFunction<U, ? super R, U> accumulator, BinaryOperator<U> combiner) {
-      return createStream().reduce(identity, accumulator, combiner);
+      return perform(stream -> stream.reduce(identity, accumulator, combiner));
    }
 
    @Override
    public <R1> R1 collect(Supplier<R1> supplier, BiConsumer<R1, ? super R> accumulator, BiConsumer<R1, R1> combiner) {
-      return createStream().collect(supplier, accumulator, combiner);
+      return perform(stream -> stream.collect(supplier, accumulator, combiner));
    }
 
    @Override
    public <R1, A> R1 collect(Collector<? super R, A, R1> collector) {
-      return createStream().collect(collector);
+      return perform(stream -> stream.collect(collector));
    }
 
    @Override
    public <R1> R1 collect(SerializableSupplier<Collector<? super R, ?, R1>> supplier) {
-      return createStream().collect(supplier.get());
+      return perform(stream -> stream.collect(supplier.get()));
    }
 
    @Override
    public <R1> R1 collect(Supplier<Collector<? super R, ?, R1>> supplier) {
-      return createStream().collect(supplier.get());
+      return perform(stream -> stream.collect(supplier.get()));
    }
 
    @Override
    public Optional<R> min(Comparator<? super R> comparator) {
-      return createStream().min(comparator);
+      return perform(stream -> stream.min(comparator));
    }
 
    @Override
    public Optional<R> max(Comparator<? super R> comparator) {
-      return createStream().max(comparator);
+      return perform(stream -> stream.max(comparator));
    }
 
    @Override
    public long count() {
-      return createStream().count();
+      return perform(stream -> stream.count());
    }
 
    @Override
    public boolean anyMatch(Predicate<? super R> predicate) {
-      return createStream().anyMatch(predicate);
+      return perform(stream -> stream.anyMatch(predicate));
    }
 
    @Override
    public boolean allMatch(Predicate<? super R> predicate) {
-      return createStream().allMatch(predicate);
+      return perform(stream -> stream.allMatch(predicate));
    }
 
    @Override
    public boolean noneMatch(Predicate<? super R> predicate) {
-      return createStream().noneMatch(predicate);
+      return perform(stream -> stream.noneMatch(predicate));
    }
 
    @Override
    public Optional<R> findFirst() {
-      return createStream().findFirst();
+      return perform(stream -> stream.findFirst());
    }
 
    @Override
    public Optional<R> findAny() {
-      return createStream().findAny();
+      return perform(stream -> stream.findAny());
    }
 
    @Override
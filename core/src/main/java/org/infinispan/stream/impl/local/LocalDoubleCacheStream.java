@@ -122,19 +122,19 @@ public LocalDoubleCacheStream skip(long n) {
    @Override
    public void forEach(DoubleConsumer action) {
       injectCache(action);
-      createStream().forEach(action);
+      performVoid(stream -> stream.forEach(action));
    }
 
    @Override
    public <K, V> void forEach(ObjDoubleConsumer<Cache<K, V>> action) {
       Cache<K, V> cache = registry.getComponent(Cache.class);
-      createStream().forEach(d -> action.accept(cache, d));
+      performVoid(stream -> stream.forEach(d -> action.accept(cache, d)));
    }
 
    @Override
    public void forEachOrdered(DoubleConsumer action) {
       injectCache(action);
-      createStream().forEachOrdered(action);
+      performVoid(stream -> stream.forEachOrdered(action));
    }
 
    /**
@@ -150,77 +150,77 @@ private void injectCache(DoubleConsumer cacheAware) {
 
    @Override
    public double[] toArray() {
-      return createStream().toArray();
+      return perform(stream -> stream.toArray());
    }
 
    @Override
    public double reduce(double identity, DoubleBinaryOperator op) {
-      return createStream().reduce(identity, op);
+      return perform(stream -> stream.reduce(identity, op));
    }
 
    @Override
    public OptionalDouble reduce(DoubleBinaryOperator op) {
-      return createStream().reduce(op);
+      return perform(stream -> stream.reduce(op));
    }
 
    @Override
    public <R> R collect(Supplier<R> supplier, ObjDoubleConsumer<R> accumulator, BiConsumer<R, R> combiner) {
-      return createStream().collect(supplier, accumulator, combiner);
+      return perform(stream -> stream.collect(supplier, accumulator, combiner));
    }
 
    @Override
    public double sum() {
-      return createStream().sum();
+      return perform(stream -> stream.sum());
    }
 
    @Override
    public OptionalDouble min() {
-      return createStream().min();
+      return perform(stream -> stream.min());
    }
 
    @Override
    public OptionalDouble max() {
-      return createStream().max();
+      return perform(stream -> stream.max());
    }
 
    @Override
    public long count() {
-      return createStream().count();
+      return perform(stream -> stream.count());
    }
 
    @Override
    public OptionalDouble average() {
-      return createStream().average();
+      return perform(stream -> stream.average());
    }
 
    @Override
    public DoubleSummaryStatistics summaryStatistics() {
-      return createStream().summaryStatistics();
+      return perform(stream -> stream.summaryStatistics());
    }
 
    @Override
    public boolean anyMatch(DoublePredicate predicate) {
-      return createStream().anyMatch(predicate);
+      return perform(stream -> stream.anyMatch(predicate));
    }
 
    @Override
    public boolean allMatch(DoublePredicate predicate) {
-      return createStream().allMatch(predicate);
+      return perform(stream -> stream.allMatch(predicate));
    }
 
    @Override
    public boolean noneMatch(DoublePredicate predicate) {
-      return createStream().noneMatch(predicate);
+      return perform(stream -> stream.noneMatch(predicate));
    }
 
    @Override
    public OptionalDouble findFirst() {
-      return createStream().findFirst();
+      return perform(stream -> stream.findFirst());
    }
 
    @Override
    public OptionalDouble findAny() {
-      return createStream().findAny();
+      return perform(stream -> stream.findAny());
    }
 
    @Override
@@ -125,19 +125,19 @@ public LocalIntCacheStream skip(long n) {
    @Override
    public void forEach(IntConsumer action) {
       injectCache(action);
-      createStream().forEach(action);
+      performVoid(stream -> stream.forEach(action));
    }
 
    @Override
    public <K, V> void forEach(ObjIntConsumer<Cache<K, V>> action) {
       Cache<K, V> cache = registry.getComponent(Cache.class);
-      createStream().forEach(i -> action.accept(cache, i));
+      performVoid(stream -> stream.forEach(i -> action.accept(cache, i)));
    }
 
    @Override
    public void forEachOrdered(IntConsumer action) {
       injectCache(action);
-      createStream().forEachOrdered(action);
+      performVoid(stream -> stream.forEachOrdered(action));
    }
 
    /**
@@ -153,77 +153,77 @@ private void injectCache(IntConsumer cacheAware) {
 
    @Override
    public int[] toArray() {
-      return createStream().toArray();
+      return perform(stream -> stream.toArray());
    }
 
    @Override
    public int reduce(int identity, IntBinaryOperator op) {
-      return createStream().reduce(identity, op);
+      return perform(stream -> stream.reduce(identity, op));
    }
 
    @Override
    public OptionalInt reduce(IntBinaryOperator op) {
-      return createStream().reduce(op);
+      return perform(stream -> stream.reduce(op));
    }
 
    @Override
    public <R> R collect(Supplier<R> supplier, ObjIntConsumer<R> accumulator, BiConsumer<R, R> combiner) {
-      return createStream().collect(supplier, accumulator, combiner);
+      return perform(stream -> stream.collect(supplier, accumulator, combiner));
    }
 
    @Override
    public int sum() {
-      return createStream().sum();
+      return perform(stream -> stream.sum());
    }
 
    @Override
    public OptionalInt min() {
-      return createStream().min();
+      return perform(stream -> stream.min());
    }
 
    @Override
    public OptionalInt max() {
-      return createStream().max();
+      return perform(stream -> stream.max());
    }
 
    @Override
    public long count() {
-      return createStream().count();
+      return perform(stream -> stream.count());
    }
 
    @Override
    public OptionalDouble average() {
-      return createStream().average();
+      return perform(stream -> stream.average());
    }
 
    @Override
    public IntSummaryStatistics summaryStatistics() {
-      return createStream().summaryStatistics();
+      return perform(stream -> stream.summaryStatistics());
    }
 
    @Override
    public boolean anyMatch(IntPredicate predicate) {
-      return createStream().anyMatch(predicate);
+      return perform(stream -> stream.anyMatch(predicate));
    }
 
    @Override
    public boolean allMatch(IntPredicate predicate) {
-      return createStream().allMatch(predicate);
+      return perform(stream -> stream.allMatch(predicate));
    }
 
    @Override
    public boolean noneMatch(IntPredicate predicate) {
-      return createStream().noneMatch(predicate);
+      return perform(stream -> stream.noneMatch(predicate));
    }
 
    @Override
    public OptionalInt findFirst() {
-      return createStream().findFirst();
+      return perform(stream -> stream.findFirst());
    }
 
    @Override
    public OptionalInt findAny() {
-      return createStream().findAny();
+      return perform(stream -> stream.findAny());
    }
 
    @Override
@@ -126,19 +126,19 @@ public LocalLongCacheStream skip(long n) {
    @Override
    public void forEach(LongConsumer action) {
       injectCache(action);
-      createStream().forEach(action);
+      performVoid(stream -> stream.forEach(action));
    }
 
    @Override
    public <K, V> void forEach(ObjLongConsumer<Cache<K, V>> action) {
       Cache<K, V> cache = registry.getComponent(Cache.class);
-      createStream().forEach(l -> action.accept(cache, l));
+      performVoid(stream -> stream.forEach(l -> action.accept(cache, l)));
    }
 
    @Override
    public void forEachOrdered(LongConsumer action) {
       injectCache(action);
-      createStream().forEachOrdered(action);
+      performVoid(stream -> stream.forEachOrdered(action));
    }
 
    /**
@@ -154,77 +154,77 @@ private void injectCache(LongConsumer cacheAware) {
 
    @Override
    public long[] toArray() {
-      return createStream().toArray();
+      return perform(stream -> stream.toArray());
    }
 
    @Override
    public long reduce(long identity, LongBinaryOperator op) {
-      return createStream().reduce(identity, op);
+      return perform(stream -> stream.reduce(identity, op));
    }
 
    @Override
    public OptionalLong reduce(LongBinaryOperator op) {
-      return createStream().reduce(op);
+      return perform(stream -> stream.reduce(op));
    }
 
    @Override
    public <R> R collect(Supplier<R> supplier, ObjLongConsumer<R> accumulator, BiConsumer<R, R> combiner) {
-      return createStream().collect(supplier, accumulator, combiner);
+      return perform(stream -> stream.collect(supplier, accumulator, combiner));
    }
 
    @Override
    public long sum() {
-      return createStream().sum();
+      return perform(stream -> stream.sum());
    }
 
    @Override
    public OptionalLong min() {
-      return createStream().min();
+      return perform(stream -> stream.min());
    }
 
    @Override
    public OptionalLong max() {
-      return createStream().max();
+      return perform(stream -> stream.max());
    }
 
    @Override
    public long count() {
-      return createStream().count();
+      return perform(stream -> stream.count());
    }
 
    @Override
    public OptionalDouble average() {
-      return createStream().average();
+      return perform(stream -> stream.average());
    }
 
    @Override
    public LongSummaryStatistics summaryStatistics() {
-      return createStream().summaryStatistics();
+      return perform(stream -> stream.summaryStatistics());
    }
 
    @Override
    public boolean anyMatch(LongPredicate predicate) {
-      return createStream().anyMatch(predicate);
+      return perform(stream -> stream.anyMatch(predicate));
    }
 
    @Override
    public boolean allMatch(LongPredicate predicate) {
-      return createStream().allMatch(predicate);
+      return perform(stream -> stream.allMatch(predicate));
    }
 
    @Override
    public boolean noneMatch(LongPredicate predicate) {
-      return createStream().noneMatch(predicate);
+      return perform(stream -> stream.noneMatch(predicate));
    }
 
    @Override
    public OptionalLong findFirst() {
-      return createStream().findFirst();
+      return perform(stream -> stream.findFirst());
    }
 
    @Override
    public OptionalLong findAny() {
-      return createStream().findAny();
+      return perform(stream -> stream.findAny());
    }
 
    @Override
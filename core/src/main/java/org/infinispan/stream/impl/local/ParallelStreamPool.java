@@ -0,0 +1,68 @@
+package org.infinispan.stream.impl.local;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+
+import org.infinispan.commons.util.ProcessorInfo;
+import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+
+/**
+ * Dedicated work stealing pool for the terminal operations of parallel local streams.
+ * <p>
+ * A parallel stream runs in the {@link ForkJoinPool} of the thread that performs its terminal operation, which is the
+ * common pool for any other thread. The common pool is shared with everything else running in the JVM and is sized
+ * one thread smaller than the number of processors. Setting {@link GlobalConfiguration#streamParallelism()} to a
+ * positive value runs the terminal operations of the parallel local streams of the cache manager in a pool of that
+ * many threads instead, where the segments of the data container are split between the workers and stolen by idle
+ * ones. A value of {@code -1} sizes the pool to the number of processors. The common pool is used by default.
+ *
+ * @since 10.0
+ */
+@Scope(Scopes.GLOBAL)
+public class ParallelStreamPool {
+   @Inject private GlobalConfiguration globalConfiguration;
+
+   private volatile ForkJoinPool pool;
+
+   @Start
+   public void start() {
+      int parallelism = globalConfiguration.streamParallelism();
+      if (parallelism == 0) {
+         return;
+      }
+      if (parallelism < 0) {
+         parallelism = ProcessorInfo.availableProcessors();
+      }
+      String nodeName = globalConfiguration.transport().nodeName();
+      String prefix = nodeName != null ? "infinispan-stream-" + nodeName + "-" : "infinispan-stream-";
+      pool = new ForkJoinPool(parallelism, p -> {
+         ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+         thread.setName(prefix + thread.getPoolIndex());
+         return thread;
+      }, null, false);
+   }
+
+   @Stop
+   public void stop() {
+      ForkJoinPool pool = this.pool;
+      if (pool != null) {
+         this.pool = null;
+         pool.shutdownNow();
+      }
+   }
+
+   <S, R> R perform(S stream, Function<? super S, ? extends R> operation) {
+      ForkJoinPool pool = this.pool;
+      if (pool == null || ForkJoinTask.getPool() == pool) {
+         return operation.apply(stream);
+      }
+      return pool.submit(() -> operation.apply(stream)).join();
+   }
+}
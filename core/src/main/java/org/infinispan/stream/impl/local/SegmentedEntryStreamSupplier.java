@@ -11,6 +11,8 @@
 import org.infinispan.AdvancedCache;
 import org.infinispan.Cache;
 import org.infinispan.cache.impl.AbstractDelegatingCache;
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.Closeables;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.container.entries.CacheEntry;
@@ -31,12 +33,23 @@
    private final Cache<K, V> cache;
    private final ToIntFunction<Object> toIntFunction;
    private final InternalDataContainer<K, V> internalDataContainer;
+   private final boolean snapshot;
 
    public SegmentedEntryStreamSupplier(Cache<K, V> cache, ToIntFunction<Object> toIntFunction,
          InternalDataContainer<K, V> internalDataContainer) {
+      this(cache, toIntFunction, internalDataContainer, false);
+   }
+
+   /**
+    * @param snapshot whether the streams read a snapshot of the data container, see
+    *                 {@link InternalDataContainer#snapshotIterator(IntSet)}
+    */
+   public SegmentedEntryStreamSupplier(Cache<K, V> cache, ToIntFunction<Object> toIntFunction,
+         InternalDataContainer<K, V> internalDataContainer, boolean snapshot) {
       this.cache = cache;
       this.toIntFunction = toIntFunction;
       this.internalDataContainer = internalDataContainer;
+      this.snapshot = snapshot;
    }
 
    @Override
@@ -67,7 +80,10 @@ public Stream<CacheEntry<K, V>> buildStream(IntSet segmentsToFilter, Set<?> keys
             });
          }
       } else {
-         if (segmentsToFilter != null) {
+         if (snapshot) {
+            stream = Closeables.stream(cast(internalDataContainer.snapshotIterator(segmentsToFilter)), parallel,
+                  Long.MAX_VALUE, Spliterator.CONCURRENT | Spliterator.NONNULL | Spliterator.DISTINCT);
+         } else if (segmentsToFilter != null) {
             stream = StreamSupport.stream(cast(internalDataContainer.spliterator(segmentsToFilter)), parallel);
          } else {
             stream = StreamSupport.stream(cast(internalDataContainer.spliterator()), parallel);
@@ -82,4 +98,8 @@ public Stream<CacheEntry<K, V>> buildStream(IntSet segmentsToFilter, Set<?> keys
    private Spliterator<CacheEntry<K, V>> cast(Spliterator spliterator) {
       return (Spliterator<CacheEntry<K, V>>) spliterator;
    }
+
+   private CloseableIterator<CacheEntry<K, V>> cast(CloseableIterator iterator) {
+      return (CloseableIterator<CacheEntry<K, V>>) iterator;
+   }
 }
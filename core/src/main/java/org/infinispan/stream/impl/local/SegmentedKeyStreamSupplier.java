@@ -2,6 +2,7 @@
 
 import java.lang.invoke.MethodHandles;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.function.ToIntFunction;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -9,6 +10,7 @@
 import org.infinispan.AdvancedCache;
 import org.infinispan.Cache;
 import org.infinispan.cache.impl.AbstractDelegatingCache;
+import org.infinispan.commons.util.Closeables;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
@@ -29,12 +31,23 @@
    private final Cache<K, V> cache;
    private final ToIntFunction<Object> toIntFunction;
    private final InternalDataContainer<K, V> internalDataContainer;
+   private final boolean snapshot;
 
    public SegmentedKeyStreamSupplier(Cache<K, V> cache, ToIntFunction<Object> toIntFunction,
          InternalDataContainer<K, V> internalDataContainer) {
+      this(cache, toIntFunction, internalDataContainer, false);
+   }
+
+   /**
+    * @param snapshot whether the streams read a snapshot of the data container, see
+    *                 {@link InternalDataContainer#snapshotIterator(IntSet)}
+    */
+   public SegmentedKeyStreamSupplier(Cache<K, V> cache, ToIntFunction<Object> toIntFunction,
+         InternalDataContainer<K, V> internalDataContainer, boolean snapshot) {
       this.cache = cache;
       this.toIntFunction = toIntFunction;
       this.internalDataContainer = internalDataContainer;
+      this.snapshot = snapshot;
    }
 
    @Override
@@ -63,7 +76,10 @@ public Stream<K> buildStream(IntSet segmentsToFilter, Set<?> keysToFilter, boole
          }
       } else {
          Stream<InternalCacheEntry<K, V>> entryStream;
-         if (segmentsToFilter != null) {
+         if (snapshot) {
+            entryStream = Closeables.stream(internalDataContainer.snapshotIterator(segmentsToFilter), parallel,
+                  Long.MAX_VALUE, Spliterator.CONCURRENT | Spliterator.NONNULL | Spliterator.DISTINCT);
+         } else if (segmentsToFilter != null) {
             entryStream = StreamSupport.stream(internalDataContainer.spliterator(segmentsToFilter), parallel);
          } else {
             entryStream = StreamSupport.stream(internalDataContainer.spliterator(), parallel);
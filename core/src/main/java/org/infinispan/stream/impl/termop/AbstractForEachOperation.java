@@ -11,6 +11,7 @@
 import org.infinispan.commons.util.ByRef;
 import org.infinispan.stream.impl.KeyTrackingTerminalOperation;
 import org.infinispan.stream.impl.intops.IntermediateOperation;
+import org.infinispan.stream.impl.intops.IntermediateOperations;
 
 /**
  * This is a base operation class for the use of the for each terminal operator.  This class can be used for any
@@ -74,7 +75,7 @@ public Collection<K> performForEachOperation(IntermediateCollector<Collection<K>
          currentKey.set(toKeyFunction.apply(e));
       });
       BaseStream<?, ?> stream = originalStream;
-      for (IntermediateOperation intermediateOperation : intermediateOperations) {
+      for (IntermediateOperation intermediateOperation : IntermediateOperations.fuse(intermediateOperations)) {
          stream = intermediateOperation.perform(stream);
       }
 
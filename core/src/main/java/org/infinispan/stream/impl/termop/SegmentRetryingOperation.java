@@ -9,6 +9,7 @@
 
 import org.infinispan.stream.impl.TerminalOperation;
 import org.infinispan.stream.impl.intops.IntermediateOperation;
+import org.infinispan.stream.impl.intops.IntermediateOperations;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -63,7 +64,7 @@ public boolean lostSegment(boolean stopIfLost) {
    }
 
    private E innerPerformOperation(BaseStream<?, ?> stream) {
-      for (IntermediateOperation intOp : intermediateOperations) {
+      for (IntermediateOperation intOp : IntermediateOperations.fuse(intermediateOperations)) {
          stream = intOp.perform(stream);
       }
       return function.apply((S2) stream);
@@ -6,8 +6,12 @@
 import java.util.stream.BaseStream;
 import java.util.stream.Stream;
 
+import org.infinispan.Cache;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.stream.CacheAware;
 import org.infinispan.stream.impl.TerminalOperation;
 import org.infinispan.stream.impl.intops.IntermediateOperation;
+import org.infinispan.stream.impl.intops.IntermediateOperations;
 
 /**
  * Runs the provided function once only and returns the result.  This is useful for operations that can be performed
@@ -37,7 +41,7 @@ public boolean lostSegment(boolean stopIfLost) {
    @Override
    public E performOperation() {
       BaseStream<?, ?> stream = supplier.get();
-      for (IntermediateOperation intOp : intermediateOperations) {
+      for (IntermediateOperation intOp : IntermediateOperations.fuse(intermediateOperations)) {
          stream = intOp.perform(stream);
       }
       E value = function.apply((S2) stream);
@@ -45,6 +49,14 @@ public E performOperation() {
       return value;
    }
 
+   @Override
+   public void handleInjection(ComponentRegistry registry) {
+      super.handleInjection(registry);
+      if (function instanceof CacheAware) {
+         ((CacheAware) function).injectCache(registry.getComponent(Cache.class));
+      }
+   }
+
    public Function<? super S2, ? extends E> getFunction() {
       return function;
    }
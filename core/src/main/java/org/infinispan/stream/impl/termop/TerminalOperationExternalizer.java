@@ -4,7 +4,9 @@
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Set;
+import java.util.UUID;
 import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.DoubleConsumer;
 import java.util.function.Function;
@@ -21,6 +23,7 @@
 import org.infinispan.stream.impl.intops.IntermediateOperation;
 import org.infinispan.stream.impl.termop.object.ForEachBiOperation;
 import org.infinispan.stream.impl.termop.object.ForEachOperation;
+import org.infinispan.stream.impl.termop.object.ReduceByKeyOperation;
 import org.infinispan.stream.impl.termop.primitive.ForEachDoubleOperation;
 import org.infinispan.stream.impl.termop.primitive.ForEachFlatMapDoubleOperation;
 import org.infinispan.stream.impl.termop.primitive.ForEachFlatMapIntOperation;
@@ -56,6 +59,7 @@ public class TerminalOperationExternalizer implements AdvancedExternalizer<BaseT
    private static final int FOREACH_FLAT_OBJ_DOUBLE = 13;
    private static final int FOREACH_FLAT_OBJ_INT = 14;
    private static final int FOREACH_FLAT_OBJ_LONG = 15;
+   private static final int REDUCE_BY_KEY = 16;
 
    private final IdentityIntMap<Class<? extends BaseTerminalOperation>> operations = new IdentityIntMap<>();
 
@@ -76,6 +80,7 @@ public TerminalOperationExternalizer() {
       operations.put(ForEachFlatMapObjDoubleOperation.class, FOREACH_FLAT_OBJ_DOUBLE);
       operations.put(ForEachFlatMapObjIntOperation.class, FOREACH_FLAT_OBJ_INT);
       operations.put(ForEachFlatMapObjLongOperation.class, FOREACH_FLAT_OBJ_LONG);
+      operations.put(ReduceByKeyOperation.class, REDUCE_BY_KEY);
    }
 
    @Override
@@ -86,7 +91,7 @@ public Set<Class<? extends BaseTerminalOperation>> getTypeClasses() {
               ForEachDoubleOperation.class, ForEachIntOperation.class, ForEachLongOperation.class,
               ForEachBiOperation.class, ForEachObjDoubleOperation.class, ForEachObjIntOperation.class,
               ForEachObjLongOperation.class, ForEachFlatMapObjDoubleOperation.class,
-              ForEachFlatMapObjIntOperation.class, ForEachFlatMapObjLongOperation.class);
+              ForEachFlatMapObjIntOperation.class, ForEachFlatMapObjLongOperation.class, ReduceByKeyOperation.class);
    }
 
    @Override
@@ -176,6 +181,16 @@ public void writeObject(ObjectOutput output, BaseTerminalOperation object) throw
             UnsignedNumeric.writeUnsignedInt(output, ((ForEachFlatMapObjLongOperation) object).getBatchSize());
             output.writeObject(((ForEachFlatMapObjLongOperation) object).getConsumer());
             break;
+         case REDUCE_BY_KEY:
+            ReduceByKeyOperation reduceByKey = (ReduceByKeyOperation) object;
+            output.writeObject(reduceByKey.getToKeyFunction());
+            UnsignedNumeric.writeUnsignedInt(output, reduceByKey.getBatchSize());
+            output.writeObject(reduceByKey.getClassifier());
+            output.writeObject(reduceByKey.getMapper());
+            output.writeObject(reduceByKey.getCombiner());
+            output.writeUTF(reduceByKey.getTargetCacheName());
+            output.writeObject(reduceByKey.getOperationId());
+            break;
          default:
             throw new IllegalArgumentException();
       }
@@ -246,6 +261,11 @@ public BaseTerminalOperation readObject(ObjectInput input) throws IOException, C
             return new ForEachFlatMapObjLongOperation<>((Iterable<IntermediateOperation>) input.readObject(), null,
                   (Function) input.readObject(), UnsignedNumeric.readUnsignedInt(input),
                   (ObjLongConsumer) input.readObject());
+         case REDUCE_BY_KEY:
+            return new ReduceByKeyOperation<>((Iterable<IntermediateOperation>) input.readObject(), null,
+                  (Function) input.readObject(), UnsignedNumeric.readUnsignedInt(input), (Function) input.readObject(),
+                  (Function) input.readObject(), (BinaryOperator) input.readObject(), input.readUTF(),
+                  (UUID) input.readObject());
 
          default:
             throw new IllegalArgumentException("Found invalid number " + number);
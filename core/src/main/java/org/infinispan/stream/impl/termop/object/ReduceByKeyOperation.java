@@ -0,0 +1,91 @@
+package org.infinispan.stream.impl.termop.object;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.infinispan.Cache;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.stream.impl.ReduceByKeyMerger;
+import org.infinispan.stream.impl.intops.IntermediateOperation;
+import org.infinispan.stream.impl.termop.AbstractForEachOperation;
+
+/**
+ * Terminal operation that handles a rehash aware reduce by key. Each batch of elements is reduced and merged into the
+ * target cache before its keys are reported as completed, so the elements of the completed keys are not reduced again
+ * when a segment is lost.
+ * @param <Original> original stream type
+ * @param <K> key type of the supplied stream
+ * @param <V> resulting value type
+ * @param <G> group key type
+ * @param <A> partial result type
+ * @since 10.0
+ */
+public class ReduceByKeyOperation<Original, K, V, G, A> extends AbstractForEachOperation<Original, K, V, Stream<V>> {
+   private final Function<? super V, ? extends G> classifier;
+   private final Function<? super V, ? extends A> mapper;
+   private final BinaryOperator<A> combiner;
+   private final String targetCacheName;
+   private final UUID operationId;
+   private transient ReduceByKeyMerger<G, A> merger;
+
+   public ReduceByKeyOperation(Iterable<IntermediateOperation> intermediateOperations,
+         Supplier<Stream<Original>> supplier, Function<? super Original, ? extends K> toKeyFunction, int batchSize,
+         Function<? super V, ? extends G> classifier, Function<? super V, ? extends A> mapper,
+         BinaryOperator<A> combiner, String targetCacheName, UUID operationId) {
+      super(intermediateOperations, supplier, toKeyFunction, batchSize);
+      this.classifier = classifier;
+      this.mapper = mapper;
+      this.combiner = combiner;
+      this.targetCacheName = targetCacheName;
+      this.operationId = operationId;
+   }
+
+   @Override
+   protected void handleList(List<V> list) {
+      merger.merge(list.stream().collect(Collectors.toMap(classifier, mapper, combiner)));
+   }
+
+   @Override
+   public Collection<K> performForEachOperation(IntermediateCollector<Collection<K>> response) {
+      Collection<K> completedKeys = super.performForEachOperation(response);
+      merger.complete();
+      return completedKeys;
+   }
+
+   @Override
+   protected void handleStreamForEach(Stream<V> stream, List<V> list) {
+      stream.forEach(list::add);
+   }
+
+   public Function<? super V, ? extends G> getClassifier() {
+      return classifier;
+   }
+
+   public Function<? super V, ? extends A> getMapper() {
+      return mapper;
+   }
+
+   public BinaryOperator<A> getCombiner() {
+      return combiner;
+   }
+
+   public String getTargetCacheName() {
+      return targetCacheName;
+   }
+
+   public UUID getOperationId() {
+      return operationId;
+   }
+
+   @Override
+   public void handleInjection(ComponentRegistry registry) {
+      super.handleInjection(registry);
+      merger = new ReduceByKeyMerger<>(registry.getComponent(Cache.class), targetCacheName, combiner, operationId);
+   }
+}
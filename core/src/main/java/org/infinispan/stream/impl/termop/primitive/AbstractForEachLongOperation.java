@@ -12,6 +12,7 @@
 
 import org.infinispan.stream.impl.KeyTrackingTerminalOperation;
 import org.infinispan.stream.impl.intops.IntermediateOperation;
+import org.infinispan.stream.impl.intops.IntermediateOperations;
 import org.infinispan.stream.impl.termop.BaseTerminalOperation;
 
 /**
@@ -73,7 +74,7 @@ public Collection<K> performForEachOperation(IntermediateCollector<Collection<K>
       });
 
       BaseStream<?, ?> stream = originalStream;
-      for (IntermediateOperation intermediateOperation : intermediateOperations) {
+      for (IntermediateOperation intermediateOperation : IntermediateOperations.fuse(intermediateOperations)) {
          stream = intermediateOperation.perform(stream);
       }
 
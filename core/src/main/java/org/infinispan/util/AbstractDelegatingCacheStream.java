@@ -177,6 +177,12 @@ public <R1> R1 collect(Supplier<R1> supplier, BiConsumer<R1, ? super R> accumula
       return castStream(underlyingStream).collect(supplier, accumulator, combiner);
    }
 
+   @Override
+   public <G, A> void reduceByKey(Function<? super R, ? extends G> classifier,
+         Function<? super R, ? extends A> mapper, BinaryOperator<A> combiner, Cache<G, A> target) {
+      castStream(underlyingStream).reduceByKey(classifier, mapper, combiner, target);
+   }
+
    @Override
    public Iterator<R> iterator() {
       return castStream(underlyingStream).iterator();
@@ -17,21 +17,30 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.factories.KnownComponentNames;
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
 import org.infinispan.interceptors.InvocationStage;
 import org.infinispan.interceptors.SyncInvocationStage;
 import org.infinispan.interceptors.impl.SimpleAsyncInvocationStage;
+import org.infinispan.jmx.JmxStatisticsExposer;
 import org.infinispan.jmx.annotations.DataType;
+import org.infinispan.jmx.annotations.DisplayType;
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.stats.impl.LatencyHistogram;
 import org.infinispan.util.concurrent.TimeoutException;
 import org.infinispan.util.concurrent.locks.DeadlockDetectedException;
 import org.infinispan.util.concurrent.locks.ExtendedLockPromise;
@@ -51,7 +60,7 @@
  * @since 8.0
  */
 @MBean(objectName = "LockManager", description = "Manager that handles MVCC locks for entries")
-public class DefaultLockManager implements LockManager {
+public class DefaultLockManager implements LockManager, JmxStatisticsExposer {
 
    private static final Log log = LogFactory.getLog(DefaultLockManager.class);
    private static final boolean trace = log.isTraceEnabled();
@@ -64,6 +73,16 @@ public class DefaultLockManager implements LockManager {
    private ScheduledExecutorService scheduler;
    @Inject @ComponentName(KnownComponentNames.ASYNC_OPERATIONS_EXECUTOR)
    private Executor executor;
+   @Inject private TimeService timeService;
+
+   private final LatencyHistogram lockWaitTimes = new LatencyHistogram();
+   private final LongAdder lockTimeouts = new LongAdder();
+   private volatile boolean statisticsEnabled;
+
+   @Start
+   public void checkStatisticsUsed() {
+      setStatisticsEnabled(configuration.jmxStatistics().enabled());
+   }
 
    @Override
    public KeyAwareLockPromise lock(Object key, Object lockOwner, long time, TimeUnit unit) {
@@ -85,7 +104,7 @@ public KeyAwareLockPromise lock(Object key, Object lockOwner, long time, TimeUni
          }
       }
 
-      ExtendedLockPromise promise = lockContainer.acquire(key, lockOwner, time, unit);
+      ExtendedLockPromise promise = monitorWaitTime(lockContainer.acquire(key, lockOwner, time, unit));
       return new KeyAwareExtendedLockPromise(promise, key, unit.toMillis(time)).scheduleLockTimeoutTask(scheduler);
    }
 
@@ -122,13 +141,30 @@ public KeyAwareLockPromise lockAll(Collection<?> keys, Object lockOwner, long ti
       //ordering will not solve the problem since acquire() is non-blocking and each lock owner can iterate faster/slower than the other.
       synchronized (this) {
          for (Object key : uniqueKeys) {
-            compositeLockPromise.addLock(new KeyAwareExtendedLockPromise(lockContainer.acquire(key, lockOwner, time, unit), key, unit.toMillis(time)));
+            ExtendedLockPromise promise = monitorWaitTime(lockContainer.acquire(key, lockOwner, time, unit));
+            compositeLockPromise.addLock(new KeyAwareExtendedLockPromise(promise, key, unit.toMillis(time)));
          }
       }
       compositeLockPromise.markListAsFinal();
       return compositeLockPromise.scheduleLockTimeoutTask(scheduler, time, unit);
    }
 
+   private ExtendedLockPromise monitorWaitTime(ExtendedLockPromise promise) {
+      if (!statisticsEnabled) {
+         return promise;
+      }
+      //if the promise is already completed, the listener is invoked immediately
+      long start = timeService.time();
+      promise.addListener(state -> {
+         if (state == LockState.ACQUIRED) {
+            lockWaitTimes.record(timeService.timeDuration(start, TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+         } else if (state == LockState.TIMED_OUT) {
+            lockTimeouts.increment();
+         }
+      });
+      return promise;
+   }
+
    private Set<Object> filterDistinctKeys(Collection<?> collection) {
       if (collection instanceof Set) {
          //noinspection unchecked
@@ -210,6 +246,71 @@ public int getNumberOfLocksAvailable() {
       return lockContainer.size() - lockContainer.getNumLocksHeld();
    }
 
+   @ManagedAttribute(description = "Number of lock acquisitions recorded since the statistics were last reset",
+         displayName = "Lock acquisitions", measurementType = MeasurementType.TRENDSUP, displayType = DisplayType.SUMMARY)
+   public long getLockAcquisitions() {
+      return lockWaitTimes.getCount();
+   }
+
+   @ManagedAttribute(description = "Average time waiting for a lock to be acquired",
+         displayName = "Average lock wait time", units = Units.NANOSECONDS, displayType = DisplayType.SUMMARY)
+   public long getAverageLockWaitTime() {
+      return lockWaitTimes.getMean(TimeUnit.NANOSECONDS);
+   }
+
+   @ManagedAttribute(description = "Maximum time waiting for a lock to be acquired",
+         displayName = "Maximum lock wait time", units = Units.NANOSECONDS, displayType = DisplayType.SUMMARY)
+   public long getMaxLockWaitTime() {
+      return lockWaitTimes.getMax(TimeUnit.NANOSECONDS);
+   }
+
+   @ManagedAttribute(description = "Median time waiting for a lock to be acquired",
+         displayName = "Median lock wait time", units = Units.NANOSECONDS, displayType = DisplayType.SUMMARY)
+   public long getLockWaitTimeP50() {
+      return lockWaitTimes.getPercentile(50, TimeUnit.NANOSECONDS);
+   }
+
+   @ManagedAttribute(description = "99th percentile of the time waiting for a lock to be acquired",
+         displayName = "99th percentile lock wait time", units = Units.NANOSECONDS, displayType = DisplayType.SUMMARY)
+   public long getLockWaitTimeP99() {
+      return lockWaitTimes.getPercentile(99, TimeUnit.NANOSECONDS);
+   }
+
+   @ManagedAttribute(description = "99.9th percentile of the time waiting for a lock to be acquired",
+         displayName = "99.9th percentile lock wait time", units = Units.NANOSECONDS, displayType = DisplayType.SUMMARY)
+   public long getLockWaitTimeP999() {
+      return lockWaitTimes.getPercentile(99.9, TimeUnit.NANOSECONDS);
+   }
+
+   @ManagedAttribute(description = "Number of lock acquisitions that timed out",
+         displayName = "Lock timeouts", measurementType = MeasurementType.TRENDSUP, displayType = DisplayType.SUMMARY)
+   public long getLockTimeouts() {
+      return lockTimeouts.sum();
+   }
+
+   @ManagedAttribute(description = "Enables or disables the gathering of statistics by this component",
+         displayName = "Statistics enabled", dataType = DataType.TRAIT, writable = true)
+   public boolean isStatisticsEnabled() {
+      return getStatisticsEnabled();
+   }
+
+   @Override
+   public boolean getStatisticsEnabled() {
+      return statisticsEnabled;
+   }
+
+   @Override
+   public void setStatisticsEnabled(boolean enabled) {
+      statisticsEnabled = enabled;
+   }
+
+   @Override
+   @ManagedOperation(description = "Resets statistics gathered by this component", displayName = "Reset statistics")
+   public void resetStatistics() {
+      lockWaitTimes.reset();
+      lockTimeouts.reset();
+   }
+
    @Override
    public InfinispanLock getLock(Object key) {
       return lockContainer.getLock(key);
@@ -144,6 +144,17 @@ public ExtendedLockPromise acquire(Object lockOwner, long time, TimeUnit timeUni
          log.tracef("Created a new one: %s", lockPlaceHolder);
       }
 
+      if (pendingRequest.isEmpty() && cas(null, lockPlaceHolder)) {
+         //fast path: the lock is free and nobody is waiting, so there is no need to go through the queue
+         if (!lockPlaceHolder.setAcquire()) {
+            //cancelled in the meantime, hand the lock to the next in queue
+            tryAcquire(lockPlaceHolder);
+         } else if (trace) {
+            log.tracef("%s successfully acquired the lock.", lockPlaceHolder);
+         }
+         return lockPlaceHolder;
+      }
+
       pendingRequest.add(lockPlaceHolder);
       tryAcquire(null);
       return lockPlaceHolder;
@@ -1865,4 +1865,26 @@ CacheConfigurationException offHeapMemoryEvictionSizeNotLargeEnoughForAddresses(
 
    @Message(value = "A store cannot be shared when utilised with a local cache.", id = 549)
    CacheConfigurationException sharedStoreWithLocalCache();
+
+   @Message(value = "Received a command encoded with version %d, but this node only supports version %d", id = 550)
+   CacheException unsupportedCommandEncodingVersion(int version, int supportedVersion);
+
+   @Message(value = "Snapshot scan aborted, as more than %d old versions of entries were retained", id = 551)
+   CacheException snapshotRetentionExceeded(int maxRetainedVersions);
+
+   @Message(value = "Timed out after %d milliseconds waiting for room in the event queue of listener %s", id = 552)
+   TimeoutException listenerEventQueueTimeout(long timeoutMillis, Object listener);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Failed to send a batch of %d cluster events to %s", id = 553)
+   void failedToSendClusterEvents(int eventCount, Address target, @Cause Throwable t);
+
+   @Message(value = "Snapshot scan aborted, as segments it didn't read yet were cleared", id = 554)
+   CacheException snapshotSegmentsCleared();
+
+   @Message(value = "Snapshot scans of clustered caches require the CACHE_MODE_LOCAL flag, as each node takes its own snapshot", id = 555)
+   CacheException snapshotScanRequiresLocalMode();
+
+   @Message(value = "Snapshot scans do not read the cache stores, they require the SKIP_CACHE_LOAD flag in caches with a store", id = 556)
+   CacheException snapshotScanRequiresSkipLoad();
 }
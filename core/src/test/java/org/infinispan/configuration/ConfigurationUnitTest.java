@@ -171,6 +171,47 @@ public void testClusterNameNull() {
       gc.transport().clusterName(null).build();
    }
 
+   @Test
+   public void testIteratorSettings() {
+      ConfigurationBuilder cb = new ConfigurationBuilder();
+      cb.clustering().stateTransfer().iteratorTargetResponseTime(250).iteratorMaxConcurrentOwners(2)
+            .iteratorPrefetchBatches(0);
+      Configuration c = cb.build();
+      assertEquals(c.clustering().stateTransfer().iteratorTargetResponseTime(), 250);
+      assertEquals(c.clustering().stateTransfer().iteratorMaxConcurrentOwners(), 2);
+      assertEquals(c.clustering().stateTransfer().iteratorPrefetchBatches(), 0);
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testIteratorMaxConcurrentOwnersZero() {
+      new ConfigurationBuilder().clustering().stateTransfer().iteratorMaxConcurrentOwners(0).build();
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testIteratorPrefetchBatchesNegative() {
+      new ConfigurationBuilder().clustering().stateTransfer().iteratorPrefetchBatches(-1).build();
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testLatencyWindowZero() {
+      new ConfigurationBuilder().jmxStatistics().latencyWindow(0).build();
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testProfilingSampleIntervalZero() {
+      new ConfigurationBuilder().jmxStatistics().profilingSampleInterval(0).build();
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testHotKeysSampleIntervalZero() {
+      new ConfigurationBuilder().jmxStatistics().hotKeysSampleInterval(0).build();
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testSnapshotMaxRetainedVersionsZero() {
+      new ConfigurationBuilder().memory().snapshotMaxRetainedVersions(0).build();
+   }
+
    @Test
    public void testSchema() throws Exception {
       FileLookup lookup = FileLookupFactory.newInstance();
@@ -38,6 +38,7 @@
 import org.infinispan.configuration.cache.EncodingConfiguration;
 import org.infinispan.configuration.cache.Index;
 import org.infinispan.configuration.cache.InterceptorConfiguration;
+import org.infinispan.configuration.cache.JMXStatisticsConfiguration;
 import org.infinispan.configuration.cache.MemoryConfiguration;
 import org.infinispan.configuration.cache.PartitionHandlingConfiguration;
 import org.infinispan.configuration.cache.PersistenceConfiguration;
@@ -146,6 +147,18 @@ public void check(ConfigurationBuilderHolder holder) {
                   assertEquals(proto1.getProtocolName(), proto1.getProperties(), proto2.getProperties());
                }
             }
+
+            assertEquals(4, getGlobalConfiguration(holder).streamParallelism());
+
+            JMXStatisticsConfiguration statistics = getConfiguration(holder, "local").jmxStatistics();
+            assertEquals(30000, statistics.latencyWindow());
+            assertTrue(statistics.profiling());
+            assertEquals(10, statistics.profilingSampleInterval());
+            assertFalse(statistics.hotKeys());
+            assertEquals(8, statistics.hotKeysSampleInterval());
+            assertEquals(32, statistics.hotKeysCapacity());
+
+            assertEquals(1000, getConfiguration(holder, "object-memory").memory().snapshotMaxRetainedVersions());
          }
       },
 
@@ -48,6 +48,7 @@ public void configurationSerializationTest(Path config) throws Exception {
 
       assertEquals(globalConfigurationBefore.sites().localSite(), globalConfigurationAfter.sites().localSite());
       assertEquals(globalConfigurationBefore.security().securityCacheTimeout(), globalConfigurationAfter.security().securityCacheTimeout());
+      assertEquals(globalConfigurationBefore.streamParallelism(), globalConfigurationAfter.streamParallelism());
       compareAttributeSets("Global", globalConfigurationBefore.globalState().attributes(), globalConfigurationAfter.globalState().attributes(), "localConfigurationStorage");
       compareAttributeSets("Global", globalConfigurationBefore.globalJmxStatistics().attributes(), globalConfigurationAfter.globalJmxStatistics().attributes(), "mBeanServerLookup");
       compareAttributeSets("Global", globalConfigurationBefore.security().authorization().attributes(), globalConfigurationAfter.security().authorization().attributes());
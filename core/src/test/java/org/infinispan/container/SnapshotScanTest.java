@@ -0,0 +1,204 @@
+package org.infinispan.container;
+
+import static org.infinispan.test.TestingUtil.withCacheManager;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commons.CacheException;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.impl.EntrySnapshots;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.context.Flag;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.test.CacheManagerCallable;
+import org.infinispan.test.Exceptions;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that scans with {@link Flag#SNAPSHOT_SCAN} see the entries as they were when the scan started.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "container.SnapshotScanTest")
+public class SnapshotScanTest extends SingleCacheManagerTest {
+   private static final int NUM_ENTRIES = 100;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      return TestCacheManagerFactory.createCacheManager(new ConfigurationBuilder());
+   }
+
+   private Map<Integer, String> populate() {
+      Map<Integer, String> expected = new HashMap<>();
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         cache.put(i, "v" + i);
+         expected.put(i, "v" + i);
+      }
+      return expected;
+   }
+
+   private void writeDuringScan() {
+      cache.put(0, "updated");
+      cache.remove(1);
+      cache.put(NUM_ENTRIES, "added");
+   }
+
+   private EntrySnapshots<?, ?> snapshots() {
+      return snapshots(cache);
+   }
+
+   private EntrySnapshots<?, ?> snapshots(AdvancedCache<?, ?> cache) {
+      return TestingUtil.extractComponent(cache, InternalDataContainer.class).snapshots();
+   }
+
+   public void testEntrySetScanIgnoresConcurrentWrites() {
+      Map<Integer, String> expected = populate();
+
+      Iterator<Map.Entry<Object, Object>> iterator = cache.getAdvancedCache().withFlags(Flag.SNAPSHOT_SCAN)
+            .entrySet().stream().iterator();
+      writeDuringScan();
+      assertEquals(1, snapshots().getActiveSnapshots());
+      assertEquals(3, snapshots().getRetainedVersions());
+
+      Map<Object, Object> results = new HashMap<>();
+      iterator.forEachRemaining(e -> results.put(e.getKey(), e.getValue()));
+      assertEquals(expected, results);
+      assertEquals(0, snapshots().getActiveSnapshots());
+      assertEquals(0, snapshots().getRetainedVersions());
+   }
+
+   public void testKeySetScanIgnoresConcurrentWrites() {
+      Map<Integer, String> expected = populate();
+
+      Iterator<Object> iterator = cache.getAdvancedCache().withFlags(Flag.SNAPSHOT_SCAN)
+            .keySet().stream().iterator();
+      writeDuringScan();
+
+      Set<Object> results = new HashSet<>();
+      iterator.forEachRemaining(results::add);
+      assertEquals(expected.keySet(), results);
+      assertEquals(0, snapshots().getActiveSnapshots());
+   }
+
+   public void testScanWithoutFlagSeesWrites() {
+      populate();
+      writeDuringScan();
+      Set<Object> keys = cache.keySet().stream().collect(Collectors.toSet());
+      assertEquals(NUM_ENTRIES, keys.size());
+      assertEquals(0, snapshots().getRetainedVersions());
+   }
+
+   public void testShortCircuitReleasesSnapshot() {
+      populate();
+
+      Optional<Object> first = cache.getAdvancedCache().withFlags(Flag.SNAPSHOT_SCAN).keySet().stream().findFirst();
+      assertTrue(first.isPresent());
+      assertEquals(0, snapshots().getActiveSnapshots());
+
+      assertTrue(cache.getAdvancedCache().withFlags(Flag.SNAPSHOT_SCAN).keySet().stream().anyMatch(k -> k.equals(0)));
+      assertEquals(0, snapshots().getActiveSnapshots());
+      assertEquals(0, snapshots().getRetainedVersions());
+   }
+
+   public void testClearAbortsUnreadSnapshot() {
+      populate();
+      long aborted = snapshots().getAbortedSnapshots();
+
+      Iterator<Object> iterator = cache.getAdvancedCache().withFlags(Flag.SNAPSHOT_SCAN)
+            .keySet().stream().iterator();
+      cache.clear();
+      assertEquals(0, snapshots().getActiveSnapshots());
+      assertEquals(aborted + 1, snapshots().getAbortedSnapshots());
+      Exceptions.expectException(CacheException.class, iterator::hasNext);
+
+      // A scan started after the clear sees the empty container
+      populate();
+      cache.clear();
+      assertEquals(0, cache.getAdvancedCache().withFlags(Flag.SNAPSHOT_SCAN).keySet().stream().count());
+   }
+
+   public void testMaxRetainedVersionsAbortsSnapshot() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory().snapshotMaxRetainedVersions(2);
+      cacheManager.defineConfiguration("small-snapshots", builder.build());
+      AdvancedCache<Object, Object> small = cacheManager.getCache("small-snapshots").getAdvancedCache();
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         small.put(i, "v" + i);
+      }
+
+      Iterator<Object> iterator = small.withFlags(Flag.SNAPSHOT_SCAN).keySet().stream().iterator();
+      small.put(0, "updated");
+      small.put(1, "updated");
+      assertEquals(1, snapshots(small).getActiveSnapshots());
+      small.put(2, "updated");
+      assertEquals(0, snapshots(small).getActiveSnapshots());
+      assertEquals(1, snapshots(small).getAbortedSnapshots());
+      Exceptions.expectException(CacheException.class, iterator::hasNext);
+   }
+
+   public void testEvictedEntriesAreRetained() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory().size(NUM_ENTRIES);
+      cacheManager.defineConfiguration("bounded", builder.build());
+      AdvancedCache<Object, Object> bounded = cacheManager.getCache("bounded").getAdvancedCache();
+      Map<Object, Object> expected = new HashMap<>();
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         bounded.put(i, "v" + i);
+         expected.put(i, "v" + i);
+      }
+
+      Iterator<Map.Entry<Object, Object>> iterator = bounded.withFlags(Flag.SNAPSHOT_SCAN)
+            .entrySet().stream().iterator();
+      // Each write evicts an entry that the scan must still return
+      for (int i = NUM_ENTRIES; i < 2 * NUM_ENTRIES; i++) {
+         bounded.put(i, "v" + i);
+      }
+
+      Map<Object, Object> results = new HashMap<>();
+      iterator.forEachRemaining(e -> results.put(e.getKey(), e.getValue()));
+      assertEquals(expected, results);
+      assertEquals(0, snapshots(bounded).getActiveSnapshots());
+   }
+
+   public void testStoreRequiresSkipCacheLoad() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class);
+      cacheManager.defineConfiguration("with-store", builder.build());
+      AdvancedCache<Object, Object> withStore = cacheManager.getCache("with-store").getAdvancedCache();
+      withStore.put(0, "v0");
+
+      Exceptions.expectException(CacheException.class,
+            () -> withStore.withFlags(Flag.SNAPSHOT_SCAN).keySet().stream().count());
+      assertEquals(1, withStore.withFlags(Flag.SNAPSHOT_SCAN, Flag.SKIP_CACHE_LOAD).keySet().stream().count());
+   }
+
+   public void testClusteredCacheRequiresLocalMode() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC);
+      withCacheManager(new CacheManagerCallable(TestCacheManagerFactory.createClusteredCacheManager(builder)) {
+         @Override
+         public void call() {
+            AdvancedCache<Object, Object> clustered = cm.getCache().getAdvancedCache();
+            clustered.put(0, "v0");
+
+            Exceptions.expectException(CacheException.class,
+                  () -> clustered.withFlags(Flag.SNAPSHOT_SCAN).entrySet().stream().count());
+            assertEquals(1, clustered.withFlags(Flag.SNAPSHOT_SCAN, Flag.CACHE_MODE_LOCAL).entrySet().stream().count());
+         }
+      });
+   }
+}
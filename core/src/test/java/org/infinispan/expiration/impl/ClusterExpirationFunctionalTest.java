@@ -1,12 +1,14 @@
 package org.infinispan.expiration.impl;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertNull;
 import static org.testng.AssertJUnit.assertTrue;
 
 import java.lang.invoke.MethodHandles;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -289,6 +291,74 @@ public void testMaxIdleExpireBackupIterateBackup() {
       testMaxIdleExpireExpireIteration(false, false);
    }
 
+   public void testReaperRemovesLifespanExpiredBatch() {
+      Map<MagicKey, String> entries = new HashMap<>();
+      for (int i = 0; i < 200; i++) {
+         MagicKey key = createKey(cache0, cache1);
+         entries.put(key, key.toString());
+         cache0.put(key, key.toString(), 10, TimeUnit.MINUTES);
+      }
+      MagicKey immortalKey = createKey(cache0, cache1);
+      cache0.put(immortalKey, immortalKey.toString());
+
+      incrementAllTimeServices(11, TimeUnit.MINUTES);
+
+      // The backup owner finds them expired and asks the primary owner to remove them
+      TestingUtil.extractComponent(cache1, InternalExpirationManager.class).processExpiration();
+
+      for (MagicKey key : entries.keySet()) {
+         assertNull(cache0.getAdvancedCache().getDataContainer().peek(key));
+         assertNull(cache1.getAdvancedCache().getDataContainer().peek(key));
+      }
+      assertEquals(immortalKey.toString(), cache1.get(immortalKey));
+   }
+
+   public void testReaperKeepsMaxIdleEntriesAccessedOnOtherOwner() {
+      if (cacheMode.isScattered()) {
+         // In scattered cache the read would go to primary always
+         return;
+      }
+      MagicKey accessedKey = createKey(cache0, cache1);
+      MagicKey idleKey = createKey(cache0, cache1);
+      cache0.put(accessedKey, accessedKey.toString(), -1, null, 10, TimeUnit.SECONDS);
+      cache0.put(idleKey, idleKey.toString(), -1, null, 10, TimeUnit.SECONDS);
+
+      incrementAllTimeServices(5, TimeUnit.SECONDS);
+
+      // Access it on the backup to update the last access time (primary still has old access time only)
+      assertEquals(accessedKey.toString(), cache1.get(accessedKey));
+
+      incrementAllTimeServices(6, TimeUnit.SECONDS);
+
+      // The primary owner asks the backup owner for the last access time of both keys at once
+      TestingUtil.extractComponent(cache0, InternalExpirationManager.class).processExpiration();
+
+      assertNull(cache0.getAdvancedCache().getDataContainer().peek(idleKey));
+      assertNull(cache1.getAdvancedCache().getDataContainer().peek(idleKey));
+      assertEquals(accessedKey.toString(), cache0.get(accessedKey));
+   }
+
+   public void testMaxIdleRemovalAfterReaperChecksOtherOwners() {
+      if (cacheMode.isScattered()) {
+         // In scattered cache the read would go to primary always
+         return;
+      }
+      MagicKey key = createKey(cache0, cache1);
+      cache0.put(key, "v1", -1, null, 10, TimeUnit.SECONDS);
+      incrementAllTimeServices(11, TimeUnit.SECONDS);
+      TestingUtil.extractComponent(cache0, InternalExpirationManager.class).processExpiration();
+      assertNull(cache0.getAdvancedCache().getDataContainer().peek(key));
+
+      cache0.put(key, "v2", -1, null, 10, TimeUnit.SECONDS);
+      incrementAllTimeServices(5, TimeUnit.SECONDS);
+      assertEquals("v2", cache1.get(key));
+      incrementAllTimeServices(6, TimeUnit.SECONDS);
+
+      // A removal not coming from the reaper still asks the backup owner, which accessed the entry
+      assertFalse(cache0.getAdvancedCache().removeMaxIdleExpired(key, "v2").join());
+      assertEquals("v2", cache0.get(key));
+   }
+
    /**
     * This test verifies that an entry is refreshed properly when the originator thinks the entry is expired
     * but another node accessed recently, but not same timestamp
@@ -0,0 +1,157 @@
+package org.infinispan.expiration.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.expiration.ExpirationManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.ControlledTimeService;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the reaper only visits the entries that are due when the expiration index is enabled.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "expiration.impl.IndexedExpirationTest")
+public class IndexedExpirationTest extends SingleCacheManagerTest {
+   private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+   private final ControlledTimeService timeService = new ControlledTimeService();
+
+   public IndexedExpirationTest() {
+      // Every test starts with an empty index
+      cleanup = CleanupPhase.AFTER_METHOD;
+   }
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      // Start at the beginning of a tick
+      timeService.advance(HOUR - timeService.wallClockTime() % HOUR);
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      // The reaper task never runs during the test, processExpiration is invoked directly
+      builder.expiration().wakeUpInterval(HOUR).indexed(true);
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(builder);
+      TestingUtil.replaceComponent(cm, TimeService.class, timeService, true);
+      cache = cm.getCache();
+      return cm;
+   }
+
+   public void testOnlyMortalEntriesIndexed() {
+      cache.put("immortal", "value");
+      cache.put("mortal", "value", 10, TimeUnit.HOURS);
+      cache.put("transient", "value", -1, TimeUnit.SECONDS, 10, TimeUnit.HOURS);
+      assertEquals(2, index().size());
+
+      processExpiration();
+      assertEquals(2, index().size());
+   }
+
+   public void testDueEntriesExpired() {
+      for (int i = 0; i < 10; i++) {
+         cache.put("key-" + i, "value", i + 1, TimeUnit.HOURS);
+      }
+      cache.put("immortal", "value");
+
+      // The entries are checked at the first tick after they expire
+      timeService.advance(6 * HOUR);
+      processExpiration();
+      for (int i = 0; i < 10; i++) {
+         if (i < 5) {
+            assertNull(dataContainer().peek("key-" + i));
+         } else {
+            assertNotNull(dataContainer().peek("key-" + i));
+         }
+      }
+      assertNotNull(dataContainer().peek("immortal"));
+      assertEquals(5, index().size());
+
+      timeService.advance(6 * HOUR);
+      processExpiration();
+      assertEquals(1, dataContainer().size());
+      assertEquals(0, index().size());
+   }
+
+   public void testUpdatedEntryRescheduled() {
+      cache.put("key", "value", 1, TimeUnit.HOURS);
+      cache.put("key", "value2", 10, TimeUnit.HOURS);
+      // Only the earliest expiration time is kept
+      assertEquals(1, index().size());
+
+      timeService.advance(2 * HOUR);
+      processExpiration();
+      assertEquals("value2", cache.get("key"));
+      assertEquals(1, index().size());
+
+      timeService.advance(10 * HOUR);
+      processExpiration();
+      assertNull(dataContainer().peek("key"));
+      assertEquals(0, index().size());
+   }
+
+   public void testAccessedEntryRescheduled() {
+      cache.put("key", "value", -1, TimeUnit.SECONDS, 3, TimeUnit.HOURS);
+      timeService.advance(2 * HOUR);
+      assertEquals("value", cache.get("key"));
+
+      timeService.advance(2 * HOUR);
+      processExpiration();
+      assertNotNull(dataContainer().peek("key"));
+      assertEquals(1, index().size());
+
+      timeService.advance(2 * HOUR);
+      processExpiration();
+      assertNull(dataContainer().peek("key"));
+      assertEquals(0, index().size());
+   }
+
+   public void testRemovedEntriesLeaveIndex() {
+      cache.put("removed", "value", 1, TimeUnit.HOURS);
+      cache.put("immortal", "value", 1, TimeUnit.HOURS);
+      cache.put("evicted", "value", 1, TimeUnit.HOURS);
+      cache.put("cleared", "value", 1, TimeUnit.HOURS);
+      assertEquals(4, index().size());
+
+      cache.remove("removed");
+      assertEquals(3, index().size());
+      cache.put("immortal", "value2");
+      assertEquals(2, index().size());
+      cache.evict("evicted");
+      assertEquals(1, index().size());
+      cache.clear();
+      assertEquals(0, index().size());
+
+      // The cleared wheels keep scheduling new entries
+      cache.put("cleared", "value", 1, TimeUnit.HOURS);
+      timeService.advance(2 * HOUR);
+      processExpiration();
+      assertNull(dataContainer().peek("cleared"));
+      assertEquals("value2", cache.get("immortal"));
+      assertEquals(0, index().size());
+   }
+
+   private void processExpiration() {
+      manager().processExpiration();
+   }
+
+   private ExpirationIndex<?> index() {
+      return manager().expirationIndex;
+   }
+
+   private ExpirationManagerImpl<?, ?> manager() {
+      return (ExpirationManagerImpl<?, ?>) TestingUtil.extractComponent(cache, ExpirationManager.class);
+   }
+
+   private InternalDataContainer<?, ?> dataContainer() {
+      return TestingUtil.extractComponent(cache, InternalDataContainer.class);
+   }
+}
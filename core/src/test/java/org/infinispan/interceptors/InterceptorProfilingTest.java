@@ -0,0 +1,77 @@
+package org.infinispan.interceptors;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.interceptors.impl.AsyncInterceptorChainImpl;
+import org.infinispan.interceptors.impl.CallInterceptor;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the profiling of the interceptors in {@link AsyncInterceptorChainImpl}.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "interceptors.InterceptorProfilingTest")
+public class InterceptorProfilingTest extends SingleCacheManagerTest {
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      return TestCacheManagerFactory.createCacheManager(new ConfigurationBuilder());
+   }
+
+   private AsyncInterceptorChainImpl chain() {
+      return (AsyncInterceptorChainImpl) TestingUtil.extractComponent(cache, AsyncInterceptorChain.class);
+   }
+
+   public void testProfileRecordsEveryInterceptor() {
+      AsyncInterceptorChainImpl chain = chain();
+      assertFalse(chain.isProfilingEnabled());
+      chain.setProfilingSampleInterval(1);
+      chain.setProfilingEnabled(true);
+      try {
+         // The chain is unchanged, only the links between the interceptors are profiled
+         assertTrue(chain.getInterceptors().get(chain.size() - 1) instanceof CallInterceptor);
+
+         for (int i = 0; i < 100; i++) {
+            cache.put(i, "v" + i);
+            assertEquals("v" + i, cache.get(i));
+         }
+
+         String dump = chain.dumpProfile();
+         for (AsyncInterceptor interceptor : chain.getInterceptors()) {
+            assertTrue(dump, dump.contains(interceptor.getClass().getSimpleName()));
+         }
+         assertTrue(chain.getInterceptorTimePercentile(CallInterceptor.class.getSimpleName(), 100, false) > 0);
+
+         chain.resetProfile();
+         assertEquals(0, chain.getInterceptorTimePercentile(CallInterceptor.class.getSimpleName(), 100, false));
+      } finally {
+         chain.setProfilingEnabled(false);
+         chain.setProfilingSampleInterval(100);
+      }
+
+      cache.put("k", "v");
+      assertEquals(0, chain.getInterceptorTimePercentile(CallInterceptor.class.getSimpleName(), 100, false));
+   }
+
+   public void testProfilingEnabledInConfiguration() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.jmxStatistics().profiling(true).profilingSampleInterval(1);
+      cacheManager.defineConfiguration("profiled", builder.build());
+      Cache<Object, Object> profiled = cacheManager.getCache("profiled");
+      AsyncInterceptorChainImpl chain =
+            (AsyncInterceptorChainImpl) TestingUtil.extractComponent(profiled, AsyncInterceptorChain.class);
+      assertTrue(chain.isProfilingEnabled());
+      assertEquals(1, chain.getProfilingSampleInterval());
+
+      profiled.put("k", "v");
+      assertTrue(chain.getInterceptorTimePercentile(CallInterceptor.class.getSimpleName(), 100, false) > 0);
+   }
+}
@@ -4,19 +4,23 @@
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
 
 import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commands.read.GetAllCommand;
 import org.infinispan.commands.read.GetCacheEntryCommand;
 import org.infinispan.commands.read.GetKeyValueCommand;
+import org.infinispan.commands.write.ComputeCommand;
 import org.infinispan.commands.write.EvictCommand;
 import org.infinispan.commands.write.PutKeyValueCommand;
 import org.infinispan.commands.write.PutMapCommand;
 import org.infinispan.commands.write.RemoveCommand;
 import org.infinispan.commands.write.ReplaceCommand;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.SingleKeyNonTxInvocationContext;
 import org.infinispan.interceptors.BaseAsyncInterceptor;
@@ -47,7 +51,9 @@ public void setup() {
 
       interceptor = new CacheMgmtInterceptor();
       interceptor.setNextInterceptor(nextInterceptor);
-      TestingUtil.inject(interceptor, timeService);
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.jmxStatistics().latencyWindow(10, TimeUnit.SECONDS);
+      TestingUtil.inject(interceptor, timeService, builder.build());
       interceptor.start();
       interceptor.setStatisticsEnabled(true);
    }
@@ -184,6 +190,19 @@ public void testVisitPutKeyValueCommand() throws Throwable {
       assertEquals(1, interceptor.getAverageWriteTime());
    }
 
+   public void testVisitComputeCommand() throws Throwable {
+      ComputeCommand command = new ComputeCommand();
+      InvocationStage stage = makeStage(interceptor.visitComputeCommand(ctx, command));
+      assertFalse(stage.isDone());
+
+      timeService.advance(1);
+      nextInterceptor.completeLastInvocation(VALUE);
+
+      assertEquals(VALUE, stage.get());
+      assertEquals(1, interceptor.getAverageWriteTime());
+      assertEquals(TimeUnit.MILLISECONDS.toNanos(1), interceptor.getOperationTimePercentile("WRITE", 100, true));
+   }
+
    public void testVisitPutKeyValueCommandException() throws Throwable {
       PutKeyValueCommand command = new PutKeyValueCommand(KEY, VALUE, false, null, 0, 0, null);
       InvocationStage stage = makeStage(interceptor.visitPutKeyValueCommand(ctx, command));
@@ -244,6 +263,36 @@ public void testVisitRemoveCommandException() throws Throwable {
       assertEquals(0, interceptor.getAverageRemoveTime());
    }
 
+   public void testReadHitTimePercentiles() throws Throwable {
+      for (int i = 0; i < 100; i++) {
+         GetKeyValueCommand command = new GetKeyValueCommand(KEY, 0, 0);
+         InvocationStage stage = makeStage(interceptor.visitGetKeyValueCommand(ctx, command));
+         timeService.advance(i == 0 ? 100 : 1);
+         nextInterceptor.completeLastInvocation(VALUE);
+         assertEquals(VALUE, stage.get());
+      }
+
+      long oneMilli = TimeUnit.MILLISECONDS.toNanos(1);
+      long p99 = interceptor.getOperationTimePercentile("HIT", 99, true);
+      assertTrue(p99 >= oneMilli && p99 < 2 * oneMilli);
+      assertEquals(TimeUnit.MILLISECONDS.toNanos(100), interceptor.getOperationTimePercentile("HIT", 100, true));
+      // The window the reads were recorded in is not complete yet
+      assertEquals(0, interceptor.getHitTimeP99());
+
+      // The configured window is 10 seconds
+      timeService.advance(TimeUnit.SECONDS.toMillis(10));
+      assertEquals(p99, interceptor.getHitTimeP99());
+      assertEquals(TimeUnit.MILLISECONDS.toNanos(100), interceptor.getOperationTimePercentile("HIT", 100, false));
+      assertEquals(0, interceptor.getMissTimeP99());
+
+      timeService.advance(TimeUnit.SECONDS.toMillis(10));
+      assertEquals(0, interceptor.getHitTimeP99());
+      assertEquals(p99, interceptor.getOperationTimePercentile("HIT", 99, true));
+
+      interceptor.resetStatistics();
+      assertEquals(0, interceptor.getOperationTimePercentile("HIT", 99, true));
+   }
+
    private void expectInvocationException(InvocationStage stage) {
       Exceptions.expectException(TestException.class, () -> {
          try {
@@ -0,0 +1,63 @@
+package org.infinispan.interceptors.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.read.GetKeyValueCommand;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.AsyncInterceptor;
+import org.infinispan.interceptors.BaseAsyncInterceptor;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.util.ControlledTimeService;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the wrappers of {@link ProfilingInterceptor} sample whole invocations.
+ *
+ * @since 10.0
+ */
+@Test(groups = "unit", testName = "interceptors.impl.ProfilingInterceptorTest")
+public class ProfilingInterceptorTest extends AbstractInfinispanTest {
+   private static final int NUM_INTERCEPTORS = 3;
+
+   public void testFirstWrapperDecidesSampling() throws Throwable {
+      ControlledTimeService timeService = new ControlledTimeService();
+      ProfilingInterceptor.Profile[] profiles = new ProfilingInterceptor.Profile[NUM_INTERCEPTORS];
+      AsyncInterceptor next = null;
+      for (int i = NUM_INTERCEPTORS - 1; i >= 0; i--) {
+         profiles[i] = new ProfilingInterceptor.Profile();
+         AsyncInterceptor interceptor = new PassThroughInterceptor(next == null);
+         ProfilingInterceptor wrapper = new ProfilingInterceptor(interceptor, profiles[i], timeService, 2);
+         if (next != null) {
+            wrapper.setNextInterceptor(next);
+         }
+         next = wrapper;
+      }
+
+      VisitableCommand command = new GetKeyValueCommand("k", 0, 0);
+      for (int i = 0; i < 1000; i++) {
+         next.visitCommand(null, command);
+      }
+
+      // An invocation that was not sampled by the first wrapper must not be sampled by the next ones
+      long samples = profiles[0].selfTimes.getCount();
+      assertTrue(samples > 0 && samples < 1000);
+      for (ProfilingInterceptor.Profile profile : profiles) {
+         assertEquals(samples, profile.selfTimes.getCount());
+      }
+   }
+
+   private static class PassThroughInterceptor extends BaseAsyncInterceptor {
+      private final boolean last;
+
+      PassThroughInterceptor(boolean last) {
+         this.last = last;
+      }
+
+      @Override
+      public Object visitCommand(InvocationContext ctx, VisitableCommand command) throws Throwable {
+         return last ? null : invokeNext(ctx, command);
+      }
+   }
+}
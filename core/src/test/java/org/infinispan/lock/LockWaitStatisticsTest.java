@@ -0,0 +1,87 @@
+package org.infinispan.lock;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.concurrent.TimeoutException;
+import org.infinispan.util.concurrent.locks.KeyAwareLockPromise;
+import org.infinispan.util.concurrent.locks.LockManager;
+import org.infinispan.util.concurrent.locks.impl.DefaultLockManager;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the lock wait time statistics of {@link DefaultLockManager}.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "lock.LockWaitStatisticsTest")
+public class LockWaitStatisticsTest extends SingleCacheManagerTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.jmxStatistics().enable();
+      return TestCacheManagerFactory.createCacheManager(builder);
+   }
+
+   public void testWaitTimeRecorded() throws Exception {
+      DefaultLockManager lockManager = lockManager();
+      lockManager.resetStatistics();
+
+      lockManager.lock("k", "owner1", 10, TimeUnit.SECONDS).lock();
+      KeyAwareLockPromise waiting = lockManager.lock("k", "owner2", 10, TimeUnit.SECONDS);
+      assertFalse(waiting.isAvailable());
+      Thread.sleep(10);
+      lockManager.unlock("k", "owner1");
+      waiting.lock();
+      lockManager.unlock("k", "owner2");
+
+      assertEquals(2, lockManager.getLockAcquisitions());
+      assertTrue(lockManager.getMaxLockWaitTime() >= TimeUnit.MILLISECONDS.toNanos(10));
+      assertTrue(lockManager.getLockWaitTimeP99() >= lockManager.getLockWaitTimeP50());
+      assertEquals(0, lockManager.getLockTimeouts());
+   }
+
+   public void testTimeoutRecorded() throws Exception {
+      DefaultLockManager lockManager = lockManager();
+      lockManager.resetStatistics();
+
+      lockManager.lock("k", "owner1", 10, TimeUnit.SECONDS).lock();
+      try {
+         lockManager.lock("k", "owner2", 0, TimeUnit.SECONDS).lock();
+      } catch (TimeoutException expected) {
+         // expected
+      } finally {
+         lockManager.unlock("k", "owner2");
+         lockManager.unlock("k", "owner1");
+      }
+
+      assertEquals(1, lockManager.getLockAcquisitions());
+      assertEquals(1, lockManager.getLockTimeouts());
+   }
+
+   public void testStatisticsDisabled() throws Exception {
+      DefaultLockManager lockManager = lockManager();
+      lockManager.resetStatistics();
+      lockManager.setStatisticsEnabled(false);
+      try {
+         lockManager.lock("k", "owner1", 10, TimeUnit.SECONDS).lock();
+         lockManager.unlock("k", "owner1");
+         assertEquals(0, lockManager.getLockAcquisitions());
+      } finally {
+         lockManager.setStatisticsEnabled(true);
+      }
+   }
+
+   private DefaultLockManager lockManager() {
+      return (DefaultLockManager) TestingUtil.extractComponent(cache, LockManager.class);
+   }
+}
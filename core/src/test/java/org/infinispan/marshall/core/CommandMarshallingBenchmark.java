@@ -0,0 +1,131 @@
+package org.infinispan.marshall.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.encoding.DataConversion;
+import org.infinispan.functional.impl.Params;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.statetransfer.StateChunk;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.test.fwk.TestResourceTracker;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Measures the marshalling and unmarshalling throughput of the most frequent internal commands: a replicated put, a
+ * functional read-write command and a state transfer response. The encoded size of each command is logged during
+ * setup; run the benchmark before and after a change to the command encodings to compare both.
+ * <p>
+ * Note that this class is not triggered by Surefire by default (it doesn't end with "test"). We want to do
+ * performance test on demand only.
+ *
+ * @since 10.0
+ */
+public class CommandMarshallingBenchmark {
+   private static final Log log = LogFactory.getLog(CommandMarshallingBenchmark.class);
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+
+   @Test
+   public void performMarshallingTest() throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(4)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @State(Scope.Benchmark)
+   public static class BenchmarkState {
+
+      @Param({"put", "readWrite", "stateResponse"})
+      public String command;
+
+      private EmbeddedCacheManager cacheManager;
+      private GlobalMarshaller marshaller;
+      private Object toMarshall;
+      private byte[] marshalled;
+
+      @Setup
+      public void setup() throws Exception {
+         TestResourceTracker.testStarted(CommandMarshallingBenchmark.class.getName());
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.clustering().cacheMode(CacheMode.DIST_SYNC);
+         cacheManager = TestCacheManagerFactory.createClusteredCacheManager(builder);
+         marshaller = TestingUtil.extractGlobalMarshaller(cacheManager);
+         AdvancedCache<Object, Object> cache = cacheManager.getCache().getAdvancedCache();
+         CommandsFactory commandsFactory = cache.getComponentRegistry().getCommandsFactory();
+         switch (command) {
+            case "put":
+               toMarshall = commandsFactory.buildSingleRpcCommand(commandsFactory.buildPutKeyValueCommand("key",
+                     "value", 0, new EmbeddedMetadata.Builder().build(), 0));
+               break;
+            case "readWrite":
+               toMarshall = commandsFactory.buildSingleRpcCommand(commandsFactory.buildReadWriteKeyCommand("key",
+                     MarshallableFunctions.removeReturnPrevOrNull(), 0, Params.create(), DataConversion.IDENTITY_KEY,
+                     DataConversion.IDENTITY_VALUE));
+               break;
+            case "stateResponse":
+               List<InternalCacheEntry> entries = new ArrayList<>();
+               for (int i = 0; i < 100; i++) {
+                  entries.add(new ImmortalCacheEntry("key-" + i, "value-" + i));
+               }
+               toMarshall = commandsFactory.buildStateResponseCommand(cacheManager.getAddress(), 10,
+                     Collections.singletonList(new StateChunk(100, entries, true)), true, false);
+               break;
+            default:
+               throw new IllegalArgumentException(command);
+         }
+         marshalled = marshaller.objectToByteBuffer(toMarshall);
+         log.infof("Encoded size of %s command: %d bytes", command, marshalled.length);
+      }
+
+      @TearDown
+      public void tearDown() {
+         TestingUtil.killCacheManagers(cacheManager);
+         TestResourceTracker.testFinished(CommandMarshallingBenchmark.class.getName());
+      }
+
+      @Benchmark
+      public byte[] measure_marshall() throws IOException, InterruptedException {
+         return marshaller.objectToByteBuffer(toMarshall);
+      }
+
+      @Benchmark
+      public Object measure_unmarshall() throws IOException, ClassNotFoundException {
+         return marshaller.objectFromByteBuffer(marshalled);
+      }
+   }
+}
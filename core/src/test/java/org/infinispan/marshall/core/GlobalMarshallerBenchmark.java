@@ -0,0 +1,99 @@
+package org.infinispan.marshall.core;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.remote.SingleRpcCommand;
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.test.fwk.TestResourceTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Measures the throughput and the allocation per operation (see the {@code gc.alloc.rate.norm} metric) of marshalling
+ * a replicated put command with {@link GlobalMarshaller#objectToBuffer(Object)}, used for RPCs, and
+ * {@link GlobalMarshaller#objectToByteBuffer(Object)}, which marshalls into a pooled buffer.
+ * <p>
+ * Note that this class is not triggered by Surefire by default (it doesn't end with "test"). We want to do
+ * performance test on demand only.
+ *
+ * @since 10.0
+ */
+public class GlobalMarshallerBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+
+   @Test
+   public void performMarshallingTest() throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(4)
+            .forks(1)
+            .addProfiler(GCProfiler.class)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @State(Scope.Benchmark)
+   public static class BenchmarkState {
+
+      @Param({"32", "1024", "16384"})
+      public int valueSize;
+
+      private EmbeddedCacheManager cacheManager;
+      private GlobalMarshaller marshaller;
+      private SingleRpcCommand command;
+
+      @Setup
+      public void setup() {
+         TestResourceTracker.testStarted(GlobalMarshallerBenchmark.class.getName());
+         cacheManager = TestCacheManagerFactory.createCacheManager(new ConfigurationBuilder());
+         marshaller = TestingUtil.extractGlobalMarshaller(cacheManager);
+         AdvancedCache<Object, Object> cache = cacheManager.getCache().getAdvancedCache();
+         CommandsFactory commandsFactory = cache.getComponentRegistry().getCommandsFactory();
+         command = commandsFactory.buildSingleRpcCommand(commandsFactory.buildPutKeyValueCommand("key",
+               new byte[valueSize], 0, new EmbeddedMetadata.Builder().build(), 0));
+      }
+
+      @TearDown
+      public void tearDown() {
+         TestingUtil.killCacheManagers(cacheManager);
+         TestResourceTracker.testFinished(GlobalMarshallerBenchmark.class.getName());
+      }
+
+      @Benchmark
+      public ByteBuffer measure_objectToBuffer() throws IOException, InterruptedException {
+         return marshaller.objectToBuffer(command);
+      }
+
+      @Benchmark
+      public byte[] measure_objectToByteBuffer() throws IOException, InterruptedException {
+         return marshaller.objectToByteBuffer(command);
+      }
+   }
+}
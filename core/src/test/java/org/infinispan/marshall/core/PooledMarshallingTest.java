@@ -0,0 +1,80 @@
+package org.infinispan.marshall.core;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that {@link GlobalMarshaller} marshalls correctly into the pooled buffers, and the pool behind them.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "marshall.PooledMarshallingTest")
+public class PooledMarshallingTest extends AbstractInfinispanTest {
+
+   private EmbeddedCacheManager cm;
+   private GlobalMarshaller globalMarshaller;
+
+   @BeforeClass
+   public void setUp() {
+      cm = TestCacheManagerFactory.createCacheManager();
+      globalMarshaller = TestingUtil.extractGlobalMarshaller(cm);
+   }
+
+   @AfterClass
+   public void tearDown() {
+      if (cm != null) cm.stop();
+   }
+
+   public void testRoundTrip() throws Exception {
+      String value = "value";
+      for (int i = 0; i < 2 * MarshallingBufferPool.SLOTS; i++) {
+         // Later iterations reuse the pooled arrays
+         byte[] bytes = globalMarshaller.objectToByteBuffer(value);
+         assertEquals(value, globalMarshaller.objectFromByteBuffer(bytes));
+         ByteBuffer buffer = globalMarshaller.objectToBuffer(value);
+         assertTrue(Arrays.equals(bytes, Arrays.copyOfRange(buffer.getBuf(), buffer.getOffset(), buffer.getLength())));
+      }
+   }
+
+   public void testLargeObjectGrowsBuffer() throws Exception {
+      byte[] value = new byte[3 * MarshallingBufferPool.MAX_SIZE];
+      value[value.length - 1] = 1;
+      assertTrue(Arrays.equals(value, (byte[]) globalMarshaller.objectFromByteBuffer(globalMarshaller.objectToByteBuffer(value))));
+      // The pool is still usable after releasing a grown array
+      assertEquals("value", globalMarshaller.objectFromByteBuffer(globalMarshaller.objectToByteBuffer("value")));
+   }
+
+   public void testIsMarshallable() throws Exception {
+      // Marshalls the object into a pooled buffer and releases it
+      assertTrue(globalMarshaller.isMarshallable(new ArrayList<>(Arrays.asList("a", "b"))));
+      assertEquals("value", globalMarshaller.objectFromByteBuffer(globalMarshaller.objectToByteBuffer("value")));
+   }
+
+   public void testPoolReusesArrays() {
+      MarshallingBufferPool pool = new MarshallingBufferPool();
+      byte[] bytes = pool.acquire(300);
+      assertEquals(512, bytes.length);
+      pool.release(bytes);
+      assertSame(bytes, pool.acquire(400));
+      assertNotSame(bytes, pool.acquire(400));
+
+      byte[] large = pool.acquire(MarshallingBufferPool.MAX_SIZE + 1);
+      assertEquals(MarshallingBufferPool.MAX_SIZE + 1, large.length);
+      pool.release(large);
+      assertNotSame(large, pool.acquire(MarshallingBufferPool.MAX_SIZE + 1));
+   }
+}
@@ -0,0 +1,184 @@
+package org.infinispan.marshall.exts;
+
+import static org.infinispan.test.TestingUtil.extractGlobalMarshaller;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.infinispan.commands.CommandInvocationId;
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commands.TopologyAffectedCommand;
+import org.infinispan.commands.functional.ReadWriteKeyCommand;
+import org.infinispan.commands.read.GetKeyValueCommand;
+import org.infinispan.commands.remote.ClusteredGetCommand;
+import org.infinispan.commands.remote.SingleRpcCommand;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commands.write.RemoveCommand;
+import org.infinispan.commands.write.ValueMatcher;
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.util.EnumUtil;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.encoding.DataConversion;
+import org.infinispan.functional.impl.Params;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.core.MarshallableFunctions;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.remoting.transport.jgroups.JGroupsAddress;
+import org.infinispan.statetransfer.StateChunk;
+import org.infinispan.statetransfer.StateResponseCommand;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.ByteString;
+import org.jgroups.util.UUID;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the encoding of the command headers, the topology ids and the state chunks written by
+ * {@link ReplicableCommandExternalizer}, {@link CacheRpcCommandExternalizer} and {@link StateChunk.Externalizer}.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "marshall.exts.CommandEncodingTest")
+public class CommandEncodingTest extends AbstractInfinispanTest {
+   private static final ByteString CACHE_NAME = ByteString.fromString(EmbeddedCacheManager.DEFAULT_CACHE_NAME);
+   // ID_INTERNAL and the externalizer id precede the command header
+   private static final int HEADER_OFFSET = 2;
+
+   private EmbeddedCacheManager cm;
+   private StreamingMarshaller marshaller;
+
+   @BeforeClass
+   public void setUp() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC);
+      cm = TestCacheManagerFactory.createClusteredCacheManager(GlobalConfigurationBuilder.defaultClusteredBuilder(), builder);
+      marshaller = extractGlobalMarshaller(cm);
+   }
+
+   @AfterClass(alwaysRun = true)
+   public void tearDown() {
+      cm.stop();
+   }
+
+   public void testTopologyIds() throws Exception {
+      for (int topologyId : new int[]{-1, 0, 1, 127, 128, 16_384, Integer.MAX_VALUE - 1}) {
+         PutKeyValueCommand put = new PutKeyValueCommand("k", "v", false, new EmbeddedMetadata.Builder().build(), 0,
+               EnumUtil.EMPTY_BIT_SET, CommandInvocationId.generateId(null));
+         put.setTopologyId(topologyId);
+         PutKeyValueCommand read = roundTrip(put);
+         assertEquals(put, read);
+         assertEquals(topologyId, read.getTopologyId());
+      }
+   }
+
+   public void testNonTransactionalCommands() throws Exception {
+      GetKeyValueCommand get = new GetKeyValueCommand("key", 0, EnumUtil.EMPTY_BIT_SET);
+      assertEquals(get, roundTrip(get));
+
+      RemoveCommand remove = new RemoveCommand("key", "value", 0, EnumUtil.EMPTY_BIT_SET,
+            CommandInvocationId.generateId(null));
+      remove.setTopologyId(5);
+      RemoveCommand readRemove = roundTrip(remove);
+      assertEquals(remove, readRemove);
+      assertEquals(5, readRemove.getTopologyId());
+
+      ReadWriteKeyCommand<Object, Object, Object> readWrite = new ReadWriteKeyCommand<>("key",
+            MarshallableFunctions.removeReturnPrevOrNull(), 0, CommandInvocationId.generateId(null),
+            ValueMatcher.MATCH_ALWAYS, Params.create(), DataConversion.IDENTITY_KEY, DataConversion.IDENTITY_VALUE,
+            cm.getCache().getAdvancedCache().getComponentRegistry());
+      readWrite.setTopologyId(7);
+      ReadWriteKeyCommand<Object, Object, Object> readReadWrite = roundTrip(readWrite);
+      assertEquals(readWrite.getKey(), readReadWrite.getKey());
+      assertEquals(readWrite.getCommandInvocationId(), readReadWrite.getCommandInvocationId());
+      assertEquals(7, readReadWrite.getTopologyId());
+   }
+
+   public void testCacheRpcCommands() throws Exception {
+      ClusteredGetCommand clusteredGet = new ClusteredGetCommand("key", CACHE_NAME, 0, EnumUtil.EMPTY_BIT_SET);
+      clusteredGet.setTopologyId(3);
+      ClusteredGetCommand readClusteredGet = roundTrip(clusteredGet);
+      assertEquals(clusteredGet, readClusteredGet);
+      assertEquals(3, readClusteredGet.getTopologyId());
+
+      PutKeyValueCommand put = new PutKeyValueCommand("k", "v", false, new EmbeddedMetadata.Builder().build(), 0,
+            EnumUtil.EMPTY_BIT_SET, CommandInvocationId.generateId(null));
+      put.setTopologyId(300);
+      SingleRpcCommand single = new SingleRpcCommand(CACHE_NAME, put);
+      SingleRpcCommand readSingle = roundTrip(single);
+      assertEquals(CACHE_NAME, readSingle.getCacheName());
+      assertEquals(put, readSingle.getCommand());
+      assertEquals(300, ((TopologyAffectedCommand) readSingle.getCommand()).getTopologyId());
+   }
+
+   public void testStateChunks() throws Exception {
+      List<InternalCacheEntry> entries = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+         entries.add(new ImmortalCacheEntry("key-" + i, "value-" + i));
+      }
+      List<StateChunk> chunks = Arrays.asList(new StateChunk(0, entries, false),
+            new StateChunk(255, Collections.emptyList(), true),
+            new StateChunk(70_000, entries.subList(0, 1), true));
+      JGroupsAddress origin = new JGroupsAddress(UUID.randomUUID());
+      StateResponseCommand response = new StateResponseCommand(CACHE_NAME, origin, 10, chunks, true, false);
+
+      StateResponseCommand read = roundTrip(response);
+      assertEquals(CACHE_NAME, read.getCacheName());
+      assertEquals(origin, read.getOrigin());
+      assertEquals(10, read.getTopologyId());
+      List<StateChunk> readChunks = new ArrayList<>(read.getStateChunks());
+      assertEquals(chunks.size(), readChunks.size());
+      for (int i = 0; i < chunks.size(); i++) {
+         StateChunk chunk = chunks.get(i);
+         StateChunk readChunk = readChunks.get(i);
+         assertEquals(chunk.getSegmentId(), readChunk.getSegmentId());
+         assertEquals(chunk.isLastChunk(), readChunk.isLastChunk());
+         assertEquals(new ArrayList<>(chunk.getCacheEntries()), new ArrayList<>(readChunk.getCacheEntries()));
+      }
+   }
+
+   public void testHeaderSize() throws Exception {
+      GetKeyValueCommand get = new GetKeyValueCommand("key", 0, EnumUtil.EMPTY_BIT_SET);
+      byte[] bytes = marshaller.objectToByteBuffer(get);
+      assertEquals(ReplicableCommandExternalizer.ENCODING_VERSION << 1, bytes[HEADER_OFFSET]);
+      assertEquals(get.getCommandId(), bytes[HEADER_OFFSET + 1]);
+   }
+
+   @Test(expectedExceptions = CacheException.class, expectedExceptionsMessageRegExp = "ISPN000550:.*")
+   public void testUnknownEncodingVersion() throws Exception {
+      GetKeyValueCommand get = new GetKeyValueCommand("key", 0, EnumUtil.EMPTY_BIT_SET);
+      marshaller.objectFromByteBuffer(withNextEncodingVersion(marshaller.objectToByteBuffer(get)));
+   }
+
+   @Test(expectedExceptions = CacheException.class, expectedExceptionsMessageRegExp = "ISPN000550:.*")
+   public void testUnknownEncodingVersionInCacheRpcCommand() throws Exception {
+      ClusteredGetCommand clusteredGet = new ClusteredGetCommand("key", CACHE_NAME, 0, EnumUtil.EMPTY_BIT_SET);
+      marshaller.objectFromByteBuffer(withNextEncodingVersion(marshaller.objectToByteBuffer(clusteredGet)));
+   }
+
+   private static byte[] withNextEncodingVersion(byte[] bytes) {
+      int header = bytes[HEADER_OFFSET] & 0xFF;
+      assertEquals(ReplicableCommandExternalizer.ENCODING_VERSION, header >>> 1);
+      bytes[HEADER_OFFSET] = (byte) (((ReplicableCommandExternalizer.ENCODING_VERSION + 1) << 1) | (header & 1));
+      return bytes;
+   }
+
+   @SuppressWarnings("unchecked")
+   private <T extends ReplicableCommand> T roundTrip(T command) throws Exception {
+      byte[] bytes = marshaller.objectToByteBuffer(command);
+      ReplicableCommand read = (ReplicableCommand) marshaller.objectFromByteBuffer(bytes);
+      assertTrue(command.getClass().isInstance(read));
+      assertEquals(command.getCommandId(), read.getCommandId());
+      return (T) read;
+   }
+}
@@ -0,0 +1,256 @@
+package org.infinispan.notifications;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.cachelistener.CacheNotifier;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.event.CacheEntryCreatedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryModifiedEvent;
+import org.infinispan.notifications.impl.AbstractListenerImpl;
+import org.infinispan.notifications.impl.ListenerEventQueue;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.Exceptions;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.concurrent.TimeoutException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the per-listener event queues of async listeners.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "notifications.AsyncListenerQueueTest")
+public class AsyncListenerQueueTest extends AbstractInfinispanTest {
+   Cache<String, String> c;
+   EmbeddedCacheManager cm;
+
+   @BeforeMethod
+   public void setUp() {
+      cm = TestCacheManagerFactory.createCacheManager(false);
+      c = cm.getCache();
+   }
+
+   @AfterMethod
+   public void tearDown() {
+      TestingUtil.killCacheManagers(cm);
+      cm = null;
+      c = null;
+   }
+
+   public void testBatchesDeliveredInOrder() {
+      BatchListener listener = new BatchListener();
+      c.addListener(listener);
+      c.put("k0", "v0");
+      eventuallyEquals(1, () -> listener.keys.size());
+      for (int i = 1; i < 50; i++) {
+         c.put("k" + i, "v" + i);
+      }
+      // The first event is still being processed, so the others are queued
+      eventuallyEquals(49, () -> eventQueue(listener).getPendingEvents());
+      listener.release.complete(null);
+
+      eventuallyEquals(50, () -> listener.keys.size());
+      List<String> expected = new ArrayList<>();
+      for (int i = 0; i < 50; i++) {
+         expected.add("k" + i);
+      }
+      assertEquals(expected, listener.keys);
+      assertEquals(49, listener.maxBatch);
+      eventuallyEquals(50L, () -> eventQueue(listener).getDeliveredEvents());
+   }
+
+   public void testDropOldestDoesNotDelayOtherListeners() {
+      DroppingListener slowListener = new DroppingListener();
+      CountingListener countingListener = new CountingListener();
+      c.addListener(slowListener);
+      c.addListener(countingListener);
+      c.put("k0", "v0");
+      eventuallyEquals(1, () -> slowListener.keys.size());
+      for (int i = 1; i < 100; i++) {
+         c.put("k" + i, "v" + i);
+      }
+      eventuallyEquals(100, countingListener.count::get);
+
+      ListenerEventQueue queue = eventQueue(slowListener);
+      assertEquals(Listener.OverflowPolicy.DROP_OLDEST, queue.getOverflowPolicy());
+      assertEquals(10, queue.getPendingEvents());
+      assertEquals(89, queue.getDroppedEvents());
+      assertTrue(queue.getLag(TimeUnit.NANOSECONDS) > 0);
+
+      slowListener.release.complete(null);
+      eventuallyEquals(11, () -> slowListener.keys.size());
+      assertEquals("k0", slowListener.keys.get(0));
+      assertEquals("k90", slowListener.keys.get(1));
+      assertEquals("k99", slowListener.keys.get(10));
+      assertEquals(0L, queue.getLag(TimeUnit.NANOSECONDS));
+   }
+
+   public void testCoalescePerKey() {
+      for (int i = 0; i < 5; i++) {
+         c.put("k" + i, "initial");
+      }
+      CoalescingListener listener = new CoalescingListener();
+      c.addListener(listener);
+      c.put("k0", "a");
+      eventuallyEquals(1, listener.invocations::get);
+      for (int i = 1; i < 5; i++) {
+         c.put("k" + i, "a");
+      }
+      // The queue is full, so the pending events for k1 and k2 are replaced
+      for (int i = 0; i < 10; i++) {
+         c.put("k1", "c" + i);
+      }
+      c.put("k2", "b");
+      ListenerEventQueue queue = eventQueue(listener);
+      assertEquals(4, queue.getPendingEvents());
+      assertEquals(11, queue.getCoalescedEvents());
+
+      listener.release.complete(null);
+      eventuallyEquals(5L, queue::getDeliveredEvents);
+      assertEquals("a", listener.values.get("k0"));
+      assertEquals("c9", listener.values.get("k1"));
+      assertEquals("b", listener.values.get("k2"));
+      assertEquals("a", listener.values.get("k4"));
+   }
+
+   public void testQueueUnboundedByDefault() {
+      BatchListener listener = new BatchListener();
+      c.addListener(listener);
+      c.put("k0", "v0");
+      eventuallyEquals(1, () -> listener.keys.size());
+      for (int i = 1; i < 2000; i++) {
+         c.put("k" + i, "v" + i);
+      }
+      ListenerEventQueue queue = eventQueue(listener);
+      assertEquals(1999, queue.getPendingEvents());
+      assertEquals(0, queue.getDroppedEvents());
+
+      listener.release.complete(null);
+      eventuallyEquals(2000, () -> listener.keys.size());
+      assertEquals(0, queue.getDroppedEvents());
+   }
+
+   public void testBlockTimeoutFailsWrite() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.locking().lockAcquisitionTimeout(100);
+      cm.defineConfiguration("bounded", builder.build());
+      c = cm.getCache("bounded");
+
+      BlockingListener listener = new BlockingListener();
+      c.addListener(listener);
+      c.put("k0", "v0");
+      eventuallyEquals(1, () -> listener.keys.size());
+      c.put("k1", "v1");
+      c.put("k2", "v2");
+      // The queue only has room for 2 events, the write must not wait for the stuck listener forever
+      Exceptions.expectException(TimeoutException.class, () -> c.put("k3", "v3"));
+      ListenerEventQueue queue = eventQueue(listener);
+      assertEquals(Listener.OverflowPolicy.BLOCK, queue.getOverflowPolicy());
+      assertEquals(2, queue.getPendingEvents());
+      assertEquals(0, queue.getDroppedEvents());
+      AbstractListenerImpl<?, ?> notifier = notifier();
+      assertEquals(0, notifier.getDroppedAsyncEvents());
+      assertEquals(2, notifier.getPendingAsyncEvents());
+
+      listener.release.complete(null);
+      eventuallyEquals(3, () -> listener.keys.size());
+      assertEquals("k1", listener.keys.get(1));
+      assertEquals("k2", listener.keys.get(2));
+      assertEquals(0, notifier.getPendingAsyncEvents());
+   }
+
+   private AbstractListenerImpl<?, ?> notifier() {
+      return (AbstractListenerImpl<?, ?>) TestingUtil.extractComponent(c, CacheNotifier.class);
+   }
+
+   private ListenerEventQueue eventQueue(Object listener) {
+      return notifier().getEventQueue(listener);
+   }
+
+   @Listener(sync = false, observation = Listener.Observation.POST)
+   public static class BatchListener {
+      final CompletableFuture<Void> release = new CompletableFuture<>();
+      final List<String> keys = new ArrayList<>();
+      volatile int maxBatch;
+
+      @CacheEntryCreated
+      public CompletionStage<Void> created(List<CacheEntryCreatedEvent<String, String>> events) {
+         // Events are delivered by one thread at a time
+         synchronized (keys) {
+            events.forEach(e -> keys.add(e.getKey()));
+            maxBatch = Math.max(maxBatch, events.size());
+            return keys.size() == 1 ? release : null;
+         }
+      }
+   }
+
+   @Listener(sync = false, observation = Listener.Observation.POST, queueSize = 10,
+         overflowPolicy = Listener.OverflowPolicy.DROP_OLDEST)
+   public static class DroppingListener {
+      final CompletableFuture<Void> release = new CompletableFuture<>();
+      final List<String> keys = new ArrayList<>();
+
+      @CacheEntryCreated
+      public CompletionStage<Void> created(CacheEntryCreatedEvent<String, String> event) {
+         synchronized (keys) {
+            keys.add(event.getKey());
+            return keys.size() == 1 ? release : null;
+         }
+      }
+   }
+
+   @Listener(sync = false, observation = Listener.Observation.POST, queueSize = 2)
+   public static class BlockingListener {
+      final CompletableFuture<Void> release = new CompletableFuture<>();
+      final List<String> keys = new ArrayList<>();
+
+      @CacheEntryCreated
+      public CompletionStage<Void> created(CacheEntryCreatedEvent<String, String> event) {
+         synchronized (keys) {
+            keys.add(event.getKey());
+            return keys.size() == 1 ? release : null;
+         }
+      }
+   }
+
+   @Listener(sync = false, observation = Listener.Observation.POST, queueSize = 4,
+         overflowPolicy = Listener.OverflowPolicy.COALESCE_PER_KEY)
+   public static class CoalescingListener {
+      final CompletableFuture<Void> release = new CompletableFuture<>();
+      final Map<String, String> values = new ConcurrentHashMap<>();
+      final AtomicInteger invocations = new AtomicInteger();
+
+      @CacheEntryModified
+      public CompletionStage<Void> modified(CacheEntryModifiedEvent<String, String> event) {
+         values.put(event.getKey(), event.getValue());
+         return invocations.incrementAndGet() == 1 ? release : null;
+      }
+   }
+
+   @Listener(sync = false, observation = Listener.Observation.POST)
+   public static class CountingListener {
+      final AtomicInteger count = new AtomicInteger();
+
+      @CacheEntryCreated
+      public void created(CacheEntryCreatedEvent<String, String> event) {
+         count.incrementAndGet();
+      }
+   }
+}
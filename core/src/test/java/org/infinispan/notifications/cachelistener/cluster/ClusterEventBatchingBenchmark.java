@@ -0,0 +1,124 @@
+package org.infinispan.notifications.cachelistener.cluster;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.cluster.impl.BatchingClusterEventManagerImpl;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.test.fwk.TestResourceTracker;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Measures the write throughput of a node with an async cluster listener registered on another node, with and
+ * without batching of the cluster events. The number of events received by the listener and the number of batches
+ * sent are logged at the end of each trial, so the event throughput can be compared too.
+ * <p>
+ * Note that this class is not triggered by Surefire by default (it doesn't end with "test"). We want to do
+ * performance test on demand only.
+ *
+ * @since 10.0
+ */
+public class ClusterEventBatchingBenchmark {
+   private static final Log log = LogFactory.getLog(ClusterEventBatchingBenchmark.class);
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+   private static final int NUM_KEYS = 10_000;
+
+   @Test
+   public void performClusterEventTest() throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(4)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @State(Scope.Benchmark)
+   public static class BenchmarkState {
+
+      @Param({"0", "10"})
+      public long batchDelay;
+
+      @Param({"false", "true"})
+      public boolean coalescing;
+
+      private EmbeddedCacheManager listenerManager;
+      private EmbeddedCacheManager writerManager;
+      private Cache<Integer, String> writer;
+      private CountingListener listener;
+
+      @Setup
+      public void setup() {
+         TestResourceTracker.testStarted(ClusterEventBatchingBenchmark.class.getName());
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.clustering().cacheMode(CacheMode.DIST_SYNC).hash().numOwners(1)
+               .clustering().clusterEventBatchDelay(batchDelay, TimeUnit.MILLISECONDS).clusterEventCoalescing(coalescing);
+         listenerManager = TestCacheManagerFactory.createClusteredCacheManager(builder);
+         writerManager = TestCacheManagerFactory.createClusteredCacheManager(builder);
+         Cache<Integer, String> listenerCache = listenerManager.getCache();
+         writer = writerManager.getCache();
+         TestingUtil.blockUntilViewsReceived(10000, listenerCache, writer);
+         TestingUtil.waitForNoRebalance(listenerCache, writer);
+         listener = new CountingListener();
+         listenerCache.addListener(listener);
+      }
+
+      @TearDown
+      public void tearDown() {
+         BatchingClusterEventManagerImpl<?, ?> eventManager = (BatchingClusterEventManagerImpl<?, ?>)
+               TestingUtil.extractComponent(writer, ClusterEventManager.class);
+         log.infof("batchDelay=%d, coalescing=%s: %d events received, %d batches sent, average lag %d ms",
+               batchDelay, coalescing, listener.events.sum(), eventManager.getSentEventBatches(),
+               eventManager.getAverageDeliveryLag());
+         TestingUtil.killCacheManagers(writerManager, listenerManager);
+         TestResourceTracker.testFinished(ClusterEventBatchingBenchmark.class.getName());
+      }
+
+      @Benchmark
+      public String measure_put() {
+         return writer.put(ThreadLocalRandom.current().nextInt(NUM_KEYS), "value");
+      }
+   }
+
+   @Listener(clustered = true, sync = false)
+   public static class CountingListener {
+      final LongAdder events = new LongAdder();
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      public void onEvent(CacheEntryEvent<Integer, String> event) {
+         events.increment();
+      }
+   }
+}
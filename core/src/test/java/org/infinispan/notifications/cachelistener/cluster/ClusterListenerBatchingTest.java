@@ -0,0 +1,168 @@
+package org.infinispan.notifications.cachelistener.cluster;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.cluster.impl.BatchingClusterEventManagerImpl;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.notifications.cachelistener.event.Event;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the events for async cluster listeners are sent in batches per node, and that the events for sync
+ * cluster listeners are not delayed.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "notifications.cachelistener.cluster.ClusterListenerBatchingTest")
+public class ClusterListenerBatchingTest extends MultipleCacheManagersTest {
+   private static final int NUM_KEYS = 20;
+   private static final int UPDATES = 5;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC).hash().numOwners(1)
+            .clustering().clusterEventBatchDelay(200, TimeUnit.MILLISECONDS).clusterEventBatchSize(1000)
+            .clusterEventCoalescing(true);
+      createCluster(builder, 2);
+      waitForClusterToForm();
+   }
+
+   public void testAsyncListenerEventsBatched() {
+      AsyncEventCollector listener = new AsyncEventCollector();
+      cache(0).addListener(listener);
+      BatchingClusterEventManagerImpl<?, ?> eventManager = eventManager(cache(1));
+      eventManager.resetStatistics();
+      try {
+         List<Object> keys = new ArrayList<>();
+         for (int i = 0; i < NUM_KEYS; i++) {
+            keys.add(getKeyForCache(1));
+         }
+         for (int update = 0; update < UPDATES; update++) {
+            for (Object key : keys) {
+               cache(1).put(key, "value" + update);
+            }
+         }
+
+         // Every event is either sent or replaced by a later event for the same key
+         eventuallyEquals((long) NUM_KEYS * UPDATES,
+               () -> eventManager.getSentEvents() + eventManager.getCoalescedEvents());
+         eventuallyEquals((int) eventManager.getSentEvents(), listener.events::get);
+         for (Object key : keys) {
+            assertEquals("value" + (UPDATES - 1), listener.values.get(key));
+         }
+         assertTrue(eventManager.getSentEventBatches() < NUM_KEYS * UPDATES);
+         assertEquals(0, eventManager.getPendingEvents());
+      } finally {
+         cache(0).removeListener(listener);
+      }
+   }
+
+   public void testSyncListenerEventsNotDelayed() {
+      SyncEventCollector listener = new SyncEventCollector();
+      cache(0).addListener(listener);
+      try {
+         for (int i = 0; i < NUM_KEYS; i++) {
+            Object key = getKeyForCache(1);
+            cache(1).put(key, "value");
+            // The put waits for the events of sync cluster listeners
+            assertEquals("value", listener.values.get(key));
+         }
+      } finally {
+         cache(0).removeListener(listener);
+      }
+   }
+
+   public void testCoalescingKeepsEventTypes() {
+      AsyncEventCollector listener = new AsyncEventCollector();
+      cache(0).addListener(listener);
+      try {
+         Object key = getKeyForCache(1);
+         cache(1).put(key, "value");
+         cache(1).remove(key);
+
+         // The removal must not replace the creation, they are different events
+         eventually(() -> listener.types.size() == 2);
+         assertEquals(Arrays.asList(Event.Type.CACHE_ENTRY_CREATED, Event.Type.CACHE_ENTRY_REMOVED), listener.types);
+      } finally {
+         cache(0).removeListener(listener);
+      }
+   }
+
+   public void testSmallBatchesDeliveredInOrder() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC).hash().numOwners(1)
+            .clustering().clusterEventBatchDelay(200, TimeUnit.MILLISECONDS).clusterEventBatchSize(3);
+      String cacheName = "small-batches";
+      defineConfigurationOnAllManagers(cacheName, builder);
+      waitForClusterToForm(cacheName);
+      Cache<Object, Object> listenerCache = cache(0, cacheName);
+      Cache<Object, Object> writerCache = cache(1, cacheName);
+
+      AsyncEventCollector listener = new AsyncEventCollector();
+      listenerCache.addListener(listener);
+      try {
+         Object key = getKeyForCache(writerCache);
+         List<Object> expected = new ArrayList<>();
+         for (int i = 0; i < 50; i++) {
+            writerCache.put(key, "value" + i);
+            expected.add("value" + i);
+         }
+         // Only one batch is in flight at a time, so the batches are not reordered
+         eventually(() -> listener.received.size() == 50);
+         assertEquals(expected, listener.received);
+      } finally {
+         listenerCache.removeListener(listener);
+      }
+   }
+
+   private BatchingClusterEventManagerImpl<?, ?> eventManager(Cache<?, ?> cache) {
+      return (BatchingClusterEventManagerImpl<?, ?>) TestingUtil.extractComponent(cache, ClusterEventManager.class);
+   }
+
+   public static class EventCollector {
+      final Map<Object, Object> values = new ConcurrentHashMap<>();
+      final AtomicInteger events = new AtomicInteger();
+      final List<Object> received = Collections.synchronizedList(new ArrayList<>());
+      final List<Event.Type> types = Collections.synchronizedList(new ArrayList<>());
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      @CacheEntryRemoved
+      public void onEvent(CacheEntryEvent<Object, Object> event) {
+         if (event.getType() != Event.Type.CACHE_ENTRY_REMOVED) {
+            values.put(event.getKey(), event.getValue());
+            events.incrementAndGet();
+            received.add(event.getValue());
+         }
+         types.add(event.getType());
+      }
+   }
+
+   @Listener(clustered = true, sync = false)
+   public static class AsyncEventCollector extends EventCollector {
+   }
+
+   @Listener(clustered = true)
+   public static class SyncEventCollector extends EventCollector {
+   }
+}
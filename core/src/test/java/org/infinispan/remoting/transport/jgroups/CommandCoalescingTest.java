@@ -0,0 +1,111 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.distribution.MagicKey;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the triangle backup writes, sent to one or more backups, and acks are coalesced when {@link JGroupsTransport#COMMAND_COALESCING_WINDOW}
+ * is set.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "remoting.transport.jgroups.CommandCoalescingTest")
+public class CommandCoalescingTest extends MultipleCacheManagersTest {
+   private static final String THREE_OWNERS = "threeOwners";
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      GlobalConfigurationBuilder globalBuilder = GlobalConfigurationBuilder.defaultClusteredBuilder();
+      globalBuilder.transport().addProperty(JGroupsTransport.COMMAND_COALESCING_WINDOW, "500");
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC).hash().numOwners(2);
+      createCluster(globalBuilder, builder, 3);
+      // With two backups the primary sends each backup write with sendToMany
+      ConfigurationBuilder threeOwners = new ConfigurationBuilder();
+      threeOwners.clustering().cacheMode(CacheMode.DIST_SYNC).hash().numOwners(3);
+      defineConfigurationOnAllManagers(THREE_OWNERS, threeOwners);
+      waitForClusterToForm();
+      waitForClusterToForm(THREE_OWNERS);
+   }
+
+   public void testConcurrentWritesAreCoalesced() throws Exception {
+      Cache<String, String> cache = cache(0);
+      List<CompletableFuture<String>> futures = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+         futures.add(cache.putAsync("k" + i, "v" + i));
+      }
+      for (CompletableFuture<String> future : futures) {
+         future.get(10, TimeUnit.SECONDS);
+      }
+      // Writes to the same key must be applied in order on every owner
+      for (int i = 0; i < 10; i++) {
+         cache.put("ordered", "v" + i);
+      }
+
+      for (Cache<String, String> c : this.<String, String>caches()) {
+         for (int i = 0; i < 200; i++) {
+            assertEquals("v" + i, c.get("k" + i));
+         }
+         assertEquals("v9", c.get("ordered"));
+      }
+
+      long messages = 0;
+      long commands = 0;
+      for (int i = 0; i < 3; i++) {
+         JGroupsTransport transport = (JGroupsTransport) manager(i).getTransport();
+         messages += transport.getCoalescedMessages();
+         commands += transport.getCoalescedCommands();
+      }
+      assertTrue(messages > 0);
+      assertTrue("Messages: " + messages + ", commands: " + commands, commands >= messages);
+   }
+
+   public void testBackupWritesToManyOwnersAreCoalesced() throws Exception {
+      Cache<MagicKey, String> primary = cache(0, THREE_OWNERS);
+      List<MagicKey> keys = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+         keys.add(new MagicKey("k" + i, primary));
+      }
+      JGroupsTransport transport = (JGroupsTransport) manager(0).getTransport();
+      transport.resetStatistics();
+
+      List<CompletableFuture<String>> futures = new ArrayList<>();
+      for (MagicKey key : keys) {
+         futures.add(primary.putAsync(key, "v-" + key));
+      }
+      for (CompletableFuture<String> future : futures) {
+         future.get(10, TimeUnit.SECONDS);
+      }
+
+      for (Cache<MagicKey, String> c : this.<MagicKey, String>caches(THREE_OWNERS)) {
+         for (MagicKey key : keys) {
+            assertEquals("v-" + key, c.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).get(key));
+         }
+      }
+      // The originator is the primary owner, so it only sends backup writes, one for each of the 2 backups
+      long messages = transport.getCoalescedMessages();
+      long commands = transport.getCoalescedCommands();
+      assertTrue("Commands: " + commands, commands >= 2 * keys.size());
+      assertTrue("Messages: " + messages + ", commands: " + commands, messages < commands);
+   }
+
+   public void testStatisticsDisabledWithoutWindow() {
+      JGroupsTransport transport = new JGroupsTransport();
+      assertEquals(-1, transport.getCoalescedMessages());
+      assertEquals("N/A", transport.getCoalescedBatchSizeDistribution());
+   }
+}
@@ -0,0 +1,69 @@
+package org.infinispan.statetransfer;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests state transfer with chunks sized in bytes, compressed and sent within a maximum bandwidth.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "statetransfer.CompressedStateTransferTest")
+public class CompressedStateTransferTest extends MultipleCacheManagersTest {
+   private static final int NUM_KEYS = 1000;
+
+   private ConfigurationBuilder builder;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC).hash().numOwners(1).numSegments(20)
+            .stateTransfer().chunkSizeBytes(4096).compressChunks(true).maxBandwidth(10 * 1024 * 1024);
+      createCluster(builder, 2);
+      waitForClusterToForm();
+   }
+
+   public void testStateTransfer() {
+      Cache<String, String> cache = cache(0);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache.put("key" + i, "a compressible value, a compressible value, a compressible value " + i);
+      }
+
+      addClusterEnabledCacheManager(builder);
+      waitForClusterToForm();
+
+      Cache<String, String> joiner = cache(2);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         assertEquals("a compressible value, a compressible value, a compressible value " + i,
+                      joiner.get("key" + i));
+      }
+
+      long entries = 0;
+      long bytes = 0;
+      for (Cache<String, String> c : this.<String, String>caches()) {
+         Collection<SegmentTransferStatistics> statistics =
+               TestingUtil.extractComponent(c, StateProvider.class).getSegmentTransferStatistics();
+         for (SegmentTransferStatistics segment : statistics) {
+            assertTrue(segment.getDuration(TimeUnit.NANOSECONDS) >= 0);
+            entries += segment.getEntries();
+            bytes += segment.getBytes();
+         }
+      }
+      assertTrue(entries > 0);
+      assertTrue(bytes > 0);
+      // The values are compressible, so the transferred bytes are fewer than the size of the values alone
+      assertTrue("Entries " + entries + ", bytes " + bytes, bytes < entries * 64);
+      assertFalse(TestingUtil.extractComponent(cache, StateTransferManager.class).getSegmentTransferStatistics().isEmpty());
+   }
+}
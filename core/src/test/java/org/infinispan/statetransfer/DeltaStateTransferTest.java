@@ -0,0 +1,86 @@
+package org.infinispan.statetransfer;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that a node restarted with its private store only receives the entries that changed while it was down.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "statetransfer.DeltaStateTransferTest")
+public class DeltaStateTransferTest extends MultipleCacheManagersTest {
+   private static final int NUM_KEYS = 1000;
+   private static final int NUM_CHANGES = 10;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      Util.recursiveFileRemove(TestingUtil.tmpDirectory(this.getClass().getSimpleName()));
+      createStatefulCacheManager("A");
+      createStatefulCacheManager("B");
+      waitForClusterToForm();
+   }
+
+   private void createStatefulCacheManager(String id) {
+      String stateDirectory = TestingUtil.tmpDirectory(this.getClass().getSimpleName() + File.separator + id);
+      GlobalConfigurationBuilder global = GlobalConfigurationBuilder.defaultClusteredBuilder();
+      global.globalState().enable().persistentLocation(stateDirectory);
+
+      ConfigurationBuilder config = new ConfigurationBuilder();
+      config.clustering().cacheMode(CacheMode.DIST_SYNC).hash().numOwners(2).numSegments(20);
+      config.persistence().addSingleFileStore().location(stateDirectory).fetchPersistentState(true);
+      addClusterEnabledCacheManager(global, config);
+   }
+
+   public void testRestartedNodeReceivesOnlyChanges() {
+      Cache<String, String> cache = cache(0);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache.put("key" + i, "value" + i);
+      }
+
+      killMember(1);
+
+      // Modify, remove and add some entries while the node is down
+      for (int i = 0; i < NUM_CHANGES; i++) {
+         cache.put("key" + i, "changed" + i);
+         cache.remove("key" + (NUM_KEYS - 1 - i));
+         cache.put("new" + i, "new" + i);
+      }
+
+      createStatefulCacheManager("B");
+      waitForClusterToForm();
+
+      AdvancedCache<String, String> restarted = this.<String, String>cache(1).getAdvancedCache()
+            .withFlags(Flag.CACHE_MODE_LOCAL);
+      for (int i = 0; i < NUM_CHANGES; i++) {
+         assertEquals("changed" + i, restarted.get("key" + i));
+         assertNull(restarted.get("key" + (NUM_KEYS - 1 - i)));
+         assertEquals("new" + i, restarted.get("new" + i));
+      }
+      for (int i = NUM_CHANGES; i < NUM_KEYS - NUM_CHANGES; i++) {
+         assertEquals("value" + i, restarted.get("key" + i));
+      }
+
+      long sentEntries = 0;
+      for (SegmentTransferStatistics segment :
+            TestingUtil.extractComponent(cache, StateProvider.class).getSegmentTransferStatistics()) {
+         sentEntries += segment.getEntries();
+      }
+      // At most 20 buckets differ, out of 20 segments with 64 buckets each
+      assertTrue("Sent " + sentEntries + " entries", sentEntries >= 2 * NUM_CHANGES && sentEntries < NUM_KEYS / 4);
+   }
+}
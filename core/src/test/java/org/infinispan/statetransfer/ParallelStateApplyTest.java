@@ -0,0 +1,78 @@
+package org.infinispan.statetransfer;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the state applied in parallel and directly to the data container reaches the private stores, and does
+ * not overwrite concurrent writes.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "statetransfer.ParallelStateApplyTest")
+public class ParallelStateApplyTest extends MultipleCacheManagersTest {
+   private static final int NUM_KEYS = 2000;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createCluster(createConfiguration(0), 1);
+      waitForClusterToForm();
+   }
+
+   private ConfigurationBuilder createConfiguration(int id) {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC).hash().numOwners(2)
+            .stateTransfer().chunkSize(100);
+      DummyInMemoryStoreConfigurationBuilder store = new DummyInMemoryStoreConfigurationBuilder(builder.persistence());
+      store.storeName(getClass().getSimpleName() + id).fetchPersistentState(true).shared(false);
+      builder.persistence().addStore(store);
+      return builder;
+   }
+
+   public void testStateApplied() throws Exception {
+      Cache<String, String> cache = cache(0);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache.put("key" + i, "value" + i);
+      }
+
+      // Keep writing while the joiner receives the state
+      Future<Void> writer = fork(() -> {
+         for (int i = 0; i < NUM_KEYS; i += 10) {
+            cache.put("key" + i, "updated" + i);
+         }
+         return null;
+      });
+      addClusterEnabledCacheManager(createConfiguration(1));
+      waitForClusterToForm();
+      writer.get();
+
+      Cache<String, String> joiner = cache(1);
+      DummyInMemoryStore store = TestingUtil.getFirstWriter(joiner);
+      List<String> mismatches = new ArrayList<>();
+      for (int i = 0; i < NUM_KEYS; i++) {
+         String key = "key" + i;
+         String expected = (i % 10 == 0 ? "updated" : "value") + i;
+         InternalCacheEntry entry = joiner.getAdvancedCache().getDataContainer().peek(key);
+         if (entry == null || !expected.equals(entry.getValue())) {
+            mismatches.add(key + "=" + entry);
+         }
+         assertTrue(key, store.contains(key));
+         assertEquals(expected, store.loadEntry(key).getValue());
+      }
+      assertTrue(mismatches.toString(), mismatches.isEmpty());
+   }
+}
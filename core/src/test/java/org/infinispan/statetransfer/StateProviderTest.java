@@ -55,6 +55,7 @@
 import org.infinispan.transaction.impl.TransactionOriginatorChecker;
 import org.infinispan.transaction.impl.TransactionTable;
 import org.infinispan.util.ByteString;
+import org.infinispan.util.EmbeddedTimeService;
 import org.infinispan.util.concurrent.IsolationLevel;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -158,7 +159,8 @@ public void test1() throws InterruptedException {
       StateProviderImpl stateProvider = new StateProviderImpl();
       TestingUtil.inject(stateProvider, mockExecutorService,
                          configuration, rpcManager, commandsFactory, cacheNotifier, persistenceManager,
-                         dataContainer, transactionTable, stateTransferLock, distributionManager, ef, keyPartitioner, TransactionOriginatorChecker.LOCAL);
+                         dataContainer, transactionTable, stateTransferLock, distributionManager, ef, keyPartitioner, TransactionOriginatorChecker.LOCAL,
+                         new EmbeddedTimeService());
       stateProvider.start();
 
       final List<InternalCacheEntry> cacheEntries = new ArrayList<>();
@@ -265,7 +267,8 @@ public void test2() throws InterruptedException {
       StateProviderImpl stateProvider = new StateProviderImpl();
       TestingUtil.inject(stateProvider, mockExecutorService,
                          configuration, rpcManager, commandsFactory, cacheNotifier, persistenceManager,
-                         dataContainer, transactionTable, stateTransferLock, distributionManager, ef, keyPartitioner, TransactionOriginatorChecker.LOCAL);
+                         dataContainer, transactionTable, stateTransferLock, distributionManager, ef, keyPartitioner, TransactionOriginatorChecker.LOCAL,
+                         new EmbeddedTimeService());
       stateProvider.start();
 
       final List<InternalCacheEntry> cacheEntries = new ArrayList<>();
@@ -0,0 +1,83 @@
+package org.infinispan.stats;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Map;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the {@link HotKeyTracker} finds the keys read and written most frequently.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "stats.HotKeyTrackerTest")
+public class HotKeyTrackerTest extends SingleCacheManagerTest {
+   private static final int NUM_KEYS = 500;
+   private static final int HOT_OPERATIONS = 5000;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      return TestCacheManagerFactory.createCacheManager(new ConfigurationBuilder());
+   }
+
+   private HotKeyTracker tracker() {
+      return TestingUtil.extractComponent(cache, HotKeyTracker.class);
+   }
+
+   public void testTopReadKey() {
+      tracker().reset();
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache.put("k" + i, "v" + i);
+         cache.get("k" + i);
+      }
+      for (int i = 0; i < HOT_OPERATIONS; i++) {
+         cache.get("hot");
+      }
+
+      Map<Object, Long> top = tracker().getTopReadKeys(1);
+      assertEquals(1, top.size());
+      assertEquals("hot", top.keySet().iterator().next());
+      assertTrue(tracker().getEstimatedReads("hot") > tracker().getEstimatedReads("k0"));
+
+      int segment = TestingUtil.extractComponent(cache, KeyPartitioner.class).getSegment("hot");
+      assertTrue(tracker().getTopReadKeys(segment, 10).containsKey("hot"));
+      assertTrue(tracker().getTopWriteKeys(10).keySet().stream().noneMatch("hot"::equals));
+   }
+
+   public void testTopWriteKey() {
+      tracker().reset();
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache.put("k" + i, "v" + i);
+      }
+      for (int i = 0; i < HOT_OPERATIONS; i++) {
+         cache.put("hot", "v" + i);
+      }
+
+      Map<Object, Long> top = tracker().getTopWriteKeys(1);
+      assertEquals("hot", top.keySet().iterator().next());
+
+      tracker().reset();
+      assertTrue(tracker().getTopWriteKeys(10).isEmpty());
+      assertEquals(0, tracker().getEstimatedWrites("hot"));
+   }
+
+   public void testDisabled() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.jmxStatistics().hotKeys(false);
+      cacheManager.defineConfiguration("untracked", builder.build());
+      Cache<Object, Object> untracked = cacheManager.getCache("untracked");
+      for (int i = 0; i < HOT_OPERATIONS; i++) {
+         untracked.put("hot", "v" + i);
+      }
+      assertTrue(TestingUtil.extractComponent(untracked, HotKeyTracker.class).getTopWriteKeys(10).isEmpty());
+   }
+}
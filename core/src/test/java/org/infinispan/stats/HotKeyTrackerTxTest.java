@@ -0,0 +1,43 @@
+package org.infinispan.stats;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the {@link HotKeyTracker} counts the writes of transactions on every node once.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "stats.HotKeyTrackerTxTest")
+public class HotKeyTrackerTxTest extends MultipleCacheManagersTest {
+   private static final int NUM_WRITES = 10;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.REPL_SYNC, true);
+      builder.jmxStatistics().hotKeys(true).hotKeysSampleInterval(1);
+      createClusteredCaches(2, builder);
+   }
+
+   private HotKeyTracker tracker(int index) {
+      return TestingUtil.extractComponent(cache(index), HotKeyTracker.class);
+   }
+
+   public void testPreparedWritesAreRecorded() {
+      tracker(0).reset();
+      tracker(1).reset();
+      for (int i = 0; i < NUM_WRITES; i++) {
+         cache(0).put("hot", "v" + i);
+      }
+
+      // The originator records the writes when they are invoked, the other node when they are prepared
+      assertEquals(NUM_WRITES, tracker(0).getEstimatedWrites("hot"));
+      assertEquals(NUM_WRITES, tracker(1).getEstimatedWrites("hot"));
+      assertEquals("hot", tracker(1).getTopWriteKeys(1).keySet().iterator().next());
+   }
+}
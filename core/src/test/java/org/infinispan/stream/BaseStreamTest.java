@@ -192,6 +192,40 @@ public void testObjCollectorGroupBy() {
       grouped.get(false).parallelStream().forEach(e -> assertTrue(e.getKey() % 2 == 1));
    }
 
+   public void testObjReduceByKey() {
+      testObjReduceByKey("reduceByKeyTarget", true);
+   }
+
+   public void testObjReduceByKeyNotRehashAware() {
+      testObjReduceByKey("reduceByKeyNotRehashAwareTarget", false);
+   }
+
+   private void testObjReduceByKey(String targetName, boolean rehashAware) {
+      Cache<Integer, String> cache = getCache(0);
+      int range = 10;
+      // First populate the cache with a bunch of values
+      IntStream.range(0, range).boxed().forEach(i -> cache.put(i, i + "-value"));
+
+      assertEquals(range, cache.size());
+      CacheSet<Map.Entry<Integer, String>> entrySet = cache.entrySet();
+
+      cacheManagers.forEach(cm -> cm.defineConfiguration(targetName, builderUsed.build()));
+      if (cacheMode.isClustered()) {
+         waitForClusterToForm(targetName);
+      }
+      Cache<Boolean, Integer> target = cache(0, targetName);
+      target.put(true, 100);
+
+      CacheStream<Map.Entry<Integer, String>> stream = createStream(entrySet);
+      if (!rehashAware) {
+         stream = stream.disableRehashAware();
+      }
+      stream.reduceByKey(e -> e.getKey() % 2 == 0, Map.Entry::getKey, Integer::sum, target);
+      assertEquals(2, target.size());
+      assertEquals(Integer.valueOf(100 + 0 + 2 + 4 + 6 + 8), target.get(true));
+      assertEquals(Integer.valueOf(1 + 3 + 5 + 7 + 9), target.get(false));
+   }
+
    public void testObjCollect() {
       Cache<Integer, String> cache = getCache(0);
       int range = 10;
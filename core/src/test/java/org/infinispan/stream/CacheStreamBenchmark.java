@@ -0,0 +1,116 @@
+package org.infinispan.stream;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.test.fwk.TestResourceTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Measures common distributed stream shapes over a two node cluster. Run it once more with
+ * {@code -Dinfinispan.stream.disableFusion=true} to compare with the operations applied one by one, the forked JVMs
+ * inherit the system properties of the runner.
+ * <p>
+ * Note that this class is not triggered by Surefire by default (it doesn't end with "test"). We want to do
+ * performance test on demand only.
+ *
+ * @since 10.0
+ */
+public class CacheStreamBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+
+   @Test
+   public void performStreamTest() throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.SECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @State(Scope.Benchmark)
+   public static class BenchmarkState {
+
+      @Param({"10000", "100000"})
+      public int numEntries;
+
+      private EmbeddedCacheManager manager1;
+      private EmbeddedCacheManager manager2;
+      private Cache<Integer, Integer> cache;
+
+      @Setup
+      public void setup() {
+         TestResourceTracker.testStarted(CacheStreamBenchmark.class.getName());
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.clustering().cacheMode(CacheMode.DIST_SYNC).hash().numOwners(1);
+         manager1 = TestCacheManagerFactory.createClusteredCacheManager(builder);
+         manager2 = TestCacheManagerFactory.createClusteredCacheManager(builder);
+         cache = manager1.getCache();
+         Cache<Integer, Integer> other = manager2.getCache();
+         TestingUtil.blockUntilViewsReceived(10000, cache, other);
+         TestingUtil.waitForNoRebalance(cache, other);
+         for (int i = 0; i < numEntries; i++) {
+            cache.put(i, i);
+         }
+      }
+
+      @TearDown
+      public void tearDown() {
+         TestingUtil.killCacheManagers(manager1, manager2);
+         TestResourceTracker.testFinished(CacheStreamBenchmark.class.getName());
+      }
+
+      @Benchmark
+      public long measure_mapToLong_sum() {
+         return cache.values().stream().mapToLong(i -> i).sum();
+      }
+
+      @Benchmark
+      public long measure_map_map_mapToLong_sum() {
+         return cache.values().stream().map(i -> i * 2).map(i -> i + 1).mapToLong(i -> i).sum();
+      }
+
+      @Benchmark
+      public long measure_filter_filter_count() {
+         return cache.values().stream().filter(i -> (i & 1) == 0).filter(i -> i % 3 == 0).count();
+      }
+
+      @Benchmark
+      public double measure_mapToDouble_map_average() {
+         return cache.values().stream().mapToDouble(i -> i).map(d -> d / 2).average().orElse(0);
+      }
+
+      @Benchmark
+      public Map<Integer, Long> measure_groupingBy_counting() {
+         return cache.values().stream()
+               .collect(() -> Collectors.groupingBy((Integer i) -> i % 16, Collectors.counting()));
+      }
+   }
+}
@@ -0,0 +1,95 @@
+package org.infinispan.stream.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+import io.reactivex.Flowable;
+
+/**
+ * Tests how the distributed iterator sizes the batches it requests from the owners and how many it keeps outstanding.
+ *
+ * @since 10.0
+ */
+@Test(groups = "unit", testName = "stream.impl.DistributedIteratorBatchingTest")
+public class DistributedIteratorBatchingTest extends AbstractInfinispanTest {
+   private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(100);
+
+   public void testBatchSizeDoublesOnFastResponses() {
+      // Doubles while full batches return in under half of the target response time
+      assertEquals(200, ClusterStreamManagerImpl.nextBatchSize(100, 12, 1000, true, TARGET / 2 - 1, TARGET));
+      assertEquals(400, ClusterStreamManagerImpl.nextBatchSize(200, 12, 1000, true, 0, TARGET));
+      // But never beyond what the subscriber requested
+      assertEquals(300, ClusterStreamManagerImpl.nextBatchSize(200, 12, 300, true, 0, TARGET));
+      assertEquals(200, ClusterStreamManagerImpl.nextBatchSize(200, 12, 50, true, 0, TARGET));
+      // A partial batch says nothing about the response time of a full one
+      assertEquals(100, ClusterStreamManagerImpl.nextBatchSize(100, 12, 1000, false, 0, TARGET));
+   }
+
+   public void testBatchSizeHalvesOnSlowResponses() {
+      // Halves when a batch takes over twice the target response time, full or not
+      assertEquals(50, ClusterStreamManagerImpl.nextBatchSize(100, 12, 1000, true, TARGET * 2 + 1, TARGET));
+      assertEquals(50, ClusterStreamManagerImpl.nextBatchSize(100, 12, 1000, false, TARGET * 3, TARGET));
+      // But never below the minimum
+      assertEquals(12, ClusterStreamManagerImpl.nextBatchSize(20, 12, 1000, true, TARGET * 3, TARGET));
+      assertEquals(12, ClusterStreamManagerImpl.nextBatchSize(12, 12, 1000, true, TARGET * 3, TARGET));
+   }
+
+   public void testBatchSizeKeptWithinTarget() {
+      assertEquals(100, ClusterStreamManagerImpl.nextBatchSize(100, 12, 1000, true, TARGET / 2, TARGET));
+      assertEquals(100, ClusterStreamManagerImpl.nextBatchSize(100, 12, 1000, true, TARGET, TARGET));
+      assertEquals(100, ClusterStreamManagerImpl.nextBatchSize(100, 12, 1000, true, TARGET * 2, TARGET));
+   }
+
+   public void testPrefetchedBatchesBounded() {
+      testPrefetchedBatchesBounded(0);
+      testPrefetchedBatchesBounded(1);
+      testPrefetchedBatchesBounded(3);
+   }
+
+   private void testPrefetchedBatchesBounded(int prefetchBatches) {
+      int batchSize = 10;
+      int entries = 500;
+      AtomicLong firstRequested = new AtomicLong();
+      AtomicLong secondRequested = new AtomicLong();
+      PriorityMergingProcessor<Integer> processor = PriorityMergingProcessor.<Integer>builder()
+            .addPublisher(Flowable.range(0, entries).doOnRequest(firstRequested::addAndGet), batchSize)
+            .addPublisher(Flowable.range(entries, entries).doOnRequest(secondRequested::addAndGet), batchSize)
+            .prefetchBatches(prefetchBatches)
+            .build();
+
+      long maxOutstanding = (long) batchSize * (1 + prefetchBatches);
+      try (CloseableIterator<Integer> iterator = processor.iterator()) {
+         // Every owner is asked for its batch and the prefetched batches up front
+         assertEquals(maxOutstanding, firstRequested.get());
+         assertEquals(maxOutstanding, secondRequested.get());
+
+         long firstConsumed = 0;
+         long secondConsumed = 0;
+         while (iterator.hasNext()) {
+            if (iterator.next() < entries) {
+               firstConsumed++;
+            } else {
+               secondConsumed++;
+            }
+            assertTrue(outstanding(firstRequested, firstConsumed, entries) <= maxOutstanding);
+            assertTrue(outstanding(secondRequested, secondConsumed, entries) <= maxOutstanding);
+         }
+         assertEquals(entries, firstConsumed);
+         assertEquals(entries, secondConsumed);
+         assertFalse(iterator.hasNext());
+      }
+   }
+
+   private static long outstanding(AtomicLong requested, long consumed, int entries) {
+      // Requests past the end of the publisher are not outstanding entries
+      return Math.min(requested.get(), entries) - consumed;
+   }
+}
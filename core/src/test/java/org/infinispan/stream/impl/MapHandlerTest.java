@@ -0,0 +1,56 @@
+package org.infinispan.stream.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.infinispan.stream.impl.intops.IntermediateOperation;
+import org.infinispan.stream.impl.intops.object.FilterOperation;
+import org.infinispan.stream.impl.intops.object.FlatMapOperation;
+import org.infinispan.stream.impl.intops.object.MapOperation;
+import org.infinispan.util.KeyValuePair;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the handlers used by the key tracking streams still associate each result with its key when the
+ * intermediate operations are fused.
+ *
+ * @since 10.0
+ */
+@Test(groups = "unit", testName = "stream.impl.MapHandlerTest")
+public class MapHandlerTest {
+
+   public void testMapHandler() {
+      List<IntermediateOperation> intOps = Arrays.asList(
+            new FilterOperation<Integer>(i -> i != 2),
+            new FilterOperation<Integer>(i -> i != 3),
+            new MapOperation<Integer, Integer>(i -> i + 1),
+            new MapOperation<Integer, String>(i -> "v" + i));
+      AbstractCacheStream.MapHandler<Object, Stream<Object>> handler =
+            new AbstractCacheStream.MapHandler<>(intOps, Function.identity());
+
+      List<Object> results = handler.perform(Stream.of(1, 2, 3, 4)).collect(Collectors.toList());
+      assertEquals(Arrays.asList(new KeyValuePair<>(1, "v2"), new KeyValuePair<>(4, "v5")), results);
+      // The operations sent to the other nodes are the original ones
+      assertEquals(intOps, handler.intermediateOperations);
+   }
+
+   public void testFlatMapHandler() {
+      List<IntermediateOperation> intOps = Arrays.asList(
+            new MapOperation<Integer, Integer>(i -> i * 10),
+            new MapOperation<Integer, Integer>(i -> i + 1),
+            new FlatMapOperation<Integer, Integer>(i -> Stream.of(i, i + 1)),
+            new MapOperation<Integer, String>(i -> "v" + i),
+            new MapOperation<String, String>(String::toUpperCase));
+      AbstractCacheStream.FlatMapHandler<Object, Stream<Object>> handler =
+            new AbstractCacheStream.FlatMapHandler<>(intOps, Function.identity());
+
+      List<Object> results = handler.perform(Stream.of(1, 2)).collect(Collectors.toList());
+      assertEquals(Arrays.asList(new KeyValuePair<>(1, Arrays.asList("V11", "V12")),
+            new KeyValuePair<>(2, Arrays.asList("V21", "V22"))), results);
+   }
+}
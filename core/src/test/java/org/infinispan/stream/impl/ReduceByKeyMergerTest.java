@@ -0,0 +1,116 @@
+package org.infinispan.stream.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.functional.FunctionalMap.ReadWriteMap;
+import org.infinispan.functional.impl.FunctionalMapImpl;
+import org.infinispan.functional.impl.MetaParamsInternalMetadata;
+import org.infinispan.functional.impl.ReadWriteMapImpl;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the partial results of a reduceByKey are not combined twice when the write of a batch is retried, and that
+ * the merged batches are not left on the target entries.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "stream.impl.ReduceByKeyMergerTest")
+public class ReduceByKeyMergerTest extends SingleCacheManagerTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      return TestCacheManagerFactory.createCacheManager(new ConfigurationBuilder());
+   }
+
+   public void testRetriedBatchIsMergedOnce() {
+      UUID operationId = UUID.randomUUID();
+      ReduceByKeyMerger<String, Integer> merger = new ReduceByKeyMerger<>(cache, cache.getName(), Integer::sum,
+            operationId);
+      Cache<String, Integer> target = cacheManager.getCache(cache.getName());
+      ReadWriteMap<String, Integer> targetMap = ReadWriteMapImpl.create(FunctionalMapImpl.create(target.getAdvancedCache()));
+      Map<String, Integer> partials = new HashMap<>();
+      partials.put("a", 1);
+      partials.put("b", 2);
+
+      ReduceByKeyMerger.MergeFunction<String, Integer> first = merger.mergeFunction();
+      targetMap.evalMany(partials, first).forEach(v -> {});
+      // Applying the same batch again is a retry
+      targetMap.evalMany(partials, first).forEach(v -> {});
+      assertEquals(Integer.valueOf(1), cache.get("a"));
+      assertEquals(Integer.valueOf(2), cache.get("b"));
+
+      merger.merge(partials);
+      assertEquals(Integer.valueOf(2), cache.get("a"));
+      assertEquals(Integer.valueOf(4), cache.get("b"));
+
+      // Another run of the same operation, for example on another node, is combined
+      new ReduceByKeyMerger<String, Integer>(cache, cache.getName(), Integer::sum, operationId).merge(partials);
+      assertEquals(Integer.valueOf(3), cache.get("a"));
+      assertEquals(Integer.valueOf(6), cache.get("b"));
+   }
+
+   public void testOtherOperationIsMerged() {
+      Map<String, Integer> partials = new HashMap<>();
+      partials.put("c", 5);
+
+      new ReduceByKeyMerger<String, Integer>(cache, cache.getName(), Integer::sum, UUID.randomUUID()).merge(partials);
+      new ReduceByKeyMerger<String, Integer>(cache, cache.getName(), Integer::sum, UUID.randomUUID()).merge(partials);
+      assertEquals(Integer.valueOf(10), cache.get("c"));
+   }
+
+   public void testCompleteRemovesMergedBatches() {
+      UUID operationId = UUID.randomUUID();
+      Map<String, Integer> partials = new HashMap<>();
+      partials.put("d", 1);
+
+      ReduceByKeyMerger<String, Integer> first = new ReduceByKeyMerger<>(cache, cache.getName(), Integer::sum, operationId);
+      ReduceByKeyMerger<String, Integer> second = new ReduceByKeyMerger<>(cache, cache.getName(), Integer::sum, operationId);
+      first.merge(partials);
+      second.merge(partials);
+      first.complete();
+      assertTrue(hasMergedBatches("d"));
+
+      second.complete();
+      assertFalse(hasMergedBatches("d"));
+      assertEquals(Integer.valueOf(2), cache.get("d"));
+   }
+
+   public void testMergeKeepsExpiration() {
+      cache.put("e", 1, 10, TimeUnit.MINUTES, 5, TimeUnit.MINUTES);
+      ReduceByKeyMerger<String, Integer> merger = new ReduceByKeyMerger<>(cache, cache.getName(), Integer::sum,
+            UUID.randomUUID());
+      merger.merge(Collections.singletonMap("e", 2));
+      assertExpiration("e");
+
+      merger.complete();
+      assertExpiration("e");
+      assertFalse(hasMergedBatches("e"));
+      assertEquals(Integer.valueOf(3), cache.get("e"));
+   }
+
+   private void assertExpiration(String key) {
+      CacheEntry<String, Integer> entry = cache.getAdvancedCache().getCacheEntry(key);
+      assertEquals(TimeUnit.MINUTES.toMillis(10), entry.getLifespan());
+      assertEquals(TimeUnit.MINUTES.toMillis(5), entry.getMaxIdle());
+   }
+
+   private boolean hasMergedBatches(String key) {
+      CacheEntry<String, Integer> entry = cache.getAdvancedCache().getCacheEntry(key);
+      return entry.getMetadata() instanceof MetaParamsInternalMetadata &&
+            ((MetaParamsInternalMetadata) entry.getMetadata()).findMetaParam(ReduceByKeyMerger.MergedBatches.class).isPresent();
+   }
+}
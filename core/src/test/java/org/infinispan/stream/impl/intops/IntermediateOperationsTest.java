@@ -0,0 +1,98 @@
+package org.infinispan.stream.impl.intops;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.BaseStream;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.infinispan.stream.impl.intops.object.FilterOperation;
+import org.infinispan.stream.impl.intops.object.MapOperation;
+import org.infinispan.stream.impl.intops.object.MapToLongOperation;
+import org.infinispan.stream.impl.intops.object.PeekOperation;
+import org.infinispan.stream.impl.intops.primitive.l.FilterLongOperation;
+import org.infinispan.stream.impl.intops.primitive.l.MapLongOperation;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that fused intermediate operations produce the same results as the original operations.
+ *
+ * @since 10.0
+ */
+@Test(groups = "unit", testName = "stream.impl.intops.IntermediateOperationsTest")
+public class IntermediateOperationsTest {
+
+   public void testObjectOperationsFused() {
+      List<IntermediateOperation> intOps = Arrays.asList(
+            new FilterOperation<Integer>(i -> i % 2 == 0),
+            new FilterOperation<Integer>(i -> i % 3 == 0),
+            new MapOperation<Integer, Integer>(i -> i * 10),
+            new MapOperation<Integer, String>(i -> "v" + i));
+
+      List<IntermediateOperation> fused = toList(IntermediateOperations.fuse(intOps));
+      assertEquals(2, fused.size());
+      assertTrue(fused.get(0) instanceof FilterOperation);
+      assertTrue(fused.get(1) instanceof MapOperation);
+
+      assertEquals(collect(intOps), collect(fused));
+   }
+
+   public void testMapToPrimitiveFused() {
+      List<IntermediateOperation> intOps = Arrays.asList(
+            new MapOperation<Integer, Integer>(i -> i + 1),
+            new MapToLongOperation<Integer>(i -> i * 2L),
+            new MapLongOperation(l -> l - 1),
+            new FilterLongOperation<>(l -> l > 10),
+            new FilterLongOperation<>(l -> l < 100));
+
+      List<IntermediateOperation> fused = toList(IntermediateOperations.fuse(intOps));
+      assertEquals(2, fused.size());
+      assertTrue(fused.get(0) instanceof MapToLongOperation);
+      assertTrue(fused.get(1) instanceof FilterLongOperation);
+
+      assertEquals(sum(intOps), sum(fused));
+   }
+
+   public void testOtherOperationsNotFused() {
+      IntermediateOperation peek = new PeekOperation<Integer>(i -> { });
+      List<IntermediateOperation> intOps = Arrays.asList(
+            new MapOperation<Integer, Integer>(i -> i + 1),
+            peek,
+            new MapOperation<Integer, Integer>(i -> i + 1));
+
+      List<IntermediateOperation> fused = toList(IntermediateOperations.fuse(intOps));
+      assertEquals(3, fused.size());
+      assertSame(peek, fused.get(1));
+
+      assertEquals(collect(intOps), collect(fused));
+   }
+
+   private static List<IntermediateOperation> toList(Iterable<IntermediateOperation> intOps) {
+      List<IntermediateOperation> list = new ArrayList<>();
+      intOps.forEach(list::add);
+      return list;
+   }
+
+   private static BaseStream<?, ?> perform(Iterable<IntermediateOperation> intOps) {
+      BaseStream<?, ?> stream = IntStream.range(0, 100).boxed();
+      for (IntermediateOperation intOp : intOps) {
+         stream = intOp.perform(stream);
+      }
+      return stream;
+   }
+
+   private static List<Object> collect(Iterable<IntermediateOperation> intOps) {
+      return ((Stream<Object>) perform(intOps)).collect(Collectors.toList());
+   }
+
+   private static long sum(Iterable<IntermediateOperation> intOps) {
+      return ((LongStream) perform(intOps)).sum();
+   }
+}
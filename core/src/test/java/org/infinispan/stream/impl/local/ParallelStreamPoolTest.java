@@ -0,0 +1,64 @@
+package org.infinispan.stream.impl.local;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the terminal operations of parallel local streams run in the pool configured with
+ * {@link GlobalConfigurationBuilder#streamParallelism(int)}.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "stream.impl.local.ParallelStreamPoolTest")
+public class ParallelStreamPoolTest extends SingleCacheManagerTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      GlobalConfigurationBuilder global = new GlobalConfigurationBuilder().nonClusteredDefault();
+      global.streamParallelism(2);
+      return TestCacheManagerFactory.createCacheManager(global, new ConfigurationBuilder());
+   }
+
+   public void testParallelStreamUsesPool() {
+      IntStream.range(0, 1000).forEach(i -> cache.put(i, i));
+
+      Set<String> threads = cache.keySet().parallelStream()
+            .map(k -> Thread.currentThread().getName())
+            .collect(Collectors.toSet());
+      assertFalse(threads.isEmpty());
+      for (String thread : threads) {
+         assertTrue(thread, thread.startsWith("infinispan-stream-"));
+      }
+
+      // Sequential streams still run in the calling thread
+      String caller = Thread.currentThread().getName();
+      assertEquals(1000, cache.keySet().stream().filter(k -> caller.equals(Thread.currentThread().getName())).count());
+   }
+
+   public void testCommonPoolByDefault() {
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(new ConfigurationBuilder());
+      try {
+         ParallelStreamPool pool = TestingUtil.extractGlobalComponent(cm, ParallelStreamPool.class);
+         // The common pool is used by default
+         assertEquals(null, TestingUtil.extractField(pool, "pool"));
+      } finally {
+         TestingUtil.killCacheManagers(cm);
+      }
+
+      ParallelStreamPool pool = TestingUtil.extractGlobalComponent(cacheManager, ParallelStreamPool.class);
+      assertTrue(TestingUtil.extractField(pool, "pool") != null);
+   }
+}
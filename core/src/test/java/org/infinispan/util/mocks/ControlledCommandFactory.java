@@ -48,7 +48,9 @@
 import org.infinispan.commands.remote.RenewBiasCommand;
 import org.infinispan.commands.remote.RevokeBiasCommand;
 import org.infinispan.commands.remote.SingleRpcCommand;
+import org.infinispan.commands.remote.expiration.RemoveExpiredManyCommand;
 import org.infinispan.commands.remote.expiration.RetrieveLastAccessCommand;
+import org.infinispan.commands.remote.expiration.RetrieveLastAccessManyCommand;
 import org.infinispan.commands.remote.expiration.UpdateLastAccessCommand;
 import org.infinispan.commands.remote.recovery.CompleteTransactionCommand;
 import org.infinispan.commands.remote.recovery.GetInDoubtTransactionsCommand;
@@ -92,6 +94,7 @@
 import org.infinispan.reactive.publisher.impl.DeliveryGuarantee;
 import org.infinispan.reactive.publisher.impl.PublisherRequestCommand;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.statetransfer.SegmentDigest;
 import org.infinispan.statetransfer.StateChunk;
 import org.infinispan.statetransfer.StateRequestCommand;
 import org.infinispan.statetransfer.StateResponseCommand;
@@ -220,6 +223,18 @@ public UpdateLastAccessCommand buildUpdateLastAccessCommand(Object key, int segm
       return actual.buildUpdateLastAccessCommand(key, segment, accessTime);
    }
 
+   @Override
+   public RetrieveLastAccessManyCommand buildRetrieveLastAccessManyCommand(List<Object> keys, List<Object> values,
+         int[] segments) {
+      return actual.buildRetrieveLastAccessManyCommand(keys, values, segments);
+   }
+
+   @Override
+   public RemoveExpiredManyCommand buildRemoveExpiredManyCommand(List<Object> keys, List<Object> values, int[] segments,
+         long[] expirations, boolean[] maxIdle) {
+      return actual.buildRemoveExpiredManyCommand(keys, values, segments, expirations, maxIdle);
+   }
+
    @Override
    public ReplaceCommand buildReplaceCommand(Object key, Object oldValue, Object newValue, int segment, Metadata metadata, long flagsBitSet) {
       return actual.buildReplaceCommand(key, oldValue, newValue, segment, metadata, flagsBitSet);
@@ -337,6 +352,11 @@ public StateRequestCommand buildStateRequestCommand(StateRequestCommand.Type sub
       return actual.buildStateRequestCommand(subtype, sender, topologyId, segments);
    }
 
+   @Override
+   public StateRequestCommand buildStateRequestCommand(Address sender, int topologyId, Map<Integer, SegmentDigest> digests) {
+      return actual.buildStateRequestCommand(sender, topologyId, digests);
+   }
+
    @Override
    public StateResponseCommand buildStateResponseCommand(Address sender, int viewId, Collection<StateChunk> stateChunks, boolean applyState, boolean pushTransfer) {
       return actual.buildStateResponseCommand(sender, viewId, stateChunks, applyState, pushTransfer);
@@ -574,6 +574,21 @@ public RemoteCache<K, V> withDataFormat(DataFormat dataFormat) {
       return delegate.withDataFormat(dataFormat);
    }
 
+   @Override
+   public RemoteCache<K, V> withWriteBuffer(int maxBufferedWrites, long flushInterval, TimeUnit unit) {
+      return delegate.withWriteBuffer(maxBufferedWrites, flushInterval, unit);
+   }
+
+   @Override
+   public void flush() {
+      delegate.flush();
+   }
+
+   @Override
+   public CompletableFuture<Void> flushAsync() {
+      return delegate.flushAsync();
+   }
+
    @Override
    public StreamingRemoteCache<K> streaming() {
       return delegate.streaming();
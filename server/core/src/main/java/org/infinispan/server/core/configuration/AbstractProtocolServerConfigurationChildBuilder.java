@@ -61,6 +61,12 @@ public S tcpKeepAlive(boolean tcpKeepAlive) {
       return self();
    }
 
+   @Override
+   public S tcpQuickAck(boolean tcpQuickAck) {
+      builder.tcpQuickAck(tcpQuickAck);
+      return self();
+   }
+
    @Override
    public S recvBufSize(int recvBufSize) {
       builder.recvBufSize(recvBufSize);
@@ -84,6 +90,12 @@ public S ioThreads(int ioThreads) {
       return self();
    }
 
+   @Override
+   public S acceptorThreads(int acceptorThreads) {
+      builder.acceptorThreads(acceptorThreads);
+      return self();
+   }
+
    @Override
    public S workerThreads(int workerThreads) {
       builder.workerThreads(workerThreads);
@@ -27,6 +27,8 @@ public abstract class ProtocolServerConfiguration {
    public static final AttributeDefinition<Boolean> START_TRANSPORT = AttributeDefinition.builder("start-transport", true).immutable().build();
    public static final AttributeDefinition<Boolean> TCP_NODELAY = AttributeDefinition.builder("tcp-nodelay", true).immutable().build();
    public static final AttributeDefinition<Boolean> TCP_KEEPALIVE = AttributeDefinition.builder("tcp-keepalive", false).immutable().build();
+   public static final AttributeDefinition<Boolean> TCP_QUICKACK = AttributeDefinition.builder("tcp-quickack", false).immutable().build();
+   public static final AttributeDefinition<Integer> ACCEPTOR_THREADS = AttributeDefinition.builder("acceptor-threads", 1).immutable().build();
    public static final AttributeDefinition<Integer> IO_THREADS = AttributeDefinition.builder("io-threads", 2 * ProcessorInfo.availableProcessors()).immutable().build();
    public static final AttributeDefinition<Integer> WORKER_THREADS = AttributeDefinition.builder("worker-threads", 160).immutable().build();
    public static final AttributeDefinition<AdminOperationsHandler> ADMIN_OPERATION_HANDLER = AttributeDefinition.builder("admin-operation-handler", null, AdminOperationsHandler.class).immutable().build();
@@ -34,7 +36,7 @@ public abstract class ProtocolServerConfiguration {
 
    public static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(ProtocolServerConfiguration.class,
-            DEFAULT_CACHE_NAME, NAME, HOST, PORT, IDLE_TIMEOUT, IGNORED_CACHES, RECV_BUF_SIZE, SEND_BUF_SIZE, START_TRANSPORT, TCP_NODELAY, TCP_KEEPALIVE, IO_THREADS, WORKER_THREADS, ADMIN_OPERATION_HANDLER, ZERO_CAPACITY_NODE);
+            DEFAULT_CACHE_NAME, NAME, HOST, PORT, IDLE_TIMEOUT, IGNORED_CACHES, RECV_BUF_SIZE, SEND_BUF_SIZE, START_TRANSPORT, TCP_NODELAY, TCP_KEEPALIVE, TCP_QUICKACK, ACCEPTOR_THREADS, IO_THREADS, WORKER_THREADS, ADMIN_OPERATION_HANDLER, ZERO_CAPACITY_NODE);
    }
 
    private final Attribute<String> defaultCacheName;
@@ -46,6 +48,8 @@ public static AttributeSet attributeDefinitionSet() {
    private final Attribute<Integer> sendBufSize;
    private final Attribute<Boolean> tcpNoDelay;
    private final Attribute<Boolean> tcpKeepAlive;
+   private final Attribute<Boolean> tcpQuickAck;
+   private final Attribute<Integer> acceptorThreads;
    private final Attribute<Integer> ioThreads;
    private final Attribute<Integer> workerThreads;
    private final Attribute<Set<String>> ignoredCaches;
@@ -73,6 +77,8 @@ protected ProtocolServerConfiguration(AttributeSet attributes, SslConfiguration
       startTransport = attributes.attribute(START_TRANSPORT);
       tcpNoDelay = attributes.attribute(TCP_NODELAY);
       tcpKeepAlive = attributes.attribute(TCP_KEEPALIVE);
+      tcpQuickAck = attributes.attribute(TCP_QUICKACK);
+      acceptorThreads = attributes.attribute(ACCEPTOR_THREADS);
       ioThreads = attributes.attribute(IO_THREADS);
       workerThreads = attributes.attribute(WORKER_THREADS);
       adminOperationsHandler = attributes.attribute(ADMIN_OPERATION_HANDLER);
@@ -122,6 +128,14 @@ public boolean tcpKeepAlive() {
       return tcpKeepAlive.get();
    }
 
+   public boolean tcpQuickAck() {
+      return tcpQuickAck.get();
+   }
+
+   public int acceptorThreads() {
+      return acceptorThreads.get();
+   }
+
    public int ioThreads() {
       return ioThreads.get();
    }
@@ -8,6 +8,7 @@
 import org.infinispan.server.core.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
+import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.ACCEPTOR_THREADS;
 import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.ADMIN_OPERATION_HANDLER;
 import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.DEFAULT_CACHE_NAME;
 import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.IO_THREADS;
@@ -21,6 +22,7 @@
 import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.START_TRANSPORT;
 import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.TCP_KEEPALIVE;
 import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.TCP_NODELAY;
+import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.TCP_QUICKACK;
 import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.WORKER_THREADS;
 
 public abstract class ProtocolServerConfigurationBuilder<T extends ProtocolServerConfiguration, S extends ProtocolServerConfigurationChildBuilder<T, S>>
@@ -92,6 +94,12 @@ public S tcpKeepAlive(boolean tcpKeepAlive) {
       return this.self();
    }
 
+   @Override
+   public S tcpQuickAck(boolean tcpQuickAck) {
+      attributes.attribute(TCP_QUICKACK).set(tcpQuickAck);
+      return this.self();
+   }
+
    @Override
    public S recvBufSize(int recvBufSize) {
       attributes.attribute(RECV_BUF_SIZE).set(recvBufSize);
@@ -115,6 +123,12 @@ public S ioThreads(int ioThreads) {
       return this.self();
    }
 
+   @Override
+   public S acceptorThreads(int acceptorThreads) {
+      attributes.attribute(ACCEPTOR_THREADS).set(acceptorThreads);
+      return this.self();
+   }
+
    @Override
    public S workerThreads(int workerThreads) {
       attributes.attribute(WORKER_THREADS).set(workerThreads);
@@ -149,6 +163,9 @@ public void validate() {
       if (attributes.attribute(IO_THREADS).get() < 0) {
          throw log.illegalIOThreads(attributes.attribute(IO_THREADS).get());
       }
+      if (attributes.attribute(ACCEPTOR_THREADS).get() < 1) {
+         throw log.illegalAcceptorThreads(attributes.attribute(ACCEPTOR_THREADS).get());
+      }
       if (attributes.attribute(WORKER_THREADS).get() < 0) {
          throw log.illegalWorkerThreads(attributes.attribute(WORKER_THREADS).get());
       }
@@ -50,6 +50,12 @@
     */
    S tcpKeepAlive(boolean tcpKeepAlive);
 
+   /**
+    * Affects TCP QUICKACK on the TCP stack. The option is enabled again after every read, because the kernel clears it
+    * after use. Only honoured by the native epoll transport. Defaults to disabled
+    */
+   S tcpQuickAck(boolean tcpQuickAck);
+
    /**
     * Sets the size of the receive buffer
     */
@@ -70,6 +76,12 @@
     */
    S ioThreads(int ioThreads);
 
+   /**
+    * Sets the number of threads accepting connections. Values greater than 1 bind one listening socket per thread
+    * using SO_REUSEPORT, and are only honoured by the native epoll transport. Defaults to 1
+    */
+   S acceptorThreads(int acceptorThreads);
+
    /**
     * Sets the number of worker threads
     */
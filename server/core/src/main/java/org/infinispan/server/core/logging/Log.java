@@ -110,4 +110,11 @@ public interface Log extends BasicLogger {
 
    @Message(value = "No provider for authorization realm", id = 5037)
    XMLStreamException noProviderForAuthorizationRealm();
+
+   @Message(value = "Illegal number of acceptorThreads: %d", id = 5038)
+   IllegalArgumentException illegalAcceptorThreads(int acceptorThreads);
+
+   @LogMessage(level = WARN)
+   @Message(value = "%d acceptor threads requested but SO_REUSEPORT requires the native Epoll transport, using a single acceptor", id = 5039)
+   void reusePortNotAvailable(int acceptorThreads);
 }
@@ -20,6 +20,7 @@
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.group.ChannelGroup;
@@ -77,7 +78,8 @@ public NettyTransport(InetSocketAddress address, ProtocolServerConfiguration con
       this.configuration = configuration;
 
       // Need to initialize these in constructor since they require configuration
-      masterGroup = buildEventLoop(1, new DefaultThreadFactory(threadNamePrefix + "-ServerMaster"));
+      acceptorThreads = resolveAcceptorThreads(configuration.acceptorThreads());
+      masterGroup = buildEventLoop(acceptorThreads, new DefaultThreadFactory(threadNamePrefix + "-ServerMaster"));
       ioGroup = buildEventLoop(configuration.ioThreads(), new DefaultThreadFactory(threadNamePrefix + "-ServerIO"));
 
       serverChannels = new DefaultChannelGroup(threadNamePrefix + "-Channels", ImmediateEventExecutor.INSTANCE);
@@ -93,6 +95,7 @@ public void initializeHandler(ChannelInitializer<Channel> handler) {
    private ChannelInitializer<Channel> handler;
    private final InetSocketAddress address;
    private final ProtocolServerConfiguration configuration;
+   private final int acceptorThreads;
 
    private final ChannelGroup serverChannels;
    final ChannelGroup acceptedChannels;
@@ -121,15 +124,36 @@ public void start() {
       if (configuration.recvBufSize() > 0)
          bootstrap.childOption(ChannelOption.SO_RCVBUF, configuration.recvBufSize()); // Sets server side receive buffer
       bootstrap.childOption(ChannelOption.SO_KEEPALIVE, configuration.tcpKeepAlive()); // Sets the keep-alive tcp flag
+      if (USE_NATIVE_EPOLL) {
+         if (configuration.tcpQuickAck()) {
+            bootstrap.childOption(EpollChannelOption.TCP_QUICKACK, true);
+            // The kernel clears quickack mode after use, the handler sets it again after every read
+            bootstrap.childHandler(new ChannelInitializer<Channel>() {
+               @Override
+               protected void initChannel(Channel ch) {
+                  ch.pipeline().addLast("quickack", QuickAckHandler.INSTANCE);
+                  ch.pipeline().addLast(handler);
+               }
+            });
+         }
+         if (acceptorThreads > 1) {
+            // Each listening socket is bound to its own acceptor event loop, the kernel balances incoming connections
+            bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+         }
+      }
 
-      Channel ch;
       try {
-         ch = bootstrap.bind(address).sync().channel();
-         nettyPort = Optional.of(((InetSocketAddress)ch.localAddress()).getPort());
+         Channel ch = bootstrap.bind(address).sync().channel();
+         InetSocketAddress boundAddress = (InetSocketAddress) ch.localAddress();
+         nettyPort = Optional.of(boundAddress.getPort());
+         serverChannels.add(ch);
+         // Additional sockets must use the actual port, in case an ephemeral one was requested
+         for (int i = 1; i < acceptorThreads; i++) {
+            serverChannels.add(bootstrap.bind(boundAddress).sync().channel());
+         }
       } catch (InterruptedException e) {
          throw new CacheException(e);
       }
-      serverChannels.add(ch);
    }
 
    @Override
@@ -247,6 +271,14 @@ private Class<? extends ServerChannel> getServerSocketChannel() {
       return channel;
    }
 
+   private int resolveAcceptorThreads(int requested) {
+      if (requested > 1 && !USE_NATIVE_EPOLL) {
+         log.reusePortNotAvailable(requested);
+         return 1;
+      }
+      return requested;
+   }
+
    private EventLoopGroup buildEventLoop(int nThreads, DefaultThreadFactory threadFactory) {
       EventLoopGroup eventLoop = USE_NATIVE_EPOLL ? new EpollEventLoopGroup(nThreads, threadFactory) :
               new NioEventLoopGroup(nThreads, threadFactory);
@@ -0,0 +1,30 @@
+package org.infinispan.server.core.transport;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.epoll.EpollSocketChannel;
+
+/**
+ * Re-enables TCP QUICKACK after each batch of reads.
+ * <p>
+ * The kernel leaves quickack mode on its own after sending a few ACKs, so setting the socket option only when the
+ * channel is accepted has no effect on a long lived connection.
+ *
+ * @since 10.0
+ */
+@ChannelHandler.Sharable
+public class QuickAckHandler extends ChannelInboundHandlerAdapter {
+   public static final QuickAckHandler INSTANCE = new QuickAckHandler();
+
+   private QuickAckHandler() {
+   }
+
+   @Override
+   public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+      if (ctx.channel() instanceof EpollSocketChannel) {
+         ((EpollSocketChannel) ctx.channel()).config().setTcpQuickAck(true);
+      }
+      super.channelReadComplete(ctx);
+   }
+}
@@ -502,7 +502,7 @@ private void queryInternal(HotRodHeader header, AdvancedCache<byte[], byte[]> ca
       }
    }
 
-   void addClientListener(HotRodHeader header, Subject subject, byte[] listenerId, boolean includeCurrentState, String filterFactory, List<byte[]> filterParams, String converterFactory, List<byte[]> converterParams, boolean useRawData, int listenerInterests) {
+   void addClientListener(HotRodHeader header, Subject subject, byte[] listenerId, boolean includeCurrentState, String filterFactory, List<byte[]> filterParams, String converterFactory, List<byte[]> converterParams, boolean useRawData, int listenerInterests, int eventCredits, boolean coalesceEvents) {
       AdvancedCache<byte[], byte[]> cache = server.cache(server.getCacheInfo(header), header, subject);
       executor.execute(() -> {
          try {
@@ -510,7 +510,7 @@ void addClientListener(HotRodHeader header, Subject subject, byte[] listenerId,
                   cache, includeCurrentState,
                   filterFactory, filterParams,
                   converterFactory, converterParams,
-                  useRawData, listenerInterests);
+                  useRawData, listenerInterests, eventCredits, coalesceEvents);
          } catch (Throwable t) {
             log.trace("Failed to add listener", t);
             writeException(header, t);
@@ -535,6 +535,17 @@ private void removeClientListenerInternal(HotRodHeader header, AdvancedCache<byt
       }
    }
 
+   void addEventCredits(HotRodHeader header, Subject subject, byte[] listenerId, long consumedEvents) {
+      // we need to throw an exception when this cache is inaccessible
+      server.cache(server.getCacheInfo(header), header, subject);
+      // Adding the credits only schedules a write in the event loop of the listener channel, so it doesn't block
+      if (listenerRegistry.addEventCredits(listenerId, consumedEvents)) {
+         writeSuccess(header);
+      } else {
+         writeNotExecuted(header);
+      }
+   }
+
    void iterationStart(HotRodHeader header, Subject subject, byte[] segmentMask, String filterConverterFactory,
                        List<byte[]> filterConverterParams, int batch, boolean includeMetadata) {
       AdvancedCache<byte[], byte[]> cache = server.cache(server.getCacheInfo(header), header, subject);
@@ -17,11 +17,12 @@
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.Cache;
-import org.infinispan.commons.CacheException;
 import org.infinispan.commons.dataconversion.MediaType;
 import org.infinispan.commons.dataconversion.TranscoderMarshallerAdapter;
 import org.infinispan.commons.logging.LogFactory;
@@ -51,7 +52,6 @@
 import org.infinispan.notifications.cachelistener.filter.KeyValueFilterConverterAsCacheEventFilterConverter;
 import org.infinispan.server.hotrod.logging.Log;
 import org.infinispan.util.KeyValuePair;
-import org.infinispan.util.concurrent.TimeoutException;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
@@ -61,6 +61,9 @@
  * @author Galder Zamarreño
  */
 class ClientListenerRegistry {
+   // Events are written to the channel in buffers of about this size, so a client receives many events per frame
+   private static final int EVENT_BATCH_BYTES = 16 * 1024;
+
    private final EncoderRegistry encoderRegistry;
 
    ClientListenerRegistry(EncoderRegistry encoderRegistry) {
@@ -124,7 +127,7 @@ void addClientListener(CacheRequestProcessor cacheProcessor, Channel ch, HotRodH
                           AdvancedCache<byte[], byte[]> cache, boolean includeState,
                           String filterFactory, List<byte[]> binaryFilterParams,
                           String converterFactory, List<byte[]> binaryConverterParams,
-                          boolean useRawData, int listenerInterests) {
+                          boolean useRawData, int listenerInterests, int eventCredits, boolean coalesceEvents) {
       boolean hasFilter = filterFactory != null && !filterFactory.isEmpty();
       boolean hasConverter = converterFactory != null && !converterFactory.isEmpty();
       ClientEventType eventType = ClientEventType.createType(hasConverter, useRawData, h.version);
@@ -154,7 +157,8 @@ void addClientListener(CacheRequestProcessor cacheProcessor, Channel ch, HotRodH
          filter = null;
          converter = null;
       }
-      Object clientEventSender = getClientEventSender(includeState, ch, h.encoder(), h.version, cache, listenerId, eventType, h.messageId);
+      Object clientEventSender = getClientEventSender(includeState, ch, h.encoder(), h.version, cache, listenerId, eventType, h.messageId,
+            eventCredits, coalesceEvents);
 
       eventSenders.put(new WrappedByteArray(listenerId), clientEventSender);
 
@@ -252,6 +256,20 @@ boolean removeClientListener(byte[] listenerId, Cache cache) {
       } else return false;
    }
 
+   /**
+    * Allows the server to send more events to the client listener, now that the client has consumed
+    * {@code consumedEvents} events since the listener was added.
+    *
+    * @return {@code false} if there is no listener with the given id.
+    */
+   boolean addEventCredits(byte[] listenerId, long consumedEvents) {
+      Object sender = eventSenders.get(new WrappedByteArray(listenerId));
+      if (sender instanceof BaseClientEventSender) {
+         ((BaseClientEventSender) sender).addCredits(consumedEvents);
+         return true;
+      } else return false;
+   }
+
    public void stop() {
       eventSenders.clear();
       cacheEventFilterFactories.clear();
@@ -275,8 +293,9 @@ void findAndWriteEvents(Channel channel) {
    private class StatefulClientEventSender extends BaseClientEventSender {
       private final long messageId;
 
-      StatefulClientEventSender(Cache cache, Channel ch, VersionedEncoder encoder, byte[] listenerId, byte version, ClientEventType targetEventType, long messageId) {
-         super(cache, ch, encoder, listenerId, version, targetEventType);
+      StatefulClientEventSender(Cache cache, Channel ch, VersionedEncoder encoder, byte[] listenerId, byte version, ClientEventType targetEventType, long messageId,
+                                int eventCredits, boolean coalesceEvents) {
+         super(cache, ch, encoder, listenerId, version, targetEventType, eventCredits, coalesceEvents);
          this.messageId = messageId;
       }
 
@@ -289,8 +308,9 @@ protected long getEventId(CacheEntryEvent event) {
    @Listener(clustered = true)
    private class StatelessClientEventSender extends BaseClientEventSender {
 
-      StatelessClientEventSender(Cache cache, Channel ch, VersionedEncoder encoder, byte[] listenerId, byte version, ClientEventType targetEventType) {
-         super(cache, ch, encoder, listenerId, version, targetEventType);
+      StatelessClientEventSender(Cache cache, Channel ch, VersionedEncoder encoder, byte[] listenerId, byte version, ClientEventType targetEventType,
+                                 int eventCredits, boolean coalesceEvents) {
+         super(cache, ch, encoder, listenerId, version, targetEventType, eventCredits, coalesceEvents);
       }
    }
 
@@ -301,18 +321,32 @@ private abstract class BaseClientEventSender {
       protected final byte version;
       protected final ClientEventType targetEventType;
       protected final Cache cache;
-
-      BlockingQueue<Events.Event> eventQueue = new LinkedBlockingQueue<>(100);
+      // If the client enabled flow control, the number of events the server can send that the client hasn't
+      // consumed yet, otherwise 0
+      private final int credits;
+      // The highest total of consumed events granted by the client. A grant carries the total instead of a delta, so
+      // a lost or reordered grant is made up by the next one.
+      private final AtomicLong consumedEvents = new AtomicLong();
+      // Only written from the event loop
+      private volatile long sentEvents;
+      // The queued events that can still be replaced by a newer event for the same key, if coalescing is enabled
+      private final ConcurrentMap<WrappedByteArray, PendingEvent> pendingEvents;
+
+      BlockingQueue<PendingEvent> eventQueue = new LinkedBlockingQueue<>(100);
+      private final AtomicBoolean overflowed = new AtomicBoolean();
 
       private final Runnable writeEventsIfPossible = this::writeEventsIfPossible;
 
-      BaseClientEventSender(Cache cache, Channel ch, VersionedEncoder encoder, byte[] listenerId, byte version, ClientEventType targetEventType) {
+      BaseClientEventSender(Cache cache, Channel ch, VersionedEncoder encoder, byte[] listenerId, byte version, ClientEventType targetEventType,
+                            int eventCredits, boolean coalesceEvents) {
          this.cache = cache;
          this.ch = ch;
          this.encoder = encoder;
          this.listenerId = listenerId;
          this.version = version;
          this.targetEventType = targetEventType;
+         this.credits = Math.max(eventCredits, 0);
+         this.pendingEvents = coalesceEvents ? new ConcurrentHashMap<>() : null;
       }
 
       void init() {
@@ -328,17 +362,52 @@ boolean hasChannel(Channel channel) {
          return ch == channel;
       }
 
+      void addCredits(long consumed) {
+         if (credits == 0)
+            return;
+
+         long previous = consumedEvents.getAndAccumulate(consumed, Math::max);
+         if (consumed <= previous) {
+            if (isTrace) log.tracef("Ignoring stale grant of %d consumed events for listener %s, %d already granted", consumed, Util.printArray(listenerId), previous);
+            return;
+         }
+         if (isTrace) log.tracef("Client consumed %d events of listener %s, %d sent", consumed, Util.printArray(listenerId), sentEvents);
+         // Make sure we write any event in main event loop
+         ch.eventLoop().execute(writeEventsIfPossible);
+      }
+
+      private boolean hasCredits() {
+         return credits == 0 || sentEvents - consumedEvents.get() < credits;
+      }
+
       // This method can only be invoked from the Event Loop thread!
       void writeEventsIfPossible() {
          boolean written = false;
-         while (!eventQueue.isEmpty() && ch.isWritable()) {
-            Events.Event event = eventQueue.poll();
+         ByteBuf buf = null;
+         while (!eventQueue.isEmpty() && ch.isWritable() && hasCredits()) {
+            PendingEvent pending = eventQueue.poll();
+            Events.Event event = pending.take();
+            if (pending.key != null) {
+               pendingEvents.remove(pending.key, pending);
+            }
+            if (credits != 0) {
+               sentEvents++;
+            }
             if (isTrace) log.tracef("Write event: %s to channel %s", event, ch);
-            ByteBuf buf = ch.alloc().ioBuffer();
+            // Write as many events as possible in the same buffer, the writability only changes after a write
+            if (buf == null) {
+               buf = ch.alloc().ioBuffer();
+            }
             encoder.writeEvent(event, buf);
-            ch.write(buf);
+            if (buf.readableBytes() >= EVENT_BATCH_BYTES) {
+               ch.write(buf);
+               buf = null;
+            }
             written = true;
          }
+         if (buf != null) {
+            ch.write(buf);
+         }
          if (written) {
             ch.flush();
          }
@@ -389,43 +458,59 @@ boolean isChannelDisconnected() {
 
       void sendEvent(byte[] key, byte[] value, long dataVersion, CacheEntryEvent event) {
          Events.Event remoteEvent = createRemoteEvent(key, value, dataVersion, event);
+         // The initial state is never coalesced, so the client receives it in full
+         WrappedByteArray coalesceKey = pendingEvents != null && !event.isCurrentState() ? new WrappedByteArray(key) : null;
+         if (coalesceKey != null) {
+            PendingEvent queued = pendingEvents.get(coalesceKey);
+            if (queued != null && queued.replace(remoteEvent)) {
+               if (isTrace) log.tracef("Replaced queued event for the same key with %s", remoteEvent);
+               return;
+            }
+         }
+         PendingEvent pending = new PendingEvent(remoteEvent, coalesceKey);
+         if (coalesceKey != null) {
+            pendingEvents.put(coalesceKey, pending);
+         }
          if (isTrace)
             log.tracef("Queue event %s, before queuing event queue size is %d", remoteEvent, eventQueue.size());
 
          EventLoop loop = ch.eventLoop();
-         // We shouldn't be in the event loop, but just in case we can't get stuck blocking on putting into the queue
-         // so we offer and try to catch up on events if possible
-         if (loop.inEventLoop()) {
-            boolean offered = eventQueue.offer(remoteEvent);
-            while (!offered) {
-               // If the event queue is full, we have to try to write some events to free up space since we are in the
-               // event loop and no other thread can drain this queue but us
-               writeEventsIfPossible();
-               // We again try to offer, but if we weren't able to write any events this will not offer - so we
-               // have to wait for the client to catch up to us - we put a little wait to not cause CPU to spin
-               try {
-                  offered = eventQueue.offer(remoteEvent, 1, TimeUnit.MILLISECONDS);
-               } catch (InterruptedException e) {
-                  throw new CacheException(e);
-               }
-            }
-         } else {
-            try {
-               // TODO: replace with a better number
-               if (!eventQueue.offer(remoteEvent, 30, TimeUnit.SECONDS)) {
-                  throw new TimeoutException("Timed out attempting to offer remote event into queue");
-               }
-            } catch (InterruptedException e) {
-               throw new CacheException(e);
-            }
+         boolean offered = eventQueue.offer(pending);
+         if (!offered && loop.inEventLoop()) {
+            // No other thread can drain the queue while we are in the event loop, try to make room
+            writeEventsIfPossible();
+            offered = eventQueue.offer(pending);
+         }
+         if (!offered) {
+            // Never wait for the client: the writer would block, and in the event loop the credit grant that frees
+            // the queue would never be read. Disconnect the listener instead, the client registers it again.
+            discard(pending);
+            overflow();
+            return;
          }
 
-         if (ch.isWritable()) {
+         if (ch.isWritable() && hasCredits()) {
             // Make sure we write any event in main event loop
             loop.submit(writeEventsIfPossible);
          }
       }
 
+      private void overflow() {
+         if (overflowed.compareAndSet(false, true)) {
+            log.eventQueueFull(Util.printArray(listenerId), eventQueue.size(), ch);
+            // The close listener registered in init() removes the listener
+            ch.close();
+         }
+      }
+
+      private void discard(PendingEvent pending) {
+         // Later events for the same key must not replace an event that is never written
+         pending.take();
+         if (pending.key != null) {
+            pendingEvents.remove(pending.key, pending);
+         }
+      }
+
       private Events.Event createRemoteEvent(byte[] key, byte[] value, long dataVersion, CacheEntryEvent event) {
          // Embedded listener event implementation implements all interfaces,
          // so can't pattern match on the event instance itself. Instead, pattern
@@ -479,12 +564,13 @@ private KeyValuePair<HotRodOperation, Boolean> getEventResponseType(CacheEntryEv
    }
 
    private Object getClientEventSender(boolean includeState, Channel ch, VersionedEncoder encoder, byte version,
-                                       Cache cache, byte[] listenerId, ClientEventType eventType, long messageId) {
+                                       Cache cache, byte[] listenerId, ClientEventType eventType, long messageId,
+                                       int eventCredits, boolean coalesceEvents) {
       BaseClientEventSender bces;
       if (includeState) {
-         bces = new StatefulClientEventSender(cache, ch, encoder, listenerId, version, eventType, messageId);
+         bces = new StatefulClientEventSender(cache, ch, encoder, listenerId, version, eventType, messageId, eventCredits, coalesceEvents);
       } else {
-         bces = new StatelessClientEventSender(cache, ch, encoder, listenerId, version, eventType);
+         bces = new StatelessClientEventSender(cache, ch, encoder, listenerId, version, eventType, eventCredits, coalesceEvents);
       }
 
       bces.init();
@@ -492,6 +578,32 @@ private Object getClientEventSender(boolean includeState, Channel ch, VersionedE
       return bces;
    }
 
+   /**
+    * A queued event, which can be replaced by a newer event for the same key until it is written to the channel.
+    */
+   private static class PendingEvent {
+      final WrappedByteArray key;
+      private Events.Event event;
+      private boolean taken;
+
+      PendingEvent(Events.Event event, WrappedByteArray key) {
+         this.event = event;
+         this.key = key;
+      }
+
+      synchronized boolean replace(Events.Event newEvent) {
+         if (taken)
+            return false;
+
+         event = newEvent;
+         return true;
+      }
+
+      synchronized Events.Event take() {
+         taken = true;
+         return event;
+      }
+   }
 }
 
 enum ClientEventType {
@@ -17,6 +17,7 @@ public interface HotRodConstants {
    byte VERSION_27 = 27;
    byte VERSION_28 = 28;
    byte VERSION_29 = HotRodVersion.HOTROD_29.getVersion();
+   byte VERSION_30 = HotRodVersion.HOTROD_30.getVersion();
 
    //requests
    byte PUT_REQUEST = 0x01;
@@ -39,6 +40,7 @@ public interface HotRodConstants {
    byte AUTH_REQUEST = 0x23;
    byte ADD_CLIENT_LISTENER_REQUEST = 0x25;
    byte REMOVE_CLIENT_LISTENER_REQUEST = 0x27;
+   byte ADD_EVENT_CREDITS_REQUEST = 0x41;
    byte SIZE_REQUEST = 0x29;
    byte EXEC_REQUEST = 0x2B;
    byte PUT_ALL_REQUEST = 0x2D;
@@ -86,6 +86,7 @@
 import org.infinispan.server.core.transport.NettyInitializers;
 import org.infinispan.server.hotrod.configuration.HotRodServerConfiguration;
 import org.infinispan.server.hotrod.counter.listener.ClientCounterManagerNotificationManager;
+import org.infinispan.server.hotrod.event.BloomFilterEventFilterFactory;
 import org.infinispan.server.hotrod.event.KeyValueWithPreviousEventConverterFactory;
 import org.infinispan.server.hotrod.iteration.DefaultIterationManager;
 import org.infinispan.server.hotrod.iteration.IterationManager;
@@ -240,6 +241,7 @@ protected void startInternal(HotRodServerConfiguration configuration, EmbeddedCa
       addCacheEventConverterFactory("key-value-with-previous-converter-factory",
                                     new KeyValueWithPreviousEventConverterFactory());
       addCacheEventConverterFactory("___eager-key-value-version-converter", KeyValueVersionConverterFactory.SINGLETON);
+      addCacheEventFilterFactory(BloomFilterEventFilterFactory.NAME, new BloomFilterEventFilterFactory());
       loadFilterConverterFactories(ParamKeyValueFilterConverterFactory.class, this::addKeyValueFilterConverterFactory);
       loadFilterConverterFactories(CacheEventFilterConverterFactory.class, this::addCacheEventFilterConverterFactory);
       loadFilterConverterFactories(CacheEventConverterFactory.class, this::addCacheEventConverterFactory);
@@ -0,0 +1,72 @@
+package org.infinispan.server.hotrod.event;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Set;
+
+import org.infinispan.commons.dataconversion.MediaType;
+import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.util.BloomFilter;
+import org.infinispan.commons.util.Util;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.notifications.cachelistener.filter.CacheEventFilter;
+import org.infinispan.notifications.cachelistener.filter.EventType;
+
+/**
+ * Filter used by near caches to only receive the events for keys that might be present in the near cache.
+ * <p>
+ * The keys are tested, in the format requested by the client, against a bloom filter built by the client. Keys which
+ * are not available as byte arrays in that format are always accepted.
+ *
+ * @since 10.0
+ */
+public class BloomFilterEventFilter implements CacheEventFilter<Object, Object> {
+   private final byte[] bloomFilterBytes;
+   private final MediaType keyMediaType;
+   private final BloomFilter bloomFilter;
+
+   BloomFilterEventFilter(byte[] bloomFilterBytes, MediaType keyMediaType) {
+      this.bloomFilterBytes = bloomFilterBytes;
+      this.keyMediaType = keyMediaType;
+      this.bloomFilter = BloomFilter.fromBytes(bloomFilterBytes);
+   }
+
+   @Override
+   public boolean accept(Object key, Object oldValue, Metadata oldMetadata, Object newValue, Metadata newMetadata,
+                         EventType eventType) {
+      if (key instanceof byte[]) {
+         return bloomFilter.mightContain((byte[]) key);
+      } else if (key instanceof WrappedByteArray) {
+         return bloomFilter.mightContain(((WrappedByteArray) key).getBytes());
+      }
+      return true;
+   }
+
+   @Override
+   public MediaType format() {
+      return keyMediaType;
+   }
+
+   public static class Externalizer extends AbstractExternalizer<BloomFilterEventFilter> {
+      @Override
+      public Set<Class<? extends BloomFilterEventFilter>> getTypeClasses() {
+         return Util.asSet(BloomFilterEventFilter.class);
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, BloomFilterEventFilter object) throws IOException {
+         MarshallUtil.marshallByteArray(object.bloomFilterBytes, output);
+         MarshallUtil.marshallString(object.keyMediaType == null ? null : object.keyMediaType.toString(), output);
+      }
+
+      @Override
+      public BloomFilterEventFilter readObject(ObjectInput input) throws IOException {
+         byte[] bloomFilterBytes = MarshallUtil.unmarshallByteArray(input);
+         String keyMediaType = MarshallUtil.unmarshallString(input);
+         return new BloomFilterEventFilter(bloomFilterBytes, keyMediaType == null ? null : MediaType.fromString(keyMediaType));
+      }
+   }
+}
@@ -0,0 +1,24 @@
+package org.infinispan.server.hotrod.event;
+
+import org.infinispan.commons.dataconversion.MediaType;
+import org.infinispan.notifications.cachelistener.filter.CacheEventFilter;
+import org.infinispan.notifications.cachelistener.filter.CacheEventFilterFactory;
+
+/**
+ * Creates the {@link BloomFilterEventFilter} for near cache listeners. The first parameter is the serialized
+ * {@link org.infinispan.commons.util.BloomFilter}, the optional second parameter the key media type used by the
+ * client.
+ *
+ * @since 10.0
+ */
+public class BloomFilterEventFilterFactory implements CacheEventFilterFactory {
+   public static final String NAME = "___near-cache-bloom-filter";
+
+   @Override
+   public <K, V> CacheEventFilter<K, V> getFilter(Object[] params) {
+      if (params == null || params.length == 0 || !(params[0] instanceof byte[]))
+         throw new IllegalArgumentException("The bloom filter must be the first parameter");
+      MediaType keyMediaType = params.length > 1 && params[1] != null ? MediaType.fromString(params[1].toString()) : null;
+      return (CacheEventFilter<K, V>) new BloomFilterEventFilter((byte[]) params[0], keyMediaType);
+   }
+}
@@ -98,4 +98,8 @@ public interface Log extends BasicLogger {
 
    @Message(value = "Error serializing script response '%s'", id = 28025)
    EncodingException errorSerializingResponse(Object o);
+
+   @LogMessage(level = WARN)
+   @Message(value = "The event queue of client listener %s is full with %d events, closing channel %s so the client registers the listener again", id = 28026)
+   void eventQueueFull(String listenerId, int queueSize, Object channel);
 }
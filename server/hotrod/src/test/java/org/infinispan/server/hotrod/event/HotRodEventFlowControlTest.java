@@ -0,0 +1,114 @@
+package org.infinispan.server.hotrod.event;
+
+import static org.infinispan.server.hotrod.OperationStatus.NotExecuted;
+import static org.infinispan.server.hotrod.OperationStatus.Success;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.assertStatus;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.k;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.v;
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+import org.infinispan.notifications.cachelistener.event.Event;
+import org.infinispan.server.hotrod.HotRodSingleNodeTest;
+import org.infinispan.server.hotrod.HotRodVersion;
+import org.infinispan.server.hotrod.test.HotRodClient;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the event credits of client listeners and the add event credits operation (0x41).
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "server.hotrod.event.HotRodEventFlowControlTest")
+public class HotRodEventFlowControlTest extends HotRodSingleNodeTest {
+   private static final int EVENT_CREDITS = 2;
+
+   @Override
+   protected byte protocolVersion() {
+      return HotRodVersion.HOTROD_30.getVersion();
+   }
+
+   public void testExhaustedCredits(Method m) {
+      EventLogListener eventListener = new EventLogListener();
+      withFlowControlledListener(eventListener, () -> {
+         for (int i = 0; i < 5; i++) {
+            client().put(k(m, i + "-"), 0, 0, v(m));
+         }
+         expectCreatedEvents(eventListener, m, 0, 2);
+
+         // Each grant carries the total of consumed events, not the number of new credits
+         assertStatus(client().addEventCredits(eventListener.getId(), 2), Success);
+         expectCreatedEvents(eventListener, m, 2, 4);
+         assertStatus(client().addEventCredits(eventListener.getId(), 4), Success);
+         expectCreatedEvents(eventListener, m, 4, 5);
+      });
+   }
+
+   public void testLateGrant(Method m) {
+      EventLogListener eventListener = new EventLogListener();
+      withFlowControlledListener(eventListener, () -> {
+         for (int i = 0; i < 10; i++) {
+            client().put(k(m, i + "-"), 0, 0, v(m));
+         }
+         expectCreatedEvents(eventListener, m, 0, 2);
+
+         // The grant for the first 2 events was lost, the next one makes up for it
+         assertStatus(client().addEventCredits(eventListener.getId(), 4), Success);
+         expectCreatedEvents(eventListener, m, 2, 6);
+
+         // A grant that arrives after a newer one doesn't allow more events
+         assertStatus(client().addEventCredits(eventListener.getId(), 2), Success);
+         TestingUtil.sleepThread(100);
+         eventListener.expectNoEvents(Optional.of(Event.Type.CACHE_ENTRY_CREATED));
+
+         assertStatus(client().addEventCredits(eventListener.getId(), 8), Success);
+         expectCreatedEvents(eventListener, m, 6, 10);
+      });
+   }
+
+   public void testFullQueueDisconnectsListener(Method m) {
+      HotRodClient listenerClient = connectClient();
+      try {
+         int listeners = advancedCache.getListeners().size();
+         EventLogListener eventListener = new EventLogListener();
+         assertStatus(listenerClient.addClientListener(eventListener, false, Optional.empty(), Optional.empty(), false,
+               EVENT_CREDITS), Success);
+         assertEquals(listeners + 1, advancedCache.getListeners().size());
+
+         // The writes never wait for the client to grant credits, even when the event queue is full
+         for (int i = 0; i < 200; i++) {
+            assertStatus(client().put(k(m, i + "-"), 0, 0, v(m)), Success);
+         }
+         // The listener that fell behind is disconnected instead
+         eventually(() -> advancedCache.getListeners().size() == listeners);
+      } finally {
+         listenerClient.stop();
+      }
+   }
+
+   public void testGrantToUnknownListener() {
+      assertStatus(client().addEventCredits(new byte[]{9, 9, 9}, 10), NotExecuted);
+   }
+
+   private void withFlowControlledListener(EventLogListener eventListener, Runnable fn) {
+      assertStatus(client().addClientListener(eventListener, false, Optional.empty(), Optional.empty(), false,
+            EVENT_CREDITS), Success);
+      try {
+         fn.run();
+      } finally {
+         assertStatus(client().removeClientListener(eventListener.getId()), Success);
+      }
+   }
+
+   private void expectCreatedEvents(EventLogListener eventListener, Method m, int from, int to) {
+      for (int i = from; i < to; i++) {
+         eventListener.expectEvent(cache, k(m, i + "-"), Event.Type.CACHE_ENTRY_CREATED);
+      }
+      // The server must not send more events than the granted credits
+      TestingUtil.sleepThread(100);
+      eventListener.expectNoEvents(Optional.of(Event.Type.CACHE_ENTRY_CREATED));
+   }
+}
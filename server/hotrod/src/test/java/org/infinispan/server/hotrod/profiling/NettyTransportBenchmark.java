@@ -0,0 +1,129 @@
+package org.infinispan.server.hotrod.profiling;
+
+import static org.infinispan.server.core.test.ServerTestingUtil.killServer;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.getDefaultHotRodConfiguration;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.killClient;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.serverPort;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.startHotRodServer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.server.hotrod.configuration.HotRodServerConfigurationBuilder;
+import org.infinispan.server.hotrod.test.HotRodClient;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.test.fwk.TestResourceTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testng.annotations.Test;
+
+import io.netty.util.internal.logging.InternalLoggerFactory;
+import io.netty.util.internal.logging.JdkLoggerFactory;
+
+/**
+ * Compares the throughput of the Hot Rod GET and PUT paths when the server runs on the NIO and on the native Epoll
+ * transports.
+ * <p>
+ * Note that this class is not triggered by Surefire by default (it doesn't end with "test"). We want to do
+ * performance test on demand only.
+ *
+ * @since 10.0
+ */
+public class NettyTransportBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+   private static final int OPERATIONS = 100;
+
+   @Test
+   public void performNioVsEpollTest() throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(1)
+            // Each parameter combination needs its own JVM, the transport is selected when NettyTransport is loaded
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @State(Scope.Benchmark)
+   public static class BenchmarkState {
+
+      private static final String CACHE_NAME = "NettyTransportBenchmark";
+      private static final byte[] EXISTING_KEY = "existing_key".getBytes();
+
+      @Param({"true", "false"})
+      public boolean useEpoll;
+
+      @Param({"1", "4"})
+      public int acceptorThreads;
+
+      private EmbeddedCacheManager cacheManager;
+      private HotRodServer hotRodServer;
+      private HotRodClient client;
+      private byte[] value;
+
+      @Setup
+      public void setup() {
+         //Netty uses SLF and SLF can redirect to all other logging frameworks.
+         //Just to make sure we know what we are testing against - let's enforce one of them
+         InternalLoggerFactory.setDefaultFactory(JdkLoggerFactory.INSTANCE);
+         System.setProperty("infinispan.server.channel.epoll", Boolean.toString(useEpoll));
+
+         TestResourceTracker.testStarted(NettyTransportBenchmark.class.getName());
+         cacheManager = TestCacheManagerFactory.createCacheManager(
+               new GlobalConfigurationBuilder().nonClusteredDefault().defaultCacheName(CACHE_NAME),
+               hotRodCacheConfiguration());
+         HotRodServerConfigurationBuilder builder = getDefaultHotRodConfiguration();
+         builder.acceptorThreads(acceptorThreads).tcpQuickAck(true);
+         hotRodServer = startHotRodServer(cacheManager, serverPort(), builder);
+         client = new HotRodClient("127.0.0.1", hotRodServer.getPort(), CACHE_NAME, 60, (byte) 25);
+         value = new byte[512];
+         client.put(EXISTING_KEY, 0, 0, value);
+      }
+
+      @TearDown
+      public void tearDown() {
+         killClient(client);
+         killServer(hotRodServer);
+         TestingUtil.killCacheManagers(cacheManager);
+         TestResourceTracker.testFinished(NettyTransportBenchmark.class.getName());
+      }
+
+      @Benchmark
+      @OperationsPerInvocation(OPERATIONS)
+      public void measure_put() {
+         for (int i = 0; i < OPERATIONS; i++) {
+            client.put(("key" + i).getBytes(), 0, 0, value);
+         }
+      }
+
+      @Benchmark
+      @OperationsPerInvocation(OPERATIONS)
+      public void measure_get() {
+         for (int i = 0; i < OPERATIONS; i++) {
+            client.get(EXISTING_KEY, 0);
+         }
+      }
+   }
+}
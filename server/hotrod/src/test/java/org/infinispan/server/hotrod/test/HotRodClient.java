@@ -422,8 +422,15 @@ public TestAuthResponse auth(SaslClient sc) throws SaslException {
    public TestResponse addClientListener(TestClientListener listener, boolean includeState,
                                          Optional<KeyValuePair<String, List<byte[]>>> filterFactory,
                                          Optional<KeyValuePair<String, List<byte[]>>> converterFactory, boolean useRawData) {
+      return addClientListener(listener, includeState, filterFactory, converterFactory, useRawData, 0);
+   }
+
+   public TestResponse addClientListener(TestClientListener listener, boolean includeState,
+                                         Optional<KeyValuePair<String, List<byte[]>>> filterFactory,
+                                         Optional<KeyValuePair<String, List<byte[]>>> converterFactory, boolean useRawData,
+                                         int eventCredits) {
       AddClientListenerOp op = new AddClientListenerOp(0xA0, protocolVersion, defaultCacheName,
-            (byte) 1, 0, listener.getId(), includeState, filterFactory, converterFactory, useRawData);
+            (byte) 1, 0, listener.getId(), includeState, filterFactory, converterFactory, useRawData, eventCredits);
       ClientHandler handler = (ClientHandler) ch.pipeline().last();
       handler.addClientListener(listener);
       writeOp(op);
@@ -439,6 +446,14 @@ public TestResponse removeClientListener(byte[] listenerId) {
       return response;
    }
 
+   public TestResponse addEventCredits(byte[] listenerId, long consumedEvents) {
+      AddEventCreditsOp op = new AddEventCreditsOp(0xA0, protocolVersion, defaultCacheName, (byte) 1, 0, listenerId,
+            consumedEvents);
+      ClientHandler handler = (ClientHandler) ch.pipeline().last();
+      writeOp(op);
+      return handler.getResponse(op.id);
+   }
+
    public TestSizeResponse size() {
       SizeOp op = new SizeOp(0xA0, protocolVersion, defaultCacheName, (byte) 1, 0);
       boolean writeFuture = writeOp(op);
@@ -564,6 +579,17 @@ protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf buffer) thr
          writeNamedFactory(op.converterFactory, buffer);
          if (protocolVersion >= 21)
             buffer.writeByte(op.useRawData ? 1 : 0);
+         if (protocolVersion >= 26)
+            writeUnsignedInt(0, buffer); // all the listener interests
+         if (protocolVersion >= 30) {
+            writeUnsignedInt(op.eventCredits, buffer);
+            buffer.writeByte(0); // don't coalesce events
+         }
+      } else if (msg instanceof AddEventCreditsOp) {
+         AddEventCreditsOp op = (AddEventCreditsOp) msg;
+         writeHeader(op, buffer);
+         writeRangedBytes(op.listenerId, buffer);
+         writeUnsignedLong(op.consumedEvents, buffer);
       } else if (msg instanceof RemoveClientListenerOp) {
          RemoveClientListenerOp op = (RemoveClientListenerOp) msg;
          writeHeader(op, buffer);
@@ -681,6 +707,10 @@ private void writeHeader(Op op, ByteBuf buffer) {
       writeUnsignedInt(op.flags, buffer); // flags
       buffer.writeByte(op.clientIntel); // client intelligence
       writeUnsignedInt(op.topologyId, buffer); // topology id
+      if (op.version >= 28) {
+         buffer.writeByte(0); // no key media type
+         buffer.writeByte(0); // no value media type
+      }
    }
 }
 
@@ -775,6 +805,7 @@ protected void decode(ChannelHandlerContext ctx, ByteBuf buf, List<Object> out)
          case PING:
          case ADD_CLIENT_LISTENER:
          case REMOVE_CLIENT_LISTENER:
+         case ADD_EVENT_CREDITS:
             resp = new TestResponse(op.version, id, op.cacheName, op.clientIntel, opCode,
                   status, op.topologyId, topologyChangeResponse);
             break;
@@ -1198,16 +1229,31 @@ class AddClientListenerOp extends AbstractOp {
    final Optional<KeyValuePair<String, List<byte[]>>> filterFactory;
    final Optional<KeyValuePair<String, List<byte[]>>> converterFactory;
    final boolean useRawData;
+   final int eventCredits;
 
    public AddClientListenerOp(int magic, byte version, String cacheName, byte clientIntel, int topologyId,
                               byte[] listenerId, boolean includeState, Optional<KeyValuePair<String, List<byte[]>>> filterFactory,
-                              Optional<KeyValuePair<String, List<byte[]>>> converterFactory, boolean useRawData) {
+                              Optional<KeyValuePair<String, List<byte[]>>> converterFactory, boolean useRawData,
+                              int eventCredits) {
       super(magic, version, (byte) 0x25, cacheName, clientIntel, topologyId);
       this.listenerId = listenerId;
       this.includeState = includeState;
       this.filterFactory = filterFactory;
       this.converterFactory = converterFactory;
       this.useRawData = useRawData;
+      this.eventCredits = eventCredits;
+   }
+}
+
+class AddEventCreditsOp extends AbstractOp {
+   final byte[] listenerId;
+   final long consumedEvents;
+
+   public AddEventCreditsOp(int magic, byte version, String cacheName, byte clientIntel, int topologyId,
+                            byte[] listenerId, long consumedEvents) {
+      super(magic, version, (byte) 0x41, cacheName, clientIntel, topologyId);
+      this.listenerId = listenerId;
+      this.consumedEvents = consumedEvents;
    }
 }
 
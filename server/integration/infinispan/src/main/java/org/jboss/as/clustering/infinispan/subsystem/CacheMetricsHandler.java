@@ -84,6 +84,12 @@ public enum CacheMetrics {
         AVERAGE_READ_TIME(MetricKeys.AVERAGE_READ_TIME, ModelType.LONG, true),
         AVERAGE_WRITE_TIME(MetricKeys.AVERAGE_WRITE_TIME, ModelType.LONG, true),
         AVERAGE_REMOVE_TIME(MetricKeys.AVERAGE_REMOVE_TIME, ModelType.LONG, true),
+        HIT_TIME_P99(MetricKeys.HIT_TIME_P99, ModelType.LONG, true),
+        MISS_TIME_P99(MetricKeys.MISS_TIME_P99, ModelType.LONG, true),
+        WRITE_TIME_P99(MetricKeys.WRITE_TIME_P99, ModelType.LONG, true),
+        REMOVE_TIME_P99(MetricKeys.REMOVE_TIME_P99, ModelType.LONG, true),
+        GET_ALL_TIME_P99(MetricKeys.GET_ALL_TIME_P99, ModelType.LONG, true),
+        PUT_ALL_TIME_P99(MetricKeys.PUT_ALL_TIME_P99, ModelType.LONG, true),
         TIME_SINCE_START(MetricKeys.TIME_SINCE_START, ModelType.LONG, true),
         EVICTIONS(MetricKeys.EVICTIONS, ModelType.LONG, true),
         HIT_RATIO(MetricKeys.HIT_RATIO, ModelType.DOUBLE, true),
@@ -236,6 +242,36 @@ protected void executeRuntimeStep(OperationContext context, ModelNode operation)
                     result.set(cacheMgmtInterceptor != null ? cacheMgmtInterceptor.getAverageRemoveTime() : 0);
                     break;
                 }
+                case HIT_TIME_P99: {
+                    CacheMgmtInterceptor cacheMgmtInterceptor = getFirstInterceptorWhichExtends(interceptors, CacheMgmtInterceptor.class);
+                    result.set(cacheMgmtInterceptor != null ? cacheMgmtInterceptor.getHitTimeP99() : 0);
+                    break;
+                }
+                case MISS_TIME_P99: {
+                    CacheMgmtInterceptor cacheMgmtInterceptor = getFirstInterceptorWhichExtends(interceptors, CacheMgmtInterceptor.class);
+                    result.set(cacheMgmtInterceptor != null ? cacheMgmtInterceptor.getMissTimeP99() : 0);
+                    break;
+                }
+                case WRITE_TIME_P99: {
+                    CacheMgmtInterceptor cacheMgmtInterceptor = getFirstInterceptorWhichExtends(interceptors, CacheMgmtInterceptor.class);
+                    result.set(cacheMgmtInterceptor != null ? cacheMgmtInterceptor.getWriteTimeP99() : 0);
+                    break;
+                }
+                case REMOVE_TIME_P99: {
+                    CacheMgmtInterceptor cacheMgmtInterceptor = getFirstInterceptorWhichExtends(interceptors, CacheMgmtInterceptor.class);
+                    result.set(cacheMgmtInterceptor != null ? cacheMgmtInterceptor.getRemoveTimeP99() : 0);
+                    break;
+                }
+                case GET_ALL_TIME_P99: {
+                    CacheMgmtInterceptor cacheMgmtInterceptor = getFirstInterceptorWhichExtends(interceptors, CacheMgmtInterceptor.class);
+                    result.set(cacheMgmtInterceptor != null ? cacheMgmtInterceptor.getGetAllTimeP99() : 0);
+                    break;
+                }
+                case PUT_ALL_TIME_P99: {
+                    CacheMgmtInterceptor cacheMgmtInterceptor = getFirstInterceptorWhichExtends(interceptors, CacheMgmtInterceptor.class);
+                    result.set(cacheMgmtInterceptor != null ? cacheMgmtInterceptor.getPutAllTimeP99() : 0);
+                    break;
+                }
                 case TIME_SINCE_START: {
                     CacheMgmtInterceptor cacheMgmtInterceptor = getFirstInterceptorWhichExtends(interceptors, CacheMgmtInterceptor.class);
                     result.set(cacheMgmtInterceptor != null ? cacheMgmtInterceptor.getTimeSinceStart() : 0);
@@ -194,6 +194,12 @@ private void initMap() {
         sharedAttributeResolver.put(MetricKeys.AVERAGE_READ_TIME, "cache");
         sharedAttributeResolver.put(MetricKeys.AVERAGE_REMOVE_TIME, "cache");
         sharedAttributeResolver.put(MetricKeys.AVERAGE_WRITE_TIME, "cache");
+        sharedAttributeResolver.put(MetricKeys.HIT_TIME_P99, "cache");
+        sharedAttributeResolver.put(MetricKeys.MISS_TIME_P99, "cache");
+        sharedAttributeResolver.put(MetricKeys.WRITE_TIME_P99, "cache");
+        sharedAttributeResolver.put(MetricKeys.REMOVE_TIME_P99, "cache");
+        sharedAttributeResolver.put(MetricKeys.GET_ALL_TIME_P99, "cache");
+        sharedAttributeResolver.put(MetricKeys.PUT_ALL_TIME_P99, "cache");
         sharedAttributeResolver.put(MetricKeys.CACHE_NAME, "cache");
         sharedAttributeResolver.put(MetricKeys.CACHE_STATUS, "cache");
         sharedAttributeResolver.put(MetricKeys.COMMITS, "cache");
@@ -57,6 +57,12 @@ public class MetricKeys {
     public static final String AVERAGE_READ_TIME_NANOS = "average-read-time-nanos";
     public static final String AVERAGE_WRITE_TIME_NANOS = "average-write-time-nanos";
     public static final String AVERAGE_REMOVE_TIME_NANOS = "average-remove-time-nanos";
+    public static final String HIT_TIME_P99 = "hit-time-p99";
+    public static final String MISS_TIME_P99 = "miss-time-p99";
+    public static final String WRITE_TIME_P99 = "write-time-p99";
+    public static final String REMOVE_TIME_P99 = "remove-time-p99";
+    public static final String GET_ALL_TIME_P99 = "get-all-time-p99";
+    public static final String PUT_ALL_TIME_P99 = "put-all-time-p99";
     public static final String TIME_SINCE_START = "time-since-start";
     public static final String EVICTIONS = "evictions";
     public static final String HIT_RATIO = "hit-ratio";